@@ -0,0 +1,192 @@
+package com.example.interview.admission;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Admission limits for the interview API: a global and a per-user request rate, a cap on concurrently
+ * open interview sessions per user, and a weighted fair queue in front of calls that reach the LLM.
+ * Users are identified by the JWT subject.
+ */
+@Component
+public class AdmissionControl {
+
+    public enum Rejection { GLOBAL_RATE, USER_RATE, SESSIONS, UPSTREAM }
+
+    private final boolean enabled;
+    private final StripedTokenBucket globalBucket;
+    private final double userCapacity;
+    private final double userRatePerSecond;
+    private final int maxTrackedUsers;
+    private final Map<String, TokenBucket> userBuckets = new ConcurrentHashMap<>();
+
+    private final int maxSessionsPerUser;
+    private final long sessionTtlMillis;
+    // user -> (session id or pending reservation -> opened at)
+    private final Map<String, Map<String, Long>> openSessions = new ConcurrentHashMap<>();
+
+    private final FairQueue upstream;
+    private final long upstreamMaxWaitMillis;
+    private final double defaultWeight;
+    private final Map<String, Double> weights;
+    private final MeterRegistry registry;
+
+    public AdmissionControl(
+            MeterRegistry registry,
+            @Value("${admission.enabled:true}") boolean enabled,
+            @Value("${admission.global.requests-per-second:200}") double globalRate,
+            @Value("${admission.global.burst:400}") double globalBurst,
+            @Value("${admission.user.requests-per-second:1}") double userRate,
+            @Value("${admission.user.burst:10}") double userBurst,
+            @Value("${admission.user.max-tracked:100000}") int maxTrackedUsers,
+            @Value("${admission.sessions.max-per-user:3}") int maxSessionsPerUser,
+            @Value("${admission.sessions.ttl:PT2H}") Duration sessionTtl,
+            @Value("${admission.upstream.max-concurrent:32}") int upstreamConcurrency,
+            @Value("${admission.upstream.max-queued:256}") int upstreamMaxQueued,
+            @Value("${admission.upstream.max-wait:PT2S}") Duration upstreamMaxWait,
+            @Value("${admission.upstream.default-weight:1}") double defaultWeight,
+            @Value("${admission.upstream.weights:}") String weights
+    ) {
+        this.registry = registry;
+        this.enabled = enabled;
+        this.globalBucket = new StripedTokenBucket(globalBurst, globalRate, Runtime.getRuntime().availableProcessors());
+        this.userCapacity = userBurst;
+        this.userRatePerSecond = userRate;
+        this.maxTrackedUsers = maxTrackedUsers;
+        this.maxSessionsPerUser = maxSessionsPerUser;
+        this.sessionTtlMillis = sessionTtl.toMillis();
+        this.upstream = new FairQueue(upstreamConcurrency, upstreamMaxQueued);
+        this.upstreamMaxWaitMillis = upstreamMaxWait.toMillis();
+        this.defaultWeight = defaultWeight;
+        this.weights = parseWeights(weights);
+        Gauge.builder("admission.upstream.queued", upstream, FairQueue::queued).register(registry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Takes one request token from the user's bucket and then from the global one, so a user over their
+     * own rate does not use up global capacity.
+     *
+     * @return null if admitted, otherwise the reason for rejection
+     */
+    public Rejection admitRequest(String user) {
+        if (!userBucket(user).tryAcquire()) {
+            return rejected(Rejection.USER_RATE);
+        }
+        if (!globalBucket.tryAcquire()) {
+            return rejected(Rejection.GLOBAL_RATE);
+        }
+        return null;
+    }
+
+    /**
+     * Seconds until the bucket behind {@code rejection} has a token again.
+     */
+    public long retryAfterSeconds(String user, Rejection rejection) {
+        return rejection == Rejection.GLOBAL_RATE
+                ? globalBucket.secondsUntilAvailable()
+                : userBucket(user).secondsUntilAvailable();
+    }
+
+    /**
+     * Reserves one of the user's session slots.
+     *
+     * @return a reservation to {@link #bindSession bind} or {@link #closeSession release}, or null if the
+     * user already has the maximum number of open sessions
+     */
+    public String reserveSession(String user) {
+        String reservation = "pending-" + UUID.randomUUID();
+        long now = System.currentTimeMillis();
+        boolean[] reserved = {false};
+        openSessions.compute(user, (u, sessions) -> {
+            Map<String, Long> live = sessions == null ? new HashMap<>() : sessions;
+            live.values().removeIf(openedAt -> openedAt + sessionTtlMillis <= now);
+            if (live.size() < maxSessionsPerUser) {
+                live.put(reservation, now);
+                reserved[0] = true;
+            }
+            return live.isEmpty() ? null : live;
+        });
+        if (!reserved[0]) {
+            rejected(Rejection.SESSIONS);
+            return null;
+        }
+        return reservation;
+    }
+
+    public void bindSession(String user, String reservation, String sessionId) {
+        openSessions.computeIfPresent(user, (u, sessions) -> {
+            Long openedAt = sessions.remove(reservation);
+            if (openedAt != null) {
+                sessions.put(sessionId, openedAt);
+            }
+            return sessions;
+        });
+    }
+
+    public void closeSession(String user, String sessionIdOrReservation) {
+        openSessions.computeIfPresent(user, (u, sessions) -> {
+            sessions.remove(sessionIdOrReservation);
+            return sessions.isEmpty() ? null : sessions;
+        });
+    }
+
+    /**
+     * Waits, in weighted fair order across users, for a slot to call the LLM.
+     *
+     * @return false if the upstream queue is full or the slot did not free up within the wait limit
+     */
+    public boolean acquireUpstream(String user) throws InterruptedException {
+        boolean acquired = upstream.acquire(user, weights.getOrDefault(user, defaultWeight),
+                upstreamMaxWaitMillis, TimeUnit.MILLISECONDS);
+        if (!acquired) {
+            rejected(Rejection.UPSTREAM);
+        }
+        return acquired;
+    }
+
+    public void releaseUpstream() {
+        upstream.release();
+    }
+
+    private TokenBucket userBucket(String user) {
+        TokenBucket bucket = userBuckets.get(user);
+        if (bucket != null) {
+            return bucket;
+        }
+        if (userBuckets.size() >= maxTrackedUsers) {
+            // A full bucket is indistinguishable from a fresh one, so idle users can be forgotten.
+            userBuckets.values().removeIf(TokenBucket::isFull);
+        }
+        return userBuckets.computeIfAbsent(user, u -> new TokenBucket(userCapacity, userRatePerSecond));
+    }
+
+    private Rejection rejected(Rejection reason) {
+        registry.counter("admission.rejected", "reason", reason.name().toLowerCase()).increment();
+        return reason;
+    }
+
+    private static Map<String, Double> parseWeights(String spec) {
+        Map<String, Double> parsed = new LinkedHashMap<>();
+        for (String entry : spec.split(",")) {
+            int eq = entry.indexOf('=');
+            if (eq > 0) {
+                parsed.put(entry.substring(0, eq).trim(), Double.parseDouble(entry.substring(eq + 1).trim()));
+            }
+        }
+        return Map.copyOf(parsed);
+    }
+}
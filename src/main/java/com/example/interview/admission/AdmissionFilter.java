@@ -0,0 +1,104 @@
+package com.example.interview.admission;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Applies {@link AdmissionControl} to the interview API. Runs after the JWT filter so requests are keyed
+ * by the authenticated subject; rejected requests get an immediate 429 instead of queueing.
+ */
+@Component
+public class AdmissionFilter extends OncePerRequestFilter {
+
+    private static final String INTERVIEW_API = "/api/interview/";
+
+    private final AdmissionControl admission;
+
+    public AdmissionFilter(AdmissionControl admission) {
+        this.admission = admission;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !admission.isEnabled() || !request.getRequestURI().startsWith(INTERVIEW_API)
+                || isVoiceChunk(request);
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain
+    ) throws ServletException, IOException {
+
+        String user = userKey(request);
+        AdmissionControl.Rejection rejection = admission.admitRequest(user);
+        if (rejection != null) {
+            reject(response, admission.retryAfterSeconds(user, rejection), "Too many requests, please slow down.");
+            return;
+        }
+
+        if (!callsUpstream(request)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        boolean acquired;
+        try {
+            acquired = admission.acquireUpstream(user);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            reject(response, 1, "The interviewer is busy right now, please retry in a moment.");
+            return;
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            admission.releaseUpstream();
+        }
+    }
+
+    /**
+     * The JWT subject, or the client address for unauthenticated requests (which security rejects anyway).
+     */
+    static String userKey(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.isAuthenticated() && authentication.getName() != null) {
+            return authentication.getName();
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    private static boolean callsUpstream(HttpServletRequest request) {
+        if (!"POST".equals(request.getMethod())) {
+            return false;
+        }
+        String path = request.getRequestURI();
+        return path.endsWith("/start") || path.endsWith("/answer") || path.endsWith("/finish")
+                || path.endsWith("/complete");
+    }
+
+    // Audio chunks arrive several times a second while the candidate speaks; uploads are bounded by VoiceUploads instead.
+    private static boolean isVoiceChunk(HttpServletRequest request) {
+        return "PUT".equals(request.getMethod()) && request.getRequestURI().contains("/voice/")
+                && request.getRequestURI().contains("/chunks/");
+    }
+
+    private static void reject(HttpServletResponse response, long retryAfterSeconds, String message) throws IOException {
+        response.setStatus(429);
+        response.setHeader("Retry-After", Long.toString(retryAfterSeconds));
+        response.setContentType("application/json");
+        response.getWriter().write("{\"error\":\"" + message + "\"}");
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.interview.admission;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Limits concurrent upstream calls and, once they are all in use, hands freed permits to waiting users in
+ * weighted fair order (start-time fair queueing): each request is tagged with its user's virtual finish
+ * time, so a user with many queued requests cannot starve others and a user with weight 2 gets twice the
+ * share of one with weight 1.
+ */
+public class FairQueue {
+
+    private final int maxQueued;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final PriorityQueue<Waiter> waiting = new PriorityQueue<>();
+    private final Map<String, Double> lastFinish = new HashMap<>();
+
+    private int available;
+    private double virtualTime;
+    private long sequence;
+
+    public FairQueue(int permits, int maxQueued) {
+        this.available = permits;
+        this.maxQueued = maxQueued;
+    }
+
+    /**
+     * @return false if the queue is full or no permit was granted within the timeout
+     */
+    public boolean acquire(String user, double weight, long timeout, TimeUnit unit) throws InterruptedException {
+        lock.lock();
+        try {
+            if (available > 0 && waiting.isEmpty()) {
+                available--;
+                return true;
+            }
+            if (waiting.size() >= maxQueued) {
+                return false;
+            }
+
+            double start = Math.max(virtualTime, lastFinish.getOrDefault(user, 0.0));
+            double finish = start + 1.0 / Math.max(weight, 0.01);
+            lastFinish.put(user, finish);
+            Waiter waiter = new Waiter(finish, sequence++, lock.newCondition());
+            waiting.add(waiter);
+
+            long remaining = unit.toNanos(timeout);
+            try {
+                while (!waiter.granted && remaining > 0) {
+                    remaining = waiter.condition.awaitNanos(remaining);
+                }
+            } finally {
+                if (!waiter.granted) {
+                    waiting.remove(waiter);
+                }
+            }
+            return waiter.granted;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void release() {
+        lock.lock();
+        try {
+            Waiter next = waiting.poll();
+            if (next == null) {
+                available++;
+                if (lastFinish.size() > 10_000) {
+                    lastFinish.values().removeIf(finish -> finish <= virtualTime);
+                }
+                return;
+            }
+            virtualTime = next.tag;
+            next.granted = true;
+            next.condition.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int queued() {
+        lock.lock();
+        try {
+            return waiting.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static final class Waiter implements Comparable<Waiter> {
+        private final double tag;
+        private final long sequence;
+        private final Condition condition;
+        private boolean granted;
+
+        private Waiter(double tag, long sequence, Condition condition) {
+            this.tag = tag;
+            this.sequence = sequence;
+            this.condition = condition;
+        }
+
+        @Override
+        public int compareTo(Waiter other) {
+            int byTag = Double.compare(tag, other.tag);
+            return byTag != 0 ? byTag : Long.compare(sequence, other.sequence);
+        }
+    }
+}
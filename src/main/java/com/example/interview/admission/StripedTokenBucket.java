@@ -0,0 +1,42 @@
+package com.example.interview.admission;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Global rate limit split across one token bucket per core, so concurrent requests rarely contend on
+ * the same lock. A request starts at a random stripe and moves on to the others only if that one is empty,
+ * so the combined rate and burst are those configured.
+ */
+public class StripedTokenBucket {
+
+    private final TokenBucket[] stripes;
+
+    public StripedTokenBucket(double capacity, double ratePerSecond, int stripeCount) {
+        int count = Math.max(1, stripeCount);
+        this.stripes = new TokenBucket[count];
+        for (int i = 0; i < count; i++) {
+            stripes[i] = new TokenBucket(Math.max(1, capacity / count), ratePerSecond / count);
+        }
+    }
+
+    public boolean tryAcquire() {
+        int start = ThreadLocalRandom.current().nextInt(stripes.length);
+        for (int i = 0; i < stripes.length; i++) {
+            if (stripes[(start + i) % stripes.length].tryAcquire()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Seconds until any stripe has a token, at least 1.
+     */
+    public long secondsUntilAvailable() {
+        long seconds = Long.MAX_VALUE;
+        for (TokenBucket stripe : stripes) {
+            seconds = Math.min(seconds, stripe.secondsUntilAvailable());
+        }
+        return seconds;
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.interview.admission;
+
+/**
+ * Classic token bucket: holds up to {@code capacity} tokens and refills at {@code ratePerSecond}.
+ */
+public class TokenBucket {
+
+    private final double capacity;
+    private final double tokensPerNano;
+
+    private double tokens;
+    private long lastRefillNanos;
+
+    public TokenBucket(double capacity, double ratePerSecond) {
+        this.capacity = capacity;
+        this.tokensPerNano = ratePerSecond / 1e9;
+        this.tokens = capacity;
+        this.lastRefillNanos = System.nanoTime();
+    }
+
+    public synchronized boolean tryAcquire() {
+        refill();
+        if (tokens >= 1) {
+            tokens -= 1;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Seconds until the next token is available, at least 1.
+     */
+    public synchronized long secondsUntilAvailable() {
+        refill();
+        if (tokens >= 1 || tokensPerNano <= 0) {
+            return 1;
+        }
+        return Math.max(1, (long) Math.ceil((1 - tokens) / tokensPerNano / 1e9));
+    }
+
+    public synchronized boolean isFull() {
+        refill();
+        return tokens >= capacity;
+    }
+
+    private void refill() {
+        long now = System.nanoTime();
+        tokens = Math.min(capacity, tokens + (now - lastRefillNanos) * tokensPerNano);
+        lastRefillNanos = now;
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.interview.analytics;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Set;
+
+@RestController
+@RequestMapping("/api/analytics")
+@CrossOrigin
+public class AnalyticsController {
+
+    private static final int DEFAULT_WINDOW_DAYS = 30;
+
+    private final FeedbackAnalyticsService analyticsService;
+
+    public AnalyticsController(FeedbackAnalyticsService analyticsService) {
+        this.analyticsService = analyticsService;
+    }
+
+    @GetMapping("/roles")
+    public Set<String> roles() {
+        return analyticsService.roles();
+    }
+
+    @GetMapping("/scores/{dimension}")
+    public ScoreDistribution distribution(
+            @PathVariable("dimension") String dimension,
+            @RequestParam(value = "role", required = false) String role,
+            @RequestParam(value = "cohort", required = false) String cohort,
+            @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(value = "percentiles", defaultValue = "50,75,90,99") int[] percentiles
+    ) {
+        LocalDate end = to != null ? to : LocalDate.now(ZoneOffset.UTC);
+        LocalDate start = from != null ? from : end.minusDays(DEFAULT_WINDOW_DAYS);
+        checkRange(start, end);
+        for (int p : percentiles) {
+            if (p < 0 || p > 100) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Percentiles must be between 0 and 100");
+            }
+        }
+        return analyticsService.distribution(dimension(dimension), role, cohort, start, end, percentiles);
+    }
+
+    @GetMapping("/scores/{dimension}/trend")
+    public List<TrendPoint> trend(
+            @PathVariable("dimension") String dimension,
+            @RequestParam(value = "role", required = false) String role,
+            @RequestParam(value = "cohort", required = false) String cohort,
+            @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    ) {
+        LocalDate end = to != null ? to : LocalDate.now(ZoneOffset.UTC);
+        LocalDate start = from != null ? from : end.minusDays(DEFAULT_WINDOW_DAYS);
+        checkRange(start, end);
+        return analyticsService.trend(dimension(dimension), role, cohort, start, end);
+    }
+
+    private static void checkRange(LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "'from' must not be after 'to'");
+        }
+    }
+
+    private static ScoreDimension dimension(String key) {
+        try {
+            return ScoreDimension.fromKey(key);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package com.example.interview.analytics;
+
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Consumer;
+
+/**
+ * In-memory rollups of feedback scores, bucketed by role, cohort (experience level) and day.
+ * Rollups are updated incrementally as feedback is produced, so queries only merge
+ * small fixed-size histograms instead of scanning individual interviews.
+ */
+@Service
+public class FeedbackAnalyticsService {
+
+    private static final String UNKNOWN = "unknown";
+
+    private final Map<SeriesKey, ConcurrentSkipListMap<Long, ScoreRollup>> series = new ConcurrentHashMap<>();
+    private final Clock clock;
+
+    public FeedbackAnalyticsService() {
+        this(Clock.systemUTC());
+    }
+
+    FeedbackAnalyticsService(Clock clock) {
+        this.clock = clock;
+    }
+
+    public void record(String role, String cohort, Map<String, Integer> scores) {
+        if (scores == null || scores.isEmpty()) {
+            return;
+        }
+
+        long day = LocalDate.now(clock).toEpochDay();
+        ScoreRollup rollup = series
+                .computeIfAbsent(new SeriesKey(normalize(role), normalize(cohort)), k -> new ConcurrentSkipListMap<>())
+                .computeIfAbsent(day, d -> new ScoreRollup());
+
+        for (Map.Entry<String, Integer> entry : scores.entrySet()) {
+            if (entry.getValue() == null) {
+                continue;
+            }
+            try {
+                rollup.record(ScoreDimension.fromKey(entry.getKey()), entry.getValue());
+            } catch (IllegalArgumentException ignored) {
+                // The model occasionally invents extra dimensions; they are not aggregated.
+            }
+        }
+    }
+
+    public ScoreDistribution distribution(ScoreDimension dimension, String role, String cohort,
+                                          LocalDate from, LocalDate to, int[] percentiles) {
+        long[] histogram = new long[ScoreRollup.BINS];
+        forEachSeries(role, cohort, days -> {
+            for (ScoreRollup rollup : range(days, from, to).values()) {
+                rollup.addTo(dimension, histogram);
+            }
+        });
+
+        long count = 0;
+        long sum = 0;
+        for (int i = 0; i < histogram.length; i++) {
+            count += histogram[i];
+            sum += histogram[i] * (i + ScoreRollup.MIN_SCORE);
+        }
+
+        Map<String, Integer> values = new LinkedHashMap<>();
+        for (int p : percentiles) {
+            values.put("p" + p, percentile(histogram, count, p));
+        }
+
+        ScoreDistribution distribution = new ScoreDistribution();
+        distribution.setDimension(dimension.getKey());
+        distribution.setCount(count);
+        distribution.setMean(count == 0 ? 0.0 : (double) sum / count);
+        distribution.setPercentiles(values);
+        distribution.setHistogram(histogram);
+        return distribution;
+    }
+
+    public List<TrendPoint> trend(ScoreDimension dimension, String role, String cohort,
+                                  LocalDate from, LocalDate to) {
+        Map<Long, long[]> perDay = new TreeMap<>();
+        forEachSeries(role, cohort, days -> {
+            for (Map.Entry<Long, ScoreRollup> entry : range(days, from, to).entrySet()) {
+                entry.getValue().addTo(dimension, perDay.computeIfAbsent(entry.getKey(), d -> new long[ScoreRollup.BINS]));
+            }
+        });
+
+        List<TrendPoint> points = new ArrayList<>(perDay.size());
+        for (Map.Entry<Long, long[]> entry : perDay.entrySet()) {
+            long count = 0;
+            long sum = 0;
+            long[] histogram = entry.getValue();
+            for (int i = 0; i < histogram.length; i++) {
+                count += histogram[i];
+                sum += histogram[i] * (i + ScoreRollup.MIN_SCORE);
+            }
+            if (count > 0) {
+                points.add(new TrendPoint(LocalDate.ofEpochDay(entry.getKey()), count, (double) sum / count));
+            }
+        }
+        return points;
+    }
+
+    public Set<String> roles() {
+        Set<String> roles = new TreeSet<>();
+        for (SeriesKey key : series.keySet()) {
+            roles.add(key.role());
+        }
+        return roles;
+    }
+
+    private void forEachSeries(String role, String cohort,
+                               Consumer<ConcurrentSkipListMap<Long, ScoreRollup>> action) {
+        String wantedRole = role == null || role.isBlank() ? null : normalize(role);
+        String wantedCohort = cohort == null || cohort.isBlank() ? null : normalize(cohort);
+
+        if (wantedRole != null && wantedCohort != null) {
+            ConcurrentSkipListMap<Long, ScoreRollup> days = series.get(new SeriesKey(wantedRole, wantedCohort));
+            if (days != null) {
+                action.accept(days);
+            }
+            return;
+        }
+
+        for (Map.Entry<SeriesKey, ConcurrentSkipListMap<Long, ScoreRollup>> entry : series.entrySet()) {
+            SeriesKey key = entry.getKey();
+            if ((wantedRole == null || wantedRole.equals(key.role()))
+                    && (wantedCohort == null || wantedCohort.equals(key.cohort()))) {
+                action.accept(entry.getValue());
+            }
+        }
+    }
+
+    private static ConcurrentNavigableMap<Long, ScoreRollup> range(ConcurrentSkipListMap<Long, ScoreRollup> days,
+                                                                   LocalDate from, LocalDate to) {
+        return days.subMap(from.toEpochDay(), true, to.toEpochDay(), true);
+    }
+
+    private static int percentile(long[] histogram, long count, int p) {
+        if (count == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(count * (p / 100.0));
+        long seen = 0;
+        for (int i = 0; i < histogram.length; i++) {
+            seen += histogram[i];
+            if (seen >= Math.max(rank, 1)) {
+                return i + ScoreRollup.MIN_SCORE;
+            }
+        }
+        return ScoreRollup.MAX_SCORE;
+    }
+
+    private static String normalize(String value) {
+        if (value == null || value.isBlank()) {
+            return UNKNOWN;
+        }
+        return value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private record SeriesKey(String role, String cohort) {
+    }
+}
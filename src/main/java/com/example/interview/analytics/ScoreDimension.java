@@ -0,0 +1,45 @@
+package com.example.interview.analytics;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public enum ScoreDimension {
+
+    COMMUNICATION("communication", "Judge how clearly and concisely the candidate expressed their ideas."),
+    TECHNICAL_DEPTH("technicalDepth", "Judge the accuracy and depth of the candidate's knowledge for the role."),
+    STRUCTURE("structure", "Judge how well the candidate organised their answers, e.g. situation, approach, result."),
+    CONFIDENCE("confidence", "Judge how decisive and self-assured the candidate sounded, without overclaiming.");
+
+    private final String key;
+    private final String rubric;
+
+    ScoreDimension(String key, String rubric) {
+        this.key = key;
+        this.rubric = rubric;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public String getRubric() {
+        return rubric;
+    }
+
+    public static List<String> keys() {
+        List<String> keys = new ArrayList<>(values().length);
+        for (ScoreDimension dimension : values()) {
+            keys.add(dimension.key);
+        }
+        return keys;
+    }
+
+    public static ScoreDimension fromKey(String key) {
+        for (ScoreDimension dimension : values()) {
+            if (dimension.key.equalsIgnoreCase(key) || dimension.name().equalsIgnoreCase(key)) {
+                return dimension;
+            }
+        }
+        throw new IllegalArgumentException("Unknown score dimension: " + key);
+    }
+}
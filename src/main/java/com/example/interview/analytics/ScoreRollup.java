@@ -0,0 +1,30 @@
+package com.example.interview.analytics;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Histogram of feedback scores for one (role, cohort, day) bucket.
+ * Counts are laid out column-wise: one run of {@link #BINS} ints per dimension.
+ */
+public class ScoreRollup {
+
+    public static final int MIN_SCORE = 0;
+    public static final int MAX_SCORE = 10;
+    public static final int BINS = MAX_SCORE - MIN_SCORE + 1;
+
+    private static final int DIMENSIONS = ScoreDimension.values().length;
+
+    private final AtomicIntegerArray counts = new AtomicIntegerArray(DIMENSIONS * BINS);
+
+    public void record(ScoreDimension dimension, int score) {
+        int clamped = Math.max(MIN_SCORE, Math.min(MAX_SCORE, score));
+        counts.incrementAndGet(dimension.ordinal() * BINS + clamped - MIN_SCORE);
+    }
+
+    public void addTo(ScoreDimension dimension, long[] histogram) {
+        int offset = dimension.ordinal() * BINS;
+        for (int i = 0; i < BINS; i++) {
+            histogram[i] += counts.get(offset + i);
+        }
+    }
+}
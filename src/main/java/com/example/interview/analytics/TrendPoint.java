@@ -0,0 +1,43 @@
+package com.example.interview.analytics;
+
+import java.time.LocalDate;
+
+public class TrendPoint {
+
+    private LocalDate date;
+    private long count;
+    private double mean;
+
+    public TrendPoint() {
+    }
+
+    public TrendPoint(LocalDate date, long count, double mean) {
+        this.date = date;
+        this.count = count;
+        this.mean = mean;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public void setDate(LocalDate date) {
+        this.date = date;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public void setCount(long count) {
+        this.count = count;
+    }
+
+    public double getMean() {
+        return mean;
+    }
+
+    public void setMean(double mean) {
+        this.mean = mean;
+    }
+}
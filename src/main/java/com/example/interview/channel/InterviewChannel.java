@@ -0,0 +1,286 @@
+package com.example.interview.channel;
+
+import com.example.interview.admission.AdmissionControl;
+import com.example.interview.cluster.SessionRouter;
+import com.example.interview.cluster.ShardRing;
+import com.example.interview.ledger.TokenLedger;
+import com.example.interview.model.Answer;
+import com.example.interview.model.InterviewConfig;
+import com.example.interview.model.InterviewFeedback;
+import com.example.interview.security.JwtService;
+import com.example.interview.service.InterviewService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * Interview protocol for the WebSocket channel at {@link #PATH}. The client authenticates once at the
+ * handshake and then exchanges JSON text frames on one connection:
+ * <pre>
+ * {"type":"start","role":..,"experienceLevel":..,"interviewType":..} -> {"type":"started","sessionId":..,"questionId":..,"question":..}
+ * {"type":"join","sessionId":..}                                    -> {"type":"joined","sessionId":..}
+ *                                                                       or {"type":"moved","sessionId":..,"node":..} if another node holds it
+ * {"type":"answer","questionId":..,"text":..}                       -> {"type":"question","questionId":..,"question":..}
+ * {"type":"finish"}                                                 -> {"type":"feedback","feedback":{..}}
+ * {"type":"ping"}                                                   -> {"type":"pong"}
+ * </pre>
+ * Failures are reported as {@code {"type":"error","message":..}} and leave the connection open. Frames of
+ * one connection are handled one at a time, and admission control applies per frame as it does per request
+ * on the HTTP API.
+ */
+@Component
+public class InterviewChannel {
+
+    public static final String PATH = "/ws/interview";
+
+    private final InterviewService interviewService;
+    private final AdmissionControl admission;
+    private final JwtService jwtService;
+    private final SessionRouter sessionRouter;
+    private final TokenLedger ledger;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final boolean enabled;
+    private final Duration idleTimeout;
+    private final int maxFrameBytes;
+
+    public InterviewChannel(
+            InterviewService interviewService,
+            AdmissionControl admission,
+            JwtService jwtService,
+            SessionRouter sessionRouter,
+            TokenLedger ledger,
+            @Value("${interview-channel.enabled:true}") boolean enabled,
+            @Value("${interview-channel.idle-timeout:PT10M}") Duration idleTimeout,
+            @Value("${interview-channel.max-frame-bytes:65536}") int maxFrameBytes
+    ) {
+        this.interviewService = interviewService;
+        this.admission = admission;
+        this.jwtService = jwtService;
+        this.sessionRouter = sessionRouter;
+        this.ledger = ledger;
+        this.enabled = enabled;
+        this.idleTimeout = idleTimeout;
+        this.maxFrameBytes = maxFrameBytes;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public Duration getIdleTimeout() {
+        return idleTimeout;
+    }
+
+    public int getMaxFrameBytes() {
+        return maxFrameBytes;
+    }
+
+    /**
+     * @return the JWT subject, or null if the token is missing or invalid
+     */
+    public String authenticate(String token) {
+        if (token == null || token.isBlank() || !jwtService.isTokenValid(token)) {
+            return null;
+        }
+        return jwtService.extractSubject(token);
+    }
+
+    /**
+     * Handles one client frame and returns the reply frame.
+     */
+    public String handle(Connection connection, String frame) {
+        JsonNode message;
+        try {
+            message = objectMapper.readTree(frame);
+        } catch (Exception e) {
+            return error("Malformed frame.", 0);
+        }
+        String type = message.path("type").asText("");
+        if ("ping".equals(type)) {
+            return write(objectMapper.createObjectNode().put("type", "pong"));
+        }
+
+        String user = connection.getUser();
+        if (admission.isEnabled()) {
+            AdmissionControl.Rejection rejection = admission.admitRequest(user);
+            if (rejection != null) {
+                return error("Too many requests, please slow down.", admission.retryAfterSeconds(user, rejection));
+            }
+        }
+
+        try {
+            switch (type) {
+                case "start":
+                    return charged(user, () -> start(connection, message));
+                case "join":
+                    return join(connection, message);
+                case "answer":
+                    return connection.getSessionId() == null
+                            ? error("No interview on this connection. Send start or join first.", 0)
+                            : charged(user, () -> answer(connection, message));
+                case "finish":
+                    return connection.getSessionId() == null
+                            ? error("No interview on this connection. Send start or join first.", 0)
+                            : upstream(user, () -> finish(connection));
+                default:
+                    return error("Unknown frame type '" + type + "'.", 0);
+            }
+        } catch (RuntimeException e) {
+            return error("Your request could not be processed. Please try again.", 0);
+        }
+    }
+
+    private String start(Connection connection, JsonNode message) {
+        InterviewConfig config = new InterviewConfig();
+        config.setRole(message.path("role").asText(null));
+        config.setExperienceLevel(message.path("experienceLevel").asText(null));
+        config.setInterviewType(message.path("interviewType").asText(null));
+
+        String reservation = null;
+        if (admission.isEnabled()) {
+            reservation = admission.reserveSession(connection.getUser());
+            if (reservation == null) {
+                return error("You already have the maximum number of interviews in progress. Finish one first.", 0);
+            }
+        }
+        InterviewService.StartInterviewResponse response;
+        try {
+            response = interviewService.startInterview(config, connection.getUser());
+        } catch (RuntimeException e) {
+            if (reservation != null) {
+                admission.closeSession(connection.getUser(), reservation);
+            }
+            throw e;
+        }
+        if (reservation != null) {
+            admission.bindSession(connection.getUser(), reservation, response.getSessionId());
+        }
+        connection.setSessionId(response.getSessionId());
+
+        ObjectNode reply = objectMapper.createObjectNode()
+                .put("type", "started")
+                .put("sessionId", response.getSessionId())
+                .put("questionId", response.getQuestionId())
+                .put("question", response.getFirstQuestion())
+                .put("degraded", response.isDegraded());
+        return write(reply);
+    }
+
+    private String join(Connection connection, JsonNode message) {
+        String sessionId = message.path("sessionId").asText("");
+        if (sessionId.isBlank()) {
+            return error("join needs a sessionId.", 0);
+        }
+        ShardRing.Node owner = sessionRouter.ownerOf(sessionId);
+        if (owner != null) {
+            return write(objectMapper.createObjectNode().put("type", "moved").put("sessionId", sessionId)
+                    .put("node", owner.id()));
+        }
+        connection.setSessionId(sessionId);
+        return write(objectMapper.createObjectNode().put("type", "joined").put("sessionId", sessionId));
+    }
+
+    private String answer(Connection connection, JsonNode message) {
+        Answer answer = new Answer();
+        answer.setQuestionId(message.path("questionId").asText(null));
+        answer.setText(message.path("text").asText(""));
+        answer.setDurationSeconds(message.path("durationSeconds").asInt(0));
+
+        InterviewService.NextQuestionResponse response = interviewService.submitAnswer(connection.getSessionId(), answer);
+        ObjectNode reply = objectMapper.createObjectNode()
+                .put("type", "question")
+                .put("questionId", response.getQuestionId())
+                .put("question", response.getNextQuestion())
+                .put("degraded", response.isDegraded());
+        return write(reply);
+    }
+
+    private String finish(Connection connection) {
+        String sessionId = connection.getSessionId();
+        InterviewFeedback feedback = interviewService.finishInterview(sessionId);
+        if (admission.isEnabled()) {
+            admission.closeSession(connection.getUser(), sessionId);
+        }
+        connection.setSessionId(null);
+
+        ObjectNode reply = objectMapper.createObjectNode().put("type", "feedback").put("sessionId", sessionId);
+        reply.set("feedback", objectMapper.valueToTree(feedback));
+        return write(reply);
+    }
+
+    private String upstream(String user, Supplier<String> call) {
+        if (!admission.isEnabled()) {
+            return call.get();
+        }
+        boolean acquired;
+        try {
+            acquired = admission.acquireUpstream(user);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            return error("The interviewer is busy right now, please retry in a moment.", 1);
+        }
+        try {
+            return call.get();
+        } finally {
+            admission.releaseUpstream();
+        }
+    }
+
+    /**
+     * Upstream work that spends the user's token budget. As on the HTTP API, finishing is not checked.
+     */
+    private String charged(String user, Supplier<String> call) {
+        if (ledger.isOverBudget(user)) {
+            return error("You have used your interview budget for now. It renews at " + ledger.currentPeriodEnd() + ".", 0);
+        }
+        return upstream(user, call);
+    }
+
+    private String error(String message, long retryAfterSeconds) {
+        ObjectNode reply = objectMapper.createObjectNode().put("type", "error").put("message", message);
+        if (retryAfterSeconds > 0) {
+            reply.put("retryAfter", retryAfterSeconds);
+        }
+        return write(reply);
+    }
+
+    private String write(ObjectNode reply) {
+        try {
+            return objectMapper.writeValueAsString(reply);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Per-connection state: the authenticated user and the interview bound to the connection.
+     */
+    public static class Connection {
+        private final String user;
+        private volatile String sessionId;
+
+        public Connection(String user) {
+            this.user = user;
+        }
+
+        public String getUser() {
+            return user;
+        }
+
+        public String getSessionId() {
+            return sessionId;
+        }
+
+        public void setSessionId(String sessionId) {
+            this.sessionId = sessionId;
+        }
+    }
+}
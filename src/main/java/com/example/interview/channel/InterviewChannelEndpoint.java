@@ -0,0 +1,52 @@
+package com.example.interview.channel;
+
+import jakarta.websocket.CloseReason;
+import jakarta.websocket.Endpoint;
+import jakarta.websocket.EndpointConfig;
+import jakarta.websocket.Session;
+
+import java.io.IOException;
+
+/**
+ * One candidate's WebSocket connection. The container delivers a connection's frames one at a time and
+ * does not read the next one until the handler returns, so a client that sends faster than turns complete
+ * is slowed down by the socket itself; replies are written with blocking sends for the same reason.
+ */
+class InterviewChannelEndpoint extends Endpoint {
+
+    static final String USER_PROPERTY = "interview.channel.user";
+
+    private final InterviewChannel channel;
+
+    InterviewChannelEndpoint(InterviewChannel channel) {
+        this.channel = channel;
+    }
+
+    @Override
+    public void onOpen(Session session, EndpointConfig config) {
+        String user = (String) config.getUserProperties().get(USER_PROPERTY);
+        if (user == null) {
+            close(session, new CloseReason(CloseReason.CloseCodes.VIOLATED_POLICY, "Unauthorized"));
+            return;
+        }
+        session.setMaxIdleTimeout(channel.getIdleTimeout().toMillis());
+        session.setMaxTextMessageBufferSize(channel.getMaxFrameBytes());
+
+        InterviewChannel.Connection connection = new InterviewChannel.Connection(user);
+        session.addMessageHandler(String.class, frame -> {
+            try {
+                session.getBasicRemote().sendText(channel.handle(connection, frame));
+            } catch (IOException e) {
+                close(session, new CloseReason(CloseReason.CloseCodes.UNEXPECTED_CONDITION, "Send failed"));
+            }
+        });
+    }
+
+    private static void close(Session session, CloseReason reason) {
+        try {
+            session.close(reason);
+        } catch (IOException e) {
+            // Already gone.
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.interview.channel;
+
+import jakarta.servlet.ServletContext;
+import jakarta.websocket.DeploymentException;
+import jakarta.websocket.HandshakeResponse;
+import jakarta.websocket.server.HandshakeRequest;
+import jakarta.websocket.server.ServerContainer;
+import jakarta.websocket.server.ServerEndpointConfig;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.ServletContextAware;
+
+import java.util.List;
+
+/**
+ * Registers the {@link InterviewChannel} endpoint with the servlet container's WebSocket support once the
+ * context is ready. The handshake is authenticated here: the JWT comes from the {@code access_token}
+ * query parameter (browsers cannot set headers on a WebSocket) or a bearer Authorization header.
+ */
+@Component
+public class InterviewChannelRegistrar implements ServletContextAware, SmartInitializingSingleton {
+
+    private final InterviewChannel channel;
+    private ServletContext servletContext;
+
+    public InterviewChannelRegistrar(InterviewChannel channel) {
+        this.channel = channel;
+    }
+
+    @Override
+    public void setServletContext(ServletContext servletContext) {
+        this.servletContext = servletContext;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (!channel.isEnabled() || servletContext == null) {
+            return;
+        }
+        // Absent when not running in a WebSocket-capable container, e.g. mock servlet environments in tests.
+        ServerContainer container = (ServerContainer) servletContext.getAttribute(ServerContainer.class.getName());
+        if (container == null) {
+            return;
+        }
+        ServerEndpointConfig config = ServerEndpointConfig.Builder
+                .create(InterviewChannelEndpoint.class, InterviewChannel.PATH)
+                .configurator(new Configurator())
+                .build();
+        try {
+            container.addEndpoint(config);
+        } catch (DeploymentException e) {
+            throw new IllegalStateException("Could not register " + InterviewChannel.PATH, e);
+        }
+    }
+
+    private final class Configurator extends ServerEndpointConfig.Configurator {
+
+        @Override
+        public void modifyHandshake(ServerEndpointConfig config, HandshakeRequest request, HandshakeResponse response) {
+            // The container hands each handshake its own copy of the config, so these properties are per connection.
+            String user = channel.authenticate(token(request));
+            if (user != null) {
+                config.getUserProperties().put(InterviewChannelEndpoint.USER_PROPERTY, user);
+            }
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> T getEndpointInstance(Class<T> endpointClass) {
+            return (T) new InterviewChannelEndpoint(channel);
+        }
+
+        private String token(HandshakeRequest request) {
+            List<String> tokens = request.getParameterMap().get("access_token");
+            if (tokens != null && !tokens.isEmpty()) {
+                return tokens.get(0);
+            }
+            List<String> authorization = request.getHeaders().get("Authorization");
+            if (authorization != null && !authorization.isEmpty() && authorization.get(0).startsWith("Bearer ")) {
+                return authorization.get(0).substring(7);
+            }
+            return null;
+        }
+    }
+}
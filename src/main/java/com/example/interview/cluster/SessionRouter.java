@@ -0,0 +1,133 @@
+package com.example.interview.cluster;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Decides which node owns an interview session. With clustering enabled, new session ids carry the shard
+ * they belong to ({@code <shard as 4 hex digits>.<uuid>}), and the shard is always one this node owns, so a
+ * session's state stays on the node that created it. Requests for other shards are sent to their owner by
+ * {@link SessionRoutingFilter}. Ids without a shard (clustering disabled, or sessions from before it was
+ * enabled) are always handled locally.
+ */
+@Component
+public class SessionRouter {
+
+    private static final int SHARD_DIGITS = 4;
+
+    private final boolean enabled;
+    private final String nodeId;
+    private final boolean forward;
+    private final ShardRing ring;
+    private final int[] localShards;
+
+    public SessionRouter(
+            @Value("${cluster.enabled:false}") boolean enabled,
+            @Value("${cluster.node-id:local}") String nodeId,
+            @Value("${cluster.nodes:}") String nodes,
+            @Value("${cluster.shards:1024}") int shards,
+            @Value("${cluster.virtual-nodes:128}") int virtualNodes,
+            @Value("${cluster.forward:true}") boolean forward
+    ) {
+        this.enabled = enabled;
+        this.nodeId = nodeId;
+        this.forward = forward;
+        if (shards > 1 << (4 * SHARD_DIGITS)) {
+            throw new IllegalArgumentException("cluster.shards must fit in " + SHARD_DIGITS + " hex digits");
+        }
+        if (enabled) {
+            List<ShardRing.Node> members = parseNodes(nodes);
+            if (members.stream().noneMatch(n -> n.id().equals(nodeId))) {
+                throw new IllegalArgumentException("cluster.node-id '" + nodeId + "' is not listed in cluster.nodes");
+            }
+            this.ring = new ShardRing(members, shards, virtualNodes);
+            this.localShards = ring.shardsOwnedBy(nodeId).stream().mapToInt(Integer::intValue).toArray();
+        } else {
+            this.ring = null;
+            this.localShards = new int[0];
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    /**
+     * True to proxy requests for remote sessions; false to answer them with a redirect to the owner.
+     */
+    public boolean isForwarding() {
+        return forward;
+    }
+
+    /**
+     * A new session id on one of this node's shards.
+     */
+    public String newSessionId() {
+        String uuid = UUID.randomUUID().toString();
+        if (localShards.length == 0) {
+            return uuid;
+        }
+        int shard = localShards[ThreadLocalRandom.current().nextInt(localShards.length)];
+        return String.format("%0" + SHARD_DIGITS + "x", shard) + "." + uuid;
+    }
+
+    /**
+     * @return the node owning the session, or null if it is handled here
+     */
+    public ShardRing.Node ownerOf(String sessionId) {
+        if (ring == null) {
+            return null;
+        }
+        int shard = shardOf(sessionId);
+        if (shard < 0 || shard >= ring.shardCount()) {
+            return null;
+        }
+        ShardRing.Node owner = ring.ownerOf(shard);
+        return owner.id().equals(nodeId) ? null : owner;
+    }
+
+    static int shardOf(String sessionId) {
+        if (sessionId == null || sessionId.length() <= SHARD_DIGITS || sessionId.charAt(SHARD_DIGITS) != '.') {
+            return -1;
+        }
+        int shard = 0;
+        for (int i = 0; i < SHARD_DIGITS; i++) {
+            int digit = Character.digit(sessionId.charAt(i), 16);
+            if (digit < 0) {
+                return -1;
+            }
+            shard = shard * 16 + digit;
+        }
+        return shard;
+    }
+
+    /**
+     * Parses {@code id=baseUrl} pairs separated by commas.
+     */
+    private static List<ShardRing.Node> parseNodes(String nodes) {
+        List<ShardRing.Node> parsed = new ArrayList<>();
+        for (String entry : nodes.split(",")) {
+            String trimmed = entry.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            int eq = trimmed.indexOf('=');
+            if (eq <= 0) {
+                throw new IllegalArgumentException("cluster.nodes entries must look like id=http://host:port, got '" + trimmed + "'");
+            }
+            String baseUrl = trimmed.substring(eq + 1).trim();
+            parsed.add(new ShardRing.Node(trimmed.substring(0, eq).trim(),
+                    baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl));
+        }
+        return parsed;
+    }
+}
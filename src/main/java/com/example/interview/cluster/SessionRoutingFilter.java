@@ -0,0 +1,165 @@
+package com.example.interview.cluster;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Sends interview API requests for sessions owned by another node to that node. By default the request is
+ * proxied (the body is streamed through, and the owner authenticates it again from the same bearer token);
+ * with {@code cluster.forward=false} the client gets a 307 to the owner instead. A forwarded request is
+ * always served where it lands, so nodes with briefly different views of the cluster cannot bounce a
+ * request back and forth.
+ */
+@Component
+public class SessionRoutingFilter extends OncePerRequestFilter {
+
+    static final String FORWARDED_BY = "X-Interview-Forwarded-By";
+    static final String NODE_HEADER = "X-Interview-Node";
+
+    private static final String INTERVIEW_API = "/api/interview/";
+
+    // Connection-level headers, plus the ones HttpClient sets itself and refuses to take from callers.
+    private static final Set<String> NOT_FORWARDED = Set.of(
+            "connection", "keep-alive", "proxy-authenticate", "proxy-authorization", "te", "trailer",
+            "transfer-encoding", "upgrade", "host", "content-length", "expect");
+
+    private final SessionRouter router;
+    private final HttpClient client;
+    private final Duration timeout;
+
+    public SessionRoutingFilter(
+            SessionRouter router,
+            @Value("${cluster.forward-connect-timeout:PT2S}") Duration connectTimeout,
+            @Value("${cluster.forward-timeout:PT60S}") Duration timeout
+    ) {
+        this.router = router;
+        this.timeout = timeout;
+        this.client = HttpClient.newBuilder()
+                .connectTimeout(connectTimeout)
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .build();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !router.isEnabled() || !request.getRequestURI().startsWith(INTERVIEW_API);
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain
+    ) throws ServletException, IOException {
+
+        ShardRing.Node owner = router.ownerOf(sessionIdOf(request.getRequestURI()));
+        // Anonymous requests are rejected here rather than costing the owner a round trip.
+        if (owner == null || request.getHeader(FORWARDED_BY) != null
+                || request.getHeader(HttpHeaders.AUTHORIZATION) == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        String target = owner.baseUrl() + request.getRequestURI()
+                + (request.getQueryString() != null ? "?" + request.getQueryString() : "");
+        if (!router.isForwarding()) {
+            response.setStatus(HttpServletResponse.SC_TEMPORARY_REDIRECT);
+            response.setHeader(HttpHeaders.LOCATION, target);
+            response.setHeader(NODE_HEADER, owner.id());
+            return;
+        }
+        forward(request, response, owner, target);
+    }
+
+    private void forward(HttpServletRequest request, HttpServletResponse response,
+                         ShardRing.Node owner, String target) throws IOException {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(target)).timeout(timeout);
+        for (String name : Collections.list(request.getHeaderNames())) {
+            if (!NOT_FORWARDED.contains(name.toLowerCase())) {
+                for (String value : Collections.list(request.getHeaders(name))) {
+                    builder.header(name, value);
+                }
+            }
+        }
+        builder.header(FORWARDED_BY, router.getNodeId());
+        builder.method(request.getMethod(), hasBody(request)
+                ? HttpRequest.BodyPublishers.ofInputStream(() -> requestBody(request))
+                : HttpRequest.BodyPublishers.noBody());
+
+        HttpResponse<InputStream> upstream;
+        try {
+            upstream = client.send(builder.build(), HttpResponse.BodyHandlers.ofInputStream());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            unavailable(response, owner);
+            return;
+        } catch (IOException e) {
+            unavailable(response, owner);
+            return;
+        }
+
+        response.setStatus(upstream.statusCode());
+        for (Map.Entry<String, List<String>> header : upstream.headers().map().entrySet()) {
+            String name = header.getKey();
+            if (!name.startsWith(":") && !NOT_FORWARDED.contains(name.toLowerCase())) {
+                for (String value : header.getValue()) {
+                    response.addHeader(name, value);
+                }
+            }
+        }
+        response.setHeader(NODE_HEADER, owner.id());
+        try (InputStream body = upstream.body()) {
+            body.transferTo(response.getOutputStream());
+        }
+    }
+
+    /**
+     * The path segment after {@code /api/interview/}, e.g. the session id in {@code /api/interview/{id}/answer}.
+     */
+    static String sessionIdOf(String path) {
+        if (!path.startsWith(INTERVIEW_API)) {
+            return null;
+        }
+        int start = INTERVIEW_API.length();
+        int end = path.indexOf('/', start);
+        return end < 0 ? path.substring(start) : path.substring(start, end);
+    }
+
+    private static boolean hasBody(HttpServletRequest request) {
+        return request.getContentLengthLong() > 0 || request.getHeader(HttpHeaders.TRANSFER_ENCODING) != null;
+    }
+
+    private static InputStream requestBody(HttpServletRequest request) {
+        try {
+            return request.getInputStream();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void unavailable(HttpServletResponse response, ShardRing.Node owner) throws IOException {
+        response.setStatus(HttpServletResponse.SC_BAD_GATEWAY);
+        response.setHeader(NODE_HEADER, owner.id());
+        response.setContentType("application/json");
+        response.getWriter().write("{\"error\":\"The node holding this interview is unavailable, please retry shortly.\"}");
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.interview.cluster;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Consistent-hash assignment of a fixed number of session shards to nodes. Each node is placed on the ring
+ * at {@code virtualNodes} points and a shard belongs to the first node point at or after the shard's hash,
+ * so adding or removing a node only moves the shards adjacent to its points. Every node computes the same
+ * table from the same node list, and lookups are a single array read.
+ */
+public final class ShardRing {
+
+    public record Node(String id, String baseUrl) {
+    }
+
+    private final Node[] owners;
+
+    public ShardRing(List<Node> nodes, int shards, int virtualNodes) {
+        if (nodes.isEmpty()) {
+            throw new IllegalArgumentException("A shard ring needs at least one node");
+        }
+        TreeMap<Long, Node> ring = new TreeMap<>();
+        for (Node node : nodes) {
+            for (int v = 0; v < virtualNodes; v++) {
+                ring.put(hash(node.id() + "#" + v), node);
+            }
+        }
+        this.owners = new Node[shards];
+        for (int shard = 0; shard < shards; shard++) {
+            Map.Entry<Long, Node> entry = ring.ceilingEntry(hash("shard-" + shard));
+            owners[shard] = (entry != null ? entry : ring.firstEntry()).getValue();
+        }
+    }
+
+    public int shardCount() {
+        return owners.length;
+    }
+
+    public Node ownerOf(int shard) {
+        return owners[shard];
+    }
+
+    public List<Integer> shardsOwnedBy(String nodeId) {
+        List<Integer> owned = new ArrayList<>();
+        for (int shard = 0; shard < owners.length; shard++) {
+            if (owners[shard].id().equals(nodeId)) {
+                owned.add(shard);
+            }
+        }
+        return owned;
+    }
+
+    private static long hash(String key) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(key.getBytes(StandardCharsets.UTF_8));
+            long h = 0;
+            for (int i = 0; i < 8; i++) {
+                h = (h << 8) | (digest[i] & 0xff);
+            }
+            return h;
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
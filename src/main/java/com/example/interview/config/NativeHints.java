@@ -0,0 +1,77 @@
+package com.example.interview.config;
+
+import com.example.interview.auth.AuthResponse;
+import com.example.interview.auth.LoginRequest;
+import com.example.interview.auth.SignupRequest;
+import com.example.interview.ledger.UsageTotals;
+import com.example.interview.llm.dto.ChatMessage;
+import com.example.interview.model.Answer;
+import com.example.interview.model.InterviewConfig;
+import com.example.interview.model.InterviewFeedback;
+import com.example.interview.model.Question;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.aot.hint.annotation.RegisterReflectionForBinding;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+
+/**
+ * Reachability metadata for the native image (the {@code native} Maven profile). Spring AOT covers the bean
+ * graph and typed controller signatures; this adds what it cannot see: DTOs bound by Jackson outside typed
+ * signatures (e.g. {@code ResponseEntity<?>}, LLM request bodies, stored feedback), read by
+ * {@link com.example.interview.llm.ResponseSchema} or built by JPQL constructor expressions, and the
+ * libraries that load classes by name.
+ */
+@Configuration(proxyBeanMethods = false)
+@RegisterReflectionForBinding({
+        ChatMessage.class,
+        InterviewFeedback.class,
+        InterviewConfig.class,
+        Answer.class,
+        Question.class,
+        AuthResponse.class,
+        LoginRequest.class,
+        SignupRequest.class,
+        UsageTotals.class
+})
+@ImportRuntimeHints(NativeHints.LibraryHints.class)
+public class NativeHints {
+
+    static class LibraryHints implements RuntimeHintsRegistrar {
+
+        // JJWT's API module instantiates its implementation reflectively (jjwt-impl is runtime-only).
+        private static final String[] JJWT_IMPL = {
+                "io.jsonwebtoken.impl.DefaultJwtBuilder",
+                "io.jsonwebtoken.impl.DefaultJwtParserBuilder",
+                "io.jsonwebtoken.impl.DefaultJwtParser",
+                "io.jsonwebtoken.impl.DefaultClaims",
+                "io.jsonwebtoken.impl.DefaultHeader",
+                "io.jsonwebtoken.impl.DefaultJwsHeader",
+                "io.jsonwebtoken.impl.compression.DeflateCompressionCodec",
+                "io.jsonwebtoken.impl.compression.GzipCompressionCodec",
+                "io.jsonwebtoken.jackson.io.JacksonSerializer",
+                "io.jsonwebtoken.jackson.io.JacksonDeserializer"
+        };
+
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            for (String type : JJWT_IMPL) {
+                hints.reflection().registerType(TypeReference.of(type), MemberCategory.INVOKE_DECLARED_CONSTRUCTORS);
+            }
+            hints.resources().registerPattern("META-INF/services/io.jsonwebtoken.*");
+
+            // The MariaDB driver maps URL options onto its configuration by field and method name.
+            hints.reflection().registerType(TypeReference.of("org.mariadb.jdbc.Configuration"),
+                    MemberCategory.ACCESS_DECLARED_FIELDS, MemberCategory.INVOKE_DECLARED_METHODS);
+            hints.reflection().registerType(TypeReference.of("org.mariadb.jdbc.Configuration$Builder"),
+                    MemberCategory.ACCESS_DECLARED_FIELDS, MemberCategory.INVOKE_DECLARED_METHODS,
+                    MemberCategory.INVOKE_DECLARED_CONSTRUCTORS);
+            hints.resources().registerPattern("driver.properties");
+            hints.resources().registerPattern("deprecated.properties");
+            hints.resources().registerPattern("mariadb.properties");
+            hints.resources().registerPattern("META-INF/services/org.mariadb.jdbc.*");
+        }
+    }
+}
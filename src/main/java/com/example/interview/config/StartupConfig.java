@@ -0,0 +1,28 @@
+package com.example.interview.config;
+
+import com.example.interview.auth.AuthController;
+import com.example.interview.channel.InterviewChannelRegistrar;
+import com.example.interview.controller.InterviewController;
+import com.example.interview.web.StaticAssetController;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class StartupConfig {
+
+    /**
+     * Beans that stay eager when {@code spring.main.lazy-initialization} is on (the fast-start profile):
+     * the UI, sign-in and the interview API with everything they depend on, so the first candidate does
+     * not pay for building them, and the channel registrar, which only runs if created during startup.
+     * Everything else (analytics, voice uploads, ...) is built on first use.
+     */
+    @Bean
+    static LazyInitializationExcludeFilter interviewPathExcludeFilter() {
+        return LazyInitializationExcludeFilter.forBeanTypes(
+                StaticAssetController.class,
+                AuthController.class,
+                InterviewController.class,
+                InterviewChannelRegistrar.class);
+    }
+}
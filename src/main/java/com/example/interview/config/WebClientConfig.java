@@ -1,5 +1,6 @@
 package com.example.interview.config;
 
+import io.micrometer.observation.ObservationRegistry;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.reactive.function.client.WebClient;
@@ -8,8 +9,9 @@ import org.springframework.web.reactive.function.client.WebClient;
 public class WebClientConfig {
 
     @Bean
-    public WebClient.Builder webClientBuilder() {
+    public WebClient.Builder webClientBuilder(ObservationRegistry observationRegistry) {
         // You can customize this (timeouts, default headers etc.) later
-        return WebClient.builder();
+        // Upstream requests are observed as children of the LLM call that made them.
+        return WebClient.builder().observationRegistry(observationRegistry);
     }
 }
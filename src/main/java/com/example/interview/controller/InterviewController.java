@@ -1,12 +1,19 @@
 package com.example.interview.controller;
 
+import com.example.interview.admission.AdmissionControl;
+import com.example.interview.idempotency.IdempotencyCache;
+import com.example.interview.ledger.TokenLedger;
 import com.example.interview.model.Answer;
 import com.example.interview.model.InterviewConfig;
 import com.example.interview.model.InterviewFeedback;
 import com.example.interview.service.InterviewService;
 import com.example.interview.service.InterviewService.NextQuestionResponse;
 import com.example.interview.service.InterviewService.StartInterviewResponse;
+import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.security.Principal;
 
 @RestController
 @RequestMapping("/api/interview")
@@ -14,9 +21,16 @@ import org.springframework.web.bind.annotation.*;
 public class InterviewController {
 
     private final InterviewService interviewService;
+    private final IdempotencyCache idempotencyCache;
+    private final AdmissionControl admission;
+    private final TokenLedger ledger;
 
-    public InterviewController(InterviewService interviewService) {
+    public InterviewController(InterviewService interviewService, IdempotencyCache idempotencyCache,
+                               AdmissionControl admission, TokenLedger ledger) {
         this.interviewService = interviewService;
+        this.idempotencyCache = idempotencyCache;
+        this.admission = admission;
+        this.ledger = ledger;
     }
 
     @GetMapping
@@ -25,20 +39,68 @@ public class InterviewController {
     }
 
     @PostMapping("/start")
-    public StartInterviewResponse start(@RequestBody InterviewConfig config) {
-        return interviewService.startInterview(config);
+    public StartInterviewResponse start(@RequestBody InterviewConfig config, Principal principal) {
+        String user = principal != null ? principal.getName() : null;
+        checkBudget(user);
+        if (!admission.isEnabled() || principal == null) {
+            return interviewService.startInterview(config, user);
+        }
+        String reservation = admission.reserveSession(principal.getName());
+        if (reservation == null) {
+            throw new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS,
+                    "You already have the maximum number of interviews in progress. Finish one first.");
+        }
+        try {
+            StartInterviewResponse response = interviewService.startInterview(config, user);
+            admission.bindSession(principal.getName(), reservation, response.getSessionId());
+            return response;
+        } catch (RuntimeException e) {
+            admission.closeSession(principal.getName(), reservation);
+            throw e;
+        }
     }
 
     @PostMapping("/{sessionId}/answer")
     public NextQuestionResponse answer(
             @PathVariable("sessionId") String sessionId,
-            @RequestBody Answer answer
+            @RequestHeader(value = IdempotencyCache.HEADER, required = false) String idempotencyKey,
+            @RequestBody Answer answer,
+            Principal principal
     ) {
-        return interviewService.submitAnswer(sessionId, answer);
+        checkBudget(principal != null ? principal.getName() : null);
+        String body = answer.getQuestionId() + '\n' + answer.getDurationSeconds() + '\n' + answer.getText();
+        return idempotencyCache.execute("answer|" + sessionId, idempotencyKey, body,
+                () -> interviewService.submitAnswer(sessionId, answer));
     }
 
     @PostMapping("/{sessionId}/finish")
-    public InterviewFeedback finish(@PathVariable("sessionId") String sessionId) {
-        return interviewService.finishInterview(sessionId);
+    public InterviewFeedback finish(
+            @PathVariable("sessionId") String sessionId,
+            @RequestHeader(value = IdempotencyCache.HEADER, required = false) String idempotencyKey,
+            Principal principal
+    ) {
+        InterviewFeedback feedback = idempotencyCache.execute("finish|" + sessionId, idempotencyKey, null,
+                () -> interviewService.finishInterview(sessionId));
+        if (principal != null) {
+            admission.closeSession(principal.getName(), sessionId);
+        }
+        return feedback;
+    }
+
+    @GetMapping("/{sessionId}/feedback")
+    public InterviewFeedback feedback(@PathVariable("sessionId") String sessionId) {
+        InterviewFeedback feedback = interviewService.getFeedback(sessionId);
+        if (feedback == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "No finished interview " + sessionId);
+        }
+        return feedback;
+    }
+
+    // Finishing is not checked: an interview that was started always gets its feedback.
+    private void checkBudget(String user) {
+        if (ledger.isOverBudget(user)) {
+            throw new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS,
+                    "You have used your interview budget for now. It renews at " + ledger.currentPeriodEnd() + ".");
+        }
     }
 }
@@ -0,0 +1,127 @@
+package com.example.interview.feedback;
+
+import com.example.interview.llm.dto.ChatMessage;
+import com.example.interview.model.InterviewFeedback;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Memoized interview feedback. Entries are keyed by a hash of the rendered evaluation prompt, so the same
+ * transcript evaluated with the same template versions is never sent to the LLM twice, while a template
+ * change produces a new key and a fresh evaluation. A bounded in-memory LRU sits in front of the
+ * {@code interview_feedback} table.
+ */
+@Service
+public class FeedbackCache {
+
+    private final StoredFeedbackRepository repository;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<String, InterviewFeedback> memory;
+    private final Map<String, String> keysBySession;
+
+    public FeedbackCache(
+            StoredFeedbackRepository repository,
+            @Value("${feedback-cache.max-entries:5000}") int maxEntries
+    ) {
+        this.repository = repository;
+        this.memory = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, InterviewFeedback> eldest) {
+                return size() > maxEntries;
+            }
+        };
+        this.keysBySession = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    public static String key(List<ChatMessage> messages) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (ChatMessage message : messages) {
+                digest.update(String.valueOf(message.getRole()).getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) 0);
+                digest.update(String.valueOf(message.getContent()).getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) 0);
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public Optional<InterviewFeedback> find(String key) {
+        InterviewFeedback cached;
+        synchronized (memory) {
+            cached = memory.get(key);
+        }
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        return load(repository.findById(key));
+    }
+
+    /**
+     * Latest stored feedback for a session, e.g. when results are reopened after the session was dropped.
+     */
+    public Optional<InterviewFeedback> findBySession(String sessionId) {
+        String key;
+        synchronized (memory) {
+            key = keysBySession.get(sessionId);
+            InterviewFeedback cached = key == null ? null : memory.get(key);
+            if (cached != null) {
+                return Optional.of(cached);
+            }
+        }
+        return load(repository.findFirstBySessionIdOrderByCreatedAtDesc(sessionId));
+    }
+
+    public void put(String key, String sessionId, String promptVersion, InterviewFeedback feedback) {
+        remember(key, sessionId, feedback);
+        try {
+            StoredFeedback stored = new StoredFeedback();
+            stored.setCacheKey(key);
+            stored.setSessionId(sessionId);
+            stored.setPromptVersion(promptVersion);
+            stored.setFeedbackJson(objectMapper.writeValueAsString(feedback));
+            stored.setCreatedAt(Instant.now());
+            repository.save(stored);
+        } catch (Exception e) {
+            // The in-memory entry still serves repeats on this node; persistence is best effort.
+        }
+    }
+
+    private Optional<InterviewFeedback> load(Optional<StoredFeedback> stored) {
+        try {
+            if (stored.isEmpty()) {
+                return Optional.empty();
+            }
+            InterviewFeedback feedback = objectMapper.readValue(stored.get().getFeedbackJson(), InterviewFeedback.class);
+            remember(stored.get().getCacheKey(), stored.get().getSessionId(), feedback);
+            return Optional.of(feedback);
+        } catch (Exception e) {
+            return Optional.empty();
+        }
+    }
+
+    private void remember(String key, String sessionId, InterviewFeedback feedback) {
+        synchronized (memory) {
+            memory.put(key, feedback);
+            keysBySession.put(sessionId, key);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.interview.feedback;
+
+import jakarta.persistence.*;
+
+import java.time.Instant;
+
+@Entity
+@Table(name = "interview_feedback", indexes = @Index(name = "idx_feedback_session", columnList = "sessionId"))
+public class StoredFeedback {
+
+    // SHA-256 of the rendered evaluation prompt, i.e. of the transcript and the prompt template versions.
+    @Id
+    @Column(length = 64)
+    private String cacheKey;
+
+    // Sharded ids in cluster mode are a shard prefix plus a UUID, longer than a bare UUID.
+    @Column(nullable = false, length = 64)
+    private String sessionId;
+
+    @Column(nullable = false, length = 64)
+    private String promptVersion;
+
+    @Lob
+    @Column(nullable = false)
+    private String feedbackJson;
+
+    @Column(nullable = false)
+    private Instant createdAt;
+
+    public StoredFeedback() {
+    }
+
+    public String getCacheKey() {
+        return cacheKey;
+    }
+
+    public void setCacheKey(String cacheKey) {
+        this.cacheKey = cacheKey;
+    }
+
+    public String getSessionId() {
+        return sessionId;
+    }
+
+    public void setSessionId(String sessionId) {
+        this.sessionId = sessionId;
+    }
+
+    public String getPromptVersion() {
+        return promptVersion;
+    }
+
+    public void setPromptVersion(String promptVersion) {
+        this.promptVersion = promptVersion;
+    }
+
+    public String getFeedbackJson() {
+        return feedbackJson;
+    }
+
+    public void setFeedbackJson(String feedbackJson) {
+        this.feedbackJson = feedbackJson;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(Instant createdAt) {
+        this.createdAt = createdAt;
+    }
+}
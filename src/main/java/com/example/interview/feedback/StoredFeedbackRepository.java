@@ -0,0 +1,10 @@
+package com.example.interview.feedback;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Optional;
+
+public interface StoredFeedbackRepository extends JpaRepository<StoredFeedback, String> {
+
+    Optional<StoredFeedback> findFirstBySessionIdOrderByCreatedAtDesc(String sessionId);
+}
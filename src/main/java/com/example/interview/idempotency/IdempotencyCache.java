@@ -0,0 +1,128 @@
+package com.example.interview.idempotency;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+/**
+ * Bounded replay cache for requests carrying an {@code Idempotency-Key} header.
+ * The first request for a key runs the work; retries get its stored response, and duplicates that arrive
+ * while it is still running wait for that single computation. Failed computations are not cached.
+ * A key reused with a different request body is rejected with 422 rather than answered with the
+ * other request's response. Entries still running are never evicted, so the cache can briefly exceed
+ * its capacity under load.
+ */
+@Component
+public class IdempotencyCache {
+
+    public static final String HEADER = "Idempotency-Key";
+
+    private final int maxEntries;
+    private final long ttlMillis;
+    private final Map<String, Entry> entries;
+
+    public IdempotencyCache(
+            @Value("${idempotency.max-entries:10000}") int maxEntries,
+            @Value("${idempotency.ttl:PT10M}") Duration ttl
+    ) {
+        this.maxEntries = maxEntries;
+        this.ttlMillis = ttl.toMillis();
+        this.entries = new LinkedHashMap<>();
+    }
+
+    /**
+     * Runs {@code work} once per {@code (scope, key)}. Without a key the work simply runs.
+     *
+     * @param body the request's content in any stable form; a retry must send the same
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String scope, String key, String body, Supplier<T> work) {
+        if (key == null || key.isBlank()) {
+            return work.get();
+        }
+
+        String cacheKey = scope + '|' + key.trim();
+        byte[] digest = digest(body);
+        long now = System.currentTimeMillis();
+        CompletableFuture<Object> result;
+        boolean owner = false;
+        synchronized (entries) {
+            Entry entry = entries.get(cacheKey);
+            if (entry == null || (entry.result.isDone() && entry.expiresAtMillis <= now)) {
+                entries.remove(cacheKey);
+                entry = new Entry(new CompletableFuture<>(), digest, now + ttlMillis);
+                entries.put(cacheKey, entry);
+                evict(now);
+                owner = true;
+            } else if (!MessageDigest.isEqual(entry.bodyDigest, digest)) {
+                throw new ResponseStatusException(HttpStatus.UNPROCESSABLE_CONTENT,
+                        IdempotencyCache.HEADER + " was already used with a different request");
+            }
+            result = entry.result;
+        }
+
+        if (owner) {
+            try {
+                T value = work.get();
+                result.complete(value);
+                return value;
+            } catch (RuntimeException e) {
+                synchronized (entries) {
+                    entries.remove(cacheKey);
+                }
+                result.completeExceptionally(e);
+                throw e;
+            }
+        }
+
+        try {
+            return (T) result.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException re ? re : e;
+        }
+    }
+
+    /**
+     * Drops the oldest finished or expired entries beyond the capacity; running ones are kept so that
+     * their duplicates still wait for them.
+     */
+    private void evict(long now) {
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (entries.size() > maxEntries && iterator.hasNext()) {
+            Entry entry = iterator.next();
+            if (entry.result.isDone() || entry.expiresAtMillis <= now) {
+                iterator.remove();
+            }
+        }
+    }
+
+    private static byte[] digest(String body) {
+        try {
+            return MessageDigest.getInstance("SHA-256")
+                    .digest((body == null ? "" : body).getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private record Entry(CompletableFuture<Object> result, byte[] bodyDigest, long expiresAtMillis) {
+    }
+}
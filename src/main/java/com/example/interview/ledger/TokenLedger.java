@@ -0,0 +1,350 @@
+package com.example.interview.ledger;
+
+import com.example.interview.llm.LlmUsage;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Accounts every upstream LLM call to the user and session it was made for. Calls only add to
+ * {@link LongAdder} counters keyed by user, session and model; a background flush drains them every
+ * {@code ledger.flush-interval} and writes one {@link TokenUsage} row per key in a single batch. Reports
+ * combine the stored rows with what has not been flushed yet.
+ * <p>
+ * With {@code ledger.budget.tokens-per-user} set, each user may spend that many prompt plus completion
+ * tokens per {@code ledger.budget.period} (aligned to the epoch, so P1D is a UTC day). The running total
+ * starts from the stored rows and counts this node's calls since; other nodes' calls are seen once flushed.
+ */
+@Component
+public class TokenLedger implements DisposableBean {
+
+    static final String UNATTRIBUTED = "unattributed";
+
+    private final TokenUsageRepository repository;
+    private final Map<String, ModelPrice> prices;
+    private final long budgetTokens;
+    private final long periodMillis;
+    private final Map<String, String> sessionOwners = new ConcurrentHashMap<>();
+    private final Map<Key, Counters> pending = new ConcurrentHashMap<>();
+    // Counters removed as idle at the last flush; drained once more in case a call was still adding to them.
+    private List<Counters> retired = new ArrayList<>();
+    private volatile BudgetPeriod period;
+    private final ScheduledExecutorService flusher;
+
+    public TokenLedger(
+            TokenUsageRepository repository,
+            @Value("${ledger.prices:}") String prices,
+            @Value("${ledger.budget.tokens-per-user:0}") long budgetTokens,
+            @Value("${ledger.budget.period:P1D}") Duration budgetPeriod,
+            @Value("${ledger.flush-interval:PT10S}") Duration flushInterval
+    ) {
+        this.repository = repository;
+        this.prices = parsePrices(prices);
+        this.budgetTokens = budgetTokens;
+        this.periodMillis = budgetPeriod.toMillis();
+        this.period = new BudgetPeriod(periodStart(System.currentTimeMillis()));
+        this.flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "token-ledger-flush");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = flushInterval.toMillis();
+        flusher.scheduleWithFixedDelay(this::flush, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Attributes the session's calls to {@code userId}; call before the session's first LLM call.
+     */
+    public void bindSession(String sessionId, String userId) {
+        if (sessionId != null && userId != null) {
+            sessionOwners.put(sessionId, userId);
+        }
+    }
+
+    /**
+     * Forgets the session's owner once it will make no more LLM calls.
+     */
+    public void releaseSession(String sessionId) {
+        if (sessionId != null) {
+            sessionOwners.remove(sessionId);
+        }
+    }
+
+    public String ownerOf(String sessionId) {
+        return sessionId == null ? null : sessionOwners.get(sessionId);
+    }
+
+    /**
+     * Records one upstream call. Cheap enough for the request path: no locks or I/O once the key exists.
+     */
+    public void record(String sessionId, String provider, String model, LlmUsage usage, long elapsedNanos) {
+        String userId = sessionId == null ? UNATTRIBUTED : sessionOwners.getOrDefault(sessionId, UNATTRIBUTED);
+        Counters counters = pending.computeIfAbsent(
+                new Key(userId, sessionId, provider.toLowerCase(Locale.ROOT), model), Counters::new);
+        counters.calls.increment();
+        counters.promptTokens.add(usage.promptTokens());
+        counters.cachedTokens.add(usage.cachedTokens());
+        counters.completionTokens.add(usage.completionTokens());
+        counters.latencyNanos.add(elapsedNanos);
+        if (isBudgeted() && !UNATTRIBUTED.equals(userId)) {
+            spent(userId).add(usage.promptTokens() + usage.completionTokens());
+        }
+    }
+
+    public boolean isBudgeted() {
+        return budgetTokens > 0;
+    }
+
+    public long getBudgetTokens() {
+        return budgetTokens;
+    }
+
+    /**
+     * @return whether the user has used up this period's token budget; always false without a budget
+     */
+    public boolean isOverBudget(String userId) {
+        return isBudgeted() && userId != null && spent(userId).sum() >= budgetTokens;
+    }
+
+    public Instant currentPeriodStart() {
+        return Instant.ofEpochMilli(currentPeriod().start);
+    }
+
+    public Instant currentPeriodEnd() {
+        return Instant.ofEpochMilli(currentPeriod().start + periodMillis);
+    }
+
+    public List<UsageTotals> totalsByModelForUser(String userId, Instant from, Instant to) {
+        return merge(repository.totalsByModelForUser(userId, from, to), to,
+                key -> key.userId().equals(userId), Key::model);
+    }
+
+    public List<UsageTotals> totalsByModelForSession(String sessionId, String userId) {
+        return merge(repository.totalsByModelForSession(sessionId, userId), Instant.MAX,
+                key -> sessionId.equals(key.sessionId()) && key.userId().equals(userId), Key::model);
+    }
+
+    public List<UsageTotals> totalsByModel(Instant from, Instant to) {
+        return merge(repository.totalsByModel(from, to), to, key -> true, Key::model);
+    }
+
+    public List<UsageTotals> totalsByUser(Instant from, Instant to) {
+        return merge(repository.totalsByUser(from, to), to, key -> true, Key::userId);
+    }
+
+    /**
+     * Writes everything recorded since the last flush as one batch. Runs on the flush thread and at
+     * shutdown; if the write fails the amounts are put back and retried with the next flush.
+     */
+    public synchronized void flush() {
+        Instant now = Instant.now();
+        Map<Key, TokenUsage> batch = new LinkedHashMap<>();
+        for (Counters counters : retired) {
+            drain(counters, now, batch);
+        }
+        retired = new ArrayList<>();
+        for (Map.Entry<Key, Counters> entry : pending.entrySet()) {
+            if (!drain(entry.getValue(), now, batch) && pending.remove(entry.getKey(), entry.getValue())) {
+                retired.add(entry.getValue());
+            }
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            repository.saveAll(batch.values());
+        } catch (RuntimeException e) {
+            for (Map.Entry<Key, TokenUsage> entry : batch.entrySet()) {
+                pending.computeIfAbsent(entry.getKey(), Counters::new).restore(entry.getValue());
+            }
+        }
+    }
+
+    /**
+     * Moves the counters' amounts into the batch row for their key.
+     *
+     * @return false if nothing was recorded since the last drain
+     */
+    private boolean drain(Counters counters, Instant now, Map<Key, TokenUsage> batch) {
+        long calls = counters.calls.sumThenReset();
+        if (calls == 0) {
+            return false;
+        }
+        TokenUsage row = batch.computeIfAbsent(counters.key, key -> newRow(key, now));
+        row.setCalls(row.getCalls() + calls);
+        row.setPromptTokens(row.getPromptTokens() + counters.promptTokens.sumThenReset());
+        row.setCachedTokens(row.getCachedTokens() + counters.cachedTokens.sumThenReset());
+        row.setCompletionTokens(row.getCompletionTokens() + counters.completionTokens.sumThenReset());
+        row.setLatencyMillis(row.getLatencyMillis() + TimeUnit.NANOSECONDS.toMillis(counters.latencyNanos.sumThenReset()));
+        row.setCostMicros(costMicros(row.getModel(), row.getPromptTokens(), row.getCachedTokens(), row.getCompletionTokens()));
+        return true;
+    }
+
+    private static TokenUsage newRow(Key key, Instant now) {
+        TokenUsage row = new TokenUsage();
+        row.setUserId(key.userId());
+        row.setSessionId(key.sessionId());
+        row.setProvider(key.provider());
+        row.setModel(key.model());
+        row.setRecordedAt(now);
+        return row;
+    }
+
+    /**
+     * Cost in millionths of a dollar: with prices per million tokens, tokens times price is already in micros.
+     */
+    long costMicros(String model, long promptTokens, long cachedTokens, long completionTokens) {
+        ModelPrice price = prices.get(model.toLowerCase(Locale.ROOT));
+        if (price == null) {
+            return 0;
+        }
+        long uncached = Math.max(0, promptTokens - cachedTokens);
+        return Math.round(uncached * price.prompt() + cachedTokens * price.cached() + completionTokens * price.completion());
+    }
+
+    private List<UsageTotals> merge(List<UsageTotals> stored, Instant to, Predicate<Key> filter,
+                                    Function<Key, String> groupBy) {
+        Map<String, UsageTotals> totals = new LinkedHashMap<>();
+        for (UsageTotals row : stored) {
+            totals.put(row.getKey(), row);
+        }
+        // Unflushed amounts belong to the open interval ending now; leave them out of ranges ending earlier.
+        if (to.isAfter(Instant.now())) {
+            for (Counters counters : pending.values()) {
+                if (!filter.test(counters.key)) {
+                    continue;
+                }
+                UsageTotals unflushed = counters.snapshot(this);
+                if (unflushed.getCalls() == 0) {
+                    continue;
+                }
+                String group = groupBy.apply(counters.key);
+                unflushed.setKey(group);
+                totals.merge(group, unflushed, (a, b) -> {
+                    a.add(b);
+                    return a;
+                });
+            }
+        }
+        return new ArrayList<>(totals.values());
+    }
+
+    private LongAdder spent(String userId) {
+        BudgetPeriod current = currentPeriod();
+        LongAdder adder = current.spent.get(userId);
+        if (adder == null) {
+            // First sight of the user this period: start from what the stored rows already account for.
+            LongAdder seeded = new LongAdder();
+            seeded.add(repository.tokensSince(userId, Instant.ofEpochMilli(current.start)));
+            adder = current.spent.putIfAbsent(userId, seeded);
+            if (adder == null) {
+                adder = seeded;
+            }
+        }
+        return adder;
+    }
+
+    private BudgetPeriod currentPeriod() {
+        BudgetPeriod current = period;
+        long start = periodStart(System.currentTimeMillis());
+        if (current.start != start) {
+            current = new BudgetPeriod(start);
+            period = current;
+        }
+        return current;
+    }
+
+    private long periodStart(long nowMillis) {
+        return nowMillis - Math.floorMod(nowMillis, periodMillis);
+    }
+
+    /**
+     * Parses {@code model=prompt:completion:cached,...}, in US dollars per million tokens.
+     */
+    private static Map<String, ModelPrice> parsePrices(String spec) {
+        Map<String, ModelPrice> parsed = new HashMap<>();
+        for (String entry : spec.split(",")) {
+            if (entry.isBlank()) {
+                continue;
+            }
+            String[] modelAndPrices = entry.trim().split("=", 2);
+            String[] values = modelAndPrices.length == 2 ? modelAndPrices[1].split(":") : new String[0];
+            if (values.length != 3) {
+                throw new IllegalArgumentException("ledger.prices entry '" + entry.trim()
+                        + "' must be model=prompt:completion:cached");
+            }
+            parsed.put(modelAndPrices[0].trim().toLowerCase(Locale.ROOT), new ModelPrice(
+                    Double.parseDouble(values[0]), Double.parseDouble(values[1]), Double.parseDouble(values[2])));
+        }
+        return parsed;
+    }
+
+    @Override
+    public void destroy() {
+        flusher.shutdownNow();
+        flush();
+    }
+
+    private record Key(String userId, String sessionId, String provider, String model) {
+    }
+
+    private record ModelPrice(double prompt, double completion, double cached) {
+    }
+
+    private static final class BudgetPeriod {
+
+        final long start;
+        final Map<String, LongAdder> spent = new ConcurrentHashMap<>();
+
+        BudgetPeriod(long start) {
+            this.start = start;
+        }
+    }
+
+    private static final class Counters {
+
+        final Key key;
+        final LongAdder calls = new LongAdder();
+        final LongAdder promptTokens = new LongAdder();
+        final LongAdder cachedTokens = new LongAdder();
+        final LongAdder completionTokens = new LongAdder();
+        final LongAdder latencyNanos = new LongAdder();
+
+        Counters(Key key) {
+            this.key = key;
+        }
+
+        void restore(TokenUsage row) {
+            calls.add(row.getCalls());
+            promptTokens.add(row.getPromptTokens());
+            cachedTokens.add(row.getCachedTokens());
+            completionTokens.add(row.getCompletionTokens());
+            latencyNanos.add(TimeUnit.MILLISECONDS.toNanos(row.getLatencyMillis()));
+        }
+
+        UsageTotals snapshot(TokenLedger ledger) {
+            long prompt = promptTokens.sum();
+            long cached = cachedTokens.sum();
+            long completion = completionTokens.sum();
+            return new UsageTotals(key.model(), calls.sum(), prompt, cached, completion,
+                    TimeUnit.NANOSECONDS.toMillis(latencyNanos.sum()),
+                    ledger.costMicros(key.model(), prompt, cached, completion));
+        }
+    }
+}
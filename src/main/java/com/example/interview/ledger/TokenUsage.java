@@ -0,0 +1,147 @@
+package com.example.interview.ledger;
+
+import jakarta.persistence.*;
+
+import java.time.Instant;
+
+/**
+ * Tokens, latency and cost of the LLM calls one user made for one session and model between two flushes
+ * of the {@link TokenLedger}.
+ */
+@Entity
+@Table(name = "llm_token_usage", indexes = {
+        @Index(name = "idx_token_usage_user", columnList = "userId, recordedAt"),
+        @Index(name = "idx_token_usage_session", columnList = "sessionId"),
+        @Index(name = "idx_token_usage_recorded", columnList = "recordedAt")
+})
+public class TokenUsage {
+
+    // Sequence ids, so a flush is written as one JDBC batch (identity columns disable insert batching).
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "token_usage_seq")
+    @SequenceGenerator(name = "token_usage_seq", sequenceName = "llm_token_usage_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(nullable = false)
+    private String userId;
+
+    @Column(length = 64)
+    private String sessionId;
+
+    @Column(nullable = false, length = 32)
+    private String provider;
+
+    @Column(nullable = false, length = 128)
+    private String model;
+
+    @Column(nullable = false)
+    private Instant recordedAt;
+
+    private long calls;
+    private long promptTokens;
+    private long cachedTokens;
+    private long completionTokens;
+    private long latencyMillis;
+
+    // Millionths of a US dollar at the configured prices when the row was written.
+    private long costMicros;
+
+    public TokenUsage() {
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getUserId() {
+        return userId;
+    }
+
+    public void setUserId(String userId) {
+        this.userId = userId;
+    }
+
+    public String getSessionId() {
+        return sessionId;
+    }
+
+    public void setSessionId(String sessionId) {
+        this.sessionId = sessionId;
+    }
+
+    public String getProvider() {
+        return provider;
+    }
+
+    public void setProvider(String provider) {
+        this.provider = provider;
+    }
+
+    public String getModel() {
+        return model;
+    }
+
+    public void setModel(String model) {
+        this.model = model;
+    }
+
+    public Instant getRecordedAt() {
+        return recordedAt;
+    }
+
+    public void setRecordedAt(Instant recordedAt) {
+        this.recordedAt = recordedAt;
+    }
+
+    public long getCalls() {
+        return calls;
+    }
+
+    public void setCalls(long calls) {
+        this.calls = calls;
+    }
+
+    public long getPromptTokens() {
+        return promptTokens;
+    }
+
+    public void setPromptTokens(long promptTokens) {
+        this.promptTokens = promptTokens;
+    }
+
+    public long getCachedTokens() {
+        return cachedTokens;
+    }
+
+    public void setCachedTokens(long cachedTokens) {
+        this.cachedTokens = cachedTokens;
+    }
+
+    public long getCompletionTokens() {
+        return completionTokens;
+    }
+
+    public void setCompletionTokens(long completionTokens) {
+        this.completionTokens = completionTokens;
+    }
+
+    public long getLatencyMillis() {
+        return latencyMillis;
+    }
+
+    public void setLatencyMillis(long latencyMillis) {
+        this.latencyMillis = latencyMillis;
+    }
+
+    public long getCostMicros() {
+        return costMicros;
+    }
+
+    public void setCostMicros(long costMicros) {
+        this.costMicros = costMicros;
+    }
+}
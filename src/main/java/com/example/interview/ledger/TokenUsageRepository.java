@@ -0,0 +1,37 @@
+package com.example.interview.ledger;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface TokenUsageRepository extends JpaRepository<TokenUsage, Long> {
+
+    @Query("select new com.example.interview.ledger.UsageTotals(t.model, sum(t.calls), sum(t.promptTokens), "
+            + "sum(t.cachedTokens), sum(t.completionTokens), sum(t.latencyMillis), sum(t.costMicros)) "
+            + "from TokenUsage t where t.userId = :userId and t.recordedAt >= :from and t.recordedAt < :to "
+            + "group by t.model")
+    List<UsageTotals> totalsByModelForUser(@Param("userId") String userId, @Param("from") Instant from,
+                                           @Param("to") Instant to);
+
+    @Query("select new com.example.interview.ledger.UsageTotals(t.model, sum(t.calls), sum(t.promptTokens), "
+            + "sum(t.cachedTokens), sum(t.completionTokens), sum(t.latencyMillis), sum(t.costMicros)) "
+            + "from TokenUsage t where t.sessionId = :sessionId and t.userId = :userId group by t.model")
+    List<UsageTotals> totalsByModelForSession(@Param("sessionId") String sessionId, @Param("userId") String userId);
+
+    @Query("select new com.example.interview.ledger.UsageTotals(t.model, sum(t.calls), sum(t.promptTokens), "
+            + "sum(t.cachedTokens), sum(t.completionTokens), sum(t.latencyMillis), sum(t.costMicros)) "
+            + "from TokenUsage t where t.recordedAt >= :from and t.recordedAt < :to group by t.model")
+    List<UsageTotals> totalsByModel(@Param("from") Instant from, @Param("to") Instant to);
+
+    @Query("select new com.example.interview.ledger.UsageTotals(t.userId, sum(t.calls), sum(t.promptTokens), "
+            + "sum(t.cachedTokens), sum(t.completionTokens), sum(t.latencyMillis), sum(t.costMicros)) "
+            + "from TokenUsage t where t.recordedAt >= :from and t.recordedAt < :to group by t.userId")
+    List<UsageTotals> totalsByUser(@Param("from") Instant from, @Param("to") Instant to);
+
+    @Query("select coalesce(sum(t.promptTokens + t.completionTokens), 0) from TokenUsage t "
+            + "where t.userId = :userId and t.recordedAt >= :from")
+    long tokensSince(@Param("userId") String userId, @Param("from") Instant from);
+}
@@ -0,0 +1,74 @@
+package com.example.interview.ledger;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.*;
+
+import java.security.Principal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+
+/**
+ * LLM usage and cost from the {@link TokenLedger}. Users see their own budget period and sessions; the
+ * totals across users and models are restricted to ROLE_ADMIN in {@code SecurityConfig}.
+ */
+@RestController
+@RequestMapping("/api/usage")
+@CrossOrigin
+public class UsageController {
+
+    private static final int DEFAULT_WINDOW_DAYS = 30;
+
+    private final TokenLedger ledger;
+
+    public UsageController(TokenLedger ledger) {
+        this.ledger = ledger;
+    }
+
+    @GetMapping("/me")
+    public UserUsage me(Principal principal) {
+        Instant start = ledger.currentPeriodStart();
+        Instant end = ledger.currentPeriodEnd();
+        List<UsageTotals> byModel = ledger.totalsByModelForUser(principal.getName(), start, end);
+
+        UserUsage usage = new UserUsage();
+        usage.setUserId(principal.getName());
+        usage.setPeriodStart(start);
+        usage.setPeriodEnd(end);
+        usage.setBudgetTokens(ledger.getBudgetTokens());
+        usage.setUsedTokens(byModel.stream().mapToLong(UsageTotals::getTotalTokens).sum());
+        usage.setCostMicros(byModel.stream().mapToLong(UsageTotals::getCostMicros).sum());
+        usage.setByModel(byModel);
+        return usage;
+    }
+
+    @GetMapping("/sessions/{sessionId}")
+    public List<UsageTotals> session(@PathVariable("sessionId") String sessionId, Principal principal) {
+        return ledger.totalsByModelForSession(sessionId, principal.getName());
+    }
+
+    @GetMapping("/models")
+    public List<UsageTotals> models(
+            @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    ) {
+        LocalDate end = to != null ? to : LocalDate.now(ZoneOffset.UTC);
+        LocalDate start = from != null ? from : end.minusDays(DEFAULT_WINDOW_DAYS);
+        return ledger.totalsByModel(startOf(start), startOf(end.plusDays(1)));
+    }
+
+    @GetMapping("/users")
+    public List<UsageTotals> users(
+            @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    ) {
+        LocalDate end = to != null ? to : LocalDate.now(ZoneOffset.UTC);
+        LocalDate start = from != null ? from : end.minusDays(DEFAULT_WINDOW_DAYS);
+        return ledger.totalsByUser(startOf(start), startOf(end.plusDays(1)));
+    }
+
+    private static Instant startOf(LocalDate date) {
+        return date.atStartOfDay(ZoneOffset.UTC).toInstant();
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.interview.ledger;
+
+/**
+ * Summed LLM usage for one user, session or model, depending on the query.
+ */
+public class UsageTotals {
+
+    private String key;
+    private long calls;
+    private long promptTokens;
+    private long cachedTokens;
+    private long completionTokens;
+    private long latencyMillis;
+    private long costMicros;
+
+    public UsageTotals() {
+    }
+
+    // Boxed parameters: used by JPQL constructor expressions over sum(...).
+    public UsageTotals(String key, Long calls, Long promptTokens, Long cachedTokens, Long completionTokens,
+                       Long latencyMillis, Long costMicros) {
+        this.key = key;
+        this.calls = calls;
+        this.promptTokens = promptTokens;
+        this.cachedTokens = cachedTokens;
+        this.completionTokens = completionTokens;
+        this.latencyMillis = latencyMillis;
+        this.costMicros = costMicros;
+    }
+
+    void add(UsageTotals other) {
+        calls += other.calls;
+        promptTokens += other.promptTokens;
+        cachedTokens += other.cachedTokens;
+        completionTokens += other.completionTokens;
+        latencyMillis += other.latencyMillis;
+        costMicros += other.costMicros;
+    }
+
+    public long getTotalTokens() {
+        return promptTokens + completionTokens;
+    }
+
+    public double getCostUsd() {
+        return costMicros / 1_000_000.0;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public void setKey(String key) {
+        this.key = key;
+    }
+
+    public long getCalls() {
+        return calls;
+    }
+
+    public void setCalls(long calls) {
+        this.calls = calls;
+    }
+
+    public long getPromptTokens() {
+        return promptTokens;
+    }
+
+    public void setPromptTokens(long promptTokens) {
+        this.promptTokens = promptTokens;
+    }
+
+    public long getCachedTokens() {
+        return cachedTokens;
+    }
+
+    public void setCachedTokens(long cachedTokens) {
+        this.cachedTokens = cachedTokens;
+    }
+
+    public long getCompletionTokens() {
+        return completionTokens;
+    }
+
+    public void setCompletionTokens(long completionTokens) {
+        this.completionTokens = completionTokens;
+    }
+
+    public long getLatencyMillis() {
+        return latencyMillis;
+    }
+
+    public void setLatencyMillis(long latencyMillis) {
+        this.latencyMillis = latencyMillis;
+    }
+
+    public long getCostMicros() {
+        return costMicros;
+    }
+
+    public void setCostMicros(long costMicros) {
+        this.costMicros = costMicros;
+    }
+}
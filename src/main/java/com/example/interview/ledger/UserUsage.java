@@ -0,0 +1,78 @@
+package com.example.interview.ledger;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * A user's LLM usage in the current budget period, by model.
+ */
+public class UserUsage {
+
+    private String userId;
+    private Instant periodStart;
+    private Instant periodEnd;
+    // 0 when no budget is configured.
+    private long budgetTokens;
+    private long usedTokens;
+    private long costMicros;
+    private List<UsageTotals> byModel;
+
+    public UserUsage() {
+    }
+
+    public String getUserId() {
+        return userId;
+    }
+
+    public void setUserId(String userId) {
+        this.userId = userId;
+    }
+
+    public Instant getPeriodStart() {
+        return periodStart;
+    }
+
+    public void setPeriodStart(Instant periodStart) {
+        this.periodStart = periodStart;
+    }
+
+    public Instant getPeriodEnd() {
+        return periodEnd;
+    }
+
+    public void setPeriodEnd(Instant periodEnd) {
+        this.periodEnd = periodEnd;
+    }
+
+    public long getBudgetTokens() {
+        return budgetTokens;
+    }
+
+    public void setBudgetTokens(long budgetTokens) {
+        this.budgetTokens = budgetTokens;
+    }
+
+    public long getUsedTokens() {
+        return usedTokens;
+    }
+
+    public void setUsedTokens(long usedTokens) {
+        this.usedTokens = usedTokens;
+    }
+
+    public long getCostMicros() {
+        return costMicros;
+    }
+
+    public void setCostMicros(long costMicros) {
+        this.costMicros = costMicros;
+    }
+
+    public List<UsageTotals> getByModel() {
+        return byModel;
+    }
+
+    public void setByModel(List<UsageTotals> byModel) {
+        this.byModel = byModel;
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.interview.llm;
+
+/**
+ * Per-call options for {@link LlmClient#chat(java.util.List, ChatOptions)}.
+ */
+public class ChatOptions {
+
+    private String sessionId;
+    // Number of leading messages that stay identical across calls in the same session.
+    private int cacheablePrefix;
+    // Other calls with the same prefix are made alongside this one (a fan-out), so a provider-side cache
+    // that has to be created and stored pays off.
+    private boolean sharedPrefix;
+    // Route to the local model when it is running; the configured provider is used otherwise or on failure.
+    private boolean preferLocal;
+    // When set, the provider is asked to constrain its output to this schema.
+    private ResponseSchema responseSchema;
+
+    public ChatOptions() {
+    }
+
+    public static ChatOptions none() {
+        return new ChatOptions();
+    }
+
+    public static ChatOptions forSession(String sessionId, int cacheablePrefix) {
+        ChatOptions options = new ChatOptions();
+        options.setSessionId(sessionId);
+        options.setCacheablePrefix(cacheablePrefix);
+        return options;
+    }
+
+    public String getSessionId() {
+        return sessionId;
+    }
+
+    public void setSessionId(String sessionId) {
+        this.sessionId = sessionId;
+    }
+
+    public int getCacheablePrefix() {
+        return cacheablePrefix;
+    }
+
+    public void setCacheablePrefix(int cacheablePrefix) {
+        this.cacheablePrefix = cacheablePrefix;
+    }
+
+    public boolean isSharedPrefix() {
+        return sharedPrefix;
+    }
+
+    public void setSharedPrefix(boolean sharedPrefix) {
+        this.sharedPrefix = sharedPrefix;
+    }
+
+    public boolean isPreferLocal() {
+        return preferLocal;
+    }
+
+    public void setPreferLocal(boolean preferLocal) {
+        this.preferLocal = preferLocal;
+    }
+
+    public ResponseSchema getResponseSchema() {
+        return responseSchema;
+    }
+
+    public void setResponseSchema(ResponseSchema responseSchema) {
+        this.responseSchema = responseSchema;
+    }
+}
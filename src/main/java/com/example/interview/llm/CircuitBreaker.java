@@ -0,0 +1,56 @@
+package com.example.interview.llm;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Consecutive-failure circuit breaker. After {@code failureThreshold} failures in a row calls are rejected
+ * for {@code openMillis}; then a single trial call is let through, which either closes the circuit or
+ * re-opens it.
+ */
+public class CircuitBreaker {
+
+    private final int failureThreshold;
+    private final long openMillis;
+
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    // 0 while closed, otherwise the time until which calls are rejected.
+    private final AtomicLong openUntil = new AtomicLong();
+    private final AtomicBoolean trialInFlight = new AtomicBoolean();
+
+    public CircuitBreaker(int failureThreshold, long openMillis) {
+        this.failureThreshold = failureThreshold;
+        this.openMillis = openMillis;
+    }
+
+    public boolean tryAcquire() {
+        long until = openUntil.get();
+        if (until == 0) {
+            return true;
+        }
+        if (System.currentTimeMillis() < until) {
+            return false;
+        }
+        return trialInFlight.compareAndSet(false, true);
+    }
+
+    public void onSuccess() {
+        consecutiveFailures.set(0);
+        openUntil.set(0);
+        trialInFlight.set(false);
+    }
+
+    public void onFailure() {
+        int failures = consecutiveFailures.incrementAndGet();
+        if (failures >= failureThreshold || trialInFlight.get()) {
+            openUntil.set(System.currentTimeMillis() + openMillis);
+        }
+        trialInFlight.set(false);
+    }
+
+    public boolean isOpen() {
+        long until = openUntil.get();
+        return until != 0 && System.currentTimeMillis() < until;
+    }
+}
@@ -0,0 +1,227 @@
+package com.example.interview.llm;
+
+import java.util.Arrays;
+
+/**
+ * Turns almost-JSON model output into parseable JSON: drops markdown fences and prose around the first
+ * object or array, and completes output that was cut off mid-way (e.g. by the token limit) by closing the
+ * open string, dropping a dangling key or trailing comma, and closing every open container. Whatever was
+ * complete before the cut is kept, so a truncated evaluation still yields its summary and scores.
+ */
+public final class JsonRepair {
+
+    private JsonRepair() {
+    }
+
+    public static String repair(String text) {
+        if (text == null) {
+            return "{}";
+        }
+        int start = firstContainer(text);
+        if (start < 0) {
+            return "{}";
+        }
+
+        StringBuilder out = new StringBuilder(text.length() + 8);
+        char[] stack = new char[64];
+        int depth = 0;
+        boolean inString = false;
+        boolean escaped = false;
+
+        for (int i = start; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (inString) {
+                out.append(c);
+                if (escaped) {
+                    escaped = false;
+                } else if (c == '\\') {
+                    escaped = true;
+                } else if (c == '"') {
+                    inString = false;
+                }
+                continue;
+            }
+            if (c == '"') {
+                inString = true;
+                out.append(c);
+            } else if (c == '{' || c == '[') {
+                if (depth == stack.length) {
+                    stack = Arrays.copyOf(stack, depth * 2);
+                }
+                stack[depth++] = c == '{' ? '}' : ']';
+                out.append(c);
+            } else if (c == '}' || c == ']') {
+                if (depth == 0) {
+                    break;
+                }
+                trimTrailingComma(out);
+                out.append(stack[--depth]);
+                if (depth == 0) {
+                    // Anything after the top-level value (closing fences, commentary) is ignored.
+                    return out.toString();
+                }
+            } else {
+                out.append(c);
+            }
+        }
+
+        if (inString) {
+            if (escaped) {
+                out.setLength(out.length() - 1);
+            }
+            // A cut-off unicode escape (backslash, u, fewer than four hex digits) cannot be completed.
+            int escape = out.lastIndexOf("\\u");
+            if (escape >= 0 && out.length() - escape < 6) {
+                out.setLength(escape);
+            }
+            out.append('"');
+        }
+        while (depth > 0) {
+            char close = stack[--depth];
+            dropIncompleteTail(out, close);
+            out.append(close);
+        }
+        return out.toString();
+    }
+
+    private static int firstContainer(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '{' || c == '[') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static void trimTrailingComma(StringBuilder out) {
+        int end = lastNonWhitespace(out);
+        if (end >= 0 && out.charAt(end) == ',') {
+            out.setLength(end);
+        }
+    }
+
+    /**
+     * Removes what cannot stand before {@code close}: a trailing comma, a key without a value, or a
+     * partially written literal such as {@code tru} or {@code 1.}.
+     */
+    private static void dropIncompleteTail(StringBuilder out, char close) {
+        while (true) {
+            int end = lastNonWhitespace(out);
+            if (end < 0) {
+                return;
+            }
+            char c = out.charAt(end);
+            if (c == ',') {
+                out.setLength(end);
+            } else if (c == ':') {
+                out.setLength(end);
+                removeKey(out);
+            } else if (c == '{' || c == '[' || c == '"' || c == '}' || c == ']') {
+                if (close == '}' && c == '"' && isKey(out, end)) {
+                    removeKey(out);
+                    continue;
+                }
+                out.setLength(end + 1);
+                return;
+            } else {
+                int literalStart = end;
+                while (literalStart > 0 && isLiteralChar(out.charAt(literalStart - 1))) {
+                    literalStart--;
+                }
+                String literal = out.substring(literalStart, end + 1);
+                if (isCompleteLiteral(literal)) {
+                    out.setLength(end + 1);
+                    return;
+                }
+                out.setLength(literalStart);
+            }
+        }
+    }
+
+    /**
+     * Whether the string ending at {@code end} is an object key with no value yet, i.e. it follows
+     * {@code {} or {@code ,} inside an object.
+     */
+    private static boolean isKey(StringBuilder out, int end) {
+        int open = stringStart(out, end);
+        if (open <= 0) {
+            return false;
+        }
+        int before = open - 1;
+        while (before >= 0 && Character.isWhitespace(out.charAt(before))) {
+            before--;
+        }
+        if (before < 0) {
+            return false;
+        }
+        char c = out.charAt(before);
+        if (c == '{') {
+            return true;
+        }
+        if (c != ',') {
+            return false;
+        }
+        // After a comma it is a key only if the enclosing container is an object.
+        int depth = 0;
+        boolean inString = false;
+        for (int i = before - 1; i >= 0; i--) {
+            char d = out.charAt(i);
+            if (d == '"' && (i == 0 || out.charAt(i - 1) != '\\')) {
+                inString = !inString;
+            } else if (!inString) {
+                if (d == '}' || d == ']') {
+                    depth++;
+                } else if (d == '{' || d == '[') {
+                    if (depth == 0) {
+                        return d == '{';
+                    }
+                    depth--;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static void removeKey(StringBuilder out) {
+        int end = lastNonWhitespace(out);
+        if (end >= 0 && out.charAt(end) == '"') {
+            out.setLength(stringStart(out, end));
+        }
+        trimTrailingComma(out);
+    }
+
+    private static int stringStart(StringBuilder out, int closingQuote) {
+        for (int i = closingQuote - 1; i >= 0; i--) {
+            if (out.charAt(i) == '"') {
+                int backslashes = 0;
+                for (int j = i - 1; j >= 0 && out.charAt(j) == '\\'; j--) {
+                    backslashes++;
+                }
+                if (backslashes % 2 == 0) {
+                    return i;
+                }
+            }
+        }
+        return 0;
+    }
+
+    private static boolean isLiteralChar(char c) {
+        return Character.isLetterOrDigit(c) || c == '.' || c == '-' || c == '+';
+    }
+
+    private static boolean isCompleteLiteral(String literal) {
+        if (literal.equals("true") || literal.equals("false") || literal.equals("null")) {
+            return true;
+        }
+        return literal.matches("-?\\d+(\\.\\d+)?([eE][+-]?\\d+)?");
+    }
+
+    private static int lastNonWhitespace(StringBuilder out) {
+        int i = out.length() - 1;
+        while (i >= 0 && Character.isWhitespace(out.charAt(i))) {
+            i--;
+        }
+        return i;
+    }
+}
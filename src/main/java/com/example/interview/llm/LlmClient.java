@@ -1,14 +1,22 @@
 package com.example.interview.llm;
 
+import com.example.interview.ledger.TokenLedger;
 import com.example.interview.llm.dto.ChatMessage;
+import com.example.interview.replay.LlmTape;
+import com.example.interview.replay.RecordedLlmCall;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.observation.contextpropagation.ObservationThreadLocalAccessor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
 
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.stream.Collectors;
 
@@ -17,65 +25,322 @@ public class LlmClient {
 
     private final WebClient webClient;
     private final ObjectMapper objectMapper = new ObjectMapper();
+    private final PromptCacheManager cacheManager;
+    private final LlmMetrics metrics;
+    private final TokenLedger ledger;
+    private final LlmTape tape;
+    private final LocalModel localModel;
+    private final CircuitBreaker circuitBreaker;
+    private final ObservationRegistry observationRegistry;
 
     private final String apiKey;
     private final String provider;
     private final String model;
+    private final boolean cacheEnabled;
+    private final int minCachePrefixTokens;
+    private final Duration timeout;
 
     public LlmClient(
             WebClient.Builder webClientBuilder,
+            PromptCacheManager cacheManager,
+            LlmMetrics metrics,
+            TokenLedger ledger,
+            LlmTape tape,
+            LocalModel localModel,
+            ObservationRegistry observationRegistry,
             @Value("${llm.base-url}") String baseUrl,
             @Value("${llm.api-key}") String apiKey,
             @Value("${llm.provider}") String provider,
-            @Value("${llm.model}") String model
+            @Value("${llm.model}") String model,
+            @Value("${llm.cache.enabled:true}") boolean cacheEnabled,
+            @Value("${llm.cache.min-prefix-tokens:1024}") int minCachePrefixTokens,
+            @Value("${llm.timeout:PT15S}") Duration timeout,
+            @Value("${llm.circuit.failure-threshold:3}") int circuitFailureThreshold,
+            @Value("${llm.circuit.open-duration:PT30S}") Duration circuitOpenDuration
     ) {
         this.webClient = webClientBuilder
                 .baseUrl(baseUrl)
                 .build();
+        this.cacheManager = cacheManager;
+        this.metrics = metrics;
+        this.ledger = ledger;
+        this.tape = tape;
+        this.localModel = localModel;
+        this.observationRegistry = observationRegistry;
         this.apiKey = apiKey;
         this.provider = provider;
         this.model = model;
+        this.cacheEnabled = cacheEnabled;
+        this.minCachePrefixTokens = minCachePrefixTokens;
+        this.timeout = timeout;
+        this.circuitBreaker = new CircuitBreaker(circuitFailureThreshold, circuitOpenDuration.toMillis());
     }
 
     public String chat(List<ChatMessage> messages) {
+        return chat(messages, ChatOptions.none());
+    }
+
+    /**
+     * @throws LlmUnavailableException if the provider fails or misses {@code llm.timeout}, or the circuit is open
+     */
+    public String chat(List<ChatMessage> messages, ChatOptions options) {
+        Observation observation = Observation.createNotStarted("interview.llm", observationRegistry)
+                .contextualName("llm " + provider.toLowerCase(Locale.ROOT))
+                .lowCardinalityKeyValue("llm.provider", provider.toLowerCase(Locale.ROOT))
+                .lowCardinalityKeyValue("llm.model", model)
+                .lowCardinalityKeyValue("llm.schema",
+                        options.getResponseSchema() != null ? options.getResponseSchema().getName() : "none")
+                // Defaults, so every call carries the same low-cardinality keys.
+                .lowCardinalityKeyValue("llm.route", "remote")
+                .lowCardinalityKeyValue("llm.retried", "false")
+                .lowCardinalityKeyValue("llm.circuit", "closed")
+                .lowCardinalityKeyValue("llm.cache", LlmMetrics.CACHE_NONE)
+                .start();
+        try (Observation.Scope scope = observation.openScope()) {
+            return chat(messages, options, observation);
+        } catch (RuntimeException e) {
+            observation.error(e);
+            throw e;
+        } finally {
+            observation.stop();
+        }
+    }
+
+    private String chat(List<ChatMessage> messages, ChatOptions options, Observation observation) {
+        if (tape.isReplaying()) {
+            return replay(messages, options, observation);
+        }
+        boolean localOnly = LocalModel.PROVIDER.equalsIgnoreCase(provider);
+        if (localOnly || (options.isPreferLocal() && localModel.isAvailable())) {
+            observation.lowCardinalityKeyValue("llm.route", "local");
+            try {
+                long start = System.nanoTime();
+                String reply = localModel.chat(messages, options.getResponseSchema());
+                tape.record(messages, options, LocalModel.PROVIDER, LocalModel.PROVIDER, LlmUsage.EMPTY,
+                        System.nanoTime() - start, reply);
+                return reply;
+            } catch (Exception e) {
+                if (localOnly) {
+                    throw new LlmUnavailableException("Local model call failed: " + e.getMessage(), e);
+                }
+                // Busy or failing local model: fall through to the remote provider.
+                observation.lowCardinalityKeyValue("llm.retried", "true");
+            }
+        }
+
+        observation.lowCardinalityKeyValue("llm.route", "remote");
+        if (!circuitBreaker.tryAcquire()) {
+            observation.lowCardinalityKeyValue("llm.circuit", "open");
+            throw new LlmUnavailableException("LLM circuit is open", null);
+        }
+        long start = System.nanoTime();
         try {
+            String reply;
             if ("GEMINI".equalsIgnoreCase(provider)) {
-                return callGemini(messages);
+                reply = callGemini(messages, options, observation);
             } else {
-                return callOpenAiCompatible(messages);
+                reply = callOpenAiCompatible(messages, options, observation);
             }
+            circuitBreaker.onSuccess();
+            return reply;
         } catch (Exception e) {
-            e.printStackTrace();
-            return "I'm sorry, I couldn't generate a response: " + e.getMessage();
+            circuitBreaker.onFailure();
+            tape.recordFailure(messages, options, provider, model, System.nanoTime() - start);
+            throw new LlmUnavailableException("LLM call failed: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Serves a recorded reply instead of calling the provider. Its recorded usage goes to the metrics but not
+     * to the ledger: nothing was spent, and replays must not eat into users' budgets.
+     */
+    private String replay(List<ChatMessage> messages, ChatOptions options, Observation observation) {
+        observation.lowCardinalityKeyValue("llm.route", "replay");
+        long start = System.nanoTime();
+        RecordedLlmCall call = tape.replay(messages, options.getResponseSchema());
+        if (call == null) {
+            throw new LlmUnavailableException("No recorded LLM reply for this prompt", null);
+        }
+        if (call.failed()) {
+            throw new LlmUnavailableException("Recorded LLM call failed", null);
         }
+        long elapsed = System.nanoTime() - start;
+        String cacheState = call.usage().cachedTokens() > 0 ? LlmMetrics.CACHE_HIT : LlmMetrics.CACHE_NONE;
+        metrics.record(call.provider(), cacheState, call.usage(), elapsed);
+        tagUsage(observation, cacheState, call.usage());
+        return call.reply();
     }
 
+    public boolean isCircuitOpen() {
+        return circuitBreaker.isOpen();
+    }
+
+    /**
+     * Drops the session's prompt cache handle and deletes the provider-side cache entry.
+     */
+    public void releaseSession(String sessionId) {
+        PromptCacheManager.CacheHandle handle = cacheManager.release(sessionId);
+        if (handle != null && "GEMINI".equalsIgnoreCase(provider)) {
+            deleteGeminiCache(handle.name());
+        }
+    }
 
-    private String callOpenAiCompatible(List<ChatMessage> messages) throws Exception {
+    private void deleteGeminiCache(String name) {
+        webClient.delete()
+                .uri("/v1beta/" + name + "?key=" + apiKey)
+                .retrieve()
+                .toBodilessEntity()
+                .subscribe(r -> { }, e -> { });
+    }
+
+    private String callOpenAiCompatible(List<ChatMessage> messages, ChatOptions options, Observation observation)
+            throws Exception {
         Map<String, Object> body = new HashMap<>();
         body.put("model", model);
         body.put("messages", messages);
+        // OpenAI caches matching prompt prefixes automatically; the key keeps a session on the same cache shard.
+        if (cacheEnabled && options.getSessionId() != null && options.getCacheablePrefix() > 0) {
+            body.put("prompt_cache_key", options.getSessionId());
+        }
+        if (options.getResponseSchema() != null) {
+            body.put("response_format", openAiResponseFormat(options.getResponseSchema()));
+        }
 
+        long start = System.nanoTime();
         String rawJson = webClient.post()
                 .uri("/v1/chat/completions")
                 .header("Authorization", "Bearer " + apiKey)
                 .bodyValue(body)
                 .retrieve()
                 .bodyToMono(String.class)
-                .block();
+                .contextWrite(ctx -> ctx.put(ObservationThreadLocalAccessor.KEY, observation))
+                .block(timeout);
+
+        JsonNode root = objectMapper.readTree(rawJson);
+        LlmUsage usage = LlmUsage.fromOpenAi(root);
+        String cacheState = usage.cachedTokens() > 0 ? LlmMetrics.CACHE_HIT : LlmMetrics.CACHE_NONE;
+        long elapsed = System.nanoTime() - start;
+        metrics.record(provider, cacheState, usage, elapsed);
+        ledger.record(options.getSessionId(), provider, model, usage, elapsed);
+        tagUsage(observation, cacheState, usage);
+
+        String reply = root.path("choices").get(0).path("message").path("content").asText();
+        tape.record(messages, options, provider, model, usage, elapsed, reply);
+        return reply;
+    }
 
-        // If the chat size is large, return raw JSON for structured feedback (like in finishInterview)
-        if (messages.size() > 2) { 
-            return rawJson;
+    private String callGemini(List<ChatMessage> messages, ChatOptions options, Observation observation)
+            throws Exception {
+        List<ChatMessage> prefix = messages.subList(0, Math.min(options.getCacheablePrefix(), messages.size()));
+        String cacheName = null;
+        String cacheState = LlmMetrics.CACHE_NONE;
+
+        // A cachedContents entry costs a call and storage, so it is only created for a prefix that is
+        // shared by a fan-out; single calls rely on Gemini's implicit caching.
+        if (cacheEnabled && options.isSharedPrefix() && options.getSessionId() != null && !prefix.isEmpty()
+                && estimateTokens(prefix) >= minCachePrefixTokens) {
+            PromptCacheManager.Lookup lookup = cacheManager.findOrCreate(options.getSessionId(),
+                    PromptCacheManager.prefixKey(prefix), () -> createGeminiCache(prefix),
+                    replaced -> deleteGeminiCache(replaced.name()));
+            if (lookup != null) {
+                cacheName = lookup.handle().name();
+                cacheState = lookup.created() ? LlmMetrics.CACHE_CREATED : LlmMetrics.CACHE_HIT;
+            }
+        }
+
+        Map<String, Object> body = new HashMap<>();
+        String uri;
+        if (options.getResponseSchema() != null) {
+            body.put("generationConfig", Map.of(
+                    "responseMimeType", "application/json",
+                    "responseSchema", options.getResponseSchema().toGeminiSchema()));
+        }
+        if (cacheName != null) {
+            // Cached contents are a v1beta feature; the prefix is sent by handle only.
+            body.put("cachedContent", cacheName);
+            body.put("contents", toGeminiContents(messages.subList(prefix.size(), messages.size())));
+            uri = "/v1beta/models/" + model + ":generateContent?key=" + apiKey;
+        } else {
+            body.put("contents", toGeminiContents(messages));
+            // FIX: Use direct string concatenation to ensure the model name is correctly embedded in the URI.
+            // Schema-constrained output is only accepted by v1beta.
+            String version = options.getResponseSchema() != null ? "v1beta" : "v1";
+            uri = "/" + version + "/models/" + model + ":generateContent?key=" + apiKey;
         }
-        
+
+        long start = System.nanoTime();
+        String rawJson = webClient.post()
+                .uri(uri)
+                .bodyValue(body)
+                .retrieve()
+                .bodyToMono(String.class)
+                .contextWrite(ctx -> ctx.put(ObservationThreadLocalAccessor.KEY, observation))
+                .block(timeout);
+
         JsonNode root = objectMapper.readTree(rawJson);
-        JsonNode contentNode = root.path("choices").get(0).path("message").path("content");
-        return contentNode.asText();
+        LlmUsage usage = LlmUsage.fromGemini(root);
+        long elapsed = System.nanoTime() - start;
+        metrics.record(provider, cacheState, usage, elapsed);
+        ledger.record(options.getSessionId(), provider, model, usage, elapsed);
+        tagUsage(observation, cacheState, usage);
+
+        String reply = root.path("candidates").get(0).path("content").path("parts").get(0).path("text").asText();
+        tape.record(messages, options, provider, model, usage, elapsed, reply);
+        return reply;
+    }
+
+    private String createGeminiCache(List<ChatMessage> prefix) {
+        List<ChatMessage> system = prefix.stream()
+                .filter(m -> "system".equalsIgnoreCase(m.getRole()))
+                .collect(Collectors.toList());
+        List<ChatMessage> rest = prefix.stream()
+                .filter(m -> !"system".equalsIgnoreCase(m.getRole()))
+                .collect(Collectors.toList());
+
+        Map<String, Object> body = new HashMap<>();
+        body.put("model", "models/" + model);
+        body.put("ttl", cacheManager.getTtl().toSeconds() + "s");
+        if (!system.isEmpty()) {
+            String instruction = system.stream().map(ChatMessage::getContent).collect(Collectors.joining("\n\n"));
+            body.put("systemInstruction", Map.of("parts", List.of(Map.of("text", instruction))));
+        }
+        if (!rest.isEmpty()) {
+            body.put("contents", toGeminiContents(rest));
+        }
+
+        try {
+            String rawJson = webClient.post()
+                    .uri("/v1beta/cachedContents?key=" + apiKey)
+                    .bodyValue(body)
+                    .retrieve()
+                    .bodyToMono(String.class)
+                    .block(timeout);
+            String name = objectMapper.readTree(rawJson).path("name").asText(null);
+            return name == null || name.isEmpty() ? null : name;
+        } catch (Exception e) {
+            // Caching is an optimisation only; fall back to sending the full prompt.
+            return null;
+        }
+    }
+
+    private static void tagUsage(Observation observation, String cacheState, LlmUsage usage) {
+        observation.lowCardinalityKeyValue("llm.cache", cacheState)
+                .highCardinalityKeyValue("llm.tokens.prompt", Long.toString(usage.promptTokens()))
+                .highCardinalityKeyValue("llm.tokens.cached", Long.toString(usage.cachedTokens()))
+                .highCardinalityKeyValue("llm.tokens.completion", Long.toString(usage.completionTokens()));
+    }
+
+    static Map<String, Object> openAiResponseFormat(ResponseSchema schema) {
+        return Map.of(
+                "type", "json_schema",
+                "json_schema", Map.of(
+                        "name", schema.getName(),
+                        "strict", true,
+                        "schema", schema.toJsonSchema()));
     }
 
-    private String callGemini(List<ChatMessage> messages) throws Exception {
-        List<Map<String, Object>> contents = messages.stream()
+    private static List<Map<String, Object>> toGeminiContents(List<ChatMessage> messages) {
+        return messages.stream()
                 .map(msg -> {
                     Map<String, Object> part = new HashMap<>();
                     part.put("text", msg.getContent());
@@ -87,29 +352,13 @@ public class LlmClient {
                     return content;
                 })
                 .collect(Collectors.toList());
+    }
 
-        Map<String, Object> body = new HashMap<>();
-        body.put("contents", contents);
-
-        // FIX: Use direct string concatenation to ensure the model name is correctly embedded in the URI.
-        String uri = "/v1/models/" + model + ":generateContent?key=" + apiKey;
-
-        String rawJson = webClient.post()
-                .uri(uri)
-                .bodyValue(body)
-                .retrieve()
-                .bodyToMono(String.class)
-                .block();
-        
-        // If the message history is long, return raw JSON for structured feedback
-        if (messages.size() > 2) {
-             return rawJson; 
+    private static int estimateTokens(List<ChatMessage> messages) {
+        int tokens = 0;
+        for (ChatMessage message : messages) {
+            tokens += TokenEstimator.estimate(message.getContent());
         }
-
-        // For regular question generation (1 or 2 messages), extract the text.
-        JsonNode root = objectMapper.readTree(rawJson);
-        JsonNode textNode = root.path("candidates").get(0).path("content").path("parts").get(0).path("text");
-
-        return textNode.asText();
+        return tokens;
     }
-}
\ No newline at end of file
+}
@@ -7,7 +7,7 @@ import org.springframework.context.annotation.Configuration;
 @ConfigurationProperties(prefix = "llm")
 public class LlmConfig {
 
-    private String provider; // "OPENAI" or "GEMINI"
+    private String provider; // "OPENAI", "GEMINI" or "LOCAL"
     private String apiKey;
     private String baseUrl;
     private String model;
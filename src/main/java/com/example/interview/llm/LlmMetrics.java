@@ -0,0 +1,39 @@
+package com.example.interview.llm;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Micrometer meters for upstream LLM calls: input tokens split by cached/uncached,
+ * output tokens, generation throughput, and call latency tagged with the prompt cache outcome.
+ */
+@Component
+public class LlmMetrics {
+
+    public static final String CACHE_NONE = "none";
+    public static final String CACHE_CREATED = "created";
+    public static final String CACHE_HIT = "hit";
+
+    private final MeterRegistry registry;
+
+    public LlmMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    public void record(String provider, String cacheState, LlmUsage usage, long elapsedNanos) {
+        registry.counter("llm.tokens.input", "provider", provider, "cached", "true")
+                .increment(usage.cachedTokens());
+        registry.counter("llm.tokens.input", "provider", provider, "cached", "false")
+                .increment(usage.uncachedPromptTokens());
+        registry.counter("llm.tokens.output", "provider", provider)
+                .increment(usage.completionTokens());
+        registry.timer("llm.request", "provider", provider, "cache", cacheState)
+                .record(elapsedNanos, TimeUnit.NANOSECONDS);
+        if (usage.completionTokens() > 0 && elapsedNanos > 0) {
+            registry.summary("llm.tokens.per-second", "provider", provider)
+                    .record(usage.completionTokens() * 1e9 / elapsedNanos);
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.interview.llm;
+
+/**
+ * Thrown by {@link LlmClient} when the provider fails, misses its deadline, or the circuit is open.
+ * Callers are expected to degrade rather than surface the error to the candidate.
+ */
+public class LlmUnavailableException extends RuntimeException {
+
+    public LlmUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
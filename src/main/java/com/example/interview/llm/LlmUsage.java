@@ -0,0 +1,33 @@
+package com.example.interview.llm;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * Token usage reported by the provider for a single call.
+ */
+public record LlmUsage(long promptTokens, long completionTokens, long cachedTokens) {
+
+    public static final LlmUsage EMPTY = new LlmUsage(0, 0, 0);
+
+    public static LlmUsage fromGemini(JsonNode root) {
+        JsonNode usage = root.path("usageMetadata");
+        return new LlmUsage(
+                usage.path("promptTokenCount").asLong(),
+                usage.path("candidatesTokenCount").asLong(),
+                usage.path("cachedContentTokenCount").asLong()
+        );
+    }
+
+    public static LlmUsage fromOpenAi(JsonNode root) {
+        JsonNode usage = root.path("usage");
+        return new LlmUsage(
+                usage.path("prompt_tokens").asLong(),
+                usage.path("completion_tokens").asLong(),
+                usage.path("prompt_tokens_details").path("cached_tokens").asLong()
+        );
+    }
+
+    public long uncachedPromptTokens() {
+        return Math.max(0, promptTokens - cachedTokens);
+    }
+}
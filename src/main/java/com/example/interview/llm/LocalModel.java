@@ -0,0 +1,190 @@
+package com.example.interview.llm;
+
+import com.example.interview.llm.dto.ChatMessage;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Small quantized model served on this machine through an OpenAI-compatible endpoint, used for cheap
+ * follow-up questions without a remote round trip and with no network access at all.
+ * <p>
+ * With {@code llm.local.command} set (e.g. llama.cpp's {@code llama-server}) the server is started as a
+ * subprocess on {@code llm.local.port} and stopped with the application; otherwise an already running
+ * server at {@code llm.local.base-url} is used. Requests are admitted through {@code llm.local.parallel}
+ * slots, matching the server's parallel decoding slots so that it can batch them; a request that cannot get
+ * a slot within {@code llm.local.max-queue-wait} is rejected so the caller can use the remote provider.
+ */
+@Component
+public class LocalModel implements DisposableBean {
+
+    public static final String PROVIDER = "local";
+
+    private final boolean enabled;
+    private final String model;
+    private final int maxTokens;
+    private final Duration timeout;
+    private final Duration maxQueueWait;
+    private final String healthPath;
+    private final Semaphore slots;
+    private final WebClient webClient;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final LlmMetrics metrics;
+
+    private Process process;
+    private volatile boolean ready;
+
+    public LocalModel(
+            WebClient.Builder webClientBuilder,
+            LlmMetrics metrics,
+            MeterRegistry registry,
+            @Value("${llm.local.enabled:false}") boolean enabled,
+            @Value("${llm.local.command:}") String command,
+            @Value("${llm.local.model-path:}") String modelPath,
+            @Value("${llm.local.model:local}") String model,
+            @Value("${llm.local.base-url:}") String baseUrl,
+            @Value("${llm.local.port:8089}") int port,
+            @Value("${llm.local.threads:0}") int threads,
+            @Value("${llm.local.context-size:4096}") int contextSize,
+            @Value("${llm.local.parallel:4}") int parallel,
+            @Value("${llm.local.batch-size:512}") int batchSize,
+            @Value("${llm.local.max-tokens:200}") int maxTokens,
+            @Value("${llm.local.timeout:PT20S}") Duration timeout,
+            @Value("${llm.local.max-queue-wait:PT1S}") Duration maxQueueWait,
+            @Value("${llm.local.health-path:/health}") String healthPath
+    ) {
+        this.enabled = enabled;
+        this.model = model;
+        this.maxTokens = maxTokens;
+        this.timeout = timeout;
+        this.maxQueueWait = maxQueueWait;
+        this.healthPath = healthPath;
+        this.slots = new Semaphore(parallel, true);
+        this.metrics = metrics;
+
+        boolean spawn = enabled && !command.isBlank();
+        String url = spawn || baseUrl.isBlank() ? "http://127.0.0.1:" + port : baseUrl;
+        this.webClient = webClientBuilder.clone().baseUrl(url).build();
+
+        if (!enabled) {
+            return;
+        }
+        Gauge.builder("llm.local.slots.available", slots, Semaphore::availablePermits).register(registry);
+        Gauge.builder("llm.local.queue.length", slots, Semaphore::getQueueLength).register(registry);
+
+        if (spawn) {
+            process = start(command, modelPath, port, threads, contextSize, parallel, batchSize);
+        }
+        Thread waiter = new Thread(this::awaitReady, "local-model-startup");
+        waiter.setDaemon(true);
+        waiter.start();
+    }
+
+    public boolean isAvailable() {
+        return enabled && ready;
+    }
+
+    public String chat(List<ChatMessage> messages, ResponseSchema schema) throws Exception {
+        if (!isAvailable()) {
+            throw new IllegalStateException("Local model is not ready");
+        }
+        if (!slots.tryAcquire(maxQueueWait.toMillis(), TimeUnit.MILLISECONDS)) {
+            throw new IllegalStateException("Local model is busy");
+        }
+        try {
+            Map<String, Object> body = new HashMap<>();
+            body.put("model", model);
+            body.put("messages", messages);
+            body.put("max_tokens", maxTokens);
+            // llama.cpp keeps the KV cache of a slot's previous prompt and reuses the common prefix.
+            body.put("cache_prompt", true);
+            if (schema != null) {
+                // llama.cpp compiles the schema into a grammar and constrains sampling with it.
+                body.put("response_format", LlmClient.openAiResponseFormat(schema));
+            }
+
+            long start = System.nanoTime();
+            String rawJson = webClient.post()
+                    .uri("/v1/chat/completions")
+                    .bodyValue(body)
+                    .retrieve()
+                    .bodyToMono(String.class)
+                    .block(timeout);
+
+            JsonNode root = objectMapper.readTree(rawJson);
+            metrics.record(PROVIDER, LlmMetrics.CACHE_NONE, LlmUsage.fromOpenAi(root), System.nanoTime() - start);
+            return root.path("choices").get(0).path("message").path("content").asText();
+        } finally {
+            slots.release();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        ready = false;
+        if (process != null) {
+            process.destroy();
+            try {
+                if (!process.waitFor(5, TimeUnit.SECONDS)) {
+                    process.destroyForcibly();
+                }
+            } catch (InterruptedException e) {
+                process.destroyForcibly();
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private static Process start(String command, String modelPath, int port, int threads,
+                                 int contextSize, int parallel, int batchSize) {
+        List<String> args = new ArrayList<>(List.of(command.trim().split("\\s+")));
+        if (!modelPath.isBlank()) {
+            args.addAll(List.of("-m", modelPath));
+        }
+        args.addAll(List.of("--host", "127.0.0.1", "--port", Integer.toString(port),
+                "-c", Integer.toString(contextSize * parallel),
+                "-np", Integer.toString(parallel),
+                "-b", Integer.toString(batchSize),
+                "--cont-batching"));
+        if (threads > 0) {
+            args.addAll(List.of("-t", Integer.toString(threads)));
+        }
+        try {
+            return new ProcessBuilder(args)
+                    .redirectErrorStream(true)
+                    .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                    .start();
+        } catch (Exception e) {
+            throw new IllegalStateException("Could not start local model server: " + String.join(" ", args), e);
+        }
+    }
+
+    private void awaitReady() {
+        while (!ready && (process == null || process.isAlive())) {
+            try {
+                webClient.get().uri(healthPath).retrieve().toBodilessEntity().block(Duration.ofSeconds(2));
+                ready = true;
+            } catch (Exception e) {
+                // Still loading the model (llama-server answers 503 until then) or not listening yet.
+                try {
+                    Thread.sleep(500);
+                } catch (InterruptedException interrupted) {
+                    return;
+                }
+            }
+        }
+    }
+}
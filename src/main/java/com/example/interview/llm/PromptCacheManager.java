@@ -0,0 +1,134 @@
+package com.example.interview.llm;
+
+import com.example.interview.llm.dto.ChatMessage;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Tracks provider-side prompt cache handles (e.g. Gemini cachedContents) per interview session.
+ * A handle is only reused while the session's stable prefix is unchanged and the handle has not expired.
+ * Concurrent calls for a session share one creation, so a fan-out does not create a cache per call.
+ */
+@Component
+public class PromptCacheManager {
+
+    // Stop using a handle a little before the provider drops it.
+    private static final long EXPIRY_MARGIN_MS = 30_000;
+
+    private final Map<String, CacheHandle> handles = new ConcurrentHashMap<>();
+    private final Map<String, CompletableFuture<CacheHandle>> creating = new ConcurrentHashMap<>();
+    private final Duration ttl;
+
+    public PromptCacheManager(@Value("${llm.cache.ttl:PT10M}") Duration ttl) {
+        this.ttl = ttl;
+    }
+
+    public Duration getTtl() {
+        return ttl;
+    }
+
+    public CacheHandle find(String sessionId, String prefixKey) {
+        CacheHandle handle = handles.get(sessionId);
+        if (handle == null || !handle.prefixKey().equals(prefixKey)) {
+            return null;
+        }
+        if (handle.expiresAtMillis() <= System.currentTimeMillis()) {
+            handles.remove(sessionId, handle);
+            return null;
+        }
+        return handle;
+    }
+
+    /**
+     * Returns the session's handle for {@code prefixKey}, creating it with {@code create} (which returns
+     * the provider's cache name, or null) unless another call for the session is already doing so; such
+     * calls wait for that creation. A live handle for a different prefix is replaced and passed to
+     * {@code discard}.
+     *
+     * @return the handle, with {@code created} set for the call that created it, or null if there is none
+     */
+    public Lookup findOrCreate(String sessionId, String prefixKey, Supplier<String> create,
+                               Consumer<CacheHandle> discard) {
+        CacheHandle handle = find(sessionId, prefixKey);
+        if (handle != null) {
+            return new Lookup(handle, false);
+        }
+        CompletableFuture<CacheHandle> creation = new CompletableFuture<>();
+        CompletableFuture<CacheHandle> inFlight = creating.putIfAbsent(sessionId, creation);
+        if (inFlight != null) {
+            CacheHandle shared = inFlight.join();
+            return shared != null && shared.prefixKey().equals(prefixKey) ? new Lookup(shared, false) : null;
+        }
+        try {
+            handle = find(sessionId, prefixKey);
+            boolean created = false;
+            if (handle == null) {
+                String name = create.get();
+                if (name != null) {
+                    handle = put(sessionId, prefixKey, name, discard);
+                    created = true;
+                }
+            }
+            creation.complete(handle);
+            return handle != null ? new Lookup(handle, created) : null;
+        } catch (RuntimeException e) {
+            creation.complete(null);
+            throw e;
+        } finally {
+            creating.remove(sessionId, creation);
+        }
+    }
+
+    private CacheHandle put(String sessionId, String prefixKey, String name, Consumer<CacheHandle> discard) {
+        long expiresAt = System.currentTimeMillis() + ttl.toMillis() - EXPIRY_MARGIN_MS;
+        CacheHandle handle = new CacheHandle(name, prefixKey, expiresAt);
+        CacheHandle replaced = handles.put(sessionId, handle);
+        if (replaced != null && replaced.expiresAtMillis() > System.currentTimeMillis()) {
+            discard.accept(replaced);
+        }
+        evictExpired();
+        return handle;
+    }
+
+    public CacheHandle release(String sessionId) {
+        return handles.remove(sessionId);
+    }
+
+    public static String prefixKey(List<ChatMessage> prefix) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (ChatMessage message : prefix) {
+                digest.update(String.valueOf(message.getRole()).getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) 0);
+                digest.update(String.valueOf(message.getContent()).getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) 0);
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void evictExpired() {
+        long now = System.currentTimeMillis();
+        handles.values().removeIf(handle -> handle.expiresAtMillis() <= now);
+    }
+
+    public record CacheHandle(String name, String prefixKey, long expiresAtMillis) {
+    }
+
+    public record Lookup(CacheHandle handle, boolean created) {
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.interview.llm;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.*;
+
+/**
+ * JSON schema for constrained decoding, generated from a plain model class. Fields map to required
+ * properties; {@code List<T>} becomes an array of {@code T}, nested classes become objects, and
+ * {@code Map<String, V>} fields need their keys listed in {@code mapKeys} because provider schemas
+ * do not support open-ended objects.
+ */
+public final class ResponseSchema {
+
+    private final String name;
+    private final Map<String, Object> schema;
+
+    private ResponseSchema(String name, Map<String, Object> schema) {
+        this.name = name;
+        this.schema = schema;
+    }
+
+    public static ResponseSchema forClass(Class<?> type, Map<String, List<String>> mapKeys, Set<String> excluded) {
+        return new ResponseSchema(type.getSimpleName(), objectSchema(type, mapKeys, excluded));
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Standard JSON schema, in the strict form OpenAI's {@code response_format} requires.
+     */
+    public Map<String, Object> toJsonSchema() {
+        return schema;
+    }
+
+    /**
+     * Gemini's OpenAPI-subset schema: upper-case type names, no {@code additionalProperties}, and
+     * {@code propertyOrdering} so fields are generated in declaration order.
+     */
+    public Map<String, Object> toGeminiSchema() {
+        return gemini(schema);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> gemini(Map<String, Object> node) {
+        Map<String, Object> converted = new LinkedHashMap<>();
+        for (Map.Entry<String, Object> entry : node.entrySet()) {
+            switch (entry.getKey()) {
+                case "additionalProperties" -> {
+                }
+                case "type" -> converted.put("type", ((String) entry.getValue()).toUpperCase(Locale.ROOT));
+                case "items" -> converted.put("items", gemini((Map<String, Object>) entry.getValue()));
+                case "properties" -> {
+                    Map<String, Object> properties = new LinkedHashMap<>();
+                    ((Map<String, Object>) entry.getValue())
+                            .forEach((key, value) -> properties.put(key, gemini((Map<String, Object>) value)));
+                    converted.put("properties", properties);
+                    converted.put("propertyOrdering", List.copyOf(properties.keySet()));
+                }
+                default -> converted.put(entry.getKey(), entry.getValue());
+            }
+        }
+        return converted;
+    }
+
+    private static Map<String, Object> objectSchema(Class<?> type, Map<String, List<String>> mapKeys, Set<String> excluded) {
+        Map<String, Object> properties = new LinkedHashMap<>();
+        for (Field field : type.getDeclaredFields()) {
+            if (Modifier.isStatic(field.getModifiers()) || excluded.contains(field.getName())) {
+                continue;
+            }
+            properties.put(field.getName(), schemaFor(field.getName(), field.getGenericType(), mapKeys, excluded));
+        }
+        return object(properties);
+    }
+
+    private static Map<String, Object> schemaFor(String name, Type type, Map<String, List<String>> mapKeys, Set<String> excluded) {
+        if (type instanceof ParameterizedType parameterized) {
+            Class<?> raw = (Class<?>) parameterized.getRawType();
+            Type[] args = parameterized.getActualTypeArguments();
+            if (Collection.class.isAssignableFrom(raw)) {
+                return new LinkedHashMap<>(Map.of("type", "array", "items", schemaFor(name, args[0], mapKeys, excluded)));
+            }
+            if (Map.class.isAssignableFrom(raw)) {
+                List<String> keys = mapKeys.get(name);
+                if (keys == null) {
+                    throw new IllegalArgumentException("Map field '" + name + "' needs its keys listed for a response schema");
+                }
+                Map<String, Object> properties = new LinkedHashMap<>();
+                for (String key : keys) {
+                    properties.put(key, schemaFor(key, args[1], mapKeys, excluded));
+                }
+                return object(properties);
+            }
+        }
+        Class<?> cls = (Class<?>) type;
+        if (cls == String.class || cls.isEnum()) {
+            return new LinkedHashMap<>(Map.of("type", "string"));
+        }
+        if (cls == int.class || cls == Integer.class || cls == long.class || cls == Long.class) {
+            return new LinkedHashMap<>(Map.of("type", "integer"));
+        }
+        if (cls == double.class || cls == Double.class || cls == float.class || cls == Float.class) {
+            return new LinkedHashMap<>(Map.of("type", "number"));
+        }
+        if (cls == boolean.class || cls == Boolean.class) {
+            return new LinkedHashMap<>(Map.of("type", "boolean"));
+        }
+        return objectSchema(cls, mapKeys, excluded);
+    }
+
+    private static Map<String, Object> object(Map<String, Object> properties) {
+        Map<String, Object> schema = new LinkedHashMap<>();
+        schema.put("type", "object");
+        schema.put("properties", properties);
+        schema.put("required", List.copyOf(properties.keySet()));
+        schema.put("additionalProperties", false);
+        return schema;
+    }
+}
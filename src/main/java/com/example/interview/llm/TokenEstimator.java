@@ -0,0 +1,41 @@
+package com.example.interview.llm;
+
+/**
+ * Local, provider-independent token count estimate. Word runs cost roughly 4/3 tokens per word
+ * (long words are split further) and every other non-space character counts as its own token.
+ * Good enough for budgeting prompt size without calling a tokenizer service.
+ */
+public final class TokenEstimator {
+
+    private static final int CHARS_PER_WORD_PIECE = 6;
+
+    private TokenEstimator() {
+    }
+
+    public static int estimate(CharSequence text) {
+        if (text == null) {
+            return 0;
+        }
+        int tokens = 0;
+        int wordLength = 0;
+        int pieces = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                wordLength++;
+                continue;
+            }
+            if (wordLength > 0) {
+                pieces += 1 + (wordLength - 1) / CHARS_PER_WORD_PIECE;
+                wordLength = 0;
+            }
+            if (!Character.isWhitespace(c)) {
+                tokens++;
+            }
+        }
+        if (wordLength > 0) {
+            pieces += 1 + (wordLength - 1) / CHARS_PER_WORD_PIECE;
+        }
+        return tokens + (pieces * 4 + 2) / 3;
+    }
+}
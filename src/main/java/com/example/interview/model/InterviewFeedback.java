@@ -10,10 +10,20 @@ public class InterviewFeedback {
     private List<String> strengths;
     private List<String> areasToImprove;
     private List<SampleImprovedAnswer> sampleImprovedAnswers;
+    // True while feedback generation is deferred; poll GET /api/interview/{sessionId}/feedback.
+    private boolean pending;
 
     public InterviewFeedback() {
     }
 
+    public boolean isPending() {
+        return pending;
+    }
+
+    public void setPending(boolean pending) {
+        this.pending = pending;
+    }
+
     public String getOverallSummary() {
         return overallSummary;
     }
@@ -0,0 +1,98 @@
+package com.example.interview.prompt;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A prompt compiled once into alternating literal and {@code {{variable}}} segments.
+ * Rendering walks the segments into a per-thread builder; no format string is parsed per call.
+ */
+public class PromptTemplate {
+
+    private static final String OPEN = "{{";
+    private static final String CLOSE = "}}";
+    private static final int MAX_RETAINED_CAPACITY = 64 * 1024;
+    private static final ThreadLocal<StringBuilder> BUFFER = ThreadLocal.withInitial(() -> new StringBuilder(1024));
+
+    private final String name;
+    private final String version;
+    // Even indexes are literals, odd indexes are variable names.
+    private final String[] segments;
+    private final int literalLength;
+
+    private PromptTemplate(String name, String version, String[] segments, int literalLength) {
+        this.name = name;
+        this.version = version;
+        this.segments = segments;
+        this.literalLength = literalLength;
+    }
+
+    public static PromptTemplate compile(String name, String source) {
+        List<String> segments = new ArrayList<>();
+        int literalLength = 0;
+        int pos = 0;
+        while (true) {
+            int open = source.indexOf(OPEN, pos);
+            int close = open < 0 ? -1 : source.indexOf(CLOSE, open + OPEN.length());
+            if (close < 0) {
+                String tail = source.substring(pos);
+                segments.add(tail);
+                literalLength += tail.length();
+                break;
+            }
+            String literal = source.substring(pos, open);
+            segments.add(literal);
+            segments.add(source.substring(open + OPEN.length(), close).trim());
+            literalLength += literal.length();
+            pos = close + CLOSE.length();
+        }
+        return new PromptTemplate(name, hash(source), segments.toArray(new String[0]), literalLength);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Content hash of the template source; changes whenever the template text changes.
+     */
+    public String getVersion() {
+        return version;
+    }
+
+    public String render(Map<String, String> values) {
+        StringBuilder sb = BUFFER.get();
+        sb.setLength(0);
+        sb.ensureCapacity(literalLength + 256);
+        for (int i = 0; i < segments.length; i++) {
+            if ((i & 1) == 0) {
+                sb.append(segments[i]);
+            } else {
+                String value = values.get(segments[i]);
+                if (value != null) {
+                    sb.append(value);
+                }
+            }
+        }
+        String rendered = sb.toString();
+        if (sb.capacity() > MAX_RETAINED_CAPACITY) {
+            BUFFER.remove();
+        }
+        return rendered;
+    }
+
+    private static String hash(String source) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] bytes = digest.digest(source.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(bytes, 0, 8);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package com.example.interview.prompt;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.core.io.support.ResourcePatternResolver;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Loads prompt templates from {@code prompts.location}.
+ * <p>
+ * Layout: {@code <name>.txt} for the default template and {@code roles/<role-slug>/<name>.txt}
+ * for a role-specific variant, e.g. {@code roles/java-backend-developer/follow-up-question.txt}.
+ * When {@code prompts.reload-interval-ms} is positive the location is re-scanned at most that often
+ * and templates are recompiled if any file changed.
+ */
+@Service
+public class PromptTemplates {
+
+    private static final String ROLES_DIR = "roles/";
+    private static final String SUFFIX = ".txt";
+
+    private final ResourcePatternResolver resolver = new PathMatchingResourcePatternResolver();
+    private final String location;
+    private final long reloadIntervalMs;
+
+    private volatile Snapshot snapshot;
+    private volatile long nextCheckAt;
+
+    public PromptTemplates(
+            @Value("${prompts.location:classpath:prompts/}") String location,
+            @Value("${prompts.reload-interval-ms:0}") long reloadIntervalMs
+    ) {
+        this.location = location.endsWith("/") ? location : location + "/";
+        this.reloadIntervalMs = reloadIntervalMs;
+        this.snapshot = load();
+        this.nextCheckAt = System.currentTimeMillis() + reloadIntervalMs;
+    }
+
+    public PromptTemplate get(String name) {
+        return get(name, null);
+    }
+
+    /**
+     * Returns the role-specific variant of the template if one exists, otherwise the default.
+     */
+    public PromptTemplate get(String name, String role) {
+        maybeReload();
+        Snapshot current = snapshot;
+        if (role != null) {
+            PromptTemplate variant = current.templates.get(ROLES_DIR + slug(role) + "/" + name);
+            if (variant != null) {
+                return variant;
+            }
+        }
+        PromptTemplate template = current.templates.get(name);
+        if (template == null) {
+            throw new IllegalStateException("No prompt template named '" + name + "' in " + location);
+        }
+        return template;
+    }
+
+    public String render(String name, String role, Map<String, String> values) {
+        return get(name, role).render(values);
+    }
+
+    private void maybeReload() {
+        if (reloadIntervalMs <= 0) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        if (now < nextCheckAt) {
+            return;
+        }
+        synchronized (this) {
+            if (now < nextCheckAt) {
+                return;
+            }
+            nextCheckAt = now + reloadIntervalMs;
+            if (fingerprint(resources()) != snapshot.fingerprint) {
+                snapshot = load();
+            }
+        }
+    }
+
+    private Snapshot load() {
+        Resource[] resources = resources();
+        String rootUrl = rootUrl();
+        Map<String, PromptTemplate> templates = new HashMap<>();
+        for (Resource resource : resources) {
+            String name = templateName(resource, rootUrl);
+            if (name == null) {
+                continue;
+            }
+            try {
+                String source = resource.getContentAsString(StandardCharsets.UTF_8).stripTrailing();
+                templates.put(name, PromptTemplate.compile(name, source));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not read prompt template " + resource, e);
+            }
+        }
+        return new Snapshot(templates, fingerprint(resources));
+    }
+
+    private Resource[] resources() {
+        try {
+            return resolver.getResources(location + "**/*" + SUFFIX);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not list prompt templates in " + location, e);
+        }
+    }
+
+    private String templateName(Resource resource, String rootUrl) {
+        try {
+            String url = resource.getURL().toString();
+            if (!url.startsWith(rootUrl)) {
+                return null;
+            }
+            return url.substring(rootUrl.length(), url.length() - SUFFIX.length());
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private String rootUrl() {
+        try {
+            String url = resolver.getResource(location).getURL().toString();
+            return url.endsWith("/") ? url : url + "/";
+        } catch (IOException e) {
+            throw new UncheckedIOException("Prompt template location " + location + " does not exist", e);
+        }
+    }
+
+    private static long fingerprint(Resource[] resources) {
+        long fingerprint = resources.length;
+        for (Resource resource : resources) {
+            try {
+                fingerprint = fingerprint * 31 + resource.lastModified();
+            } catch (IOException ignored) {
+                // Unreadable timestamps simply never trigger a reload.
+            }
+        }
+        return fingerprint;
+    }
+
+    public static String slug(String role) {
+        StringBuilder sb = new StringBuilder(role.length());
+        boolean dash = false;
+        for (int i = 0; i < role.length(); i++) {
+            char c = Character.toLowerCase(role.charAt(i));
+            if ((c >= 'a' && c <= 'z') || (c >= '0' && c <= '9')) {
+                if (dash && sb.length() > 0) {
+                    sb.append('-');
+                }
+                sb.append(c);
+                dash = false;
+            } else {
+                dash = true;
+            }
+        }
+        return sb.toString();
+    }
+
+    private record Snapshot(Map<String, PromptTemplate> templates, long fingerprint) {
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.interview.questionbank;
+
+/**
+ * Turns question text into a fixed-size vector. Implementations must return
+ * L2-normalised vectors so that the dot product is the cosine similarity.
+ */
+public interface EmbeddingProvider {
+
+    int dimensions();
+
+    float[] embed(String text);
+}
@@ -0,0 +1,104 @@
+package com.example.interview.questionbank;
+
+import com.example.interview.prompt.PromptTemplates;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Predicate;
+
+/**
+ * Pre-written questions served while the LLM is unavailable.
+ * <p>
+ * Layout under {@code degradation.fallback-questions}: {@code roles/<role-slug>.txt} for role-specific
+ * questions and {@code <interview-type>.txt} (e.g. {@code technical.txt}) per interview type, with
+ * {@code mixed.txt} as the catch-all. One question per line; blank lines and {@code #} comments are skipped.
+ */
+@Component
+public class FallbackQuestions {
+
+    static final String LAST_RESORT = "Could you walk me through a recent project you are proud of and the decisions you made in it?";
+
+    private static final String ROLES_DIR = "roles/";
+    private static final String SUFFIX = ".txt";
+    private static final String CATCH_ALL = "mixed";
+
+    private final Map<String, List<String>> questions;
+
+    public FallbackQuestions(
+            @Value("${degradation.fallback-questions:classpath:fallback-questions/}") String location
+    ) {
+        this.questions = load(location.endsWith("/") ? location : location + "/");
+    }
+
+    /**
+     * Picks a question for the role and interview type that {@code alreadyAsked} rejects, preferring
+     * role-specific ones. Never returns null.
+     */
+    public String pick(String role, String interviewType, Predicate<String> alreadyAsked) {
+        List<List<String>> tiers = new ArrayList<>(3);
+        if (role != null) {
+            tiers.add(questions.getOrDefault(ROLES_DIR + PromptTemplates.slug(role), List.of()));
+        }
+        if (interviewType != null) {
+            tiers.add(questions.getOrDefault(interviewType.toLowerCase(Locale.ROOT), List.of()));
+        }
+        tiers.add(questions.getOrDefault(CATCH_ALL, List.of()));
+
+        for (List<String> tier : tiers) {
+            if (tier.isEmpty()) {
+                continue;
+            }
+            // Start at a random offset so concurrent sessions do not all get the same question.
+            int start = ThreadLocalRandom.current().nextInt(tier.size());
+            for (int i = 0; i < tier.size(); i++) {
+                String candidate = tier.get((start + i) % tier.size());
+                if (!alreadyAsked.test(candidate)) {
+                    return candidate;
+                }
+            }
+        }
+        return LAST_RESORT;
+    }
+
+    public int size() {
+        int size = 0;
+        for (List<String> list : questions.values()) {
+            size += list.size();
+        }
+        return size;
+    }
+
+    private static Map<String, List<String>> load(String location) {
+        PathMatchingResourcePatternResolver resolver = new PathMatchingResourcePatternResolver();
+        Map<String, List<String>> loaded = new HashMap<>();
+        try {
+            String rootUrl = resolver.getResource(location).getURL().toString();
+            rootUrl = rootUrl.endsWith("/") ? rootUrl : rootUrl + "/";
+            for (Resource resource : resolver.getResources(location + "**/*" + SUFFIX)) {
+                String url = resource.getURL().toString();
+                if (!url.startsWith(rootUrl)) {
+                    continue;
+                }
+                String name = url.substring(rootUrl.length(), url.length() - SUFFIX.length());
+                List<String> lines = new ArrayList<>();
+                for (String line : resource.getContentAsString(StandardCharsets.UTF_8).split("\n")) {
+                    String trimmed = line.strip();
+                    if (!trimmed.isEmpty() && !trimmed.startsWith("#")) {
+                        lines.add(trimmed);
+                    }
+                }
+                loaded.put(name, List.copyOf(lines));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not load fallback questions from " + location, e);
+        }
+        return Map.copyOf(loaded);
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.interview.questionbank;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+
+/**
+ * Local embedding stub: hashes word unigrams and bigrams into a fixed number of buckets.
+ * It needs no network or model files and is good enough to catch near-duplicate wording.
+ */
+@Component
+@ConditionalOnProperty(name = "question-bank.embedding-provider", havingValue = "hashing", matchIfMissing = true)
+public class HashingEmbeddingProvider implements EmbeddingProvider {
+
+    private final int dimensions;
+
+    public HashingEmbeddingProvider(@Value("${question-bank.dimensions:128}") int dimensions) {
+        this.dimensions = dimensions;
+    }
+
+    @Override
+    public int dimensions() {
+        return dimensions;
+    }
+
+    @Override
+    public float[] embed(String text) {
+        float[] vector = new float[dimensions];
+        if (text == null) {
+            return vector;
+        }
+
+        String[] words = text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+");
+        String previous = null;
+        for (String word : words) {
+            if (word.isEmpty()) {
+                continue;
+            }
+            add(vector, word.hashCode(), 1.0f);
+            if (previous != null) {
+                add(vector, (previous + ' ' + word).hashCode(), 0.5f);
+            }
+            previous = word;
+        }
+
+        double norm = 0;
+        for (float v : vector) {
+            norm += v * v;
+        }
+        if (norm > 0) {
+            float scale = (float) (1.0 / Math.sqrt(norm));
+            for (int i = 0; i < vector.length; i++) {
+                vector[i] *= scale;
+            }
+        }
+        return vector;
+    }
+
+    private void add(float[] vector, int hash, float weight) {
+        int mixed = hash * 0x9E3779B9;
+        int bucket = Math.floorMod(mixed, dimensions);
+        vector[bucket] += (mixed & 0x10000) == 0 ? weight : -weight;
+    }
+}
@@ -0,0 +1,330 @@
+package com.example.interview.questionbank;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Hierarchical navigable small world graph for approximate nearest-neighbour search
+ * over normalised vectors (similarity = dot product).
+ * Vectors are kept off-heap in direct buffers; only the adjacency lists live on the heap.
+ * The buffers start small and double up to {@code CHUNK_SIZE} vectors, so a nearly empty index
+ * costs kilobytes rather than megabytes of native memory.
+ * Searches run concurrently, inserts are serialised.
+ */
+public class HnswIndex {
+
+    // Chunk 0 holds the first FIRST_CHUNK_SIZE vectors and chunk c >= 1 the range [2^(c+5), 2^(c+6)),
+    // until chunks reach CHUNK_SIZE; from there on every chunk holds CHUNK_SIZE vectors.
+    private static final int FIRST_CHUNK_SHIFT = 6;
+    private static final int FIRST_CHUNK_SIZE = 1 << FIRST_CHUNK_SHIFT;
+    private static final int CHUNK_SHIFT = 14;
+    private static final int CHUNK_SIZE = 1 << CHUNK_SHIFT;
+    private static final int GROWING_CHUNKS = CHUNK_SHIFT - FIRST_CHUNK_SHIFT + 1;
+
+    private final int dimensions;
+    private final int m;
+    private final int maxM0;
+    private final int efConstruction;
+    private final double levelMultiplier;
+
+    private final List<FloatBuffer> chunks = new ArrayList<>();
+    // links.get(node)[level] = { count, neighbour... }
+    private final List<int[][]> links = new ArrayList<>();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ThreadLocal<Visited> visited = ThreadLocal.withInitial(Visited::new);
+
+    private int entryPoint = -1;
+    private int maxLevel = -1;
+    private volatile int size;
+
+    public HnswIndex(int dimensions) {
+        this(dimensions, 16, 100);
+    }
+
+    public HnswIndex(int dimensions, int m, int efConstruction) {
+        this.dimensions = dimensions;
+        this.m = m;
+        this.maxM0 = m * 2;
+        this.efConstruction = efConstruction;
+        this.levelMultiplier = 1.0 / Math.log(m);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int add(float[] vector) {
+        if (vector.length != dimensions) {
+            throw new IllegalArgumentException("Expected " + dimensions + " dimensions but got " + vector.length);
+        }
+
+        lock.writeLock().lock();
+        try {
+            int node = size;
+            store(node, vector);
+
+            int level = randomLevel();
+            int[][] nodeLinks = new int[level + 1][];
+            for (int l = 0; l <= level; l++) {
+                nodeLinks[l] = new int[capacity(l) + 1];
+            }
+            links.add(nodeLinks);
+            size = node + 1;
+
+            if (entryPoint < 0) {
+                entryPoint = node;
+                maxLevel = level;
+                return node;
+            }
+
+            int current = entryPoint;
+            for (int l = maxLevel; l > level; l--) {
+                current = greedy(vector, current, l);
+            }
+
+            for (int l = Math.min(level, maxLevel); l >= 0; l--) {
+                List<Scored> found = sortedDescending(searchLayer(vector, current, efConstruction, l));
+                int connections = Math.min(m, found.size());
+                for (int i = 0; i < connections; i++) {
+                    int neighbour = found.get(i).node;
+                    link(node, neighbour, l);
+                    link(neighbour, node, l);
+                }
+                current = found.get(0).node;
+            }
+
+            if (level > maxLevel) {
+                maxLevel = level;
+                entryPoint = node;
+            }
+            return node;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<Match> search(float[] query, int k, int ef) {
+        lock.readLock().lock();
+        try {
+            if (entryPoint < 0) {
+                return List.of();
+            }
+
+            int current = entryPoint;
+            for (int l = maxLevel; l > 0; l--) {
+                current = greedy(query, current, l);
+            }
+
+            List<Scored> found = sortedDescending(searchLayer(query, current, Math.max(ef, k), 0));
+            List<Match> matches = new ArrayList<>(Math.min(k, found.size()));
+            for (int i = 0; i < found.size() && i < k; i++) {
+                matches.add(new Match(found.get(i).node, found.get(i).score));
+            }
+            return matches;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public float similarity(int node, float[] query) {
+        lock.readLock().lock();
+        try {
+            return score(node, query);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private float score(int node, float[] query) {
+        FloatBuffer chunk = chunks.get(chunkOf(node));
+        int base = offsetOf(node) * dimensions;
+        float dot = 0;
+        for (int i = 0; i < dimensions; i++) {
+            dot += chunk.get(base + i) * query[i];
+        }
+        return dot;
+    }
+
+    private float similarity(int a, int b) {
+        FloatBuffer chunkA = chunks.get(chunkOf(a));
+        FloatBuffer chunkB = chunks.get(chunkOf(b));
+        int baseA = offsetOf(a) * dimensions;
+        int baseB = offsetOf(b) * dimensions;
+        float dot = 0;
+        for (int i = 0; i < dimensions; i++) {
+            dot += chunkA.get(baseA + i) * chunkB.get(baseB + i);
+        }
+        return dot;
+    }
+
+    private void store(int node, float[] vector) {
+        int chunkIndex = chunkOf(node);
+        if (chunkIndex == chunks.size()) {
+            chunks.add(ByteBuffer.allocateDirect(chunkCapacity(chunkIndex) * dimensions * Float.BYTES)
+                    .order(ByteOrder.nativeOrder())
+                    .asFloatBuffer());
+        }
+        chunks.get(chunkIndex).put(offsetOf(node) * dimensions, vector);
+    }
+
+    static int chunkOf(int node) {
+        if (node < FIRST_CHUNK_SIZE) {
+            return 0;
+        }
+        if (node < CHUNK_SIZE) {
+            return 31 - Integer.numberOfLeadingZeros(node) - FIRST_CHUNK_SHIFT + 1;
+        }
+        return GROWING_CHUNKS + ((node - CHUNK_SIZE) >>> CHUNK_SHIFT);
+    }
+
+    static int offsetOf(int node) {
+        if (node < FIRST_CHUNK_SIZE) {
+            return node;
+        }
+        if (node < CHUNK_SIZE) {
+            return node - Integer.highestOneBit(node);
+        }
+        return (node - CHUNK_SIZE) & (CHUNK_SIZE - 1);
+    }
+
+    static int chunkCapacity(int chunk) {
+        if (chunk == 0) {
+            return FIRST_CHUNK_SIZE;
+        }
+        return chunk < GROWING_CHUNKS ? 1 << (chunk + FIRST_CHUNK_SHIFT - 1) : CHUNK_SIZE;
+    }
+
+    private int greedy(float[] query, int start, int level) {
+        int current = start;
+        float best = score(current, query);
+        boolean improved = true;
+        while (improved) {
+            improved = false;
+            int[] neighbours = neighbours(current, level);
+            for (int i = 1; i <= neighbours[0]; i++) {
+                float score = score(neighbours[i], query);
+                if (score > best) {
+                    best = score;
+                    current = neighbours[i];
+                    improved = true;
+                }
+            }
+        }
+        return current;
+    }
+
+    private PriorityQueue<Scored> searchLayer(float[] query, int start, int ef, int level) {
+        Visited seen = visited.get();
+        seen.reset(size);
+        seen.mark(start);
+
+        Scored first = new Scored(start, score(start, query));
+        PriorityQueue<Scored> candidates = new PriorityQueue<>((a, b) -> Float.compare(b.score, a.score));
+        PriorityQueue<Scored> results = new PriorityQueue<>((a, b) -> Float.compare(a.score, b.score));
+        candidates.add(first);
+        results.add(first);
+
+        while (!candidates.isEmpty()) {
+            Scored candidate = candidates.poll();
+            if (candidate.score < results.peek().score && results.size() >= ef) {
+                break;
+            }
+
+            int[] neighbours = neighbours(candidate.node, level);
+            for (int i = 1; i <= neighbours[0]; i++) {
+                int neighbour = neighbours[i];
+                if (!seen.mark(neighbour)) {
+                    continue;
+                }
+                float score = score(neighbour, query);
+                if (results.size() < ef || score > results.peek().score) {
+                    Scored scored = new Scored(neighbour, score);
+                    candidates.add(scored);
+                    results.add(scored);
+                    if (results.size() > ef) {
+                        results.poll();
+                    }
+                }
+            }
+        }
+        return results;
+    }
+
+    private void link(int from, int to, int level) {
+        int[] neighbours = links.get(from)[level];
+        int count = neighbours[0];
+        if (count < neighbours.length - 1) {
+            neighbours[count + 1] = to;
+            neighbours[0] = count + 1;
+            return;
+        }
+
+        // Full: keep the closest neighbours, dropping the weakest link if the new one is better.
+        int weakest = -1;
+        float weakestScore = similarity(from, to);
+        for (int i = 1; i <= count; i++) {
+            float score = similarity(from, neighbours[i]);
+            if (score < weakestScore) {
+                weakestScore = score;
+                weakest = i;
+            }
+        }
+        if (weakest > 0) {
+            neighbours[weakest] = to;
+        }
+    }
+
+    private int[] neighbours(int node, int level) {
+        return links.get(node)[level];
+    }
+
+    private int capacity(int level) {
+        return level == 0 ? maxM0 : m;
+    }
+
+    private int randomLevel() {
+        double r = ThreadLocalRandom.current().nextDouble();
+        return (int) Math.floor(-Math.log(1.0 - r) * levelMultiplier);
+    }
+
+    private static List<Scored> sortedDescending(PriorityQueue<Scored> queue) {
+        List<Scored> sorted = new ArrayList<>(queue);
+        sorted.sort((a, b) -> Float.compare(b.score, a.score));
+        return sorted;
+    }
+
+    public record Match(int node, float score) {
+    }
+
+    private record Scored(int node, float score) {
+    }
+
+    private static final class Visited {
+        private int[] marks = new int[0];
+        private int generation;
+
+        void reset(int size) {
+            if (marks.length < size) {
+                marks = new int[Math.max(size, marks.length * 2)];
+                generation = 0;
+            }
+            generation++;
+            if (generation == Integer.MAX_VALUE) {
+                Arrays.fill(marks, 0);
+                generation = 1;
+            }
+        }
+
+        boolean mark(int node) {
+            if (marks[node] == generation) {
+                return false;
+            }
+            marks[node] = generation;
+            return true;
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package com.example.interview.questionbank;
+
+import com.example.interview.model.Question;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Pattern;
+
+/**
+ * Local store of generated questions, one similarity index per (role, interview type).
+ * Used to skip storing near-duplicates and to serve already-paid-for questions
+ * instead of generating new ones. Roles are free text, so keys are normalised and
+ * the number of shelves is capped; questions for further roles are not banked.
+ */
+@Service
+public class QuestionBank {
+
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}+#]+");
+
+    private final EmbeddingProvider embeddingProvider;
+    private final Map<String, Shelf> shelves = new ConcurrentHashMap<>();
+    private final double duplicateThreshold;
+    private final int efSearch;
+    private final int maxShelves;
+
+    public QuestionBank(
+            EmbeddingProvider embeddingProvider,
+            @Value("${question-bank.duplicate-threshold:0.85}") double duplicateThreshold,
+            @Value("${question-bank.ef-search:128}") int efSearch,
+            @Value("${question-bank.max-shelves:200}") int maxShelves
+    ) {
+        this.embeddingProvider = embeddingProvider;
+        this.duplicateThreshold = duplicateThreshold;
+        this.efSearch = efSearch;
+        this.maxShelves = maxShelves;
+    }
+
+    /**
+     * Stores the question unless the shelf already holds a near-duplicate of it.
+     *
+     * @return true if the question was stored
+     */
+    public boolean addIfNovel(String role, String interviewType, Question question) {
+        if (question == null || question.getText() == null || question.getText().isBlank()) {
+            return false;
+        }
+        Shelf shelf = shelf(role, interviewType);
+        if (shelf == null) {
+            return false;
+        }
+        float[] vector = embeddingProvider.embed(question.getText());
+        return shelf.addIfNovel(question, vector, duplicateThreshold, efSearch);
+    }
+
+    public List<ScoredQuestion> findSimilar(String role, String interviewType, String text, int limit) {
+        Shelf shelf = shelves.get(key(role, interviewType));
+        if (shelf == null) {
+            return List.of();
+        }
+        return shelf.search(embeddingProvider.embed(text), limit, efSearch);
+    }
+
+    /**
+     * Whether the text is a near-duplicate of any of the given questions.
+     */
+    public boolean isRepeat(String text, Collection<String> askedQuestions) {
+        if (askedQuestions.isEmpty()) {
+            return false;
+        }
+        float[] vector = embeddingProvider.embed(text);
+        for (String asked : askedQuestions) {
+            if (dot(vector, embeddingProvider.embed(asked)) >= duplicateThreshold) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Picks a banked question for the role/type that is not a near-duplicate of any already asked.
+     */
+    public Optional<Question> pickNovel(String role, String interviewType, Collection<String> askedQuestions) {
+        Shelf shelf = shelves.get(key(role, interviewType));
+        if (shelf == null || shelf.size() == 0) {
+            return Optional.empty();
+        }
+
+        List<float[]> asked = new ArrayList<>(askedQuestions.size());
+        for (String text : askedQuestions) {
+            asked.add(embeddingProvider.embed(text));
+        }
+
+        int size = shelf.size();
+        int attempts = Math.min(size, 8);
+        for (int i = 0; i < attempts; i++) {
+            int node = ThreadLocalRandom.current().nextInt(size);
+            boolean repeat = false;
+            for (float[] vector : asked) {
+                if (shelf.index.similarity(node, vector) >= duplicateThreshold) {
+                    repeat = true;
+                    break;
+                }
+            }
+            if (!repeat) {
+                return Optional.of(shelf.question(node));
+            }
+        }
+        return Optional.empty();
+    }
+
+    public int size(String role, String interviewType) {
+        Shelf shelf = shelves.get(key(role, interviewType));
+        return shelf == null ? 0 : shelf.size();
+    }
+
+    /**
+     * The shelf for the role/type, or null when it does not exist yet and the cap is reached.
+     */
+    private Shelf shelf(String role, String interviewType) {
+        String key = key(role, interviewType);
+        Shelf shelf = shelves.get(key);
+        if (shelf != null || shelves.size() >= maxShelves) {
+            return shelf;
+        }
+        return shelves.computeIfAbsent(key, k -> new Shelf(new HnswIndex(embeddingProvider.dimensions())));
+    }
+
+    int shelfCount() {
+        return shelves.size();
+    }
+
+    private static String key(String role, String interviewType) {
+        return normalize(role) + '|' + normalize(interviewType);
+    }
+
+    /**
+     * Case, punctuation and spacing do not make a new shelf: "Java  backend-developer." and
+     * "java backend developer" share one.
+     */
+    static String normalize(String value) {
+        return value == null ? "" : NON_WORD.matcher(value.toLowerCase(Locale.ROOT)).replaceAll(" ").strip();
+    }
+
+    private static float dot(float[] a, float[] b) {
+        float sum = 0;
+        for (int i = 0; i < a.length; i++) {
+            sum += a[i] * b[i];
+        }
+        return sum;
+    }
+
+    public record ScoredQuestion(Question question, float similarity) {
+    }
+
+    private static final class Shelf {
+
+        private final HnswIndex index;
+        private final List<Question> questions = new ArrayList<>();
+
+        Shelf(HnswIndex index) {
+            this.index = index;
+        }
+
+        synchronized boolean addIfNovel(Question question, float[] vector, double threshold, int ef) {
+            List<HnswIndex.Match> nearest = index.search(vector, 1, ef);
+            if (!nearest.isEmpty() && nearest.get(0).score() >= threshold) {
+                return false;
+            }
+            index.add(vector);
+            questions.add(question);
+            return true;
+        }
+
+        List<ScoredQuestion> search(float[] vector, int limit, int ef) {
+            List<HnswIndex.Match> matches = index.search(vector, limit, ef);
+            List<ScoredQuestion> result = new ArrayList<>(matches.size());
+            for (HnswIndex.Match match : matches) {
+                result.add(new ScoredQuestion(question(match.node()), match.score()));
+            }
+            return result;
+        }
+
+        synchronized Question question(int node) {
+            return questions.get(node);
+        }
+
+        synchronized int size() {
+            return questions.size();
+        }
+    }
+}
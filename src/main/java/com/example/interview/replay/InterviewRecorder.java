@@ -0,0 +1,181 @@
+package com.example.interview.replay;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Owns {@code replay.mode} and the recordings directory. In {@code record} mode, LLM calls and interview
+ * API requests are queued and written by one background thread to {@link RecordingFile}s of at most
+ * {@code records-per-file} records each; when the queue is full, records are dropped rather than
+ * slowing requests down. In {@code replay} mode, the recordings are read back by {@link LlmTape} and
+ * {@link ReplayRunner}.
+ */
+@Component
+public class InterviewRecorder implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(InterviewRecorder.class);
+
+    public enum Mode { OFF, RECORD, REPLAY }
+
+    /**
+     * Everything in a recordings directory, in recording order.
+     */
+    public record Recordings(List<RecordedLlmCall> llmCalls, List<RecordedRequest> requests) {
+    }
+
+    private final Mode mode;
+    private final Path directory;
+    private final int recordsPerFile;
+    private final BlockingQueue<Object> queue;
+    private final Counter dropped;
+    private final Thread writerThread;
+
+    private volatile boolean running = true;
+
+    public InterviewRecorder(
+            MeterRegistry registry,
+            @Value("${replay.mode:off}") String mode,
+            @Value("${replay.dir:data/recordings}") String directory,
+            @Value("${replay.records-per-file:10000}") int recordsPerFile,
+            @Value("${replay.queue-capacity:10000}") int queueCapacity
+    ) {
+        this.mode = Mode.valueOf(mode.trim().toUpperCase(Locale.ROOT));
+        this.directory = Paths.get(directory);
+        this.recordsPerFile = recordsPerFile;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.dropped = registry.counter("replay.recorder.dropped");
+
+        if (this.mode != Mode.RECORD) {
+            this.writerThread = null;
+            return;
+        }
+        try {
+            Files.createDirectories(this.directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not create recordings directory " + this.directory, e);
+        }
+        this.writerThread = new Thread(this::writeLoop, "interview-recorder");
+        this.writerThread.setDaemon(true);
+        this.writerThread.start();
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    public boolean isRecording() {
+        return mode == Mode.RECORD;
+    }
+
+    public boolean isReplaying() {
+        return mode == Mode.REPLAY;
+    }
+
+    public void record(RecordedLlmCall call) {
+        enqueue(call);
+    }
+
+    public void record(RecordedRequest request) {
+        enqueue(request);
+    }
+
+    /**
+     * Reads every recording in the directory.
+     */
+    public Recordings read() {
+        List<RecordedLlmCall> llmCalls = new ArrayList<>();
+        List<RecordedRequest> requests = new ArrayList<>();
+        try {
+            for (Path file : RecordingFile.list(directory)) {
+                RecordingFile.read(file, llmCalls::add, requests::add);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read recordings in " + directory, e);
+        }
+        return new Recordings(llmCalls, requests);
+    }
+
+    private void enqueue(Object record) {
+        if (isRecording() && !queue.offer(record)) {
+            dropped.increment();
+        }
+    }
+
+    private void writeLoop() {
+        RecordingFile.Writer writer = null;
+        while (running || !queue.isEmpty()) {
+            try {
+                Object record = queue.poll(200, TimeUnit.MILLISECONDS);
+                if (record == null) {
+                    // Idle: make what was written so far readable.
+                    if (writer != null) {
+                        writer.flush();
+                    }
+                    continue;
+                }
+                if (writer == null) {
+                    writer = new RecordingFile.Writer(nextFile());
+                }
+                writer.write(record);
+                if (writer.records() >= recordsPerFile) {
+                    writer.close();
+                    writer = null;
+                }
+            } catch (InterruptedException e) {
+                running = false;
+            } catch (IOException e) {
+                log.warn("Dropping recording file after write failure: {}", e.getMessage());
+                close(writer);
+                writer = null;
+            }
+        }
+        close(writer);
+    }
+
+    private Path nextFile() {
+        // Zero-padded so that file names sort in recording order.
+        Path file;
+        long millis = System.currentTimeMillis();
+        do {
+            file = directory.resolve(String.format("%s%015d%s", RecordingFile.PREFIX, millis++, RecordingFile.SUFFIX));
+        } while (Files.exists(file));
+        return file;
+    }
+
+    private static void close(RecordingFile.Writer writer) {
+        if (writer == null) {
+            return;
+        }
+        try {
+            writer.close();
+        } catch (IOException e) {
+            log.warn("Could not close recording file: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        if (writerThread == null) {
+            return;
+        }
+        running = false;
+        writerThread.join(TimeUnit.SECONDS.toMillis(5));
+    }
+}
@@ -0,0 +1,150 @@
+package com.example.interview.replay;
+
+import com.example.interview.llm.ChatOptions;
+import com.example.interview.llm.LlmUsage;
+import com.example.interview.llm.ResponseSchema;
+import com.example.interview.llm.dto.ChatMessage;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Records {@code LlmClient} calls, and in replay mode serves them back instead of calling a provider.
+ * <p>
+ * A call is matched by the hash of its messages and schema. When the prompt changed since it was
+ * recorded (new templates, different context window), the next recorded reply for the same schema is
+ * served instead, so the response parsing downstream is still exercised. Calls sharing a key are
+ * served in turn. Each reply is delayed by its recorded latency divided by {@code replay.speed}
+ * ({@code 0} for no delay).
+ */
+@Component
+public class LlmTape {
+
+    public static final String NO_SCHEMA = "none";
+
+    private final InterviewRecorder recorder;
+    private final MeterRegistry registry;
+    private final double speed;
+    private final Map<String, Reel> byKey = new HashMap<>();
+    private final Map<String, Reel> bySchema = new HashMap<>();
+
+    public LlmTape(
+            InterviewRecorder recorder,
+            MeterRegistry registry,
+            @Value("${replay.speed:1.0}") double speed
+    ) {
+        this.recorder = recorder;
+        this.registry = registry;
+        this.speed = speed;
+        if (recorder.isReplaying()) {
+            for (RecordedLlmCall call : recorder.read().llmCalls()) {
+                byKey.computeIfAbsent(call.key(), k -> new Reel()).calls.add(call);
+                bySchema.computeIfAbsent(call.schema(), k -> new Reel()).calls.add(call);
+            }
+        }
+    }
+
+    public boolean isReplaying() {
+        return recorder.isReplaying();
+    }
+
+    /**
+     * The recorded call to serve for this prompt, after its (scaled) recorded latency, or null if nothing
+     * was recorded for its schema.
+     */
+    public RecordedLlmCall replay(List<ChatMessage> messages, ResponseSchema schema) {
+        String schemaName = schemaName(schema);
+        Reel reel = byKey.get(key(messages, schemaName));
+        String match = "exact";
+        if (reel == null) {
+            reel = bySchema.get(schemaName);
+            match = "schema";
+        }
+        if (reel == null) {
+            registry.counter("replay.llm.calls", "match", "miss").increment();
+            return null;
+        }
+        registry.counter("replay.llm.calls", "match", match).increment();
+        RecordedLlmCall call = reel.next();
+        pace(call.latencyMillis());
+        return call;
+    }
+
+    public void record(List<ChatMessage> messages, ChatOptions options, String provider, String model,
+                       LlmUsage usage, long elapsedNanos, String reply) {
+        if (recorder.isRecording()) {
+            recorder.record(recorded(messages, options, provider, model, usage, elapsedNanos, false, reply));
+        }
+    }
+
+    public void recordFailure(List<ChatMessage> messages, ChatOptions options, String provider, String model,
+                              long elapsedNanos) {
+        if (recorder.isRecording()) {
+            recorder.record(recorded(messages, options, provider, model, LlmUsage.EMPTY, elapsedNanos, true, null));
+        }
+    }
+
+    /**
+     * SHA-256 of the schema name and each message's role and content.
+     */
+    public static String key(List<ChatMessage> messages, String schemaName) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(schemaName.getBytes(StandardCharsets.UTF_8));
+            for (ChatMessage message : messages) {
+                digest.update((byte) 0);
+                digest.update(String.valueOf(message.getRole()).getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) 0);
+                digest.update(String.valueOf(message.getContent()).getBytes(StandardCharsets.UTF_8));
+            }
+            return HexFormat.of().formatHex(digest.digest(), 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static RecordedLlmCall recorded(List<ChatMessage> messages, ChatOptions options, String provider,
+                                            String model, LlmUsage usage, long elapsedNanos, boolean failed,
+                                            String reply) {
+        String schemaName = schemaName(options.getResponseSchema());
+        return new RecordedLlmCall(System.currentTimeMillis(), key(messages, schemaName), schemaName,
+                options.getSessionId(), provider, model, TimeUnit.NANOSECONDS.toMillis(elapsedNanos), usage,
+                failed, reply);
+    }
+
+    private static String schemaName(ResponseSchema schema) {
+        return schema != null ? schema.getName() : NO_SCHEMA;
+    }
+
+    private void pace(long latencyMillis) {
+        if (speed <= 0 || latencyMillis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep((long) (latencyMillis / speed));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static final class Reel {
+
+        private final List<RecordedLlmCall> calls = new ArrayList<>();
+        private final AtomicInteger next = new AtomicInteger();
+
+        RecordedLlmCall next() {
+            return calls.get(Math.floorMod(next.getAndIncrement(), calls.size()));
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.interview.replay;
+
+import com.example.interview.llm.LlmUsage;
+
+/**
+ * One recorded {@code LlmClient} call. {@code key} identifies the prompt (see {@link LlmTape#key}); a
+ * failed call has no reply and is replayed as a failure.
+ */
+public record RecordedLlmCall(
+        long recordedAt,
+        String key,
+        String schema,
+        String sessionId,
+        String provider,
+        String model,
+        long latencyMillis,
+        LlmUsage usage,
+        boolean failed,
+        String reply
+) {
+}
@@ -0,0 +1,18 @@
+package com.example.interview.replay;
+
+/**
+ * One recorded request to the interview API, with the session it belongs to (taken from the path, or
+ * from the response of a start request) and the user who sent it.
+ */
+public record RecordedRequest(
+        long recordedAt,
+        String sessionId,
+        String user,
+        String method,
+        String path,
+        int status,
+        long latencyMillis,
+        String requestBody,
+        String responseBody
+) {
+}
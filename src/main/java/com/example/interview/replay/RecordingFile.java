@@ -0,0 +1,169 @@
+package com.example.interview.replay;
+
+import com.example.interview.llm.LlmUsage;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.ZipException;
+
+/**
+ * Recording file format: a gzip stream of {@code int magic | byte version} followed by records of
+ * {@code byte type | fields...}, where strings are {@code int byteLength | UTF-8 bytes} ({@code -1} for
+ * null). The stream is sync-flushed whenever the writer goes idle, so a file cut off by a crash reads up
+ * to its last complete record.
+ */
+final class RecordingFile {
+
+    static final String PREFIX = "recording-";
+    static final String SUFFIX = ".rec.gz";
+
+    private static final int MAGIC = 0x49524543;
+    private static final byte VERSION = 1;
+    private static final byte LLM_CALL = 1;
+    private static final byte REQUEST = 2;
+
+    private RecordingFile() {
+    }
+
+    /**
+     * Recording files in {@code directory}, oldest first.
+     */
+    static List<Path> list(Path directory) throws IOException {
+        List<Path> files = new ArrayList<>();
+        if (!Files.isDirectory(directory)) {
+            return files;
+        }
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, PREFIX + "*" + SUFFIX)) {
+            stream.forEach(files::add);
+        }
+        Collections.sort(files);
+        return files;
+    }
+
+    /**
+     * Reads every complete record of {@code file}, in order.
+     */
+    static void read(Path file, Consumer<RecordedLlmCall> llmCalls, Consumer<RecordedRequest> requests)
+            throws IOException {
+        try (InputStream raw = Files.newInputStream(file);
+             DataInputStream in = new DataInputStream(new BufferedInputStream(new GZIPInputStream(raw)))) {
+            if (in.readInt() != MAGIC || in.readByte() != VERSION) {
+                throw new IOException("Not a recording: " + file);
+            }
+            while (true) {
+                int type = in.read();
+                if (type == -1) {
+                    return;
+                }
+                if (type == LLM_CALL) {
+                    llmCalls.accept(new RecordedLlmCall(in.readLong(), readString(in), readString(in),
+                            readString(in), readString(in), readString(in), in.readLong(),
+                            new LlmUsage(in.readLong(), in.readLong(), in.readLong()), in.readBoolean(),
+                            readString(in)));
+                } else if (type == REQUEST) {
+                    requests.accept(new RecordedRequest(in.readLong(), readString(in), readString(in),
+                            readString(in), readString(in), in.readInt(), in.readLong(), readString(in),
+                            readString(in)));
+                } else {
+                    throw new IOException("Unknown record type " + type + " in " + file);
+                }
+            }
+        } catch (EOFException | ZipException e) {
+            // Torn tail of a file that was being written when the process stopped.
+        }
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    static final class Writer implements Closeable {
+
+        private final DataOutputStream out;
+        private int records;
+
+        Writer(Path file) throws IOException {
+            this.out = new DataOutputStream(new BufferedOutputStream(
+                    new GZIPOutputStream(Files.newOutputStream(file), 8192, true), 65536));
+            out.writeInt(MAGIC);
+            out.writeByte(VERSION);
+        }
+
+        int records() {
+            return records;
+        }
+
+        void write(Object record) throws IOException {
+            if (record instanceof RecordedLlmCall call) {
+                out.writeByte(LLM_CALL);
+                out.writeLong(call.recordedAt());
+                writeString(call.key());
+                writeString(call.schema());
+                writeString(call.sessionId());
+                writeString(call.provider());
+                writeString(call.model());
+                out.writeLong(call.latencyMillis());
+                out.writeLong(call.usage().promptTokens());
+                out.writeLong(call.usage().completionTokens());
+                out.writeLong(call.usage().cachedTokens());
+                out.writeBoolean(call.failed());
+                writeString(call.reply());
+            } else if (record instanceof RecordedRequest request) {
+                out.writeByte(REQUEST);
+                out.writeLong(request.recordedAt());
+                writeString(request.sessionId());
+                writeString(request.user());
+                writeString(request.method());
+                writeString(request.path());
+                out.writeInt(request.status());
+                out.writeLong(request.latencyMillis());
+                writeString(request.requestBody());
+                writeString(request.responseBody());
+            } else {
+                throw new IllegalArgumentException("Cannot record " + record);
+            }
+            records++;
+        }
+
+        void flush() throws IOException {
+            out.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            out.close();
+        }
+
+        private void writeString(String value) throws IOException {
+            if (value == null) {
+                out.writeInt(-1);
+                return;
+            }
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+    }
+}
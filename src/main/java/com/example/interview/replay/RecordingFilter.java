@@ -0,0 +1,96 @@
+package com.example.interview.replay;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingRequestWrapper;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.Principal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records interview API traffic in {@code replay.mode=record}. Registered as a plain servlet filter, so
+ * it runs after the security chain and sees the authenticated user; voice chunk uploads are skipped.
+ */
+@Component
+public class RecordingFilter extends OncePerRequestFilter {
+
+    private static final String INTERVIEW_API = "/api/interview/";
+
+    private final InterviewRecorder recorder;
+    private final int maxBodyBytes;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    public RecordingFilter(
+            InterviewRecorder recorder,
+            @Value("${replay.max-body-bytes:262144}") int maxBodyBytes
+    ) {
+        this.recorder = recorder;
+        this.maxBodyBytes = maxBodyBytes;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String uri = request.getRequestURI();
+        return !recorder.isRecording() || !uri.startsWith(INTERVIEW_API)
+                || ("PUT".equals(request.getMethod()) && uri.contains("/voice/"));
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain
+    ) throws ServletException, IOException {
+
+        ContentCachingRequestWrapper cachedRequest = new ContentCachingRequestWrapper(request, maxBodyBytes);
+        ContentCachingResponseWrapper cachedResponse = new ContentCachingResponseWrapper(response);
+        long start = System.nanoTime();
+        try {
+            filterChain.doFilter(cachedRequest, cachedResponse);
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            String responseBody = new String(cachedResponse.getContentAsByteArray(), StandardCharsets.UTF_8);
+            cachedResponse.copyBodyToResponse();
+
+            Principal principal = cachedRequest.getUserPrincipal();
+            recorder.record(new RecordedRequest(
+                    System.currentTimeMillis(),
+                    sessionId(request.getRequestURI(), responseBody),
+                    principal != null ? principal.getName() : null,
+                    request.getMethod(),
+                    request.getRequestURI(),
+                    cachedResponse.getStatus(),
+                    TimeUnit.NANOSECONDS.toMillis(elapsed),
+                    new String(cachedRequest.getContentAsByteArray(), StandardCharsets.UTF_8),
+                    responseBody));
+        }
+    }
+
+    /**
+     * The session from {@code /api/interview/{sessionId}/...}, or for a start request from its response.
+     */
+    private String sessionId(String uri, String responseBody) {
+        String rest = uri.substring(INTERVIEW_API.length());
+        int slash = rest.indexOf('/');
+        if (slash > 0) {
+            return rest.substring(0, slash);
+        }
+        if (!"start".equals(rest) || responseBody.isEmpty()) {
+            return null;
+        }
+        try {
+            return objectMapper.readTree(responseBody).path("sessionId").asText(null);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+}
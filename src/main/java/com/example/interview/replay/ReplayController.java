@@ -0,0 +1,40 @@
+package com.example.interview.replay;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Starts replays of the recorded interviews. Restricted to ROLE_ADMIN in {@code SecurityConfig}; only
+ * available when the app runs with {@code replay.mode=replay}.
+ */
+@RestController
+@RequestMapping("/api/replay")
+@CrossOrigin
+public class ReplayController {
+
+    private static final int MAX_COPIES = 10_000;
+    private static final int MAX_CONCURRENCY = 256;
+
+    private final ReplayRunner runner;
+
+    public ReplayController(ReplayRunner runner) {
+        this.runner = runner;
+    }
+
+    @PostMapping("/runs")
+    public ReplayReport run(
+            @RequestParam(value = "copies", defaultValue = "1") int copies,
+            @RequestParam(value = "concurrency", defaultValue = "8") int concurrency
+    ) {
+        if (!runner.isAvailable()) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT,
+                    "Start the app with replay.mode=replay to run replays.");
+        }
+        if (copies < 1 || copies > MAX_COPIES || concurrency < 1 || concurrency > MAX_CONCURRENCY) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "copies must be 1-" + MAX_COPIES + " and concurrency 1-" + MAX_CONCURRENCY + ".");
+        }
+        return runner.run(copies, concurrency);
+    }
+}
@@ -0,0 +1,209 @@
+package com.example.interview.replay;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Outcome of a {@link ReplayRunner} run: throughput, latency by request kind, and the requests whose
+ * response no longer matches the recorded one.
+ */
+public class ReplayReport {
+
+    private int sessions;
+    private long requests;
+    // Recorded requests that cannot be replayed: errors, voice uploads, sessions recorded mid-way.
+    private long skipped;
+    private long mismatches;
+    private long failures;
+    private long elapsedMillis;
+    private double requestsPerSecond;
+    private Map<String, Latency> latency;
+    private List<Difference> differences;
+
+    public ReplayReport() {
+    }
+
+    public int getSessions() {
+        return sessions;
+    }
+
+    public void setSessions(int sessions) {
+        this.sessions = sessions;
+    }
+
+    public long getRequests() {
+        return requests;
+    }
+
+    public void setRequests(long requests) {
+        this.requests = requests;
+    }
+
+    public long getSkipped() {
+        return skipped;
+    }
+
+    public void setSkipped(long skipped) {
+        this.skipped = skipped;
+    }
+
+    public long getMismatches() {
+        return mismatches;
+    }
+
+    public void setMismatches(long mismatches) {
+        this.mismatches = mismatches;
+    }
+
+    public long getFailures() {
+        return failures;
+    }
+
+    public void setFailures(long failures) {
+        this.failures = failures;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public void setElapsedMillis(long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public double getRequestsPerSecond() {
+        return requestsPerSecond;
+    }
+
+    public void setRequestsPerSecond(double requestsPerSecond) {
+        this.requestsPerSecond = requestsPerSecond;
+    }
+
+    public Map<String, Latency> getLatency() {
+        return latency;
+    }
+
+    public void setLatency(Map<String, Latency> latency) {
+        this.latency = latency;
+    }
+
+    public List<Difference> getDifferences() {
+        return differences;
+    }
+
+    public void setDifferences(List<Difference> differences) {
+        this.differences = differences;
+    }
+
+    public static class Latency {
+        private int count;
+        private double p50Millis;
+        private double p95Millis;
+        private double maxMillis;
+
+        public Latency() {
+        }
+
+        public Latency(int count, double p50Millis, double p95Millis, double maxMillis) {
+            this.count = count;
+            this.p50Millis = p50Millis;
+            this.p95Millis = p95Millis;
+            this.maxMillis = maxMillis;
+        }
+
+        public int getCount() {
+            return count;
+        }
+
+        public void setCount(int count) {
+            this.count = count;
+        }
+
+        public double getP50Millis() {
+            return p50Millis;
+        }
+
+        public void setP50Millis(double p50Millis) {
+            this.p50Millis = p50Millis;
+        }
+
+        public double getP95Millis() {
+            return p95Millis;
+        }
+
+        public void setP95Millis(double p95Millis) {
+            this.p95Millis = p95Millis;
+        }
+
+        public double getMaxMillis() {
+            return maxMillis;
+        }
+
+        public void setMaxMillis(double maxMillis) {
+            this.maxMillis = maxMillis;
+        }
+    }
+
+    /**
+     * A replayed request whose response differs from the recording, or that failed ({@code actual} is
+     * then the error).
+     */
+    public static class Difference {
+        private String recordedSessionId;
+        private String method;
+        private String path;
+        private String expected;
+        private String actual;
+
+        public Difference() {
+        }
+
+        public Difference(String recordedSessionId, String method, String path, String expected, String actual) {
+            this.recordedSessionId = recordedSessionId;
+            this.method = method;
+            this.path = path;
+            this.expected = expected;
+            this.actual = actual;
+        }
+
+        public String getRecordedSessionId() {
+            return recordedSessionId;
+        }
+
+        public void setRecordedSessionId(String recordedSessionId) {
+            this.recordedSessionId = recordedSessionId;
+        }
+
+        public String getMethod() {
+            return method;
+        }
+
+        public void setMethod(String method) {
+            this.method = method;
+        }
+
+        public String getPath() {
+            return path;
+        }
+
+        public void setPath(String path) {
+            this.path = path;
+        }
+
+        public String getExpected() {
+            return expected;
+        }
+
+        public void setExpected(String expected) {
+            this.expected = expected;
+        }
+
+        public String getActual() {
+            return actual;
+        }
+
+        public void setActual(String actual) {
+            this.actual = actual;
+        }
+    }
+}
@@ -0,0 +1,245 @@
+package com.example.interview.replay;
+
+import com.example.interview.model.Answer;
+import com.example.interview.model.InterviewConfig;
+import com.example.interview.service.InterviewService;
+import com.example.interview.service.InterviewService.StartInterviewResponse;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Replays recorded interviews against {@link InterviewService}, with LLM replies served by
+ * {@link LlmTape}, and compares each response with the recorded one. Every recorded session runs
+ * {@code copies} times as a new session, {@code concurrency} sessions at a time; the requests of one
+ * session run in their recorded order.
+ */
+@Component
+public class ReplayRunner {
+
+    private static final String INTERVIEW_API = "/api/interview/";
+    private static final int MAX_DIFFERENCES = 20;
+    private static final int MAX_DIFFERENCE_CHARS = 500;
+
+    private final InterviewRecorder recorder;
+    private final InterviewService interviewService;
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    public ReplayRunner(InterviewRecorder recorder, InterviewService interviewService) {
+        this.recorder = recorder;
+        this.interviewService = interviewService;
+    }
+
+    /**
+     * Replays only run against recorded LLM replies, never a paid provider.
+     */
+    public boolean isAvailable() {
+        return recorder.isReplaying();
+    }
+
+    public ReplayReport run(int copies, int concurrency) {
+        if (!isAvailable()) {
+            throw new IllegalStateException("Replays need replay.mode=replay");
+        }
+        Map<String, List<RecordedRequest>> sessions = new LinkedHashMap<>();
+        Run run = new Run();
+        for (RecordedRequest request : recorder.read().requests()) {
+            if (request.sessionId() == null || kind(request) == null || request.status() / 100 != 2) {
+                run.skipped.increment();
+                continue;
+            }
+            List<RecordedRequest> session = sessions.get(request.sessionId());
+            if (session == null && !"start".equals(kind(request))) {
+                // Started before recording began.
+                run.skipped.increment();
+                continue;
+            }
+            sessions.computeIfAbsent(request.sessionId(), k -> new ArrayList<>()).add(request);
+        }
+
+        AtomicInteger threads = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(concurrency, r -> {
+            Thread thread = new Thread(r, "replay-runner-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        long start = System.nanoTime();
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int copy = 0; copy < copies; copy++) {
+                for (List<RecordedRequest> session : sessions.values()) {
+                    futures.add(pool.submit(() -> replaySession(session, run)));
+                }
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Replay failed", e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+        long elapsed = System.nanoTime() - start;
+
+        ReplayReport report = new ReplayReport();
+        report.setSessions(sessions.size() * copies);
+        report.setRequests(run.requests.sum());
+        report.setSkipped(run.skipped.sum());
+        report.setMismatches(run.mismatches.sum());
+        report.setFailures(run.failures.sum());
+        report.setElapsedMillis(TimeUnit.NANOSECONDS.toMillis(elapsed));
+        report.setRequestsPerSecond(elapsed == 0 ? 0 : run.requests.sum() * 1e9 / elapsed);
+        Map<String, ReplayReport.Latency> latency = new TreeMap<>();
+        run.latencies.forEach((kind, nanos) -> latency.put(kind, latency(nanos)));
+        report.setLatency(latency);
+        report.setDifferences(List.copyOf(run.differences));
+        return report;
+    }
+
+    private void replaySession(List<RecordedRequest> session, Run run) {
+        String sessionId = null;
+        for (RecordedRequest request : session) {
+            String kind = kind(request);
+            long start = System.nanoTime();
+            Object response;
+            try {
+                response = switch (kind) {
+                    case "start" -> interviewService.startInterview(
+                            objectMapper.readValue(request.requestBody(), InterviewConfig.class), request.user());
+                    case "answer" -> interviewService.submitAnswer(sessionId,
+                            objectMapper.readValue(request.requestBody(), Answer.class));
+                    case "finish" -> interviewService.finishInterview(sessionId);
+                    default -> interviewService.getFeedback(sessionId);
+                };
+            } catch (IOException | RuntimeException e) {
+                run.failures.increment();
+                run.difference(request, request.responseBody(), e.toString());
+                if (sessionId == null) {
+                    return;
+                }
+                continue;
+            } finally {
+                run.requests.increment();
+                run.latencies.computeIfAbsent(kind, k -> new ConcurrentLinkedQueue<>()).add(System.nanoTime() - start);
+            }
+            if (response instanceof StartInterviewResponse started) {
+                sessionId = started.getSessionId();
+            }
+            compare(request, kind, response, run);
+        }
+    }
+
+    private void compare(RecordedRequest request, String kind, Object response, Run run) {
+        JsonNode actual = objectMapper.valueToTree(response);
+        JsonNode expected;
+        try {
+            expected = objectMapper.readTree(request.responseBody());
+        } catch (IOException e) {
+            expected = null;
+        }
+        // Feedback that was pending at recording time may be ready now, and the other way round.
+        if ("feedback".equals(kind) && expected != null
+                && (expected.path("pending").asBoolean() || actual.path("pending").asBoolean())) {
+            return;
+        }
+        if (expected instanceof ObjectNode && actual instanceof ObjectNode) {
+            ((ObjectNode) expected).remove("sessionId");
+            ((ObjectNode) actual).remove("sessionId");
+        }
+        if (!actual.equals(expected)) {
+            run.mismatches.increment();
+            run.difference(request, request.responseBody(), actual.toString());
+        }
+    }
+
+    /**
+     * start, answer, finish or feedback; null for requests that are not replayed.
+     */
+    static String kind(RecordedRequest request) {
+        String path = request.path();
+        if (path == null || !path.startsWith(INTERVIEW_API)) {
+            return null;
+        }
+        String rest = path.substring(INTERVIEW_API.length());
+        if ("POST".equals(request.method())) {
+            if (rest.equals("start")) {
+                return "start";
+            }
+            if (isSessionAction(rest, "answer")) {
+                return "answer";
+            }
+            if (isSessionAction(rest, "finish")) {
+                return "finish";
+            }
+        } else if ("GET".equals(request.method()) && isSessionAction(rest, "feedback")) {
+            return "feedback";
+        }
+        return null;
+    }
+
+    // {sessionId}/{action}
+    private static boolean isSessionAction(String rest, String action) {
+        int slash = rest.indexOf('/');
+        return slash > 0 && rest.substring(slash + 1).equals(action);
+    }
+
+    private static ReplayReport.Latency latency(ConcurrentLinkedQueue<Long> nanos) {
+        List<Long> sorted = new ArrayList<>(nanos);
+        Collections.sort(sorted);
+        return new ReplayReport.Latency(sorted.size(), millis(sorted, 0.50), millis(sorted, 0.95),
+                millis(sorted, 1.0));
+    }
+
+    private static double millis(List<Long> sorted, double quantile) {
+        int index = (int) Math.ceil(quantile * sorted.size()) - 1;
+        return sorted.get(Math.max(0, index)) / 1e6;
+    }
+
+    private static String truncate(String text) {
+        if (text == null || text.length() <= MAX_DIFFERENCE_CHARS) {
+            return text;
+        }
+        return text.substring(0, MAX_DIFFERENCE_CHARS) + "…";
+    }
+
+    private static final class Run {
+
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder skipped = new LongAdder();
+        private final LongAdder mismatches = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+        private final Map<String, ConcurrentLinkedQueue<Long>> latencies = new ConcurrentHashMap<>();
+        private final List<ReplayReport.Difference> differences = Collections.synchronizedList(new ArrayList<>());
+
+        void difference(RecordedRequest request, String expected, String actual) {
+            synchronized (differences) {
+                if (differences.size() < MAX_DIFFERENCES) {
+                    differences.add(new ReplayReport.Difference(request.sessionId(), request.method(),
+                            request.path(), truncate(expected), truncate(actual)));
+                }
+            }
+        }
+    }
+}
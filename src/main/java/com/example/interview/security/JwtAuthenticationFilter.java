@@ -1,5 +1,6 @@
 package com.example.interview.security;
 
+import com.example.interview.web.StaticAssets;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.*;
@@ -24,6 +25,12 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         this.userDetailsService = userDetailsService;
     }
 
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        // The UI and its assets are public; skip the token and user lookups for them.
+        return StaticAssets.isPublicPath(request.getRequestURI().substring(request.getContextPath().length()));
+    }
+
     @Override
     protected void doFilterInternal(
             HttpServletRequest request,
@@ -1,6 +1,11 @@
 package com.example.interview.security;
 
+import com.example.interview.admission.AdmissionFilter;
+import com.example.interview.channel.InterviewChannel;
+import com.example.interview.cluster.SessionRoutingFilter;
+import com.example.interview.web.StaticAssets;
 import org.springframework.context.annotation.*;
+import org.springframework.core.annotation.Order;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
@@ -16,9 +21,32 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 public class SecurityConfig {
 
     private final JwtAuthenticationFilter jwtFilter;
+    private final SessionRoutingFilter routingFilter;
+    private final AdmissionFilter admissionFilter;
 
-    public SecurityConfig(JwtAuthenticationFilter jwtFilter) {
+    public SecurityConfig(JwtAuthenticationFilter jwtFilter, SessionRoutingFilter routingFilter,
+                          AdmissionFilter admissionFilter) {
         this.jwtFilter = jwtFilter;
+        this.routingFilter = routingFilter;
+        this.admissionFilter = admissionFilter;
+    }
+
+    /**
+     * The UI and its fingerprinted assets: no authentication, no JWT or admission filters, and no
+     * security cache headers so the asset controller's own Cache-Control is kept.
+     */
+    @Bean
+    @Order(1)
+    public SecurityFilterChain staticAssetsFilterChain(HttpSecurity http) throws Exception {
+        http
+                .securityMatcher(StaticAssets.PUBLIC_PATHS)
+                .csrf(csrf -> csrf.disable())
+                .sessionManagement(sm -> sm.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                .requestCache(cache -> cache.disable())
+                .headers(headers -> headers.cacheControl(cache -> cache.disable()))
+                .authorizeHttpRequests(auth -> auth.anyRequest().permitAll());
+
+        return http.build();
     }
 
     @Bean
@@ -28,17 +56,20 @@ public class SecurityConfig {
                 .sessionManagement(sm -> sm.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers(
-                                "/",
-                                "/index.html",
-                                "/static/**",
-                                "/css/**",
-                                "/js/**",
                                 "/api/auth/**"
                         ).permitAll()
+                        // The interview channel authenticates its own handshake.
+                        .requestMatchers(InterviewChannel.PATH).permitAll()
                         .requestMatchers("/api/interview/**").authenticated()
+                        // Spend across all users and models is for operators.
+                        .requestMatchers("/api/usage/users", "/api/usage/models").hasRole("ADMIN")
+                        .requestMatchers("/api/replay/**").hasRole("ADMIN")
                         .anyRequest().authenticated()
                 )
-                .addFilterBefore(jwtFilter, UsernamePasswordAuthenticationFilter.class);
+                .addFilterBefore(jwtFilter, UsernamePasswordAuthenticationFilter.class)
+                // Requests for sessions on another node leave before admission, which that node applies.
+                .addFilterAfter(routingFilter, JwtAuthenticationFilter.class)
+                .addFilterAfter(admissionFilter, SessionRoutingFilter.class);
 
         return http.build();
     }
@@ -0,0 +1,547 @@
+package com.example.interview.service;
+
+import com.example.interview.llm.TokenEstimator;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Shrinks a candidate's answer before it is put into prompts, locally and without calling a model:
+ * <ol>
+ * <li>whitespace is normalized; code (fenced, indented or brace/semicolon lines) is de-indented and
+ * blank lines dropped, and runs of identical lines (pasted logs) are collapsed;</li>
+ * <li>paragraphs and sentences repeated earlier in the answer are removed;</li>
+ * <li>if the answer is still over {@code answer-condenser.max-tokens}, it is summarized extractively:
+ * the highest-scoring sentences (frequent terms of the answer, terms of the question, leading
+ * sentences; repeated filler is penalized) are kept in their original order, and code blocks keep
+ * their first and last lines.</li>
+ * </ol>
+ * Summarized answers end with a note saying so, so the interviewer does not mistake gaps for the
+ * candidate's wording.
+ */
+@Component
+public class AnswerCondenser {
+
+    private static final Pattern SPACES = Pattern.compile("[ \\t\\x0B\\f\\u00A0]+");
+    private static final Pattern SENTENCE_END = Pattern.compile("(?<=[.!?])\\s+(?=[^a-z])");
+    private static final Pattern WORD = Pattern.compile("[\\p{L}\\p{N}_]+");
+    private static final int MIN_REPEATED_SENTENCE_WORDS = 5;
+    private static final int TAB_WIDTH = 4;
+    private static final String OMITTED = "…";
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "an", "and", "are", "as", "at", "be", "but", "by", "can", "do", "for", "from", "has", "have",
+            "i", "if", "in", "is", "it", "its", "me", "my", "of", "on", "or", "so", "that", "the", "their", "then",
+            "there", "this", "to", "was", "we", "were", "what", "when", "which", "will", "with", "would", "you");
+
+    private final MeterRegistry registry;
+    private final boolean enabled;
+    private final int maxTokens;
+    private final int maxInputChars;
+
+    public AnswerCondenser(
+            MeterRegistry registry,
+            @Value("${answer-condenser.enabled:true}") boolean enabled,
+            @Value("${answer-condenser.max-tokens:600}") int maxTokens,
+            @Value("${answer-condenser.max-input-chars:100000}") int maxInputChars
+    ) {
+        this.registry = registry;
+        this.enabled = enabled;
+        this.maxTokens = maxTokens;
+        this.maxInputChars = maxInputChars;
+    }
+
+    /**
+     * @param question the question being answered; its terms make sentences more likely to be kept
+     * @return the answer as it should appear in prompts
+     */
+    public String condense(String answer, String question) {
+        if (!enabled || answer == null || answer.isEmpty()) {
+            return answer;
+        }
+        Condensed condensed = condenseText(answer, question);
+
+        long received = answer.getBytes(StandardCharsets.UTF_8).length;
+        long sent = condensed.text.getBytes(StandardCharsets.UTF_8).length;
+        registry.counter("answer.condenser.bytes", "stage", "received").increment(received);
+        registry.counter("answer.condenser.bytes", "stage", "sent").increment(sent);
+        registry.summary("answer.condenser.saved.bytes").record(Math.max(0, received - sent));
+        if (condensed.summarized) {
+            registry.counter("answer.condenser.summarized").increment();
+        }
+        return condensed.text;
+    }
+
+    /**
+     * The transcript as prompts see it: answers condensed, questions as asked. Not counted in the
+     * metrics, which each answer already was when it was first sent.
+     */
+    public ConversationWindow.Transcript forPrompts(ConversationWindow.Transcript transcript) {
+        if (!enabled) {
+            return transcript;
+        }
+        return new ConversationWindow.Transcript() {
+            @Override
+            public String question(int index) {
+                return transcript.question(index);
+            }
+
+            @Override
+            public String answer(int index) {
+                String answer = transcript.answer(index);
+                return answer == null || answer.isEmpty() ? answer : condenseText(answer, question(index)).text;
+            }
+        };
+    }
+
+    private Condensed condenseText(String answer, String question) {
+        // Bound the work on huge pastes; the tail would not survive summarizing anyway.
+        String input = answer.length() > maxInputChars ? answer.substring(0, maxInputChars) : answer;
+
+        List<Block> blocks = dedupe(split(input));
+        String condensed = render(blocks);
+        int tokens = TokenEstimator.estimate(condensed);
+        if (tokens <= maxTokens) {
+            return new Condensed(condensed, false);
+        }
+        return new Condensed(summarize(blocks, question) + "\n[Answer condensed from about " + tokens + " tokens.]",
+                true);
+    }
+
+    private record Condensed(String text, boolean summarized) {
+    }
+
+    // ---------- Normalization ----------
+
+    /**
+     * Splits the answer into paragraphs and code blocks, normalizing each.
+     */
+    private static List<Block> split(String text) {
+        List<Block> blocks = new ArrayList<>();
+        List<String> paragraph = new ArrayList<>();
+        List<String> fenced = null;
+        for (String line : text.replace("\r\n", "\n").replace('\r', '\n').split("\n", -1)) {
+            String stripped = line.strip();
+            if (stripped.startsWith("```") || stripped.startsWith("~~~")) {
+                if (fenced == null) {
+                    flush(paragraph, blocks);
+                    fenced = new ArrayList<>();
+                } else {
+                    blocks.add(Block.code(fenced));
+                    fenced = null;
+                }
+            } else if (fenced != null) {
+                fenced.add(line);
+            } else if (stripped.isEmpty()) {
+                flush(paragraph, blocks);
+            } else {
+                paragraph.add(line);
+            }
+        }
+        if (fenced != null) {
+            blocks.add(Block.code(fenced));
+        }
+        flush(paragraph, blocks);
+        return blocks;
+    }
+
+    private static void flush(List<String> lines, List<Block> blocks) {
+        if (lines.isEmpty()) {
+            return;
+        }
+        int codeLines = 0;
+        for (String line : lines) {
+            if (looksLikeCode(line)) {
+                codeLines++;
+            }
+        }
+        blocks.add(codeLines * 2 >= lines.size() ? Block.code(lines) : Block.prose(lines));
+        lines.clear();
+    }
+
+    private static boolean looksLikeCode(String line) {
+        String trimmed = line.stripTrailing();
+        return line.startsWith("    ") || line.startsWith("\t")
+                || trimmed.endsWith(";") || trimmed.endsWith("{") || trimmed.endsWith("}");
+    }
+
+    /**
+     * Code: tabs expanded, common indentation removed, blank lines dropped and runs of identical lines
+     * collapsed into one with a count.
+     */
+    private static List<String> normalizeCode(List<String> lines) {
+        List<String> expanded = new ArrayList<>(lines.size());
+        int indent = Integer.MAX_VALUE;
+        for (String line : lines) {
+            String clean = expandTabs(line).stripTrailing();
+            if (clean.isEmpty()) {
+                continue;
+            }
+            expanded.add(clean);
+            indent = Math.min(indent, clean.length() - clean.stripLeading().length());
+        }
+        List<String> dedented = new ArrayList<>(expanded.size());
+        for (String line : expanded) {
+            dedented.add(line.substring(indent));
+        }
+        return collapseRuns(dedented);
+    }
+
+    private static List<String> collapseRuns(List<String> lines) {
+        List<String> collapsed = new ArrayList<>(lines.size());
+        String previous = null;
+        int repeats = 0;
+        for (String line : lines) {
+            if (line.equals(previous)) {
+                repeats++;
+                continue;
+            }
+            if (repeats > 0) {
+                collapsed.add("(previous line repeated " + repeats + " more times)");
+                repeats = 0;
+            }
+            collapsed.add(line);
+            previous = line;
+        }
+        if (repeats > 0) {
+            collapsed.add("(previous line repeated " + repeats + " more times)");
+        }
+        return collapsed;
+    }
+
+    private static String expandTabs(String line) {
+        if (line.indexOf('\t') < 0) {
+            return line;
+        }
+        StringBuilder sb = new StringBuilder(line.length() + 8);
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c == '\t') {
+                sb.append(" ".repeat(TAB_WIDTH - sb.length() % TAB_WIDTH));
+            } else {
+                sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+
+    // ---------- Deduplication ----------
+
+    /**
+     * Drops blocks whose content already appeared, and prose sentences repeated from earlier in the answer.
+     */
+    private static List<Block> dedupe(List<Block> blocks) {
+        Set<String> seenBlocks = new HashSet<>();
+        Set<String> seenSentences = new HashSet<>();
+        List<Block> unique = new ArrayList<>(blocks.size());
+        for (Block block : blocks) {
+            if (block.lines.isEmpty() || !seenBlocks.add(key(String.join("\n", block.lines)))) {
+                continue;
+            }
+            if (block.code) {
+                unique.add(block);
+                continue;
+            }
+            List<String> lines = new ArrayList<>(block.lines.size());
+            for (String line : block.lines) {
+                List<String> sentences = new ArrayList<>();
+                for (String sentence : sentences(line)) {
+                    String key = key(sentence);
+                    if (wordCount(key) < MIN_REPEATED_SENTENCE_WORDS || seenSentences.add(key)) {
+                        sentences.add(sentence);
+                    }
+                }
+                if (!sentences.isEmpty()) {
+                    lines.add(String.join(" ", sentences));
+                }
+            }
+            if (!lines.isEmpty()) {
+                unique.add(new Block(false, lines));
+            }
+        }
+        return unique;
+    }
+
+    private static List<String> sentences(String line) {
+        List<String> sentences = new ArrayList<>();
+        for (String sentence : SENTENCE_END.split(line)) {
+            if (!sentence.isBlank()) {
+                sentences.add(sentence.strip());
+            }
+        }
+        return sentences;
+    }
+
+    private static String key(String text) {
+        return SPACES.matcher(text.toLowerCase(Locale.ROOT)).replaceAll(" ").strip();
+    }
+
+    private static int wordCount(String text) {
+        int words = 0;
+        var matcher = WORD.matcher(text);
+        while (matcher.find()) {
+            words++;
+        }
+        return words;
+    }
+
+    // ---------- Summarization ----------
+
+    private String summarize(List<Block> blocks, String question) {
+        int proseTokens = 0;
+        int codeTokens = 0;
+        for (Block block : blocks) {
+            int tokens = TokenEstimator.estimate(String.join("\n", block.lines));
+            if (block.code) {
+                codeTokens += tokens;
+            } else {
+                proseTokens += tokens;
+            }
+        }
+        // Explanations carry most of an answer's signal: prose gets at least half the cap.
+        int proseBudget = codeTokens == 0 ? maxTokens : Math.max(maxTokens / 2, maxTokens - codeTokens);
+        int codeBudget = Math.max(0, maxTokens - Math.min(proseTokens, proseBudget));
+
+        List<Sentence> sentences = new ArrayList<>();
+        for (int b = 0; b < blocks.size(); b++) {
+            if (!blocks.get(b).code) {
+                List<String> texts = blocks.get(b).sentences();
+                for (int s = 0; s < texts.size(); s++) {
+                    sentences.add(new Sentence(b, s, texts.get(s)));
+                }
+            }
+        }
+        Set<Sentence> kept = selectSentences(sentences, question, proseBudget);
+
+        StringBuilder sb = new StringBuilder(maxTokens * 4);
+        for (int b = 0; b < blocks.size(); b++) {
+            Block block = blocks.get(b);
+            String text = block.code
+                    ? String.join("\n", headAndTail(block.lines, codeBudget * block.tokens() / Math.max(1, codeTokens)))
+                    : keptText(sentences, kept, b);
+            if (!text.isEmpty()) {
+                if (!sb.isEmpty()) {
+                    sb.append("\n\n");
+                }
+                sb.append(block.code ? "```\n" + text + "\n```" : text);
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * SumBasic-style selection: a sentence scores the mean probability of its terms in the answer plus
+     * its coverage of the question's terms, and the terms of each kept sentence are squared down so
+     * that filler repeated in many sentences is not kept over and over.
+     */
+    private static Set<Sentence> selectSentences(List<Sentence> sentences, String question, int budget) {
+        Map<String, Double> probability = new HashMap<>();
+        int total = 0;
+        for (Sentence sentence : sentences) {
+            sentence.words = contentWords(sentence.text);
+            sentence.tokens = TokenEstimator.estimate(sentence.text);
+            for (String word : sentence.words) {
+                probability.merge(word, 1.0, Double::sum);
+            }
+            total += sentence.words.size();
+        }
+        for (Map.Entry<String, Double> entry : probability.entrySet()) {
+            entry.setValue(entry.getValue() / total);
+        }
+        Set<String> questionWords = new HashSet<>(contentWords(question == null ? "" : question));
+        for (Sentence sentence : sentences) {
+            Set<String> covered = new HashSet<>(sentence.words);
+            covered.retainAll(questionWords);
+            sentence.relevance = (double) covered.size() / Math.max(1, questionWords.size());
+            if (sentence.index == 0) {
+                sentence.relevance += sentence == sentences.get(0) ? 0.5 : 0.15;
+            }
+        }
+
+        Set<Sentence> kept = new HashSet<>();
+        int used = 0;
+        while (true) {
+            Sentence best = null;
+            double bestScore = -1;
+            for (Sentence sentence : sentences) {
+                if (kept.contains(sentence) || (used + sentence.tokens > budget && !kept.isEmpty())) {
+                    continue;
+                }
+                double score = sentence.relevance;
+                for (String word : sentence.words) {
+                    score += probability.get(word) / sentence.words.size();
+                }
+                if (score > bestScore) {
+                    best = sentence;
+                    bestScore = score;
+                }
+            }
+            if (best == null) {
+                return kept;
+            }
+            if (used + best.tokens > budget) {
+                // Nothing kept yet and the best sentence alone is over budget: keep its beginning.
+                best.text = truncate(best.text, budget);
+                kept.add(best);
+                return kept;
+            }
+            kept.add(best);
+            used += best.tokens;
+            for (String word : best.words) {
+                probability.computeIfPresent(word, (w, p) -> p * p);
+            }
+        }
+    }
+
+    private static String keptText(List<Sentence> sentences, Set<Sentence> kept, int block) {
+        StringBuilder sb = new StringBuilder();
+        boolean gap = false;
+        for (Sentence sentence : sentences) {
+            if (sentence.block != block) {
+                continue;
+            }
+            if (!kept.contains(sentence)) {
+                gap = true;
+                continue;
+            }
+            if (!sb.isEmpty() || gap) {
+                sb.append(gap ? (sb.isEmpty() ? OMITTED + " " : " " + OMITTED + " ") : " ");
+            }
+            sb.append(sentence.text);
+            gap = false;
+        }
+        if (gap && !sb.isEmpty()) {
+            sb.append(' ').append(OMITTED);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * The block's first lines and, if room is left, its last ones, within {@code budget} tokens.
+     */
+    private static List<String> headAndTail(List<String> lines, int budget) {
+        int total = 0;
+        for (String line : lines) {
+            total += TokenEstimator.estimate(line);
+        }
+        if (total <= budget) {
+            return lines;
+        }
+        int headBudget = budget * 2 / 3;
+        int head = 0;
+        int used = 0;
+        while (head < lines.size() && used + TokenEstimator.estimate(lines.get(head)) <= headBudget) {
+            used += TokenEstimator.estimate(lines.get(head++));
+        }
+        int tail = lines.size();
+        while (tail > head && used + TokenEstimator.estimate(lines.get(tail - 1)) <= budget) {
+            used += TokenEstimator.estimate(lines.get(--tail));
+        }
+        List<String> kept = new ArrayList<>(lines.subList(0, head));
+        kept.add(OMITTED + " (" + (tail - head) + " lines omitted)");
+        kept.addAll(lines.subList(tail, lines.size()));
+        return kept;
+    }
+
+    private static String truncate(String text, int tokens) {
+        int low = 0;
+        int high = text.length();
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (TokenEstimator.estimate(text.substring(0, mid)) <= tokens) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        int cut = text.lastIndexOf(' ', low);
+        return text.substring(0, cut > 0 ? cut : low) + " " + OMITTED;
+    }
+
+    private static List<String> contentWords(String text) {
+        List<String> words = new ArrayList<>();
+        var matcher = WORD.matcher(text.toLowerCase(Locale.ROOT));
+        while (matcher.find()) {
+            String word = matcher.group();
+            if (word.length() > 1 && !STOP_WORDS.contains(word)) {
+                words.add(word);
+            }
+        }
+        return words;
+    }
+
+    private static String render(List<Block> blocks) {
+        StringBuilder sb = new StringBuilder();
+        for (Block block : blocks) {
+            if (!sb.isEmpty()) {
+                sb.append("\n\n");
+            }
+            String text = String.join("\n", block.lines);
+            sb.append(block.code ? "```\n" + text + "\n```" : text);
+        }
+        return sb.toString();
+    }
+
+    private static final class Block {
+
+        private final boolean code;
+        private final List<String> lines;
+
+        private Block(boolean code, List<String> lines) {
+            this.code = code;
+            this.lines = lines;
+        }
+
+        static Block code(List<String> lines) {
+            return new Block(true, normalizeCode(lines));
+        }
+
+        static Block prose(List<String> lines) {
+            List<String> normalized = new ArrayList<>(lines.size());
+            for (String line : lines) {
+                String clean = SPACES.matcher(line).replaceAll(" ").strip();
+                if (!clean.isEmpty()) {
+                    normalized.add(clean);
+                }
+            }
+            return new Block(false, collapseRuns(normalized));
+        }
+
+        List<String> sentences() {
+            List<String> sentences = new ArrayList<>();
+            for (String line : lines) {
+                sentences.addAll(AnswerCondenser.sentences(line));
+            }
+            return sentences;
+        }
+
+        int tokens() {
+            return TokenEstimator.estimate(String.join("\n", lines));
+        }
+    }
+
+    private static final class Sentence {
+
+        private final int block;
+        private final int index;
+        private String text;
+        private List<String> words;
+        private int tokens;
+        private double relevance;
+
+        private Sentence(int block, int index, String text) {
+            this.block = block;
+            this.index = index;
+            this.text = text;
+        }
+    }
+}
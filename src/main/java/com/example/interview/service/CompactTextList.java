@@ -0,0 +1,67 @@
+package com.example.interview.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Append-only list of strings held as exact-size UTF-8 byte arrays and decoded back into
+ * Strings only when read (typically while building a prompt). Compared with a list of Strings
+ * this drops the per-entry String object and halves text that would otherwise be stored as UTF-16.
+ */
+public class CompactTextList extends TextList {
+
+    private static final byte[] EMPTY_TEXT = new byte[0];
+    private static final byte[][] EMPTY_ENTRIES = new byte[0][];
+
+    private byte[][] entries = EMPTY_ENTRIES;
+    // Written last by the single appender, so readers that see the new count also see the entry.
+    private volatile int count;
+
+    @Override
+    public void append(String text) {
+        int n = count;
+        if (n == entries.length) {
+            entries = Arrays.copyOf(entries, Math.max(4, n * 2));
+        }
+        entries[n] = text == null || text.isEmpty() ? EMPTY_TEXT : text.getBytes(StandardCharsets.UTF_8);
+        count = n + 1;
+    }
+
+    @Override
+    public void retractLast() {
+        int n = count;
+        if (n == 0) {
+            throw new IllegalStateException("Nothing to retract");
+        }
+        entries[n - 1] = null;
+        count = n - 1;
+    }
+
+    @Override
+    public String get(int index) {
+        Objects.checkIndex(index, count);
+        byte[][] current = entries;
+        return new String(current[index], StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public int size() {
+        return count;
+    }
+
+    @Override
+    public CompactTextList toCompact() {
+        trimToSize();
+        return this;
+    }
+
+    /**
+     * Releases spare capacity once no more entries will be appended.
+     */
+    public void trimToSize() {
+        if (entries.length != count) {
+            entries = Arrays.copyOf(entries, count);
+        }
+    }
+}
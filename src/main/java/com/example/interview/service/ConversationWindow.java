@@ -0,0 +1,176 @@
+package com.example.interview.service;
+
+import com.example.interview.llm.TokenEstimator;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Bounded view of an interview's earlier turns for follow-up prompts.
+ * The most recent turns are kept verbatim up to {@code recentTokenBudget} (a newest turn that alone
+ * exceeds it is cut to fit); older turns are compressed into one-line digests, and the oldest digests are dropped once
+ * {@code summaryTokenBudget} is exceeded. The rendered text therefore stays bounded no matter
+ * how long the interview runs.
+ * <p>
+ * Only turn numbers and token counts are held; verbatim turns and digests are read back from the
+ * {@link Transcript} when the window is rendered.
+ */
+public class ConversationWindow {
+
+    public interface Transcript {
+
+        String question(int index);
+
+        String answer(int index);
+    }
+
+    private static final int DIGEST_QUESTION_WORDS = 16;
+    private static final int DIGEST_ANSWER_WORDS = 24;
+    private static final int FULL = -1;
+
+    private final int recentTokenBudget;
+    private final int summaryTokenBudget;
+
+    private final Deque<Turn> recent = new ArrayDeque<>();
+    private final Deque<Turn> digests = new ArrayDeque<>();
+    private int recentTokens;
+    private int summaryTokens;
+    private int omittedTurns;
+
+    public ConversationWindow(int recentTokenBudget, int summaryTokenBudget) {
+        this.recentTokenBudget = recentTokenBudget;
+        this.summaryTokenBudget = summaryTokenBudget;
+    }
+
+    /**
+     * Adds turn {@code index} (question and answer at that index of the transcript).
+     */
+    public void addTurn(Transcript transcript, int index) {
+        String text = verbatim(transcript, index);
+        Turn turn = new Turn(index, TokenEstimator.estimate(text), FULL);
+        recent.addLast(turn);
+        recentTokens += turn.tokens;
+
+        while (recentTokens > recentTokenBudget && recent.size() > 1) {
+            Turn oldest = recent.removeFirst();
+            recentTokens -= oldest.tokens;
+            compress(transcript, oldest);
+        }
+        if (recentTokens > recentTokenBudget) {
+            recent.removeLast();
+            turn = truncated(text, index);
+            recent.addLast(turn);
+            recentTokens = turn.tokens;
+        }
+    }
+
+    /**
+     * Renders earlier turns for the prompt, or an empty string when there are none.
+     */
+    public String render(Transcript transcript) {
+        if (recent.isEmpty() && digests.isEmpty() && omittedTurns == 0) {
+            return "";
+        }
+
+        StringBuilder sb = new StringBuilder(recentTokens * 4 + summaryTokens * 4 + 128);
+        if (omittedTurns > 0 || !digests.isEmpty()) {
+            sb.append("Summary of earlier turns:\n");
+            if (omittedTurns > 0) {
+                sb.append("- (").append(omittedTurns).append(" earlier turns omitted)\n");
+            }
+            for (Turn digest : digests) {
+                sb.append(digest(transcript, digest.index));
+            }
+            sb.append('\n');
+        }
+        if (!recent.isEmpty()) {
+            sb.append("Recent turns:\n");
+            for (Turn turn : recent) {
+                String text = verbatim(transcript, turn.index);
+                sb.append(turn.length == FULL ? text : clip(text, turn.length));
+            }
+            sb.append('\n');
+        }
+        return sb.toString();
+    }
+
+    public int estimatedTokens() {
+        return recentTokens + summaryTokens;
+    }
+
+    private void compress(Transcript transcript, Turn turn) {
+        Turn digest = new Turn(turn.index, TokenEstimator.estimate(digest(transcript, turn.index)), FULL);
+        digests.addLast(digest);
+        summaryTokens += digest.tokens;
+
+        while (summaryTokens > summaryTokenBudget && !digests.isEmpty()) {
+            Turn dropped = digests.removeFirst();
+            summaryTokens -= dropped.tokens;
+            omittedTurns++;
+        }
+    }
+
+    /**
+     * The longest prefix of {@code text} that, once clipped, fits the recent budget on its own.
+     */
+    private Turn truncated(String text, int index) {
+        int low = 0;
+        int high = text.length() - 1;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (TokenEstimator.estimate(clip(text, mid)) <= recentTokenBudget) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return new Turn(index, TokenEstimator.estimate(clip(text, low)), low);
+    }
+
+    private static String clip(String text, int length) {
+        return text.substring(0, length).stripTrailing() + "…\n";
+    }
+
+    private static String digest(Transcript transcript, int index) {
+        return "- Q" + (index + 1) + ": " + firstWords(transcript.question(index), DIGEST_QUESTION_WORDS)
+                + " | A: " + firstWords(transcript.answer(index), DIGEST_ANSWER_WORDS) + "\n";
+    }
+
+    private static String verbatim(Transcript transcript, int index) {
+        int number = index + 1;
+        return "Q" + number + ": " + transcript.question(index) + "\nA" + number + ": " + transcript.answer(index) + "\n";
+    }
+
+    private static String firstWords(String text, int maxWords) {
+        if (text == null) {
+            return "";
+        }
+        String trimmed = text.strip();
+        int words = 0;
+        boolean inWord = false;
+        for (int i = 0; i < trimmed.length(); i++) {
+            boolean space = Character.isWhitespace(trimmed.charAt(i));
+            if (!space && !inWord) {
+                words++;
+                if (words > maxWords) {
+                    return trimmed.substring(0, i).stripTrailing().replace('\n', ' ') + "…";
+                }
+            }
+            inWord = !space;
+        }
+        return trimmed.replace('\n', ' ');
+    }
+
+    private static final class Turn {
+        private final int index;
+        private final int tokens;
+        // Characters of the verbatim text rendered, or FULL.
+        private final int length;
+
+        private Turn(int index, int tokens, int length) {
+            this.index = index;
+            this.tokens = tokens;
+            this.length = length;
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.interview.service;
+
+import com.example.interview.model.InterviewFeedback;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Feedback that could not be generated while the LLM was unavailable. Jobs are retried with exponential
+ * backoff until they succeed or run out of attempts, in which case the job's fallback becomes its result.
+ * Results are kept for the feedback endpoint to serve for {@code degradation.feedback-retry.result-ttl}.
+ */
+@Component
+public class DeferredFeedbackJobs implements DisposableBean {
+
+    private final long initialDelayMs;
+    private final long maxDelayMs;
+    private final int maxAttempts;
+    private final long resultTtlMs;
+    private final Map<String, InterviewFeedback> results = new ConcurrentHashMap<>();
+    private final Map<String, Boolean> pending = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService executor;
+    private final ObservationRegistry observationRegistry;
+
+    public DeferredFeedbackJobs(
+            ObservationRegistry observationRegistry,
+            @Value("${degradation.feedback-retry.initial-delay:PT30S}") Duration initialDelay,
+            @Value("${degradation.feedback-retry.max-delay:PT10M}") Duration maxDelay,
+            @Value("${degradation.feedback-retry.max-attempts:10}") int maxAttempts,
+            @Value("${degradation.feedback-retry.result-ttl:PT1H}") Duration resultTtl
+    ) {
+        this.initialDelayMs = initialDelay.toMillis();
+        this.maxDelayMs = maxDelay.toMillis();
+        this.maxAttempts = maxAttempts;
+        this.resultTtlMs = resultTtl.toMillis();
+        this.observationRegistry = observationRegistry;
+        this.executor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "deferred-feedback");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Schedules {@code job} unless one is already pending for the session; {@code fallback} is served once
+     * every attempt has failed. {@code whenDone} runs once the job has its result either way.
+     */
+    public void submit(String sessionId, Supplier<InterviewFeedback> job, InterviewFeedback fallback,
+                       Runnable whenDone) {
+        if (pending.putIfAbsent(sessionId, Boolean.TRUE) == null) {
+            // Attempts run long after the request; they are still traced under it.
+            schedule(sessionId, new Job(job, fallback, whenDone), observationRegistry.getCurrentObservation(),
+                    1, initialDelayMs);
+        }
+    }
+
+    public InterviewFeedback result(String sessionId) {
+        return results.get(sessionId);
+    }
+
+    public boolean isPending(String sessionId) {
+        return pending.containsKey(sessionId);
+    }
+
+    private void schedule(String sessionId, Job job, Observation parent, int attempt, long delayMs) {
+        executor.schedule(() -> {
+            Observation observation = Observation.createNotStarted("interview.feedback.deferred", observationRegistry)
+                    .parentObservation(parent)
+                    .highCardinalityKeyValue("session.id", sessionId)
+                    .highCardinalityKeyValue("attempt", Integer.toString(attempt))
+                    .start();
+            try (Observation.Scope scope = observation.openScope()) {
+                complete(sessionId, job, job.work().get());
+            } catch (RuntimeException e) {
+                observation.error(e);
+                if (attempt >= maxAttempts) {
+                    complete(sessionId, job, job.fallback());
+                    return;
+                }
+                schedule(sessionId, job, parent, attempt + 1, Math.min(delayMs * 2, maxDelayMs));
+            } finally {
+                observation.stop();
+            }
+        }, delayMs, TimeUnit.MILLISECONDS);
+    }
+
+    private void complete(String sessionId, Job job, InterviewFeedback feedback) {
+        results.put(sessionId, feedback);
+        job.whenDone().run();
+        pending.remove(sessionId);
+        executor.schedule(() -> results.remove(sessionId, feedback), resultTtlMs, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    private record Job(Supplier<InterviewFeedback> work, InterviewFeedback fallback, Runnable whenDone) {
+    }
+}
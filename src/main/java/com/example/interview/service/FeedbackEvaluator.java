@@ -0,0 +1,262 @@
+package com.example.interview.service;
+
+import com.example.interview.analytics.ScoreDimension;
+import com.example.interview.llm.ChatOptions;
+import com.example.interview.llm.JsonRepair;
+import com.example.interview.llm.LlmClient;
+import com.example.interview.llm.LlmUnavailableException;
+import com.example.interview.llm.ResponseSchema;
+import com.example.interview.llm.dto.ChatMessage;
+import com.example.interview.model.InterviewFeedback;
+import com.example.interview.prompt.PromptTemplates;
+import com.example.interview.tracing.ObservationPropagation;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.aot.hint.annotation.RegisterReflectionForBinding;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Generates interview feedback as independent sub-evaluations instead of one long completion: an
+ * overview (summary, strengths, areas to improve), one score per {@link ScoreDimension} and one improved
+ * answer per question. Each sub-call shares the coach system message as its cacheable prefix and asks for
+ * a small JSON object, so they run concurrently on a bounded pool and the slowest one sets the latency.
+ * <p>
+ * The overview is required; a failed score or improved answer is left out of the merged feedback, which
+ * is then reported as incomplete so it is not memoized.
+ */
+@Component
+// ResponseSchema reads the sub-evaluation records' fields, which a native image must keep.
+@RegisterReflectionForBinding({FeedbackEvaluator.Overview.class, FeedbackEvaluator.DimensionScore.class,
+        FeedbackEvaluator.ImprovedAnswer.class})
+public class FeedbackEvaluator implements DisposableBean {
+
+    static final ResponseSchema OVERVIEW_SCHEMA = ResponseSchema.forClass(Overview.class, Map.of(), Set.of());
+    static final ResponseSchema SCORE_SCHEMA = ResponseSchema.forClass(DimensionScore.class, Map.of(), Set.of());
+    static final ResponseSchema IMPROVED_ANSWER_SCHEMA = ResponseSchema.forClass(ImprovedAnswer.class, Map.of(), Set.of());
+
+    private final LlmClient llmClient;
+    private final PromptTemplates prompts;
+    private final boolean enabled;
+    private final int maxImprovedAnswers;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ExecutorService executor;
+    private final Executor tracedExecutor;
+
+    public FeedbackEvaluator(
+            LlmClient llmClient,
+            PromptTemplates prompts,
+            ObservationRegistry observationRegistry,
+            @Value("${feedback.fan-out.enabled:true}") boolean enabled,
+            @Value("${feedback.fan-out.parallelism:8}") int parallelism,
+            @Value("${feedback.fan-out.max-improved-answers:5}") int maxImprovedAnswers
+    ) {
+        this.llmClient = llmClient;
+        this.prompts = prompts;
+        this.enabled = enabled;
+        this.maxImprovedAnswers = maxImprovedAnswers;
+        AtomicInteger threads = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(parallelism, r -> {
+            Thread thread = new Thread(r, "feedback-eval-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        // Sub-evaluation LLM calls are traced under the feedback stage that fanned them out.
+        this.tracedExecutor = ObservationPropagation.wrap(observationRegistry, executor);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Stands in for the single evaluation prompt when keying the feedback cache: changes whenever a
+     * sub-evaluation template, a rubric or the improved-answer limit changes.
+     */
+    public String describe(String role) {
+        StringBuilder sb = new StringBuilder("fan-out ").append(promptVersion(role))
+                .append(" improved=").append(maxImprovedAnswers);
+        for (ScoreDimension dimension : ScoreDimension.values()) {
+            sb.append('\n').append(dimension.getKey()).append(": ").append(dimension.getRubric());
+        }
+        return sb.toString();
+    }
+
+    public String promptVersion(String role) {
+        return prompts.get("coach-system", role).getVersion()
+                + prompts.get("feedback-overview", role).getVersion()
+                + prompts.get("feedback-dimension", role).getVersion()
+                + prompts.get("feedback-improved-answer", role).getVersion();
+    }
+
+    /**
+     * @param system rendered coach system message, including the transcript
+     * @param values prompt values for the session (role, experience level, interview type)
+     * @throws LlmUnavailableException if the overview cannot be generated
+     */
+    public Evaluation evaluate(String sessionId, ChatMessage system, Map<String, String> values,
+                               List<String> questions, List<String> answers) {
+        String role = values.get("role");
+
+        Map<ScoreDimension, CompletableFuture<Integer>> scores = new LinkedHashMap<>();
+        for (ScoreDimension dimension : ScoreDimension.values()) {
+            Map<String, String> dimensionValues = new HashMap<>(values);
+            dimensionValues.put("dimension", dimension.getKey());
+            dimensionValues.put("rubric", dimension.getRubric());
+            ChatMessage user = new ChatMessage("user", prompts.render("feedback-dimension", role, dimensionValues));
+            scores.put(dimension, CompletableFuture.supplyAsync(
+                    () -> score(call(sessionId, system, user, SCORE_SCHEMA)), tracedExecutor));
+        }
+
+        int improvable = Math.min(Math.min(questions.size(), answers.size()), maxImprovedAnswers);
+        List<CompletableFuture<InterviewFeedback.SampleImprovedAnswer>> improved = new ArrayList<>(improvable);
+        for (int i = 0; i < improvable; i++) {
+            Map<String, String> answerValues = new HashMap<>(values);
+            answerValues.put("number", Integer.toString(i + 1));
+            answerValues.put("question", questions.get(i));
+            answerValues.put("answer", answers.get(i));
+            ChatMessage user = new ChatMessage("user", prompts.render("feedback-improved-answer", role, answerValues));
+            String question = questions.get(i);
+            improved.add(CompletableFuture.supplyAsync(
+                    () -> improvedAnswer(question, call(sessionId, system, user, IMPROVED_ANSWER_SCHEMA)), tracedExecutor));
+        }
+
+        // The overview runs on the calling thread, which would otherwise only wait for the pool.
+        ChatMessage overviewPrompt = new ChatMessage("user", prompts.render("feedback-overview", role, values));
+        String overviewRaw;
+        try {
+            overviewRaw = call(sessionId, system, overviewPrompt, OVERVIEW_SCHEMA);
+        } catch (RuntimeException e) {
+            // The evaluation fails without its overview; sub-calls that have not started are skipped.
+            scores.values().forEach(future -> future.cancel(false));
+            improved.forEach(future -> future.cancel(false));
+            throw e;
+        }
+
+        InterviewFeedback feedback = new InterviewFeedback();
+        boolean complete = overview(overviewRaw, feedback);
+
+        Map<String, Integer> merged = new LinkedHashMap<>();
+        for (Map.Entry<ScoreDimension, CompletableFuture<Integer>> entry : scores.entrySet()) {
+            Integer score = join(entry.getValue());
+            if (score != null) {
+                merged.put(entry.getKey().getKey(), score);
+            } else {
+                complete = false;
+            }
+        }
+        feedback.setScores(merged);
+
+        List<InterviewFeedback.SampleImprovedAnswer> samples = new ArrayList<>(improvable);
+        for (CompletableFuture<InterviewFeedback.SampleImprovedAnswer> future : improved) {
+            InterviewFeedback.SampleImprovedAnswer sample = join(future);
+            if (sample != null) {
+                samples.add(sample);
+            } else {
+                complete = false;
+            }
+        }
+        feedback.setSampleImprovedAnswers(samples);
+
+        return new Evaluation(feedback, complete);
+    }
+
+    private String call(String sessionId, ChatMessage system, ChatMessage user, ResponseSchema schema) {
+        ChatOptions options = sessionId != null ? ChatOptions.forSession(sessionId, 1) : ChatOptions.none();
+        options.setSharedPrefix(true);
+        options.setResponseSchema(schema);
+        return llmClient.chat(List.of(system, user), options);
+    }
+
+    private boolean overview(String raw, InterviewFeedback feedback) {
+        JsonNode root = parse(raw);
+        JsonNode summaryNode = root == null ? null : root.get("overallSummary");
+        boolean complete = summaryNode != null && !summaryNode.isNull();
+        feedback.setOverallSummary(complete ? summaryNode.asText() : raw);
+        feedback.setStrengths(texts(root, "strengths"));
+        feedback.setAreasToImprove(texts(root, "areasToImprove"));
+        return complete;
+    }
+
+    private Integer score(String raw) {
+        JsonNode root = parse(raw);
+        JsonNode node = root == null ? null : root.get("score");
+        return node != null && node.canConvertToInt() ? Math.max(0, Math.min(10, node.asInt())) : null;
+    }
+
+    private InterviewFeedback.SampleImprovedAnswer improvedAnswer(String question, String raw) {
+        JsonNode root = parse(raw);
+        JsonNode node = root == null ? null : root.get("improvedAnswer");
+        if (node == null || node.isNull() || node.asText().isBlank()) {
+            return null;
+        }
+        InterviewFeedback.SampleImprovedAnswer sample = new InterviewFeedback.SampleImprovedAnswer();
+        sample.setQuestion(question);
+        sample.setImprovedAnswer(node.asText());
+        return sample;
+    }
+
+    private JsonNode parse(String raw) {
+        try {
+            return objectMapper.readTree(JsonRepair.repair(raw));
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    private static List<String> texts(JsonNode root, String field) {
+        JsonNode node = root == null ? null : root.get(field);
+        if (node == null || !node.isArray()) {
+            return List.of();
+        }
+        List<String> texts = new ArrayList<>();
+        for (JsonNode n : node) {
+            texts.add(n.asText());
+        }
+        return texts;
+    }
+
+    // A failed sub-evaluation is dropped from the merge rather than failing the whole feedback.
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            return null;
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Merged feedback, and whether every sub-evaluation produced a usable result.
+     */
+    public record Evaluation(InterviewFeedback feedback, boolean complete) {
+    }
+
+    record Overview(String overallSummary, List<String> strengths, List<String> areasToImprove) {
+    }
+
+    record DimensionScore(int score) {
+    }
+
+    record ImprovedAnswer(String improvedAnswer) {
+    }
+}
@@ -1,27 +1,98 @@
 package com.example.interview.service;
 
+import com.example.interview.analytics.FeedbackAnalyticsService;
+import com.example.interview.analytics.ScoreDimension;
+import com.example.interview.cluster.SessionRouter;
+import com.example.interview.feedback.FeedbackCache;
+import com.example.interview.ledger.TokenLedger;
+import com.example.interview.llm.ChatOptions;
+import com.example.interview.llm.JsonRepair;
 import com.example.interview.llm.LlmClient;
+import com.example.interview.llm.LlmUnavailableException;
+import com.example.interview.llm.ResponseSchema;
 import com.example.interview.llm.dto.ChatMessage;
 import com.example.interview.model.Answer;
 import com.example.interview.model.InterviewConfig;
 import com.example.interview.model.InterviewFeedback;
+import com.example.interview.model.Question;
+import com.example.interview.prompt.PromptTemplates;
+import com.example.interview.questionbank.FallbackQuestions;
+import com.example.interview.questionbank.QuestionBank;
+import com.example.interview.transcript.TranscriptLog;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 
 @Service
 public class InterviewService {
 
     private final LlmClient llmClient;
+    private final FeedbackAnalyticsService analyticsService;
+    private final QuestionBank questionBank;
+    private final PromptTemplates prompts;
+    private final TranscriptLog transcriptLog;
+    private final FallbackQuestions fallbackQuestions;
+    private final DeferredFeedbackJobs deferredFeedback;
+    private final FeedbackCache feedbackCache;
+    private final FeedbackEvaluator feedbackEvaluator;
+    private final SessionRouter sessionRouter;
+    private final TokenLedger ledger;
+    private final AnswerCondenser answerCondenser;
+    private final ObservationRegistry observationRegistry;
+    private final boolean serveBankedOpeningQuestions;
+    private final int contextRecentTokens;
+    private final int contextSummaryTokens;
     private final ObjectMapper objectMapper;
     private final Map<String, InterviewSession> sessions = new ConcurrentHashMap<>();
 
-    public InterviewService(LlmClient llmClient) {
+    private static final ResponseSchema FEEDBACK_SCHEMA = ResponseSchema.forClass(InterviewFeedback.class,
+            Map.of("scores", ScoreDimension.keys()), Set.of("pending"));
+
+    public InterviewService(
+            LlmClient llmClient,
+            FeedbackAnalyticsService analyticsService,
+            QuestionBank questionBank,
+            PromptTemplates prompts,
+            TranscriptLog transcriptLog,
+            FallbackQuestions fallbackQuestions,
+            DeferredFeedbackJobs deferredFeedback,
+            FeedbackCache feedbackCache,
+            FeedbackEvaluator feedbackEvaluator,
+            SessionRouter sessionRouter,
+            TokenLedger ledger,
+            AnswerCondenser answerCondenser,
+            ObservationRegistry observationRegistry,
+            @Value("${question-bank.serve-opening-questions:false}") boolean serveBankedOpeningQuestions,
+            @Value("${interview.context.recent-tokens:1200}") int contextRecentTokens,
+            @Value("${interview.context.summary-tokens:300}") int contextSummaryTokens
+    ) {
         this.llmClient = llmClient;
+        this.analyticsService = analyticsService;
+        this.questionBank = questionBank;
+        this.prompts = prompts;
+        this.transcriptLog = transcriptLog;
+        this.fallbackQuestions = fallbackQuestions;
+        this.deferredFeedback = deferredFeedback;
+        this.feedbackCache = feedbackCache;
+        this.feedbackEvaluator = feedbackEvaluator;
+        this.sessionRouter = sessionRouter;
+        this.ledger = ledger;
+        this.answerCondenser = answerCondenser;
+        this.observationRegistry = observationRegistry;
+        this.serveBankedOpeningQuestions = serveBankedOpeningQuestions;
+        this.contextRecentTokens = contextRecentTokens;
+        this.contextSummaryTokens = contextSummaryTokens;
         this.objectMapper = new ObjectMapper();
+        restoreSessions();
     }
 
     // ---------- DTOs for controller ----------
@@ -29,6 +100,8 @@ public class InterviewService {
     public static class StartInterviewResponse {
         private String sessionId;
         private String firstQuestion;
+        private String questionId;
+        private boolean degraded;
 
         public StartInterviewResponse() {
         }
@@ -36,6 +109,7 @@ public class InterviewService {
         public StartInterviewResponse(String sessionId, String firstQuestion) {
             this.sessionId = sessionId;
             this.firstQuestion = firstQuestion;
+            this.questionId = questionId(0);
         }
 
         public String getSessionId() {
@@ -46,6 +120,14 @@ public class InterviewService {
             this.sessionId = sessionId;
         }
 
+        public boolean isDegraded() {
+            return degraded;
+        }
+
+        public void setDegraded(boolean degraded) {
+            this.degraded = degraded;
+        }
+
         public String getFirstQuestion() {
             return firstQuestion;
         }
@@ -53,10 +135,21 @@ public class InterviewService {
         public void setFirstQuestion(String firstQuestion) {
             this.firstQuestion = firstQuestion;
         }
+
+        public String getQuestionId() {
+            return questionId;
+        }
+
+        public void setQuestionId(String questionId) {
+            this.questionId = questionId;
+        }
     }
 
     public static class NextQuestionResponse {
         private String nextQuestion;
+        private String questionId;
+        // True when the question was served locally because the LLM was unavailable.
+        private boolean degraded;
 
         public NextQuestionResponse() {
         }
@@ -65,6 +158,20 @@ public class InterviewService {
             this.nextQuestion = nextQuestion;
         }
 
+        public NextQuestionResponse(String nextQuestion, String questionId, boolean degraded) {
+            this.nextQuestion = nextQuestion;
+            this.questionId = questionId;
+            this.degraded = degraded;
+        }
+
+        public boolean isDegraded() {
+            return degraded;
+        }
+
+        public void setDegraded(boolean degraded) {
+            this.degraded = degraded;
+        }
+
         public String getNextQuestion() {
             return nextQuestion;
         }
@@ -72,37 +179,64 @@ public class InterviewService {
         public void setNextQuestion(String nextQuestion) {
             this.nextQuestion = nextQuestion;
         }
+
+        public String getQuestionId() {
+            return questionId;
+        }
+
+        public void setQuestionId(String questionId) {
+            this.questionId = questionId;
+        }
     }
 
     // ---------- Core methods ----------
 
-    public StartInterviewResponse startInterview(InterviewConfig config) {
-        String sessionId = UUID.randomUUID().toString();
-        InterviewSession session = new InterviewSession();
-        session.setId(sessionId);
-        session.setRole(config.getRole());
-        session.setExperienceLevel(config.getExperienceLevel());
-        session.setInterviewType(config.getInterviewType());
+    /**
+     * @param owner the user the session's LLM usage is accounted to
+     */
+    public StartInterviewResponse startInterview(InterviewConfig config, String owner) {
+        String sessionId = sessionRouter.newSessionId();
+        ledger.bindSession(sessionId, owner);
+        return stage("start", sessionId, () -> openSession(sessionId, config, owner));
+    }
+
+    private StartInterviewResponse openSession(String sessionId, InterviewConfig config, String owner) {
+        if (transcriptLog.isEnabled()) {
+            transcriptLog.start(sessionId, config.getRole(), config.getExperienceLevel(), config.getInterviewType(),
+                    owner);
+        }
+        InterviewSession session = newSession(sessionId,
+                SessionProfile.of(config.getRole(), config.getExperienceLevel(), config.getInterviewType()));
         sessions.put(sessionId, session);
 
-        String prompt = String.format("""
-                You are an AI interviewer for the role: %s.
-                Candidate experience level: %s.
-                Interview type: %s (technical, behavioral, HR, or mixed).
-                Ask the FIRST interview question. Keep it clear and conversational, 1–2 sentences.
-                """,
-                config.getRole(),
-                config.getExperienceLevel(),
-                config.getInterviewType()
-        );
+        if (serveBankedOpeningQuestions) {
+            Optional<Question> banked = questionBank.pickNovel(config.getRole(), config.getInterviewType(), List.of());
+            if (banked.isPresent()) {
+                session.addQuestion(banked.get().getText());
+                return new StartInterviewResponse(sessionId, banked.get().getText());
+            }
+        }
 
+        Map<String, String> values = promptValues(session);
         List<ChatMessage> messages = new ArrayList<>();
-        messages.add(new ChatMessage("system", "You are a professional job interviewer."));
-        messages.add(new ChatMessage("user", prompt));
+        messages.add(new ChatMessage("system", prompts.render("interviewer-system", session.getRole(), values)));
+        messages.add(new ChatMessage("user", prompts.render("opening-question", session.getRole(), values)));
 
-        String question = llmClient.chat(messages);
+        String question;
+        try {
+            question = llmClient.chat(messages, ChatOptions.forSession(sessionId, 1));
+        } catch (LlmUnavailableException e) {
+            question = fallbackQuestion(session);
+            session.addQuestion(question);
+            session.markDegraded(0);
+            StartInterviewResponse response = new StartInterviewResponse(sessionId, question);
+            response.setDegraded(true);
+            return response;
+        }
+        questionBank.addIfNovel(config.getRole(), config.getInterviewType(),
+                new Question(UUID.randomUUID().toString(), question));
 
-        session.getQuestions().add(question);
+        session.addQuestion(question);
         return new StartInterviewResponse(sessionId, question);
     }
 
@@ -112,42 +246,139 @@ public class InterviewService {
             return new NextQuestionResponse("Session not found or already finished.");
         }
 
+        // Older clients send no question id; they are answering the latest question they were shown.
+        int turn = parseQuestionId(answer.getQuestionId(), session.getQuestions().size() - 1);
+        InterviewSession.TurnState previous;
+        InterviewSession.TurnState claimed;
+        while (true) {
+            InterviewSession.TurnState state = session.getTurnState();
+            if (state.isFinishing()) {
+                return new NextQuestionResponse("Session not found or already finished.");
+            }
+            if (turn < 0) {
+                return new NextQuestionResponse("That question has not been asked yet.");
+            }
+            if (turn < state.answered()) {
+                return replayTurn(session, state, turn);
+            }
+            if (turn > state.answered() || turn >= session.getQuestions().size()) {
+                return new NextQuestionResponse("That question has not been asked yet.");
+            }
+            claimed = new InterviewSession.TurnState(turn + 1, new CompletableFuture<>(), null);
+            if (session.compareAndSetTurnState(state, claimed)) {
+                previous = state;
+                break;
+            }
+        }
+
+        try {
+            NextQuestionResponse response = stage("answer", sessionId, () -> answerTurn(session, answer));
+            claimed.pending().complete(response);
+            return response;
+        } catch (RuntimeException e) {
+            rollBackTurn(session, turn, previous, claimed);
+            claimed.pending().completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * Undoes a turn that failed before its next question was appended, so that the answer can be retried.
+     * If finishing has claimed the session meanwhile, the turn stays as it is.
+     */
+    private static void rollBackTurn(InterviewSession session, int turn, InterviewSession.TurnState previous,
+                                     InterviewSession.TurnState claimed) {
+        if (session.getQuestions().size() > turn + 1) {
+            return;
+        }
+        if (session.getAnswers().size() > turn) {
+            session.retractAnswer();
+        }
+        session.compareAndSetTurnState(claimed, previous);
+    }
+
+    /**
+     * Runs a claimed turn. Only the request that claimed the turn gets here, so the transcript is
+     * appended by one thread at a time.
+     */
+    private NextQuestionResponse answerTurn(InterviewSession session, Answer answer) {
+        String sessionId = session.getId();
         String lastQuestion = session.getQuestions().isEmpty()
                 ? "No previous question."
-                : session.getQuestions().get(session.getQuestions().size() - 1);
-
-        session.getAnswers().add(answer.getText());
-
-        String prompt = String.format("""
-                You are continuing a mock interview.
-                Role: %s, experience: %s, type: %s.
-                The last question was: "%s"
-                The candidate answered: "%s"
-
-                Based on this answer, ask ONE good follow-up interview question.
-                It can be a deeper technical probe, a behavioral follow-up, or a clarification.
-                Keep it short (1–2 sentences).
-                """,
-                session.getRole(),
-                session.getExperienceLevel(),
-                session.getInterviewType(),
-                lastQuestion,
-                answer.getText()
-        );
+                : session.getLastQuestion();
+
+        // The session keeps the answer as given; prompts get it condensed.
+        session.addAnswer(answer.getText());
 
+        Map<String, String> values = promptValues(session);
+        values.put("lastQuestion", lastQuestion);
+        values.put("answer", answerCondenser.condense(answer.getText(), lastQuestion));
+        values.put("history", session.getConversation().render(answerCondenser.forPrompts(session)));
         List<ChatMessage> messages = new ArrayList<>();
-        messages.add(new ChatMessage("system", "You are a professional job interviewer."));
-        messages.add(new ChatMessage("user", prompt));
+        messages.add(new ChatMessage("system", prompts.render("interviewer-system", session.getRole(), values)));
+        messages.add(new ChatMessage("user", prompts.render("follow-up-question", session.getRole(), values)));
 
-        String nextQ = llmClient.chat(messages);
+        String nextQ;
+        try {
+            ChatOptions options = ChatOptions.forSession(sessionId, 1);
+            options.setPreferLocal(true);
+            nextQ = llmClient.chat(messages, options);
+        } catch (LlmUnavailableException e) {
+            int index = session.getQuestions().size();
+            session.addQuestion(fallbackQuestion(session));
+            session.markDegraded(index);
+            addToWindow(session);
+            return new NextQuestionResponse(session.question(index), questionId(index), true);
+        }
+
+        // Swap near-repeats of earlier questions for a banked one the candidate hasn't seen.
+        if (questionBank.isRepeat(nextQ, session.getQuestions())) {
+            nextQ = questionBank.pickNovel(session.getRole(), session.getInterviewType(), session.getQuestions())
+                    .map(Question::getText)
+                    .orElse(nextQ);
+        } else {
+            questionBank.addIfNovel(session.getRole(), session.getInterviewType(),
+                    new Question(UUID.randomUUID().toString(), nextQ));
+        }
 
-        session.getQuestions().add(nextQ);
-        return new NextQuestionResponse(nextQ);
+        session.addQuestion(nextQ);
+        addToWindow(session);
+        return new NextQuestionResponse(nextQ, questionId(session.getQuestions().size() - 1), false);
+    }
+
+    /**
+     * Adds the answered turn to the conversation window. Done last, once nothing in the turn can fail,
+     * so that a failed turn leaves the window untouched.
+     */
+    private void addToWindow(InterviewSession session) {
+        int turn = session.getAnswers().size() - 1;
+        if (turn < session.getQuestions().size()) {
+            session.getConversation().addTurn(answerCondenser.forPrompts(session), turn);
+        }
+    }
+
+    /**
+     * Answers a retried or duplicate request for a turn that was already claimed without running it again.
+     */
+    private NextQuestionResponse replayTurn(InterviewSession session, InterviewSession.TurnState state, int turn) {
+        if (turn == state.answered() - 1 && state.pending() != null) {
+            try {
+                return state.pending().join();
+            } catch (CompletionException e) {
+                return new NextQuestionResponse("Your previous answer could not be processed. Please try again.");
+            }
+        }
+        int next = turn + 1;
+        return new NextQuestionResponse(session.question(next), questionId(next), session.isDegraded(next));
     }
 
     public InterviewFeedback finishInterview(String sessionId) {
         InterviewSession session = sessions.get(sessionId);
         if (session == null) {
+            Optional<InterviewFeedback> stored = feedbackCache.findBySession(sessionId);
+            if (stored.isPresent()) {
+                return stored.get();
+            }
             InterviewFeedback fb = new InterviewFeedback();
             fb.setOverallSummary("Session not found.");
             fb.setScores(Map.of());
@@ -157,84 +388,153 @@ public class InterviewService {
             return fb;
         }
 
+        InterviewSession.TurnState claimed;
+        while (true) {
+            InterviewSession.TurnState state = session.getTurnState();
+            if (state.isFinishing()) {
+                return state.feedback().join();
+            }
+            claimed = new InterviewSession.TurnState(state.answered(), state.pending(), new CompletableFuture<>());
+            if (session.compareAndSetTurnState(state, claimed)) {
+                break;
+            }
+        }
+
+        // Let an answer that is still in flight finish appending its next question.
+        if (claimed.pending() != null) {
+            claimed.pending().exceptionally(e -> null).join();
+        }
+
+        try {
+            InterviewFeedback feedback = evaluate(session);
+            claimed.feedback().complete(feedback);
+            return feedback;
+        } catch (RuntimeException e) {
+            claimed.feedback().completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * Returns generated feedback for a finished session, or a pending placeholder while it is deferred.
+     */
+    public InterviewFeedback getFeedback(String sessionId) {
+        InterviewFeedback deferred = deferredFeedback.result(sessionId);
+        if (deferred != null) {
+            return deferred;
+        }
+        InterviewSession session = sessions.get(sessionId);
+        if (session == null) {
+            return feedbackCache.findBySession(sessionId).orElse(null);
+        }
+        if (!session.getTurnState().isFinishing()) {
+            return null;
+        }
+        if (deferredFeedback.isPending(sessionId)) {
+            return pendingFeedback();
+        }
+        CompletableFuture<InterviewFeedback> feedback = session.getTurnState().feedback();
+        if (!feedback.isDone() || feedback.isCompletedExceptionally()) {
+            return pendingFeedback();
+        }
+        InterviewFeedback finished = feedback.join();
+        if (!finished.isPending()) {
+            return finished;
+        }
+        // Deferred, and its result has since expired: complete feedback was stored when it was generated.
+        return feedbackCache.findBySession(sessionId).orElseGet(InterviewService::unavailableFeedback);
+    }
+
+    private InterviewFeedback evaluate(InterviewSession session) {
+        String sessionId = session.getId();
         session.setFinished(true);
+        boolean deferred = false;
+        try {
+            return stage("feedback", sessionId, () -> generateFeedback(session, ChatOptions.forSession(sessionId, 1)));
+        } catch (LlmUnavailableException e) {
+            // The transcript is already copied to the heap, so the job can run after the log is released.
+            // The session's prompt cache is released too, so the retry only keeps the session for accounting.
+            deferredFeedback.submit(sessionId, () -> stage("feedback", sessionId,
+                    () -> generateFeedback(session, ChatOptions.forSession(sessionId, 0))), unavailableFeedback(),
+                    () -> ledger.releaseSession(sessionId));
+            deferred = true;
+            return pendingFeedback();
+        } finally {
+            llmClient.releaseSession(sessionId);
+            if (!deferred) {
+                ledger.releaseSession(sessionId);
+            }
+            if (transcriptLog.isEnabled()) {
+                transcriptLog.finish(sessionId);
+            }
+        }
+    }
 
+    private InterviewFeedback generateFeedback(InterviewSession session, ChatOptions options) {
         StringBuilder convo = new StringBuilder();
-        for (int i = 0; i < session.getQuestions().size(); i++) {
+        List<String> questions = session.getQuestions();
+        ConversationWindow.Transcript transcript = answerCondenser.forPrompts(session);
+        List<String> answers = new ArrayList<>(session.getAnswers().size());
+        for (int i = 0; i < session.getAnswers().size(); i++) {
+            answers.add(transcript.answer(i));
+        }
+        for (int i = 0; i < questions.size(); i++) {
             convo.append("Q").append(i + 1).append(": ")
-                    .append(session.getQuestions().get(i)).append("\n");
-            if (i < session.getAnswers().size()) {
+                    .append(questions.get(i)).append("\n");
+            if (i < answers.size()) {
                 convo.append("A").append(i + 1).append(": ")
-                        .append(session.getAnswers().get(i)).append("\n\n");
+                        .append(answers.get(i)).append("\n\n");
             }
         }
 
-        String prompt = String.format("""
-                You are an interview coach. Evaluate this mock interview.
-
-                Role: %s
-                Experience level: %s
-                Interview type: %s
-
-                Conversation:
-                %s
-
-                Respond ONLY in strict JSON with the following schema.
-                Do NOT wrap it in ```json or any markdown fences.
-
-                {
-                  "overallSummary": "string",
-                  "scores": {
-                    "communication": 0-10,
-                    "technicalDepth": 0-10,
-                    "structure": 0-10,
-                    "confidence": 0-10
-                  },
-                  "strengths": ["string"],
-                  "areasToImprove": ["string"],
-                  "sampleImprovedAnswers": [
-                    {
-                      "question": "string",
-                      "improvedAnswer": "string"
-                    }
-                  ]
-                }
-                """,
-                session.getRole(),
-                session.getExperienceLevel(),
-                session.getInterviewType(),
-                convo
-        );
-
+        Map<String, String> values = promptValues(session);
+        values.put("conversation", convo.toString());
+        boolean fanOut = feedbackEvaluator.isEnabled();
         List<ChatMessage> messages = new ArrayList<>();
-        messages.add(new ChatMessage("system", "You are an interview coach providing structured feedback."));
-        messages.add(new ChatMessage("user", prompt));
+        messages.add(new ChatMessage("system", prompts.render("coach-system", session.getRole(), values)));
+        messages.add(new ChatMessage("user", fanOut
+                ? feedbackEvaluator.describe(session.getRole())
+                : prompts.render("feedback", session.getRole(), values)));
+
+        // Same transcript and template versions always render the same prompt; reuse its evaluation.
+        String cacheKey = FeedbackCache.key(messages);
+        Optional<InterviewFeedback> cached = feedbackCache.find(cacheKey);
+        Observation current = observationRegistry.getCurrentObservation();
+        if (current != null) {
+            current.lowCardinalityKeyValue("feedback.cache", cached.isPresent() ? "hit" : "miss")
+                    .lowCardinalityKeyValue("feedback.mode", fanOut ? "fan-out" : "single");
+        }
+        if (cached.isPresent()) {
+            return cached.get();
+        }
 
-        String raw = llmClient.chat(messages);
+        FeedbackEvaluator.Evaluation evaluation = fanOut
+                ? feedbackEvaluator.evaluate(options.getSessionId(), messages.get(0), values, questions, answers)
+                : evaluateInOneCall(messages, options);
+        InterviewFeedback feedback = evaluation.feedback();
+
+        analyticsService.record(session.getRole(), session.getExperienceLevel(), feedback.getScores());
+        if (evaluation.complete()) {
+            String version = fanOut ? feedbackEvaluator.promptVersion(session.getRole()) : promptVersion(session.getRole());
+            feedbackCache.put(cacheKey, session.getId(), version, feedback);
+        }
+        return feedback;
+    }
+
+    private FeedbackEvaluator.Evaluation evaluateInOneCall(List<ChatMessage> messages, ChatOptions options) {
+        options.setResponseSchema(FEEDBACK_SCHEMA);
+        String raw = llmClient.chat(messages, options);
 
         InterviewFeedback feedback = new InterviewFeedback();
+        boolean complete = false;
 
         try {
-            // 🔹 1. Clean possible ```json ... ``` wrapping from the LLM
-            String cleaned = raw.trim();
-
-            if (cleaned.startsWith("```")) {
-                int firstBrace = cleaned.indexOf('{');
-                int lastBrace = cleaned.lastIndexOf('}');
-                if (firstBrace != -1 && lastBrace != -1 && lastBrace > firstBrace) {
-                    cleaned = cleaned.substring(firstBrace, lastBrace + 1);
-                }
-            }
-
-            // 🔹 2. Parse cleaned JSON
-            JsonNode root = objectMapper.readTree(cleaned);
+            // Output is schema-constrained, but may still be fenced or cut off at the token limit.
+            JsonNode root = objectMapper.readTree(JsonRepair.repair(raw));
 
             JsonNode summaryNode = root.get("overallSummary");
-            feedback.setOverallSummary(
-                    summaryNode != null && !summaryNode.isNull()
-                            ? summaryNode.asText()
-                            : cleaned
-            );
+            complete = summaryNode != null && !summaryNode.isNull();
+            feedback.setOverallSummary(complete ? summaryNode.asText() : raw);
 
             JsonNode scoresNode = root.get("scores");
             if (scoresNode != null && scoresNode.isObject()) {
@@ -289,6 +589,7 @@ public class InterviewService {
 
         } catch (Exception e) {
             // If anything goes wrong, at least show the raw text
+            complete = false;
             feedback.setOverallSummary(raw);
             feedback.setScores(Map.of());
             feedback.setStrengths(List.of());
@@ -296,6 +597,110 @@ public class InterviewService {
             feedback.setSampleImprovedAnswers(List.of());
         }
 
+        return new FeedbackEvaluator.Evaluation(feedback, complete);
+    }
+
+    /**
+     * Runs one stage of the interview as an {@code interview.<stage>} observation; LLM calls and queries
+     * made inside it become its children.
+     */
+    private <T> T stage(String stage, String sessionId, Supplier<T> work) {
+        return Observation.createNotStarted("interview." + stage, observationRegistry)
+                .contextualName("interview " + stage)
+                .highCardinalityKeyValue("session.id", sessionId)
+                .observe(work);
+    }
+
+    private InterviewSession newSession(String sessionId, SessionProfile profile) {
+        InterviewSession session = transcriptLog.isEnabled()
+                ? new InterviewSession(new LoggedTextList(transcriptLog, sessionId, true),
+                        new LoggedTextList(transcriptLog, sessionId, false))
+                : new InterviewSession();
+        session.setId(sessionId);
+        session.setProfile(profile);
+        session.setConversation(new ConversationWindow(contextRecentTokens, contextSummaryTokens));
+        return session;
+    }
+
+    /**
+     * Re-opens sessions that were still running when the process last stopped.
+     */
+    private void restoreSessions() {
+        if (!transcriptLog.isEnabled()) {
+            return;
+        }
+        for (TranscriptLog.RecoveredSession recovered : transcriptLog.recoveredSessions()) {
+            ledger.bindSession(recovered.id(), recovered.owner());
+            InterviewSession session = newSession(recovered.id(),
+                    SessionProfile.of(recovered.role(), recovered.experienceLevel(), recovered.interviewType()));
+            int turns = Math.min(session.getQuestions().size(), session.getAnswers().size());
+            ConversationWindow.Transcript transcript = answerCondenser.forPrompts(session);
+            for (int i = 0; i < turns; i++) {
+                session.getConversation().addTurn(transcript, i);
+            }
+            session.compareAndSetTurnState(session.getTurnState(),
+                    new InterviewSession.TurnState(session.getAnswers().size(), null, null));
+            sessions.put(recovered.id(), session);
+        }
+    }
+
+    /**
+     * A question for when the LLM is unavailable: a banked generated question if one is novel,
+     * otherwise one of the pre-written fallback questions.
+     */
+    private String fallbackQuestion(InterviewSession session) {
+        List<String> asked = session.getQuestions();
+        return questionBank.pickNovel(session.getRole(), session.getInterviewType(), asked)
+                .map(Question::getText)
+                .orElseGet(() -> fallbackQuestions.pick(session.getRole(), session.getInterviewType(),
+                        candidate -> asked.contains(candidate) || questionBank.isRepeat(candidate, asked)));
+    }
+
+    private String promptVersion(String role) {
+        return prompts.get("coach-system", role).getVersion() + prompts.get("feedback", role).getVersion();
+    }
+
+    private static InterviewFeedback pendingFeedback() {
+        InterviewFeedback feedback = new InterviewFeedback();
+        feedback.setPending(true);
+        feedback.setOverallSummary("Your feedback is being prepared and will be available shortly.");
+        feedback.setScores(Map.of());
+        feedback.setStrengths(List.of());
+        feedback.setAreasToImprove(List.of());
+        feedback.setSampleImprovedAnswers(List.of());
+        return feedback;
+    }
+
+    private static InterviewFeedback unavailableFeedback() {
+        InterviewFeedback feedback = new InterviewFeedback();
+        feedback.setOverallSummary("Feedback could not be generated for this interview.");
+        feedback.setScores(Map.of());
+        feedback.setStrengths(List.of());
+        feedback.setAreasToImprove(List.of());
+        feedback.setSampleImprovedAnswers(List.of());
         return feedback;
     }
+
+    private static String questionId(int turn) {
+        return Integer.toString(turn);
+    }
+
+    private static int parseQuestionId(String questionId, int fallback) {
+        if (questionId == null || questionId.isBlank()) {
+            return fallback;
+        }
+        try {
+            return Integer.parseInt(questionId.trim());
+        } catch (NumberFormatException e) {
+            return fallback;
+        }
+    }
+
+    private static Map<String, String> promptValues(InterviewSession session) {
+        Map<String, String> values = new HashMap<>();
+        values.put("role", session.getRole());
+        values.put("experienceLevel", session.getExperienceLevel());
+        values.put("interviewType", session.getInterviewType());
+        return values;
+    }
 }
@@ -1,19 +1,39 @@
 package com.example.interview.service;
 
-import java.util.ArrayList;
-import java.util.List;
+import com.example.interview.model.InterviewFeedback;
 
-public class InterviewSession {
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Live interview state. Questions and answers are kept UTF-8 encoded (on the heap or in the
+ * transcript log) and decoded on read; the role/level/type profile is shared between sessions.
+ * <p>
+ * Concurrent requests are sequenced through {@link TurnState}: a request owns a turn only after
+ * compare-and-setting the state, and only the owner appends to the transcript.
+ */
+public class InterviewSession implements ConversationWindow.Transcript {
 
     private String id;
-    private String role;
-    private String experienceLevel;
-    private String interviewType;
-    private List<String> questions = new ArrayList<>();
-    private List<String> answers = new ArrayList<>();
-    private boolean finished;
+    private SessionProfile profile;
+    private volatile TextList questions;
+    private volatile TextList answers;
+    private volatile boolean finished;
+    private ConversationWindow conversation;
+    private final AtomicReference<TurnState> turnState = new AtomicReference<>(TurnState.INITIAL);
+    // Question indexes served from the local fallback bank while the LLM was unavailable.
+    private final Set<Integer> degradedQuestions = ConcurrentHashMap.newKeySet();
 
     public InterviewSession() {
+        this(new CompactTextList(), new CompactTextList());
+    }
+
+    public InterviewSession(TextList questions, TextList answers) {
+        this.questions = questions;
+        this.answers = answers;
     }
 
     public String getId() {
@@ -24,44 +44,79 @@ public class InterviewSession {
         this.id = id;
     }
 
-    public String getRole() {
-        return role;
+    public SessionProfile getProfile() {
+        return profile;
     }
 
-    public void setRole(String role) {
-        this.role = role;
+    public void setProfile(SessionProfile profile) {
+        this.profile = profile;
     }
 
-    public String getExperienceLevel() {
-        return experienceLevel;
+    public String getRole() {
+        return profile == null ? null : profile.getRole();
     }
 
-    public void setExperienceLevel(String experienceLevel) {
-        this.experienceLevel = experienceLevel;
+    public String getExperienceLevel() {
+        return profile == null ? null : profile.getExperienceLevel();
     }
 
     public String getInterviewType() {
-        return interviewType;
-    }
-
-    public void setInterviewType(String interviewType) {
-        this.interviewType = interviewType;
+        return profile == null ? null : profile.getInterviewType();
     }
 
+    /**
+     * Read-only view; entries are decoded on access.
+     */
     public List<String> getQuestions() {
         return questions;
     }
 
-    public void setQuestions(List<String> questions) {
-        this.questions = questions;
-    }
-
+    /**
+     * Read-only view; entries are decoded on access.
+     */
     public List<String> getAnswers() {
         return answers;
     }
 
-    public void setAnswers(List<String> answers) {
-        this.answers = answers;
+    public void addQuestion(String question) {
+        questions.append(question);
+    }
+
+    public void addAnswer(String answer) {
+        answers.append(answer);
+    }
+
+    /**
+     * Removes the last answer, for a turn that failed after appending it.
+     */
+    public void retractAnswer() {
+        answers.retractLast();
+    }
+
+    public String getLastQuestion() {
+        return questions.last();
+    }
+
+    @Override
+    public String question(int index) {
+        return questions.get(index);
+    }
+
+    @Override
+    public String answer(int index) {
+        return answers.get(index);
+    }
+
+    public void markDegraded(int questionIndex) {
+        degradedQuestions.add(questionIndex);
+    }
+
+    public boolean isDegraded(int questionIndex) {
+        return degradedQuestions.contains(questionIndex);
+    }
+
+    public Set<Integer> getDegradedQuestions() {
+        return Set.copyOf(degradedQuestions);
     }
 
     public boolean isFinished() {
@@ -70,5 +125,44 @@ public class InterviewSession {
 
     public void setFinished(boolean finished) {
         this.finished = finished;
+        if (finished) {
+            // A finished transcript no longer grows; keep a compact heap copy so its log segments can be reclaimed.
+            questions = questions.toCompact();
+            answers = answers.toCompact();
+        }
+    }
+
+    public TurnState getTurnState() {
+        return turnState.get();
+    }
+
+    public boolean compareAndSetTurnState(TurnState expected, TurnState next) {
+        return turnState.compareAndSet(expected, next);
+    }
+
+    public ConversationWindow getConversation() {
+        return conversation;
+    }
+
+    public void setConversation(ConversationWindow conversation) {
+        this.conversation = conversation;
+    }
+
+    /**
+     * Immutable snapshot of a session's progress.
+     *
+     * @param answered number of answers claimed so far; the next answer must be for question {@code answered}
+     * @param pending  result of the most recently claimed turn, completed once its next question is appended
+     * @param feedback non-null once the interview has been claimed for finishing
+     */
+    public record TurnState(int answered,
+                            CompletableFuture<InterviewService.NextQuestionResponse> pending,
+                            CompletableFuture<InterviewFeedback> feedback) {
+
+        static final TurnState INITIAL = new TurnState(0, null, null);
+
+        public boolean isFinishing() {
+            return feedback != null;
+        }
     }
 }
@@ -0,0 +1,48 @@
+package com.example.interview.service;
+
+import com.example.interview.transcript.TranscriptLog;
+
+/**
+ * Questions or answers of one live session, stored in the {@link TranscriptLog} and read back from
+ * its mapped segments on access.
+ */
+class LoggedTextList extends TextList {
+
+    private final TranscriptLog log;
+    private final String sessionId;
+    private final boolean questions;
+
+    LoggedTextList(TranscriptLog log, String sessionId, boolean questions) {
+        this.log = log;
+        this.sessionId = sessionId;
+        this.questions = questions;
+    }
+
+    @Override
+    public void append(String text) {
+        if (questions) {
+            log.appendQuestion(sessionId, text);
+        } else {
+            log.appendAnswer(sessionId, text);
+        }
+    }
+
+    @Override
+    public void retractLast() {
+        if (questions) {
+            log.retractQuestion(sessionId);
+        } else {
+            log.retractAnswer(sessionId);
+        }
+    }
+
+    @Override
+    public String get(int index) {
+        return questions ? log.question(sessionId, index) : log.answer(sessionId, index);
+    }
+
+    @Override
+    public int size() {
+        return questions ? log.questionCount(sessionId) : log.answerCount(sessionId);
+    }
+}
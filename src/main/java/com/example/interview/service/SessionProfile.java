@@ -0,0 +1,69 @@
+package com.example.interview.service;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The (role, experience level, interview type) triple of a session. Instances are canonicalised,
+ * so thousands of sessions for the same role share one profile and one copy of each string.
+ */
+public final class SessionProfile {
+
+    // Roles are free text; stop canonicalising rather than grow without bound.
+    private static final int MAX_CANONICAL = 10_000;
+    private static final Map<SessionProfile, SessionProfile> CANONICAL = new ConcurrentHashMap<>();
+
+    private final String role;
+    private final String experienceLevel;
+    private final String interviewType;
+
+    private SessionProfile(String role, String experienceLevel, String interviewType) {
+        this.role = role;
+        this.experienceLevel = experienceLevel;
+        this.interviewType = interviewType;
+    }
+
+    public static SessionProfile of(String role, String experienceLevel, String interviewType) {
+        SessionProfile profile = new SessionProfile(role, experienceLevel, interviewType);
+        SessionProfile canonical = CANONICAL.get(profile);
+        if (canonical != null) {
+            return canonical;
+        }
+        if (CANONICAL.size() >= MAX_CANONICAL) {
+            return profile;
+        }
+        canonical = CANONICAL.putIfAbsent(profile, profile);
+        return canonical != null ? canonical : profile;
+    }
+
+    public String getRole() {
+        return role;
+    }
+
+    public String getExperienceLevel() {
+        return experienceLevel;
+    }
+
+    public String getInterviewType() {
+        return interviewType;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof SessionProfile other)) {
+            return false;
+        }
+        return Objects.equals(role, other.role)
+                && Objects.equals(experienceLevel, other.experienceLevel)
+                && Objects.equals(interviewType, other.interviewType);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(role, experienceLevel, interviewType);
+    }
+}
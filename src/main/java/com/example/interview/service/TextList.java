@@ -0,0 +1,32 @@
+package com.example.interview.service;
+
+import java.util.AbstractList;
+
+/**
+ * Append-only, read-only-view list of transcript texts. Implementations decide where the text lives.
+ */
+public abstract class TextList extends AbstractList<String> {
+
+    public abstract void append(String text);
+
+    /**
+     * Removes the last entry, undoing an {@link #append} whose turn failed.
+     */
+    public abstract void retractLast();
+
+    public String last() {
+        return isEmpty() ? null : get(size() - 1);
+    }
+
+    /**
+     * Returns a heap-resident copy suitable for a session that will not grow any more.
+     */
+    public CompactTextList toCompact() {
+        CompactTextList copy = new CompactTextList();
+        for (int i = 0; i < size(); i++) {
+            copy.append(get(i));
+        }
+        copy.trimToSize();
+        return copy;
+    }
+}
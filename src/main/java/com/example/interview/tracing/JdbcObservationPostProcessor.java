@@ -0,0 +1,163 @@
+package com.example.interview.tracing;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.Locale;
+
+/**
+ * Records an {@code interview.jdbc} observation for every statement the application executes, so the
+ * queries behind JPA repositories show up as children of the request or stage that issued them. The
+ * data source is wrapped in proxies; {@code unwrap} still reaches the pool underneath.
+ */
+@Component
+public class JdbcObservationPostProcessor implements BeanPostProcessor {
+
+    static final String OBSERVATION = "interview.jdbc";
+
+    private final ObjectProvider<ObservationRegistry> registry;
+    private final boolean enabled;
+
+    public JdbcObservationPostProcessor(
+            ObjectProvider<ObservationRegistry> registry,
+            @Value("${tracing.jdbc.enabled:true}") boolean enabled
+    ) {
+        this.registry = registry;
+        this.enabled = enabled;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (enabled && bean instanceof DataSource dataSource && !Proxy.isProxyClass(bean.getClass())) {
+            return proxy(DataSource.class, dataSource, new DataSourceHandler(dataSource));
+        }
+        return bean;
+    }
+
+    private ObservationRegistry registry() {
+        return registry.getIfAvailable(() -> ObservationRegistry.NOOP);
+    }
+
+    /**
+     * {@code select}, {@code insert}, ...: the statement's first keyword, which keeps the metric
+     * tag bounded; the full SQL goes into a high-cardinality key value.
+     */
+    static String operation(String sql) {
+        if (sql == null) {
+            return "batch";
+        }
+        String trimmed = sql.stripLeading();
+        int end = 0;
+        while (end < trimmed.length() && Character.isLetter(trimmed.charAt(end))) {
+            end++;
+        }
+        return end == 0 ? "other" : trimmed.substring(0, end).toLowerCase(Locale.ROOT);
+    }
+
+    private Object observe(Object target, Method method, Object[] args, String sql) throws Throwable {
+        String operation = operation(sql);
+        Observation observation = Observation.createNotStarted(OBSERVATION, registry())
+                .contextualName("jdbc " + operation)
+                .lowCardinalityKeyValue("db.operation", operation)
+                .highCardinalityKeyValue("db.statement", sql == null ? "" : sql.strip())
+                .start();
+        try (Observation.Scope scope = observation.openScope()) {
+            return invoke(target, method, args);
+        } catch (Throwable e) {
+            observation.error(e);
+            throw e;
+        } finally {
+            observation.stop();
+        }
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, T target, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(JdbcObservationPostProcessor.class.getClassLoader(),
+                new Class<?>[] {type}, handler);
+    }
+
+    private final class DataSourceHandler implements InvocationHandler {
+
+        private final DataSource target;
+
+        DataSourceHandler(DataSource target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = JdbcObservationPostProcessor.invoke(target, method, args);
+            if (result instanceof Connection connection && "getConnection".equals(method.getName())) {
+                return proxy(Connection.class, connection, new ConnectionHandler(connection));
+            }
+            return result;
+        }
+    }
+
+    private final class ConnectionHandler implements InvocationHandler {
+
+        private final Connection target;
+
+        ConnectionHandler(Connection target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = JdbcObservationPostProcessor.invoke(target, method, args);
+            String sql = args != null && args.length > 0 && args[0] instanceof String s ? s : null;
+            return switch (method.getName()) {
+                case "prepareCall" -> proxy(CallableStatement.class, (CallableStatement) result,
+                        new StatementHandler((Statement) result, sql));
+                case "prepareStatement" -> proxy(PreparedStatement.class, (PreparedStatement) result,
+                        new StatementHandler((Statement) result, sql));
+                case "createStatement" -> proxy(Statement.class, (Statement) result,
+                        new StatementHandler((Statement) result, null));
+                default -> result;
+            };
+        }
+    }
+
+    private final class StatementHandler implements InvocationHandler {
+
+        private final Statement target;
+        private final String sql;
+
+        StatementHandler(Statement target, String sql) {
+            this.target = target;
+            this.sql = sql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (!method.getName().startsWith("execute")) {
+                return JdbcObservationPostProcessor.invoke(target, method, args);
+            }
+            // Plain statements pass their SQL to execute*; prepared ones were given it up front.
+            String executed = args != null && args.length > 0 && args[0] instanceof String s ? s : sql;
+            return observe(target, method, args, executed);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.interview.tracing;
+
+import io.micrometer.common.KeyValue;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationHandler;
+import io.micrometer.observation.ObservationView;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Log exporter for local runs and tests: one line per finished observation with its duration, a span id
+ * and the id of its parent, so a request can be followed down to its LLM calls and queries without a
+ * collector.
+ */
+@Component
+@ConditionalOnProperty(name = "tracing.log.enabled", havingValue = "true")
+public class LoggingObservationHandler implements ObservationHandler<Observation.Context> {
+
+    private static final Logger log = LoggerFactory.getLogger("interview.tracing");
+    private static final AtomicLong IDS = new AtomicLong();
+
+    private record Span(long id, long startNanos) {
+    }
+
+    @Override
+    public void onStart(Observation.Context context) {
+        context.put(Span.class, new Span(IDS.incrementAndGet(), System.nanoTime()));
+    }
+
+    @Override
+    public void onStop(Observation.Context context) {
+        Span span = context.get(Span.class);
+        if (span == null) {
+            return;
+        }
+        StringBuilder line = new StringBuilder(name(context))
+                .append(' ').append(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - span.startNanos())).append("ms")
+                .append(" span=").append(span.id())
+                .append(" parent=").append(parentId(context));
+        for (KeyValue keyValue : context.getAllKeyValues()) {
+            line.append(' ').append(keyValue.getKey()).append('=').append(keyValue.getValue());
+        }
+        if (context.getError() != null) {
+            line.append(" error=").append(context.getError());
+        }
+        log.info(line.toString());
+    }
+
+    @Override
+    public boolean supportsContext(Observation.Context context) {
+        return true;
+    }
+
+    private static String name(Observation.Context context) {
+        return context.getContextualName() != null ? context.getContextualName() : context.getName();
+    }
+
+    private static String parentId(Observation.Context context) {
+        ObservationView parent = context.getParentObservation();
+        Span span = parent == null ? null : parent.getContextView().get(Span.class);
+        return span == null ? "-" : Long.toString(span.id());
+    }
+}
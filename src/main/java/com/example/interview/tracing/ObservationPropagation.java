@@ -0,0 +1,35 @@
+package com.example.interview.tracing;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+
+import java.util.concurrent.Executor;
+
+/**
+ * Carries the current observation onto pool threads, so work handed to an executor (e.g. feedback
+ * sub-evaluations) is recorded as a child of the request that submitted it.
+ */
+public final class ObservationPropagation {
+
+    private ObservationPropagation() {
+    }
+
+    /**
+     * An executor that runs each task in the scope of the observation current when it was submitted.
+     */
+    public static Executor wrap(ObservationRegistry registry, Executor executor) {
+        return command -> executor.execute(wrap(registry, command));
+    }
+
+    public static Runnable wrap(ObservationRegistry registry, Runnable task) {
+        Observation parent = registry.getCurrentObservation();
+        if (parent == null) {
+            return task;
+        }
+        return () -> {
+            try (Observation.Scope scope = parent.openScope()) {
+                task.run();
+            }
+        };
+    }
+}
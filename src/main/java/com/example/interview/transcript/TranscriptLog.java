@@ -0,0 +1,689 @@
+package com.example.interview.transcript;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only, segmented, memory-mapped log of live interview transcripts.
+ * <p>
+ * Record layout: {@code int length | byte type | short idLength | id | fields... | int crc32}, where each
+ * field is {@code int byteLength | UTF-8 bytes} and {@code length} covers type through the last field.
+ * Question and answer texts are read straight from the mapped segments through a per-session index of
+ * positions ({@code segment << 32 | offset}). Segments are forced to disk in batches every
+ * {@code flush-interval-ms}. Sealed segments are deleted once every session in them has finished, and
+ * sparse ones are compacted by relocating their remaining live sessions into the active segment.
+ * On startup all segments are scanned (stopping at the first torn or zeroed record) to rebuild the
+ * index of unfinished sessions. Sessions not written to for {@code abandoned-after} (judged by the
+ * modification time of their segments) are finished instead of recovered, and the last segment is
+ * reused for appends while it has room.
+ */
+@Component
+public class TranscriptLog implements DisposableBean {
+
+    private static final byte START = 1;
+    private static final byte QUESTION = 2;
+    private static final byte ANSWER = 3;
+    private static final byte FINISH = 4;
+    private static final byte RETRACT_QUESTION = 5;
+    private static final byte RETRACT_ANSWER = 6;
+
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".log";
+
+    private final boolean enabled;
+    private final Path directory;
+    private final int segmentSize;
+    private final double compactionThreshold;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final NavigableMap<Integer, Segment> segments = new TreeMap<>();
+    private final Map<String, SessionIndex> sessions = new ConcurrentHashMap<>();
+    private final List<RecoveredSession> recovered = new ArrayList<>();
+    private final ScheduledExecutorService flusher;
+
+    private Segment active;
+    private int lastRecordBytes;
+    private boolean compacting;
+    private volatile boolean dirty;
+
+    public TranscriptLog(
+            @Value("${transcript-log.enabled:true}") boolean enabled,
+            @Value("${transcript-log.dir:${user.home}/ai-interview/transcripts}") String directory,
+            @Value("${transcript-log.segment-size-bytes:67108864}") int segmentSize,
+            @Value("${transcript-log.flush-interval-ms:50}") long flushIntervalMs,
+            @Value("${transcript-log.compaction-threshold:0.5}") double compactionThreshold,
+            @Value("${transcript-log.abandoned-after:PT24H}") Duration abandonedAfter
+    ) {
+        this.enabled = enabled;
+        this.directory = Paths.get(directory);
+        this.segmentSize = segmentSize;
+        this.compactionThreshold = compactionThreshold;
+
+        if (!enabled) {
+            this.flusher = null;
+            return;
+        }
+
+        try {
+            Files.createDirectories(this.directory);
+            Map<Integer, Long> modifiedAt = openExistingSegments();
+            active = segments.isEmpty() ? newSegment(0) : resumeOrRoll(segments.lastEntry().getValue());
+            finishAbandoned(modifiedAt, System.currentTimeMillis() - abandonedAfter.toMillis());
+            for (SessionIndex index : sessions.values()) {
+                recovered.add(new RecoveredSession(index.id, index.role, index.experienceLevel, index.interviewType,
+                        index.owner));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not open transcript log in " + this.directory, e);
+        }
+
+        this.flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "transcript-log-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.flusher.scheduleWithFixedDelay(this::flush, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Sessions that were started but not finished before the last shutdown or crash.
+     */
+    public List<RecoveredSession> recoveredSessions() {
+        return List.copyOf(recovered);
+    }
+
+    /**
+     * @param owner the user the session's LLM usage is accounted to, restored with the session
+     */
+    public void start(String sessionId, String role, String experienceLevel, String interviewType, String owner) {
+        lock.writeLock().lock();
+        try {
+            SessionIndex index = new SessionIndex(sessionId, role, experienceLevel, interviewType, owner);
+            sessions.put(sessionId, index);
+            write(index, START, role, experienceLevel, interviewType, owner);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void appendQuestion(String sessionId, String text) {
+        append(sessionId, QUESTION, text);
+    }
+
+    public void appendAnswer(String sessionId, String text) {
+        append(sessionId, ANSWER, text);
+    }
+
+    /**
+     * Drops the session's last question; recovery applies the retraction too.
+     */
+    public void retractQuestion(String sessionId) {
+        retract(sessionId, RETRACT_QUESTION);
+    }
+
+    public void retractAnswer(String sessionId) {
+        retract(sessionId, RETRACT_ANSWER);
+    }
+
+    public int questionCount(String sessionId) {
+        lock.readLock().lock();
+        try {
+            SessionIndex index = sessions.get(sessionId);
+            return index == null ? 0 : index.questions.size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int answerCount(String sessionId) {
+        lock.readLock().lock();
+        try {
+            SessionIndex index = sessions.get(sessionId);
+            return index == null ? 0 : index.answers.size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public String question(String sessionId, int i) {
+        return read(sessionId, QUESTION, i);
+    }
+
+    public String answer(String sessionId, int i) {
+        return read(sessionId, ANSWER, i);
+    }
+
+    /**
+     * Marks the session finished. Its records become dead and their segments eligible for compaction,
+     * so callers must have copied anything they still need.
+     */
+    public void finish(String sessionId) {
+        lock.writeLock().lock();
+        try {
+            SessionIndex index = sessions.remove(sessionId);
+            if (index == null) {
+                return;
+            }
+            writeRecord(sessionId, FINISH);
+            active.finished.add(sessionId);
+            release(index);
+            compact();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void flush() {
+        if (!dirty) {
+            return;
+        }
+        lock.readLock().lock();
+        try {
+            dirty = false;
+            active.buffer.force();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (!enabled) {
+            return;
+        }
+        flusher.shutdown();
+        lock.writeLock().lock();
+        try {
+            for (Segment segment : segments.values()) {
+                segment.buffer.force();
+                segment.close();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // ---------- writing ----------
+
+    private void append(String sessionId, byte type, String text) {
+        lock.writeLock().lock();
+        try {
+            SessionIndex index = sessions.get(sessionId);
+            if (index == null) {
+                throw new IllegalStateException("Session " + sessionId + " is not open in the transcript log");
+            }
+            long position = write(index, type, text);
+            (type == QUESTION ? index.questions : index.answers).add(position);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void retract(String sessionId, byte type) {
+        lock.writeLock().lock();
+        try {
+            SessionIndex index = sessions.get(sessionId);
+            if (index == null) {
+                throw new IllegalStateException("Session " + sessionId + " is not open in the transcript log");
+            }
+            Positions positions = type == RETRACT_QUESTION ? index.questions : index.answers;
+            if (positions.size == 0) {
+                throw new IllegalStateException("Nothing to retract for session " + sessionId);
+            }
+            write(index, type);
+            positions.removeLast();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Writes a record for the session and accounts its bytes; returns the position of the first field.
+     */
+    private long write(SessionIndex index, byte type, String... fields) {
+        long position = writeRecord(index.id, type, fields);
+        account(active, index, lastRecordBytes);
+        return position;
+    }
+
+    private long writeRecord(String sessionId, byte type, String... fields) {
+        byte[] id = sessionId.getBytes(StandardCharsets.UTF_8);
+        byte[][] encoded = new byte[fields.length][];
+        int length = 1 + 2 + id.length;
+        for (int i = 0; i < fields.length; i++) {
+            encoded[i] = fields[i] == null ? new byte[0] : fields[i].getBytes(StandardCharsets.UTF_8);
+            length += 4 + encoded[i].length;
+        }
+        int recordSize = 4 + length + 4;
+        if (recordSize > segmentSize) {
+            throw new IllegalArgumentException("Transcript record of " + recordSize + " bytes exceeds the segment size");
+        }
+        if (active.writePosition + recordSize > segmentSize) {
+            roll();
+        }
+
+        active.mentioned.add(sessionId);
+        MappedByteBuffer buffer = active.buffer;
+        int start = active.writePosition;
+        int pos = start + 4;
+        buffer.put(pos, type);
+        pos += 1;
+        buffer.putShort(pos, (short) id.length);
+        pos += 2;
+        buffer.put(pos, id);
+        pos += id.length;
+        int firstField = pos;
+        for (byte[] field : encoded) {
+            buffer.putInt(pos, field.length);
+            pos += 4;
+            buffer.put(pos, field);
+            pos += field.length;
+        }
+
+        CRC32 crc = new CRC32();
+        crc.update(buffer.slice(start + 4, length));
+        buffer.putInt(pos, (int) crc.getValue());
+        // Length goes in last so a torn write never looks like a complete record.
+        buffer.putInt(start, length);
+
+        active.writePosition = pos + 4;
+        lastRecordBytes = recordSize;
+        dirty = true;
+        return ((long) active.id << 32) | firstField;
+    }
+
+    private void roll() {
+        active.buffer.force();
+        active = newSegment(active.id + 1);
+        compact();
+    }
+
+    // ---------- reading ----------
+
+    private String read(String sessionId, byte type, int i) {
+        lock.readLock().lock();
+        try {
+            SessionIndex index = sessions.get(sessionId);
+            if (index == null) {
+                throw new IllegalStateException("Session " + sessionId + " is not open in the transcript log");
+            }
+            return readAt((type == QUESTION ? index.questions : index.answers).get(i));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ---------- compaction ----------
+
+    private void release(SessionIndex index) {
+        for (Map.Entry<Integer, Integer> entry : index.bytesPerSegment.entrySet()) {
+            Segment segment = segments.get(entry.getKey());
+            if (segment != null) {
+                segment.liveBytes -= entry.getValue();
+                segment.sessionIds.remove(index.id);
+            }
+        }
+        index.bytesPerSegment.clear();
+    }
+
+    private void compact() {
+        // Relocation can itself roll the active segment; that nested roll must not compact again.
+        if (compacting) {
+            return;
+        }
+        compacting = true;
+        try {
+            List<Segment> sealed = new ArrayList<>(segments.headMap(active.id, false).values());
+            for (Segment segment : sealed) {
+                if (!segment.sessionIds.isEmpty() && segment.liveBytes < segmentSize * compactionThreshold) {
+                    for (String sessionId : new ArrayList<>(segment.sessionIds)) {
+                        relocate(sessions.get(sessionId));
+                    }
+                }
+                if (deletable(segment)) {
+                    // Relocated copies must be on disk before the originals go.
+                    active.buffer.force();
+                    delete(segment);
+                }
+            }
+        } finally {
+            compacting = false;
+        }
+    }
+
+    /**
+     * A segment can go once no session is live in it and none of its FINISH records is still needed:
+     * while an older segment holds records of a finished session, recovery would reopen the session
+     * without its FINISH. Segments are checked oldest first, so those older ones go first.
+     */
+    private boolean deletable(Segment segment) {
+        if (!segment.sessionIds.isEmpty() || segment == active) {
+            return false;
+        }
+        segment.finished.removeIf(sessionId -> !mentionedBefore(segment.id, sessionId));
+        return segment.finished.isEmpty();
+    }
+
+    private boolean mentionedBefore(int segmentId, String sessionId) {
+        for (Segment older : segments.headMap(segmentId, false).values()) {
+            if (older.mentioned.contains(sessionId)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Rewrites all of a session's records into the active segment. Recovery treats the newer START
+     * record as a reset, so the stale copies in older segments are ignored.
+     */
+    private void relocate(SessionIndex index) {
+        if (index == null) {
+            return;
+        }
+        List<String> questions = new ArrayList<>();
+        List<String> answers = new ArrayList<>();
+        for (int i = 0; i < index.questions.size; i++) {
+            questions.add(readAt(index.questions.get(i)));
+        }
+        for (int i = 0; i < index.answers.size; i++) {
+            answers.add(readAt(index.answers.get(i)));
+        }
+
+        release(index);
+        index.questions.clear();
+        index.answers.clear();
+        write(index, START, index.role, index.experienceLevel, index.interviewType, index.owner);
+        for (String question : questions) {
+            index.questions.add(write(index, QUESTION, question));
+        }
+        for (String answer : answers) {
+            index.answers.add(write(index, ANSWER, answer));
+        }
+    }
+
+    private String readAt(long position) {
+        return readField(segments.get((int) (position >>> 32)).buffer, (int) position);
+    }
+
+    private void delete(Segment segment) {
+        segments.remove(segment.id);
+        segment.close();
+        try {
+            Files.deleteIfExists(segment.path);
+        } catch (IOException ignored) {
+            // Left for the next startup, where it is scanned and skipped as fully finished.
+        }
+    }
+
+    // ---------- segments and recovery ----------
+
+    /**
+     * Replays every segment and deletes those without live sessions; returns each remaining segment's
+     * modification time.
+     */
+    private Map<Integer, Long> openExistingSegments() throws IOException {
+        Map<Integer, Long> modifiedAt = new HashMap<>();
+        List<Path> paths = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+            stream.forEach(paths::add);
+        }
+        paths.sort(Comparator.naturalOrder());
+
+        for (Path path : paths) {
+            String name = path.getFileName().toString();
+            int id = Integer.parseInt(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+            modifiedAt.put(id, Files.getLastModifiedTime(path).toMillis());
+            Segment segment = openSegment(id, path);
+            segments.put(id, segment);
+            replay(segment);
+        }
+
+        for (Segment segment : new ArrayList<>(segments.values())) {
+            if (deletable(segment)) {
+                delete(segment);
+                modifiedAt.remove(segment.id);
+            }
+        }
+        return modifiedAt;
+    }
+
+    /**
+     * Appends after the last valid record of {@code last}, or opens the next segment if it is full.
+     * Anything past that record is a torn write and is zeroed, so it cannot reappear behind new records.
+     */
+    private Segment resumeOrRoll(Segment last) {
+        if (last.writePosition + 64 > segmentSize) {
+            return newSegment(last.id + 1);
+        }
+        int dirty = last.writePosition;
+        while (dirty + 8 <= segmentSize && last.buffer.getLong(dirty) == 0) {
+            dirty += 8;
+        }
+        byte[] zeros = new byte[8192];
+        for (int pos = dirty; pos < segmentSize; pos += zeros.length) {
+            last.buffer.put(pos, zeros, 0, Math.min(zeros.length, segmentSize - pos));
+        }
+        last.buffer.force();
+        return last;
+    }
+
+    private void finishAbandoned(Map<Integer, Long> modifiedAt, long cutoffMillis) {
+        for (SessionIndex index : new ArrayList<>(sessions.values())) {
+            long lastWritten = 0;
+            for (Integer segmentId : index.bytesPerSegment.keySet()) {
+                lastWritten = Math.max(lastWritten, modifiedAt.getOrDefault(segmentId, 0L));
+            }
+            if (lastWritten < cutoffMillis) {
+                finish(index.id);
+            }
+        }
+    }
+
+    private void replay(Segment segment) {
+        MappedByteBuffer buffer = segment.buffer;
+        int pos = 0;
+        while (pos + 4 <= segmentSize) {
+            int length = buffer.getInt(pos);
+            if (length <= 0 || (long) pos + 4 + length + 4 > segmentSize) {
+                break;
+            }
+            CRC32 crc = new CRC32();
+            crc.update(buffer.slice(pos + 4, length));
+            if ((int) crc.getValue() != buffer.getInt(pos + 4 + length)) {
+                break;
+            }
+
+            int cursor = pos + 4;
+            byte type = buffer.get(cursor);
+            cursor += 1;
+            byte[] id = new byte[buffer.getShort(cursor)];
+            cursor += 2;
+            buffer.get(cursor, id);
+            cursor += id.length;
+            String sessionId = new String(id, StandardCharsets.UTF_8);
+            int recordEnd = pos + 4 + length + 4;
+            segment.mentioned.add(sessionId);
+
+            switch (type) {
+                case START -> {
+                    SessionIndex previous = sessions.remove(sessionId);
+                    if (previous != null) {
+                        release(previous);
+                    }
+                    String role = readField(buffer, cursor);
+                    cursor += 4 + buffer.getInt(cursor);
+                    String level = readField(buffer, cursor);
+                    cursor += 4 + buffer.getInt(cursor);
+                    String interviewType = readField(buffer, cursor);
+                    cursor += 4 + buffer.getInt(cursor);
+                    // Records written before the owner was logged end after the interview type.
+                    String owner = cursor < pos + 4 + length ? readField(buffer, cursor) : "";
+                    SessionIndex index = new SessionIndex(sessionId, role, level, interviewType,
+                            owner.isEmpty() ? null : owner);
+                    sessions.put(sessionId, index);
+                    account(segment, index, recordEnd - pos);
+                }
+                case QUESTION, ANSWER -> {
+                    SessionIndex index = sessions.get(sessionId);
+                    if (index != null) {
+                        (type == QUESTION ? index.questions : index.answers).add(((long) segment.id << 32) | cursor);
+                        account(segment, index, recordEnd - pos);
+                    }
+                }
+                case RETRACT_QUESTION, RETRACT_ANSWER -> {
+                    SessionIndex index = sessions.get(sessionId);
+                    if (index != null) {
+                        Positions positions = type == RETRACT_QUESTION ? index.questions : index.answers;
+                        if (positions.size > 0) {
+                            positions.removeLast();
+                        }
+                        account(segment, index, recordEnd - pos);
+                    }
+                }
+                case FINISH -> {
+                    segment.finished.add(sessionId);
+                    SessionIndex index = sessions.remove(sessionId);
+                    if (index != null) {
+                        release(index);
+                    }
+                }
+                default -> {
+                    // Unknown record types from newer versions are skipped.
+                }
+            }
+            pos = recordEnd;
+        }
+        segment.writePosition = pos;
+    }
+
+    private static void account(Segment segment, SessionIndex index, int bytes) {
+        index.bytesPerSegment.merge(segment.id, bytes, Integer::sum);
+        segment.liveBytes += bytes;
+        segment.sessionIds.add(index.id);
+    }
+
+    private static String readField(MappedByteBuffer buffer, int offset) {
+        byte[] bytes = new byte[buffer.getInt(offset)];
+        buffer.get(offset + 4, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private Segment newSegment(int id) {
+        Path path = directory.resolve(String.format("%s%010d%s", SEGMENT_PREFIX, id, SEGMENT_SUFFIX));
+        try {
+            Segment segment = openSegment(id, path);
+            segments.put(id, segment);
+            return segment;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not create transcript segment " + path, e);
+        }
+    }
+
+    private Segment openSegment(int id, Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+        return new Segment(id, path, channel, buffer);
+    }
+
+    public record RecoveredSession(String id, String role, String experienceLevel, String interviewType,
+                                   String owner) {
+    }
+
+    private static final class Segment {
+        private final int id;
+        private final Path path;
+        private final FileChannel channel;
+        private final MappedByteBuffer buffer;
+        private final Set<String> sessionIds = new HashSet<>();
+        // Every session with a record here, live or not, and those whose FINISH record is here.
+        private final Set<String> mentioned = new HashSet<>();
+        private final Set<String> finished = new HashSet<>();
+        private int writePosition;
+        private long liveBytes;
+
+        private Segment(int id, Path path, FileChannel channel, MappedByteBuffer buffer) {
+            this.id = id;
+            this.path = path;
+            this.channel = channel;
+            this.buffer = buffer;
+        }
+
+        private void close() {
+            try {
+                channel.close();
+            } catch (IOException ignored) {
+                // Nothing useful to do; the mapping stays valid until it is garbage collected.
+            }
+        }
+    }
+
+    private static final class SessionIndex {
+        private final String id;
+        private final String role;
+        private final String experienceLevel;
+        private final String interviewType;
+        private final String owner;
+        private final Positions questions = new Positions();
+        private final Positions answers = new Positions();
+        private final Map<Integer, Integer> bytesPerSegment = new HashMap<>();
+
+        private SessionIndex(String id, String role, String experienceLevel, String interviewType, String owner) {
+            this.id = id;
+            this.role = role;
+            this.experienceLevel = experienceLevel;
+            this.interviewType = interviewType;
+            this.owner = owner;
+        }
+    }
+
+    private static final class Positions {
+        private long[] values = new long[8];
+        private int size;
+
+        private void add(long position) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = position;
+        }
+
+        private long get(int i) {
+            Objects.checkIndex(i, size);
+            return values[i];
+        }
+
+        private void removeLast() {
+            size--;
+        }
+
+        private void clear() {
+            size = 0;
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.interview.voice;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fixed set of equally sized off-heap buffers carved from one direct allocation. The pool never grows,
+ * so audio in flight costs at most {@code buffers * bufferBytes} bytes of native memory and no heap.
+ */
+final class DirectBufferPool {
+
+    private final BlockingQueue<ByteBuffer> free;
+
+    DirectBufferPool(int buffers, int bufferBytes) {
+        this.free = new ArrayBlockingQueue<>(buffers);
+        ByteBuffer slab = ByteBuffer.allocateDirect(buffers * bufferBytes);
+        for (int i = 0; i < buffers; i++) {
+            free.add(slab.slice(i * bufferBytes, bufferBytes));
+        }
+    }
+
+    /**
+     * @return a cleared buffer, or null if none became free within the timeout
+     */
+    ByteBuffer acquire(long timeoutMillis) throws InterruptedException {
+        return free.poll(timeoutMillis, TimeUnit.MILLISECONDS);
+    }
+
+    void release(ByteBuffer buffer) {
+        buffer.clear();
+        free.offer(buffer);
+    }
+
+    int available() {
+        return free.size();
+    }
+}
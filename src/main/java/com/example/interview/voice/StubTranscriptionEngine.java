@@ -0,0 +1,73 @@
+package com.example.interview.voice;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+/**
+ * Local transcription stub. It needs no model or network: {@code text/plain} uploads are decoded as the
+ * transcript itself (useful for development and tests). It cannot transcribe audio, so audio uploads are
+ * refused rather than answered with a placeholder.
+ */
+@Component
+@ConditionalOnProperty(name = "voice.transcription.engine", havingValue = "stub", matchIfMissing = true)
+public class StubTranscriptionEngine implements TranscriptionEngine {
+
+    @Override
+    public boolean supports(String contentType) {
+        return contentType != null && contentType.toLowerCase(Locale.ROOT).startsWith("text/plain");
+    }
+
+    @Override
+    public Stream open(String contentType) {
+        if (!supports(contentType)) {
+            throw new IllegalArgumentException("No transcription engine is configured for " + contentType);
+        }
+        return new TextStream();
+    }
+
+    private static final class TextStream implements Stream {
+
+        private final CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        // Holds a multi-byte character split across two chunks.
+        private final ByteBuffer carry = ByteBuffer.allocate(8);
+        private final StringBuilder transcript = new StringBuilder();
+
+        @Override
+        public void accept(ByteBuffer chunk) {
+            ByteBuffer in = chunk;
+            if (carry.position() > 0) {
+                in = ByteBuffer.allocate(carry.position() + chunk.remaining());
+                in.put(carry.flip()).put(chunk).flip();
+                carry.clear();
+            }
+            CharBuffer out = CharBuffer.allocate(in.remaining() + 1);
+            decoder.decode(in, out, false);
+            carry.put(in);
+            chunk.position(chunk.limit());
+            transcript.append(out.flip());
+        }
+
+        @Override
+        public String partial() {
+            return transcript.toString();
+        }
+
+        @Override
+        public String finish() {
+            CharBuffer out = CharBuffer.allocate(carry.position() + 2);
+            carry.flip();
+            decoder.decode(carry, out, true);
+            decoder.flush(out);
+            return transcript.append(out.flip()).toString().strip();
+        }
+    }
+}
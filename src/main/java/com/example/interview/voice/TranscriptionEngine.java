@@ -0,0 +1,48 @@
+package com.example.interview.voice;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Speech-to-text for spoken answers. Audio is fed to a {@link Stream} chunk by chunk while the candidate
+ * is still speaking, so most of the work is done by the time the last chunk arrives.
+ */
+public interface TranscriptionEngine {
+
+    /**
+     * Whether this engine can transcribe uploads of {@code contentType}; others are rejected before any
+     * audio is sent.
+     */
+    default boolean supports(String contentType) {
+        return true;
+    }
+
+    /**
+     * @param contentType MIME type of the audio, as declared by the client
+     */
+    Stream open(String contentType);
+
+    interface Stream {
+
+        /**
+         * Consumes the remaining bytes of {@code chunk}. The buffer is reused once this returns, so
+         * implementations must not keep a reference to it.
+         */
+        void accept(ByteBuffer chunk);
+
+        /**
+         * Transcript of the audio received so far.
+         */
+        String partial();
+
+        /**
+         * Final transcript once all audio has been received.
+         */
+        String finish();
+
+        /**
+         * Releases resources of an upload that will not be finished.
+         */
+        default void abort() {
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.interview.voice;
+
+import com.example.interview.idempotency.IdempotencyCache;
+import com.example.interview.model.Answer;
+import com.example.interview.service.InterviewService;
+import com.example.interview.service.InterviewService.NextQuestionResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Spoken answers: open an upload, PUT audio chunks while the candidate speaks, then complete it to submit
+ * the transcript as the answer.
+ */
+@RestController
+@RequestMapping("/api/interview/{sessionId}/voice")
+@CrossOrigin
+public class VoiceAnswerController {
+
+    private final VoiceUploads uploads;
+    private final InterviewService interviewService;
+    private final IdempotencyCache idempotencyCache;
+
+    public VoiceAnswerController(VoiceUploads uploads, InterviewService interviewService,
+                                 IdempotencyCache idempotencyCache) {
+        this.uploads = uploads;
+        this.interviewService = interviewService;
+        this.idempotencyCache = idempotencyCache;
+    }
+
+    public static class BeginRequest {
+        private String questionId;
+        private String contentType;
+
+        public String getQuestionId() {
+            return questionId;
+        }
+
+        public void setQuestionId(String questionId) {
+            this.questionId = questionId;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public void setContentType(String contentType) {
+            this.contentType = contentType;
+        }
+    }
+
+    @PostMapping
+    public Map<String, String> begin(@PathVariable("sessionId") String sessionId, @RequestBody BeginRequest request) {
+        return Map.of("uploadId", uploads.begin(sessionId, request.getQuestionId(), request.getContentType()));
+    }
+
+    // Raw bodies only: form-encoded PUTs would be consumed by form parsing before they got here.
+    @PutMapping(value = "/{uploadId}/chunks/{seq}", consumes = {"application/octet-stream", "audio/*", "text/plain"})
+    public VoiceUploads.Progress chunk(
+            @PathVariable("sessionId") String sessionId,
+            @PathVariable("uploadId") String uploadId,
+            @PathVariable("seq") int seq,
+            HttpServletRequest request
+    ) throws IOException {
+        return uploads.append(sessionId, uploadId, seq, request.getInputStream());
+    }
+
+    @PostMapping("/{uploadId}/complete")
+    public NextQuestionResponse complete(
+            @PathVariable("sessionId") String sessionId,
+            @PathVariable("uploadId") String uploadId,
+            @RequestHeader(value = IdempotencyCache.HEADER, required = false) String idempotencyKey,
+            @RequestParam(value = "durationSeconds", defaultValue = "0") int durationSeconds
+    ) {
+        String body = uploadId + '\n' + durationSeconds;
+        return idempotencyCache.execute("voice|" + sessionId, idempotencyKey, body, () -> {
+            VoiceUploads.Transcript transcript = uploads.complete(sessionId, uploadId);
+            Answer answer = new Answer();
+            answer.setQuestionId(transcript.questionId());
+            answer.setText(transcript.text());
+            answer.setDurationSeconds(durationSeconds);
+            return interviewService.submitAnswer(sessionId, answer);
+        });
+    }
+
+    @ExceptionHandler(VoiceUploadException.class)
+    public ResponseEntity<Map<String, String>> rejected(VoiceUploadException e) {
+        return ResponseEntity.status(e.getStatus()).body(Map.of("error", e.getMessage()));
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.interview.voice;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * A voice upload request that cannot be accepted; carries the HTTP status to answer with.
+ */
+public class VoiceUploadException extends RuntimeException {
+
+    private final HttpStatus status;
+
+    public VoiceUploadException(HttpStatus status, String message) {
+        super(message);
+        this.status = status;
+    }
+
+    public HttpStatus getStatus() {
+        return status;
+    }
+}
@@ -0,0 +1,236 @@
+package com.example.interview.voice;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Spoken answers uploaded in numbered chunks while the candidate talks. Each chunk is read from the request
+ * into a pooled off-heap buffer and handed straight to the upload's {@link TranscriptionEngine.Stream}, so
+ * no audio is accumulated on the heap and the transcript is ready when the last chunk arrives. A buffer is
+ * only taken once bytes have arrived and is returned before waiting for more, so slow clients cannot hold
+ * the pool; nor do they hold the upload's lock while their chunk is in transit.
+ * <p>
+ * Chunks must arrive in order; a retried chunk that was already applied is acknowledged without being fed
+ * again. Uploads are capped in size and count, and abandoned ones expire.
+ */
+@Service
+public class VoiceUploads {
+
+    private final TranscriptionEngine engine;
+    private final DirectBufferPool buffers;
+    private final long maxBytesPerUpload;
+    private final int maxOpenUploads;
+    private final long ttlMillis;
+    private final long bufferWaitMillis;
+    private final Map<String, Upload> uploads = new ConcurrentHashMap<>();
+
+    public VoiceUploads(
+            TranscriptionEngine engine,
+            @Value("${voice.upload.buffers:64}") int bufferCount,
+            @Value("${voice.upload.buffer-bytes:32768}") int bufferBytes,
+            @Value("${voice.upload.max-bytes:8388608}") long maxBytesPerUpload,
+            @Value("${voice.upload.max-open:256}") int maxOpenUploads,
+            @Value("${voice.upload.ttl:PT5M}") Duration ttl,
+            @Value("${voice.upload.buffer-wait:PT2S}") Duration bufferWait
+    ) {
+        this.engine = engine;
+        this.buffers = new DirectBufferPool(bufferCount, bufferBytes);
+        this.maxBytesPerUpload = maxBytesPerUpload;
+        this.maxOpenUploads = maxOpenUploads;
+        this.ttlMillis = ttl.toMillis();
+        this.bufferWaitMillis = bufferWait.toMillis();
+    }
+
+    /**
+     * Opens an upload for the answer to {@code questionId}.
+     */
+    public String begin(String sessionId, String questionId, String contentType) {
+        expireIdle();
+        if (!engine.supports(contentType)) {
+            throw new VoiceUploadException(HttpStatus.UNSUPPORTED_MEDIA_TYPE,
+                    "Spoken answers in " + contentType + " cannot be transcribed here; send text/plain.");
+        }
+        if (uploads.size() >= maxOpenUploads) {
+            throw new VoiceUploadException(HttpStatus.TOO_MANY_REQUESTS, "Too many voice uploads in progress, please retry shortly.");
+        }
+        String uploadId = UUID.randomUUID().toString();
+        uploads.put(uploadId, new Upload(sessionId, questionId, engine.open(contentType)));
+        return uploadId;
+    }
+
+    /**
+     * Feeds chunk {@code seq} (starting at 0) to the transcription stream.
+     *
+     * @return the transcript so far
+     */
+    public Progress append(String sessionId, String uploadId, int seq, InputStream body) throws IOException {
+        Upload upload = find(sessionId, uploadId);
+        synchronized (upload) {
+            if (upload.finished) {
+                throw new VoiceUploadException(HttpStatus.CONFLICT, "Upload already completed.");
+            }
+            if (seq < upload.nextSeq) {
+                return new Progress(upload.bytes, upload.stream.partial());
+            }
+            if (seq > upload.nextSeq) {
+                throw new VoiceUploadException(HttpStatus.CONFLICT, "Expected chunk " + upload.nextSeq + " but got " + seq + ".");
+            }
+            if (upload.receiving) {
+                throw new VoiceUploadException(HttpStatus.CONFLICT, "Chunk " + seq + " is already being received.");
+            }
+            upload.receiving = true;
+        }
+
+        // Only this request feeds the stream until receiving is cleared; complete and expiry leave it alone.
+        boolean received = false;
+        try {
+            receive(upload, body);
+            received = true;
+        } finally {
+            synchronized (upload) {
+                upload.receiving = false;
+                if (received) {
+                    upload.nextSeq++;
+                }
+                upload.lastActivity = System.currentTimeMillis();
+            }
+        }
+        synchronized (upload) {
+            return new Progress(upload.bytes, upload.stream.partial());
+        }
+    }
+
+    /**
+     * Closes the upload and returns its final transcript.
+     */
+    public Transcript complete(String sessionId, String uploadId) {
+        Upload upload = find(sessionId, uploadId);
+        synchronized (upload) {
+            if (upload.finished) {
+                throw new VoiceUploadException(HttpStatus.CONFLICT, "Upload already completed.");
+            }
+            if (upload.receiving) {
+                throw new VoiceUploadException(HttpStatus.CONFLICT, "A chunk is still being received.");
+            }
+            upload.finished = true;
+            uploads.remove(uploadId);
+            return new Transcript(upload.questionId, upload.stream.finish(), upload.bytes);
+        }
+    }
+
+    int availableBuffers() {
+        return buffers.available();
+    }
+
+    /**
+     * Blocks for the first byte of each burst without holding a buffer, then drains what has already
+     * arrived into a pooled one and feeds it.
+     */
+    private void receive(Upload upload, InputStream body) throws IOException {
+        ReadableByteChannel channel = Channels.newChannel(body);
+        int first;
+        while ((first = body.read()) >= 0) {
+            ByteBuffer buffer = acquireBuffer();
+            try {
+                buffer.put((byte) first);
+                while (buffer.hasRemaining() && body.available() > 0) {
+                    if (channel.read(buffer) <= 0) {
+                        break;
+                    }
+                }
+                feed(upload, buffer);
+            } finally {
+                buffers.release(buffer);
+            }
+        }
+    }
+
+    private void feed(Upload upload, ByteBuffer buffer) {
+        buffer.flip();
+        synchronized (upload) {
+            upload.bytes += buffer.remaining();
+            if (upload.bytes > maxBytesPerUpload) {
+                abort(upload);
+                throw new VoiceUploadException(HttpStatus.CONTENT_TOO_LARGE, "Spoken answer is too long.");
+            }
+            upload.stream.accept(buffer);
+        }
+        buffer.clear();
+    }
+
+    private ByteBuffer acquireBuffer() {
+        ByteBuffer buffer;
+        try {
+            buffer = buffers.acquire(bufferWaitMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            buffer = null;
+        }
+        if (buffer == null) {
+            throw new VoiceUploadException(HttpStatus.SERVICE_UNAVAILABLE, "Voice uploads are busy, please retry the chunk.");
+        }
+        return buffer;
+    }
+
+    private Upload find(String sessionId, String uploadId) {
+        Upload upload = uploads.get(uploadId);
+        if (upload == null || !upload.sessionId.equals(sessionId)) {
+            throw new VoiceUploadException(HttpStatus.NOT_FOUND, "No voice upload " + uploadId + ".");
+        }
+        return upload;
+    }
+
+    private void abort(Upload upload) {
+        upload.finished = true;
+        uploads.values().remove(upload);
+        upload.stream.abort();
+    }
+
+    private void expireIdle() {
+        long cutoff = System.currentTimeMillis() - ttlMillis;
+        for (Upload upload : uploads.values()) {
+            if (upload.lastActivity < cutoff) {
+                synchronized (upload) {
+                    if (!upload.finished && !upload.receiving && upload.lastActivity < cutoff) {
+                        abort(upload);
+                    }
+                }
+            }
+        }
+    }
+
+    public record Progress(long receivedBytes, String partialTranscript) {
+    }
+
+    public record Transcript(String questionId, String text, long bytes) {
+    }
+
+    private static final class Upload {
+        private final String sessionId;
+        private final String questionId;
+        private final TranscriptionEngine.Stream stream;
+        private int nextSeq;
+        private long bytes;
+        private boolean finished;
+        // A request is reading a chunk into the stream.
+        private boolean receiving;
+        private volatile long lastActivity = System.currentTimeMillis();
+
+        private Upload(String sessionId, String questionId, TranscriptionEngine.Stream stream) {
+            this.sessionId = sessionId;
+            this.questionId = questionId;
+            this.stream = stream;
+        }
+    }
+}
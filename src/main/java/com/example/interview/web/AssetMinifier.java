@@ -0,0 +1,120 @@
+package com.example.interview.web;
+
+/**
+ * Conservative, line-based minification for the SPA's own assets. Nothing here parses the languages,
+ * so it only removes what is safe without a parser: comments and indentation in CSS, indentation,
+ * blank lines and whole-line comments in JS (line breaks stay for automatic semicolon insertion), and
+ * indentation and blank lines in HTML outside {@code <pre>} and {@code <textarea>}.
+ */
+final class AssetMinifier {
+
+    private AssetMinifier() {
+    }
+
+    static String minify(String name, String source) {
+        if (name.endsWith(".css")) {
+            return css(source);
+        }
+        if (name.endsWith(".js")) {
+            return js(source);
+        }
+        if (name.endsWith(".html")) {
+            return html(source);
+        }
+        return source;
+    }
+
+    static String css(String source) {
+        StringBuilder out = new StringBuilder(source.length());
+        char quote = 0;
+        boolean space = false;
+        for (int i = 0; i < source.length(); i++) {
+            char c = source.charAt(i);
+            if (quote != 0) {
+                out.append(c);
+                if (c == '\\' && i + 1 < source.length()) {
+                    out.append(source.charAt(++i));
+                } else if (c == quote) {
+                    quote = 0;
+                }
+                continue;
+            }
+            if (c == '/' && i + 1 < source.length() && source.charAt(i + 1) == '*') {
+                int end = source.indexOf("*/", i + 2);
+                i = end < 0 ? source.length() : end + 1;
+                continue;
+            }
+            if (Character.isWhitespace(c)) {
+                space = true;
+                continue;
+            }
+            if (space && !out.isEmpty() && !isCssPunctuation(c) && !isCssPunctuation(out.charAt(out.length() - 1))) {
+                out.append(' ');
+            }
+            space = false;
+            if (c == '"' || c == '\'') {
+                quote = c;
+            }
+            out.append(c);
+        }
+        return out.toString();
+    }
+
+    static String js(String source) {
+        StringBuilder out = new StringBuilder(source.length());
+        boolean inTemplate = false;
+        for (String line : source.split("\n", -1)) {
+            if (inTemplate) {
+                // Inside a multi-line template literal every character is part of the string.
+                out.append(line).append('\n');
+            } else {
+                String trimmed = line.strip();
+                if (!trimmed.isEmpty() && !trimmed.startsWith("//")) {
+                    out.append(trimmed).append('\n');
+                }
+            }
+            inTemplate ^= countBackticks(line) % 2 == 1;
+        }
+        return out.toString();
+    }
+
+    static String html(String source) {
+        StringBuilder out = new StringBuilder(source.length());
+        boolean verbatim = false;
+        for (String line : source.split("\n", -1)) {
+            String lower = line.toLowerCase();
+            if (verbatim) {
+                out.append(line).append('\n');
+            } else {
+                String trimmed = line.strip();
+                if (!trimmed.isEmpty()) {
+                    out.append(trimmed).append('\n');
+                }
+            }
+            if (lower.contains("<pre") || lower.contains("<textarea")) {
+                verbatim = true;
+            }
+            if (lower.contains("</pre>") || lower.contains("</textarea>")) {
+                verbatim = false;
+            }
+        }
+        return out.toString();
+    }
+
+    private static boolean isCssPunctuation(char c) {
+        return c == '{' || c == '}' || c == ';' || c == ',' || c == '>';
+    }
+
+    private static int countBackticks(String line) {
+        int count = 0;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c == '\\') {
+                i++;
+            } else if (c == '`') {
+                count++;
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.interview.web;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serves the precomputed UI assets. Fingerprinted files are cacheable forever; the page itself is
+ * revalidated on every load, which costs a 304 unless a new build changed it.
+ */
+@RestController
+public class StaticAssetController {
+
+    private static final CacheControl IMMUTABLE = CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic().immutable();
+
+    private final StaticAssets assets;
+
+    public StaticAssetController(StaticAssets assets) {
+        this.assets = assets;
+    }
+
+    @GetMapping({"/", "/index.html"})
+    public ResponseEntity<byte[]> page(
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
+    ) {
+        return serve(assets.page(), CacheControl.noCache(), acceptEncoding, ifNoneMatch);
+    }
+
+    @GetMapping(StaticAssets.ASSET_PREFIX + "{name:.+}")
+    public ResponseEntity<byte[]> asset(
+            @PathVariable("name") String name,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
+    ) {
+        StaticAssets.Asset asset = assets.find(name);
+        if (asset == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return serve(asset, IMMUTABLE, acceptEncoding, ifNoneMatch);
+    }
+
+    static ResponseEntity<byte[]> serve(StaticAssets.Asset asset, CacheControl cacheControl,
+                                        String acceptEncoding, String ifNoneMatch) {
+        boolean gzip = asset.gzipped() != null && acceptEncoding != null && acceptEncoding.contains("gzip");
+        // Each encoding is a different representation, so it needs its own strong validator.
+        String etag = "\"" + asset.etag() + (gzip ? "-gz" : "") + "\"";
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setCacheControl(cacheControl);
+        headers.setETag(etag);
+        headers.setVary(List.of(HttpHeaders.ACCEPT_ENCODING));
+        if (ifNoneMatch != null && (ifNoneMatch.contains(etag) || ifNoneMatch.trim().equals("*"))) {
+            return new ResponseEntity<>(headers, HttpStatus.NOT_MODIFIED);
+        }
+
+        headers.setContentType(MediaType.parseMediaType(asset.contentType()));
+        // Set explicitly so MVC's download protection does not add an attachment-style filename.
+        headers.setContentDisposition(ContentDisposition.inline().build());
+        if (gzip) {
+            headers.set(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        byte[] body = gzip ? asset.gzipped() : asset.body();
+        headers.setContentLength(body.length);
+        return new ResponseEntity<>(body, headers, HttpStatus.OK);
+    }
+}
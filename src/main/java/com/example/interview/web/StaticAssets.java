@@ -0,0 +1,136 @@
+package com.example.interview.web;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Asset stage for the single-page UI. On startup the page under {@code web/} and every stylesheet and
+ * script it references are minified, fingerprinted by content hash and gzip-compressed once; the page is
+ * rewritten to point at the fingerprinted names under {@code /assets/}. Requests are then served from
+ * these precomputed bytes with no per-request work.
+ */
+@Component
+public class StaticAssets {
+
+    public static final String ASSET_PREFIX = "/assets/";
+    // Paths that never need authentication and skip the JWT filter entirely.
+    public static final String[] PUBLIC_PATHS = {"/", "/index.html", ASSET_PREFIX + "**"};
+
+    private static final Pattern REFERENCE = Pattern.compile("(href|src)=\"/((?:css|js)/[^\"]+)\"");
+    private static final int FINGERPRINT_LENGTH = 12;
+
+    private final DefaultResourceLoader resources = new DefaultResourceLoader();
+    private final String location;
+    private final boolean minify;
+    private final Map<String, Asset> assets = new HashMap<>();
+    private final Asset page;
+
+    public StaticAssets(
+            @Value("${static-assets.location:classpath:web/}") String location,
+            @Value("${static-assets.minify:true}") boolean minify
+    ) {
+        this.location = location.endsWith("/") ? location : location + "/";
+        this.minify = minify;
+        this.page = buildPage();
+    }
+
+    public Asset page() {
+        return page;
+    }
+
+    /**
+     * @param name fingerprinted file name, as linked from the page
+     */
+    public Asset find(String name) {
+        return assets.get(name);
+    }
+
+    public static boolean isPublicPath(String path) {
+        return path.equals("/") || path.equals("/index.html") || path.startsWith(ASSET_PREFIX);
+    }
+
+    private Asset buildPage() {
+        String html = read("index.html");
+        Matcher matcher = REFERENCE.matcher(html);
+        StringBuilder rewritten = new StringBuilder(html.length());
+        while (matcher.find()) {
+            Asset asset = build(matcher.group(2));
+            assets.put(asset.name(), asset);
+            matcher.appendReplacement(rewritten,
+                    Matcher.quoteReplacement(matcher.group(1) + "=\"" + ASSET_PREFIX + asset.name() + "\""));
+        }
+        matcher.appendTail(rewritten);
+        return asset("index.html", "text/html;charset=UTF-8", rewritten.toString());
+    }
+
+    private Asset build(String path) {
+        String source = read(path);
+        String fileName = path.substring(path.lastIndexOf('/') + 1);
+        int dot = fileName.lastIndexOf('.');
+        String contentType = fileName.endsWith(".css") ? "text/css;charset=UTF-8" : "text/javascript;charset=UTF-8";
+        Asset unnamed = asset(fileName, contentType, source);
+        String fingerprinted = fileName.substring(0, dot) + "." + unnamed.etag() + fileName.substring(dot);
+        return new Asset(fingerprinted, contentType, unnamed.body(), unnamed.gzipped(), unnamed.etag());
+    }
+
+    private Asset asset(String name, String contentType, String source) {
+        byte[] body = (minify ? AssetMinifier.minify(name, source) : source).getBytes(StandardCharsets.UTF_8);
+        byte[] gzipped = gzip(body);
+        return new Asset(name, contentType, body, gzipped.length < body.length ? gzipped : null, fingerprint(body));
+    }
+
+    private String read(String path) {
+        Resource resource = resources.getResource(location + path);
+        try (InputStream in = resource.getInputStream()) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read static asset " + location + path, e);
+        }
+    }
+
+    private static byte[] gzip(byte[] body) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 3 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out) {
+            {
+                def.setLevel(Deflater.BEST_COMPRESSION);
+            }
+        }) {
+            gzip.write(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    private static String fingerprint(byte[] body) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(body);
+            return HexFormat.of().formatHex(hash).substring(0, FINGERPRINT_LENGTH);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * A precomputed asset. {@code gzipped} is null when compression would not make it smaller.
+     */
+    public record Asset(String name, String contentType, byte[] body, byte[] gzipped, String etag) {
+    }
+}
@@ -0,0 +1,692 @@
+// ==========================
+// CONFIG
+// ==========================
+const API_BASE_INTERVIEW_URL = "http://localhost:3035/api/interview";
+const API_BASE_AUTH_URL = "http://localhost:3035/api/auth";
+const INTERVIEW_CHANNEL_URL = "ws://localhost:3035/ws/interview";
+
+// ==========================
+// STATE
+// ==========================
+let sessionId = null;
+let recognition = null;
+let recognizing = false;
+let lastQuestionText = "";
+let lastQuestionId = "";
+let authToken = null;
+let currentUser = null;
+let channel = null;
+let channelReplies = [];
+
+// ==========================
+// DOM Elements
+// ==========================
+const chatWindow = document.getElementById("chat-window");
+const answerForm = document.getElementById("answer-form");
+const answerInput = document.getElementById("answer");
+const finishBtn = document.getElementById("finish-btn");
+const liveMsg = document.getElementById("live-message");
+const sessionChip = document.getElementById("session-chip");
+const currentQuestionBubble = document.getElementById("current-question-bubble");
+const sendAnswerBtn = document.getElementById("send-answer-btn");
+const voiceBtn = document.getElementById("voice-btn");
+const speakQuestionBtn = document.getElementById("speak-question-btn");
+const voiceStatus = document.getElementById("voice-status");
+
+// Feedback elements
+const summaryEl = document.getElementById("overallSummary");
+const scoresListEl = document.getElementById("scores-list");
+const strengthsListEl = document.getElementById("strengths-list");
+const areasListEl = document.getElementById("areas-list");
+const samplesListEl = document.getElementById("samples-list");
+
+// Auth elements
+const topbarSigninBtn = document.getElementById('topbar-signin-btn');
+const topbarSignupBtn = document.getElementById('topbar-signup-btn');
+const sidebarSigninLink = document.getElementById('sidebar-signin-link');
+const sidebarSignupLink = document.getElementById('sidebar-signup-link');
+const sidebarSignoutLink = document.getElementById('sidebar-signout-link');
+
+
+// ==========================
+// UTILS
+// ==========================
+function capitalize(str) {
+    if (!str) return "";
+    return str.charAt(0).toUpperCase() + str.slice(1);
+}
+
+function authHeaders() {
+    const headers = { "Content-Type": "application/json" };
+    if (authToken) {
+        headers["Authorization"] = "Bearer " + authToken;
+    }
+    return headers;
+}
+
+async function apiFetch(url, options = {}) {
+    const response = await fetch(url, { ...options, headers: { ...authHeaders(), ...(options.headers || {}) } });
+    if (!response.ok) {
+        const text = await response.text();
+        let errorMsg = text || "HTTP " + response.status;
+        try {
+            const json = JSON.parse(text);
+            errorMsg = json.error || json.message || errorMsg;
+        } catch {}
+        throw new Error(errorMsg);
+    }
+    if (response.status === 204) return null;
+    return response.json();
+}
+
+
+// ==========================
+// INTERVIEW CHANNEL
+// ==========================
+// One WebSocket per live interview. The server answers frames in order, so replies are matched to
+// requests first-in first-out. Transport failures fall back to the HTTP API.
+function openChannel(id) {
+    closeChannel();
+    if (!("WebSocket" in window) || !authToken) return;
+    const ws = new WebSocket(INTERVIEW_CHANNEL_URL + "?access_token=" + encodeURIComponent(authToken));
+    ws.onopen = () => {
+        channel = ws;
+        // A session held by another node is served over HTTP, which the server forwards to that node.
+        channelRequest({ type: "join", sessionId: id })
+            .then(reply => { if (reply.type === "moved" && channel === ws) closeChannel(); })
+            .catch(() => {});
+    };
+    ws.onmessage = (e) => {
+        const waiter = channelReplies.shift();
+        if (!waiter) return;
+        const reply = JSON.parse(e.data);
+        if (reply.type === "error") {
+            waiter.reject(new Error(reply.message));
+        } else {
+            waiter.resolve(reply);
+        }
+    };
+    ws.onclose = () => {
+        if (channel === ws) channel = null;
+        const pending = channelReplies;
+        channelReplies = [];
+        pending.forEach(w => w.reject(channelDown()));
+    };
+}
+
+function closeChannel() {
+    if (channel) channel.close();
+    channel = null;
+}
+
+function channelDown() {
+    const err = new Error("Interview channel unavailable");
+    err.transport = true;
+    return err;
+}
+
+function channelRequest(frame) {
+    if (!channel || channel.readyState !== WebSocket.OPEN) {
+        return Promise.reject(channelDown());
+    }
+    return new Promise((resolve, reject) => {
+        channelReplies.push({ resolve, reject });
+        channel.send(JSON.stringify(frame));
+    });
+}
+
+// Sends over the channel when it is up, otherwise (or if it drops mid-request) over HTTP.
+async function viaChannel(frame, httpFallback) {
+    try {
+        return await channelRequest(frame);
+    } catch (err) {
+        if (!err.transport) throw err;
+        return httpFallback();
+    }
+}
+
+
+// ==========================
+// AUTH LOGIC
+// ==========================
+function setAuthState(token, user) {
+    authToken = token;
+    currentUser = user;
+    const signedIn = !!token;
+
+    if (signedIn) {
+        localStorage.setItem('jwt', token);
+        localStorage.setItem('user', JSON.stringify(user));
+
+        topbarSigninBtn.style.display = 'none';
+        topbarSignupBtn.style.display = 'none';
+        sidebarSigninLink.style.display = 'none';
+        sidebarSignupLink.style.display = 'none';
+
+        sidebarSignoutLink.style.display = 'block';
+        sidebarSignoutLink.textContent = `🚪 Sign Out (${user.fullName.split(' ')[0]})`;
+        sidebarSignoutLink.removeEventListener('click', signout); // Remove old listener before adding new one
+        sidebarSignoutLink.addEventListener('click', signout);
+    } else {
+        localStorage.removeItem('jwt');
+        localStorage.removeItem('user');
+
+        topbarSigninBtn.style.display = 'inline-flex';
+        topbarSignupBtn.style.display = 'inline-flex';
+        sidebarSigninLink.style.display = 'block';
+        sidebarSignupLink.style.display = 'block';
+        sidebarSignoutLink.style.display = 'none';
+    }
+}
+
+function loadAuthFromStorage() {
+    const token = localStorage.getItem('jwt');
+    const userJson = localStorage.getItem('user');
+    if (token && userJson) {
+        try {
+            const user = JSON.parse(userJson);
+            setAuthState(token, user);
+        } catch (e) {
+            setAuthState(null, null);
+        }
+    }
+}
+
+function signout() {
+    closeChannel();
+    setAuthState(null, null);
+    showPage('home');
+}
+
+// ==========================
+// SPA Page navigation
+// ==========================
+function showPage(pageName) {
+    // pages
+    document.querySelectorAll(".page").forEach(p => {
+        p.classList.toggle("active", p.id === "page-" + pageName);
+    });
+
+    // topbar active
+    document.querySelectorAll(".nav-link").forEach(btn => {
+        const target = btn.dataset.pageTarget;
+        btn.classList.toggle("active", target === pageName);
+    });
+
+    // sidebar active
+    document.querySelectorAll(".sidebar-link").forEach(link => {
+        const target = link.dataset.pageTarget;
+        if (!target) return;
+        link.classList.toggle("active", target === pageName);
+    });
+
+    // change tagline slightly
+    const tagline = document.getElementById("topbar-tagline");
+    if (tagline) {
+        if (pageName === "signin" && !authToken) tagline.textContent = "Sign in to continue";
+        else if (pageName === "signup" && !authToken) tagline.textContent = "Create your free account";
+        else if (pageName === "setup") tagline.textContent = "Configure your next mock interview";
+        else if (pageName === "live") tagline.textContent = "Live mock interview";
+        else if (pageName === "feedback") tagline.textContent = "Review your performance";
+        else tagline.textContent = "Practice smart. Improve faster.";
+    }
+
+    window.scrollTo({ top: 0, behavior: "instant" });
+
+    // Page-specific hooks
+    if (pageName === "live") {
+        initLivePage();
+    }
+    if (pageName === "feedback") {
+        renderFeedback();
+    }
+}
+
+document.addEventListener("click", (e) => {
+    const target = e.target.closest("[data-page-target]");
+    if (!target) return;
+    e.preventDefault();
+    const page = target.dataset.pageTarget;
+    showPage(page);
+});
+
+// -------- Sign In --------
+function initSigninPage() {
+    const form = document.getElementById("signin-form");
+    if (!form) return;
+    const msg = document.getElementById("signin-message");
+
+    form.addEventListener("submit", async (e) => {
+        e.preventDefault();
+        msg.textContent = "Signing in...";
+        msg.className = "form-message";
+
+        const body = {
+            email: document.getElementById("signin-email").value,
+            password: document.getElementById("signin-password").value
+        };
+
+        try {
+            const data = await apiFetch(API_BASE_AUTH_URL + "/login", {
+                method: "POST",
+                body: JSON.stringify(body),
+                headers: { "Content-Type": "application/json" }
+            });
+            setAuthState(data.token, { userId: data.userId, fullName: data.fullName, email: data.email });
+            msg.textContent = "Login successful!";
+            msg.classList.add("success");
+            setTimeout(() => showPage("home"), 700);
+        } catch (err) {
+            msg.textContent = "Login failed: " + err.message;
+            msg.classList.add("error");
+        }
+    });
+}
+
+// -------- Sign Up --------
+function initSignupPage() {
+    const form = document.getElementById("signup-form");
+    if (!form) return;
+    const msg = document.getElementById("signup-message");
+
+    form.addEventListener("submit", async (e) => {
+        e.preventDefault();
+        msg.textContent = "Creating account...";
+        msg.className = "form-message";
+
+        const body = {
+            fullName: document.getElementById("signup-fullName").value,
+            email: document.getElementById("signup-email").value,
+            password: document.getElementById("signup-password").value
+        };
+
+        try {
+            const data = await apiFetch(API_BASE_AUTH_URL + "/signup", {
+                method: "POST",
+                body: JSON.stringify(body),
+                headers: { "Content-Type": "application/json" }
+            });
+            setAuthState(data.token, { userId: data.userId, fullName: data.fullName, email: data.email });
+            msg.textContent = "Account created! You are logged in.";
+            msg.classList.add("success");
+            setTimeout(() => showPage("home"), 1000);
+        } catch (err) {
+            msg.textContent = "Sign up failed: " + err.message;
+            msg.classList.add("error");
+        }
+    });
+}
+
+// -------- Setup Interview --------
+function initSetupPage() {
+    const form = document.getElementById("setup-form");
+    if (!form) return;
+    const msg = document.getElementById("setup-message");
+
+    form.addEventListener("submit", async (e) => {
+        e.preventDefault();
+        if (!authToken) {
+            msg.textContent = "Please sign in to start an interview.";
+            msg.classList.add("error");
+            return;
+        }
+
+        msg.textContent = "Starting interview...";
+        msg.className = "form-message";
+
+        const role = document.getElementById("setup-role").value;
+        const experienceLevel = document.getElementById("setup-experienceLevel").value;
+        const interviewType = document.getElementById("setup-interviewType").value;
+
+        const body = { role, experienceLevel, interviewType };
+
+        try {
+            const data = await apiFetch(API_BASE_INTERVIEW_URL + "/start", {
+                method: "POST",
+                body: JSON.stringify(body)
+            });
+
+            sessionId = data.sessionId;
+            lastQuestionText = data.firstQuestion;
+            lastQuestionId = data.questionId || "";
+            localStorage.setItem("interviewSessionId", sessionId);
+            localStorage.setItem("lastRole", role);
+            localStorage.setItem("lastExperience", experienceLevel);
+            localStorage.setItem("lastType", interviewType);
+            localStorage.setItem("firstQuestion", data.firstQuestion);
+            localStorage.removeItem("lastFeedback");
+
+            showPage("live");
+        } catch (err) {
+            msg.textContent = "Failed to start interview: " + err.message;
+            msg.classList.add("error");
+        }
+    });
+}
+
+// ==========================
+// Chat Utilities
+// ==========================
+function appendQuestion(text) {
+    currentQuestionBubble.textContent = text;
+
+    const div = document.createElement("div");
+    div.className = "chat-bubble question";
+    div.textContent = text;
+    chatWindow.appendChild(div);
+}
+
+function appendAnswer(text) {
+    const div = document.createElement("div");
+    div.className = "chat-bubble answer";
+    div.textContent = text;
+    chatWindow.appendChild(div);
+}
+
+// ==========================
+// SPEECH RECOGNITION (STT)
+// ==========================
+function initSpeechRecognition() {
+    const SpeechRecognition = window.SpeechRecognition || window.webkitSpeechRecognition;
+    if (!SpeechRecognition) {
+        voiceStatus.textContent = "Voice recognition not supported in this browser.";
+        voiceBtn.disabled = true;
+        return;
+    }
+    recognition = new SpeechRecognition();
+    recognition.lang = 'en-US';
+    recognition.interimResults = true;
+    recognition.continuous = false;
+
+    recognition.onstart = () => {
+        recognizing = true;
+        voiceStatus.textContent = "Listening... speak now.";
+        voiceBtn.textContent = "🛑 Stop Speaking";
+    };
+
+    recognition.onerror = (event) => {
+        console.error("Speech recognition error:", event);
+        voiceStatus.textContent = "Error: " + event.error;
+        recognizing = false;
+        voiceBtn.textContent = "🎙 Start Speaking";
+    };
+
+    recognition.onend = () => {
+        recognizing = false;
+        voiceStatus.textContent = "Voice: idle";
+        voiceBtn.textContent = "🎙 Start Speaking";
+    };
+
+    recognition.onresult = (event) => {
+        let transcript = "";
+        for (let i = event.resultIndex; i < event.results.length; ++i) {
+            transcript += event.results[i][0].transcript;
+        }
+        answerInput.value = transcript.trim();
+    };
+}
+
+function toggleVoice() {
+    if (!recognition) return;
+    if (recognizing) {
+        recognition.stop();
+    } else {
+        answerInput.value = "";
+        recognition.start();
+    }
+}
+
+// ==========================
+// SPEECH SYNTHESIS (TTS)
+// ==========================
+function speak(text) {
+    if (!window.speechSynthesis) {
+        voiceStatus.textContent = "Speech synthesis not supported.";
+        return;
+    }
+    const utterance = new SpeechSynthesisUtterance(text);
+    utterance.rate = 1.0;
+    utterance.pitch = 1.0;
+    speechSynthesis.cancel();
+    speechSynthesis.speak(utterance);
+}
+
+// ==========================
+// Core Live Page Logic
+// ==========================
+async function sendAnswer() {
+    if (!sessionId) {
+        liveMsg.textContent = "No active session. Please start an interview first.";
+        liveMsg.classList.add("error");
+        return;
+    }
+    const text = answerInput.value.trim();
+    if (!text) {
+        liveMsg.textContent = "Please type or speak your answer.";
+        liveMsg.classList.add("error");
+        return;
+    }
+
+    const payload = {
+        text: text,
+        durationSeconds: 60,
+        questionId: lastQuestionId
+    };
+
+    appendAnswer(text);
+    answerInput.value = "";
+    sendAnswerBtn.disabled = true;
+    liveMsg.textContent = "Sending answer...";
+    liveMsg.classList.remove("error", "success");
+    chatWindow.scrollTop = chatWindow.scrollHeight;
+
+    try {
+        const data = await viaChannel({ type: "answer", ...payload },
+            () => apiFetch(`${API_BASE_INTERVIEW_URL}/${sessionId}/answer`, {
+                method: "POST",
+                headers: { "Idempotency-Key": sessionId + ":answer:" + (lastQuestionId || Date.now()) },
+                body: JSON.stringify(payload)
+            }).then(r => ({ question: r.nextQuestion, questionId: r.questionId })));
+        data.nextQuestion = data.question;
+
+        lastQuestionText = data.nextQuestion;
+        lastQuestionId = data.questionId || "";
+        appendQuestion(data.nextQuestion);
+        chatWindow.scrollTop = chatWindow.scrollHeight;
+
+        speak(data.nextQuestion);
+        liveMsg.textContent = "Answer sent. New question received.";
+        sendAnswerBtn.disabled = false;
+    } catch (err) {
+        liveMsg.textContent = "Error sending answer: " + err.message;
+        liveMsg.classList.add("error");
+        sendAnswerBtn.disabled = false;
+    }
+}
+
+async function finishInterview() {
+    if (!sessionId) return;
+    liveMsg.textContent = "Finishing interview...";
+    liveMsg.classList.remove("error", "success");
+    finishBtn.disabled = true;
+
+    try {
+        const feedback = await viaChannel({ type: "finish" },
+            () => apiFetch(`${API_BASE_INTERVIEW_URL}/${sessionId}/finish`, {
+                method: "POST",
+                headers: { "Idempotency-Key": sessionId + ":finish" }
+            }).then(f => ({ feedback: f }))).then(r => r.feedback);
+        closeChannel();
+        localStorage.setItem("lastFeedback", JSON.stringify(feedback));
+        liveMsg.textContent = "Interview finished! Opening feedback...";
+        liveMsg.classList.add("success");
+        if (feedback.pending) {
+            pollDeferredFeedback(sessionId, 0);
+        }
+        sessionId = null;
+        showPage("feedback");
+    } catch (err) {
+        liveMsg.textContent = "Could not finish interview: " + err.message;
+        liveMsg.classList.add("error");
+        finishBtn.disabled = false;
+    }
+}
+
+
+let liveInitialized = false;
+
+function initLivePage() {
+    sessionId = localStorage.getItem("interviewSessionId");
+
+    if (!sessionId) {
+        liveMsg.textContent = "No active session. Please setup a new interview first.";
+        liveMsg.classList.add("error");
+        answerForm.style.display = "none";
+        sessionChip.textContent = "No Session";
+        finishBtn.disabled = true;
+        sendAnswerBtn.disabled = true;
+        return;
+    }
+
+    answerForm.style.display = "flex";
+    finishBtn.disabled = false;
+    sendAnswerBtn.disabled = false;
+    sessionChip.textContent = "Session: " + sessionId.substring(0, 8) + "...";
+    openChannel(sessionId);
+
+    // Load session details
+    const firstQ = localStorage.getItem("firstQuestion");
+    if (firstQ) {
+        lastQuestionText = firstQ;
+        currentQuestionBubble.textContent = firstQ;
+    }
+
+    const role = localStorage.getItem("lastRole");
+    const exp = localStorage.getItem("lastExperience");
+    const type = localStorage.getItem("lastType");
+
+    document.getElementById('ai-hint-text').innerHTML = `**Role:** ${role} | **Level:** ${exp} | **Type:** ${type}. <br/>Answer the questions clearly and confidently.`;
+
+    if (!liveInitialized) {
+        liveInitialized = true;
+        initSpeechRecognition();
+
+        answerForm.addEventListener("submit", (e) => {
+            e.preventDefault();
+            sendAnswer();
+        });
+
+        finishBtn.addEventListener("click", finishInterview);
+        voiceBtn.addEventListener('click', toggleVoice);
+        speakQuestionBtn.addEventListener('click', () => {
+            if (lastQuestionText) speak(lastQuestionText);
+        });
+    }
+}
+
+// -------- Feedback --------
+// Feedback is generated later when the AI service was unavailable at finish time.
+function pollDeferredFeedback(id, attempt) {
+    if (attempt >= 60) return;
+    setTimeout(async () => {
+        try {
+            const feedback = await apiFetch(`${API_BASE_INTERVIEW_URL}/${id}/feedback`);
+            if (feedback && !feedback.pending) {
+                localStorage.setItem("lastFeedback", JSON.stringify(feedback));
+                renderFeedback();
+                return;
+            }
+        } catch {}
+        pollDeferredFeedback(id, attempt + 1);
+    }, 10000);
+}
+
+function renderFeedback() {
+    const raw = localStorage.getItem("lastFeedback");
+
+    if (!raw) {
+        summaryEl.textContent = "No feedback loaded yet. Finish an interview to see results.";
+        scoresListEl.innerHTML = '<li><span>Communication</span><strong>N/A</strong></li>';
+        strengthsListEl.innerHTML = '<span class="pill">No strengths listed yet.</span>';
+        areasListEl.innerHTML = '<span class="pill">No areas to improve listed yet.</span>';
+        samplesListEl.innerHTML = '<div class="sample-item"><div class="sample-q">Q: N/A</div><span class="sample-a">No sample answers yet.</span></div>';
+        document.getElementById("feedback-header-tagline").textContent = "No data available.";
+        return;
+    }
+
+    let feedback;
+    try {
+        feedback = JSON.parse(raw);
+    } catch {
+        return;
+    }
+
+    document.getElementById("feedback-header-tagline").textContent = `Analysis for ${localStorage.getItem("lastRole") || 'last session'}.`;
+
+    if (summaryEl && feedback.overallSummary) {
+        summaryEl.textContent = feedback.overallSummary;
+    }
+
+    if (scoresListEl && feedback.scores) {
+        scoresListEl.innerHTML = "";
+        Object.entries(feedback.scores).forEach(([k, v]) => {
+            const li = document.createElement("li");
+            li.innerHTML = `<span>${capitalize(k)}</span><strong>${v} / 10</strong>`;
+            scoresListEl.appendChild(li);
+        });
+    }
+
+    if (strengthsListEl && Array.isArray(feedback.strengths)) {
+        strengthsListEl.innerHTML = "";
+        if (feedback.strengths.length === 0) {
+             strengthsListEl.innerHTML = '<span class="pill">No strengths listed.</span>';
+        } else {
+            feedback.strengths.forEach(s => {
+                const pill = document.createElement('span');
+                pill.className = "pill";
+                pill.textContent = s;
+                strengthsListEl.appendChild(pill);
+            });
+        }
+    }
+
+    if (areasListEl && Array.isArray(feedback.areasToImprove)) {
+        areasListEl.innerHTML = "";
+        if (feedback.areasToImprove.length === 0) {
+             areasListEl.innerHTML = '<span class="pill">Nothing specific listed.</span>';
+        } else {
+            feedback.areasToImprove.forEach(a => {
+                const pill = document.createElement('span');
+                pill.className = "pill";
+                pill.textContent = a;
+                areasListEl.appendChild(pill);
+            });
+        }
+    }
+
+    if (samplesListEl && Array.isArray(feedback.sampleImprovedAnswers)) {
+        samplesListEl.innerHTML = "";
+        if (feedback.sampleImprovedAnswers.length === 0) {
+            samplesListEl.innerHTML = '<div class="sample-item"><div class="sample-q">Q: N/A</div><span class="sample-a">No sample answers available.</span></div>';
+        } else {
+            feedback.sampleImprovedAnswers.forEach(item => {
+                const div = document.createElement("div");
+                div.className = "sample-item";
+                div.innerHTML = `
+                    <div class="sample-q">Q: ${item.question}</div>
+                    <span class="sample-a-label">Improved Answer</span>
+                    <span class="sample-a">${item.improvedAnswer}</span>
+                `;
+                samplesListEl.appendChild(div);
+            });
+        }
+    }
+}
+
+// Initialize
+document.addEventListener("DOMContentLoaded", () => {
+    loadAuthFromStorage();
+    initSigninPage();
+    initSignupPage();
+    initSetupPage();
+});
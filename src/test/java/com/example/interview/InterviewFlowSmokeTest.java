@@ -0,0 +1,181 @@
+package com.example.interview;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * End-to-end interview through the public API against a stub OpenAI-compatible LLM and an in-memory H2 database:
+ * sign up, log in, start, answer, finish, and the session's token usage. No mocks, so it also runs as a native test
+ * ({@code ./mvnw -PnativeTest test -Dtest=InterviewFlowSmokeTest}) and checks the image's reachability metadata on
+ * the real code paths.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "llm.provider=OPENAI",
+        "llm.api-key=stub",
+        "llm.model=stub",
+        "security.jwt.secret=smoke-test-secret-0123456789abcdef0123456789",
+        "transcript-log.enabled=false",
+        "spring.datasource.url=jdbc:h2:mem:smoke;MODE=MariaDB;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect"
+})
+class InterviewFlowSmokeTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final HttpServer STUB_LLM = startStubLlm();
+
+    @LocalServerPort
+    int port;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @DynamicPropertySource
+    static void llmUrl(DynamicPropertyRegistry registry) {
+        registry.add("llm.base-url", () -> "http://127.0.0.1:" + STUB_LLM.getAddress().getPort());
+    }
+
+    @AfterAll
+    static void stopStubLlm() {
+        STUB_LLM.stop(0);
+    }
+
+    @Test
+    void signupLoginStartAnswerFinish() throws Exception {
+        String email = "smoke-" + UUID.randomUUID() + "@example.com";
+        JsonNode signup = post("/api/auth/signup", null, MAPPER.createObjectNode()
+                .put("fullName", "Smoke Test").put("email", email).put("password", "smoke-password"));
+        assertNotNull(signup.get("token"));
+
+        String token = post("/api/auth/login", null, MAPPER.createObjectNode()
+                .put("email", email).put("password", "smoke-password")).get("token").asText();
+
+        JsonNode started = post("/api/interview/start", token, MAPPER.createObjectNode()
+                .put("role", "Java Backend Developer").put("experienceLevel", "Junior").put("interviewType", "TECHNICAL"));
+        String sessionId = started.get("sessionId").asText();
+        assertEquals(StubLlm.QUESTION, started.get("firstQuestion").asText());
+
+        JsonNode next = post("/api/interview/" + sessionId + "/answer", token, MAPPER.createObjectNode()
+                .put("questionId", started.get("questionId").asText())
+                .put("text", "I would add an index and check the query plan.")
+                .put("durationSeconds", 30));
+        assertEquals(StubLlm.QUESTION, next.get("nextQuestion").asText());
+
+        JsonNode feedback = post("/api/interview/" + sessionId + "/finish", token, MAPPER.createObjectNode());
+        assertEquals(StubLlm.SUMMARY, feedback.get("overallSummary").asText());
+        assertFalse(feedback.get("scores").isEmpty());
+        assertFalse(feedback.get("pending").asBoolean());
+
+        JsonNode usage = send(HttpRequest.newBuilder(uri("/api/usage/sessions/" + sessionId)).GET(), token);
+        assertEquals("stub", usage.get(0).get("key").asText());
+        assertTrue(usage.get(0).get("calls").asLong() > 2);
+    }
+
+    private JsonNode post(String path, String token, ObjectNode body) throws Exception {
+        return send(HttpRequest.newBuilder(uri(path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body.toString())), token);
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://127.0.0.1:" + port + path);
+    }
+
+    private JsonNode send(HttpRequest.Builder request, String token) throws Exception {
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+        HttpResponse<String> response = client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+        assertEquals(200, response.statusCode(), response.uri() + ": " + response.body());
+        return MAPPER.readTree(response.body());
+    }
+
+    private static HttpServer startStubLlm() {
+        try {
+            HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+            server.createContext("/v1/chat/completions", exchange -> {
+                JsonNode request = MAPPER.readTree(exchange.getRequestBody());
+                byte[] reply = StubLlm.complete(request).getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().add("Content-Type", "application/json");
+                exchange.sendResponseHeaders(200, reply.length);
+                exchange.getResponseBody().write(reply);
+                exchange.close();
+            });
+            server.start();
+            return server;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Answers chat completions in the OpenAI format: a fixed question for free-text prompts, and a fixed
+     * object matching the requested schema for structured ones.
+     */
+    static final class StubLlm {
+
+        static final String QUESTION = "How would you find out why a query became slow?";
+        static final String SUMMARY = "Solid fundamentals; go deeper on trade-offs.";
+
+        static String complete(JsonNode request) {
+            String schema = request.path("response_format").path("json_schema").path("name").asText("");
+            ObjectNode content = MAPPER.createObjectNode();
+            switch (schema) {
+                case "" -> {
+                    return envelope(QUESTION);
+                }
+                case "Overview" -> overview(content);
+                case "DimensionScore" -> content.put("score", 7);
+                case "ImprovedAnswer" -> content.put("improvedAnswer", "Start from the query plan.");
+                case "InterviewFeedback" -> {
+                    overview(content);
+                    ObjectNode scores = content.putObject("scores");
+                    request.path("response_format").path("json_schema").path("schema").path("properties")
+                            .path("scores").path("properties").fieldNames()
+                            .forEachRemaining(dimension -> scores.put(dimension, 7));
+                    content.putArray("sampleImprovedAnswers");
+                }
+                default -> throw new IllegalArgumentException("Unexpected schema " + schema);
+            }
+            return envelope(content.toString());
+        }
+
+        private static void overview(ObjectNode content) {
+            content.put("overallSummary", SUMMARY);
+            content.putArray("strengths").add("Clear structure");
+            content.putArray("areasToImprove").add("Quantify impact");
+        }
+
+        private static String envelope(String content) {
+            ObjectNode response = MAPPER.createObjectNode();
+            response.putArray("choices").addObject().putObject("message")
+                    .put("role", "assistant").put("content", content);
+            response.putObject("usage").put("prompt_tokens", 100).put("completion_tokens", 20);
+            return response.toString();
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package com.example.interview;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Startup benchmark: launches the application in fresh JVMs and measures the time from launch to the first
+ * response from {@code /api/interview} (any status, i.e. the server is taking requests) and to the first
+ * authenticated 200 from it (sign-up, then the API itself). A baseline start is compared with a start using the
+ * candidate JVM options. Only runs when a candidate is given, for example:
+ * <pre>
+ * mvn test -Dtest=StartupBenchmarkTest \
+ *     -Dstartup.benchmark.args="-Dspring.datasource.url=jdbc:h2:mem:bench -Dspring.datasource.driver-class-name=org.h2.Driver
+ *         -Dspring.datasource.username=sa -Dspring.datasource.password=
+ *         -Dspring.jpa.database-platform=org.hibernate.dialect.H2Dialect -Dsecurity.jwt.secret=&lt;32+ byte secret&gt;" \
+ *     -Dstartup.benchmark.candidate="-Dspring.profiles.active=fast-start"
+ * </pre>
+ * Either side runs on the test class path unless its options bring their own {@code -cp} or {@code -jar}, so a
+ * packaged build ({@code startup.benchmark.baseline="-jar target/interview-0.0.1-SNAPSHOT.jar"}) can be
+ * compared with the fast-start one ({@code -XX:SharedArchiveFile=target/fast-start/application.jsa
+ * -Dspring.aot.enabled=true -Dspring.profiles.active=fast-start -jar target/fast-start/interview-0.0.1-SNAPSHOT.jar}).
+ */
+@EnabledIfSystemProperty(named = "startup.benchmark.candidate", matches = ".*")
+class StartupBenchmarkTest {
+
+    private static final Duration STARTUP_LIMIT = Duration.ofMinutes(2);
+
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofMillis(200)).build();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void timeToFirstInterviewApiResponse() throws Exception {
+        int runs = Integer.getInteger("startup.benchmark.runs", 3);
+        List<String> common = split(System.getProperty("startup.benchmark.args", ""));
+        List<String> plain = split(System.getProperty("startup.benchmark.baseline", ""));
+        List<String> candidate = split(System.getProperty("startup.benchmark.candidate"));
+        Path logs = Files.createDirectories(Path.of("target", "startup-benchmark"));
+
+        List<Timing> baseline = new ArrayList<>();
+        List<Timing> tuned = new ArrayList<>();
+        for (int run = 0; run < runs; run++) {
+            // Alternate so drift in machine load affects both sides alike.
+            baseline.add(measure(common, plain, logs.resolve("baseline-" + run + ".log")));
+            tuned.add(measure(common, candidate, logs.resolve("candidate-" + run + ".log")));
+        }
+        report("baseline ", baseline);
+        report("candidate", tuned);
+    }
+
+    private Timing measure(List<String> common, List<String> extra, Path log) throws Exception {
+        int port;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.add("-Dserver.port=" + port);
+        command.addAll(common);
+        command.addAll(extra);
+        if (!extra.contains("-jar")) {
+            if (!extra.contains("-cp")) {
+                command.add("-cp");
+                command.add(System.getProperty("java.class.path"));
+            }
+            command.add(AiInterviewAgentApplication.class.getName());
+        }
+
+        long launched = System.nanoTime();
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).redirectOutput(log.toFile()).start();
+        try {
+            String base = "http://127.0.0.1:" + port;
+            long firstResponse = awaitFirstResponse(process, base + "/api/interview", launched, log.toFile()) - launched;
+            long firstAuthenticated = firstAuthenticatedResponse(base);
+            return new Timing(firstResponse, firstAuthenticated < 0 ? -1 : firstAuthenticated - launched);
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+        }
+    }
+
+    private long awaitFirstResponse(Process process, String url, long launched, File log) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url)).timeout(Duration.ofSeconds(5)).build();
+        while (System.nanoTime() - launched < STARTUP_LIMIT.toNanos()) {
+            if (!process.isAlive()) {
+                fail("Application exited during startup, see " + log);
+            }
+            try {
+                client.send(request, HttpResponse.BodyHandlers.discarding());
+                return System.nanoTime();
+            } catch (IOException notListeningYet) {
+                Thread.sleep(10);
+            }
+        }
+        fail("No response from " + url + " within " + STARTUP_LIMIT + ", see " + log);
+        return -1;
+    }
+
+    /**
+     * @return when the authenticated call answered, or -1 if sign-up is unavailable (e.g. no schema)
+     */
+    private long firstAuthenticatedResponse(String base) throws Exception {
+        String signup = objectMapper.createObjectNode()
+                .put("fullName", "Startup Benchmark")
+                .put("email", "bench-" + UUID.randomUUID() + "@example.com")
+                .put("password", "benchmark-password")
+                .toString();
+        HttpResponse<String> signedUp = client.send(HttpRequest.newBuilder(URI.create(base + "/api/auth/signup"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(signup))
+                .build(), HttpResponse.BodyHandlers.ofString());
+        JsonNode token = signedUp.statusCode() == 200 ? objectMapper.readTree(signedUp.body()).get("token") : null;
+        if (token == null) {
+            return -1;
+        }
+        HttpResponse<Void> api = client.send(HttpRequest.newBuilder(URI.create(base + "/api/interview"))
+                .header("Authorization", "Bearer " + token.asText())
+                .build(), HttpResponse.BodyHandlers.discarding());
+        return api.statusCode() == 200 ? System.nanoTime() : -1;
+    }
+
+    private static void report(String label, List<Timing> timings) {
+        long[] first = timings.stream().mapToLong(Timing::firstResponseNanos).sorted().toArray();
+        long[] authenticated = timings.stream().mapToLong(Timing::firstAuthenticatedNanos).filter(t -> t >= 0).sorted().toArray();
+        System.out.printf("%s  first /api/interview response: median %d ms (min %d, max %d)%s%n",
+                label, millis(first[first.length / 2]), millis(first[0]), millis(first[first.length - 1]),
+                authenticated.length == 0 ? "" : String.format("; first authenticated 200: median %d ms",
+                        millis(authenticated[authenticated.length / 2])));
+    }
+
+    private static long millis(long nanos) {
+        return TimeUnit.NANOSECONDS.toMillis(nanos);
+    }
+
+    private static List<String> split(String args) {
+        return Arrays.stream(args.trim().split("\\s+")).filter(a -> !a.isEmpty()).toList();
+    }
+
+    private record Timing(long firstResponseNanos, long firstAuthenticatedNanos) {
+    }
+}
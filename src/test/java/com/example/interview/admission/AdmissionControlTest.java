@@ -0,0 +1,88 @@
+package com.example.interview.admission;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdmissionControlTest {
+
+    @Test
+    void fairQueueInterleavesUsersInsteadOfServingInArrivalOrder() throws Exception {
+        FairQueue queue = new FairQueue(1, 16);
+        assertTrue(queue.acquire("holder", 1, 0, TimeUnit.MILLISECONDS));
+
+        List<String> granted = Collections.synchronizedList(new ArrayList<>());
+        List<Thread> threads = new ArrayList<>();
+        for (String name : List.of("a1", "a2", "a3", "b1")) {
+            String user = name.substring(0, 1);
+            Thread thread = new Thread(() -> {
+                try {
+                    if (queue.acquire(user, 1, 5, TimeUnit.SECONDS)) {
+                        granted.add(name);
+                        queue.release();
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            int before = queue.queued();
+            thread.start();
+            while (queue.queued() == before) {
+                Thread.sleep(1);
+            }
+            threads.add(thread);
+        }
+
+        queue.release();
+        for (Thread thread : threads) {
+            thread.join(5000);
+        }
+        assertEquals(List.of("a1", "b1", "a2", "a3"), granted);
+    }
+
+    @Test
+    void rejectsOverRateAndOverSessionLimitPerUser() {
+        AdmissionControl admission = new AdmissionControl(new SimpleMeterRegistry(), true,
+                1000, 1000, 0.001, 2, 100, 1, Duration.ofHours(1), 4, 4, Duration.ofMillis(10), 1, "");
+
+        assertNull(admission.admitRequest("alice"));
+        assertNull(admission.admitRequest("alice"));
+        assertEquals(AdmissionControl.Rejection.USER_RATE, admission.admitRequest("alice"));
+        assertNull(admission.admitRequest("bob"));
+
+        String reservation = admission.reserveSession("alice");
+        assertNotNull(reservation);
+        admission.bindSession("alice", reservation, "s1");
+        assertNull(admission.reserveSession("alice"));
+        admission.closeSession("alice", "s1");
+        assertNotNull(admission.reserveSession("alice"));
+    }
+
+    @Test
+    void userRejectionsSpareTheGlobalBucketAndRetryAfterFollowsTheRejectingBucket() {
+        // One global token per stripe, refilling every ten seconds.
+        int stripes = Runtime.getRuntime().availableProcessors();
+        AdmissionControl admission = new AdmissionControl(new SimpleMeterRegistry(), true,
+                0.1 * stripes, stripes, 0.001, 1, 100, 1, Duration.ofHours(1), 4, 4, Duration.ofMillis(10), 1, "");
+
+        assertNull(admission.admitRequest("alice"));
+        for (int i = 0; i < 10; i++) {
+            assertEquals(AdmissionControl.Rejection.USER_RATE, admission.admitRequest("alice"));
+        }
+        assertTrue(admission.retryAfterSeconds("alice", AdmissionControl.Rejection.USER_RATE) > 100);
+
+        // alice's rejected requests took nothing from the global bucket, so every other stripe is still full.
+        for (int i = 1; i < stripes; i++) {
+            assertNull(admission.admitRequest("user-" + i));
+        }
+        assertEquals(AdmissionControl.Rejection.GLOBAL_RATE, admission.admitRequest("bob"));
+        assertTrue(admission.retryAfterSeconds("bob", AdmissionControl.Rejection.GLOBAL_RATE) <= 10);
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.interview.analytics;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class FeedbackAnalyticsServiceTest {
+
+    private static final LocalDate DAY = LocalDate.of(2026, 3, 2);
+
+    private final MutableClock clock = new MutableClock();
+    private final FeedbackAnalyticsService analytics = new FeedbackAnalyticsService(clock);
+
+    @Test
+    void bucketsScoresByRoleCohortAndDay() {
+        clock.day = DAY;
+        analytics.record("Java Developer", "Junior", Map.of("communication", 6, "technicalDepth", 4));
+        clock.day = DAY.plusDays(1);
+        analytics.record(" java developer ", "Senior", Map.of("communication", 15, "madeUp", 3));
+        analytics.record("QA", null, Map.of("communication", 2));
+
+        assertEquals(Set.of("java developer", "qa"), analytics.roles());
+
+        ScoreDistribution all = analytics.distribution(ScoreDimension.COMMUNICATION, null, null,
+                DAY, DAY.plusDays(1), new int[0]);
+        assertEquals(3, all.getCount());
+        assertEquals(6.0, all.getMean());
+        // 15 is clamped to the top bin.
+        assertArrayEquals(new long[]{0, 0, 1, 0, 0, 0, 1, 0, 0, 0, 1}, all.getHistogram());
+
+        assertEquals(2, analytics.distribution(ScoreDimension.COMMUNICATION, "JAVA DEVELOPER", null,
+                DAY, DAY.plusDays(1), new int[0]).getCount());
+        assertEquals(1, analytics.distribution(ScoreDimension.COMMUNICATION, "Java Developer", "senior",
+                DAY, DAY.plusDays(1), new int[0]).getCount());
+        assertEquals(1, analytics.distribution(ScoreDimension.COMMUNICATION, null, "unknown",
+                DAY, DAY.plusDays(1), new int[0]).getCount());
+        assertEquals(1, analytics.distribution(ScoreDimension.TECHNICAL_DEPTH, null, null,
+                DAY, DAY.plusDays(1), new int[0]).getCount());
+        assertEquals(2, analytics.distribution(ScoreDimension.COMMUNICATION, null, null,
+                DAY.plusDays(1), DAY.plusDays(1), new int[0]).getCount());
+
+        List<TrendPoint> trend = analytics.trend(ScoreDimension.COMMUNICATION, "java developer", null,
+                DAY.minusDays(7), DAY.plusDays(7));
+        assertEquals(2, trend.size());
+        assertEquals(DAY, trend.get(0).getDate());
+        assertEquals(6.0, trend.get(0).getMean());
+        assertEquals(10.0, trend.get(1).getMean());
+    }
+
+    @Test
+    void percentilesUseTheNearestRank() {
+        clock.day = DAY;
+        for (int score = 1; score <= 10; score++) {
+            analytics.record("QA", "Junior", Map.of("structure", score));
+        }
+
+        ScoreDistribution distribution = analytics.distribution(ScoreDimension.STRUCTURE, "qa", "junior",
+                DAY, DAY, new int[]{0, 50, 90, 91, 100});
+        assertEquals(10, distribution.getCount());
+        assertEquals(5.5, distribution.getMean());
+        assertEquals(Map.of("p0", 1, "p50", 5, "p90", 9, "p91", 10, "p100", 10), distribution.getPercentiles());
+
+        ScoreDistribution empty = analytics.distribution(ScoreDimension.CONFIDENCE, null, null,
+                DAY, DAY, new int[]{50});
+        assertEquals(0, empty.getCount());
+        assertEquals(0.0, empty.getMean());
+        assertEquals(Map.of("p50", 0), empty.getPercentiles());
+    }
+
+    @Test
+    void rejectsReversedRangesAndPercentilesOutOfBounds() {
+        AnalyticsController controller = new AnalyticsController(analytics);
+
+        ResponseStatusException reversed = assertThrows(ResponseStatusException.class, () -> controller
+                .distribution("communication", null, null, DAY.plusDays(1), DAY, new int[]{50}));
+        assertEquals(HttpStatus.BAD_REQUEST, reversed.getStatusCode());
+        assertThrows(ResponseStatusException.class, () -> controller
+                .trend("communication", null, null, DAY.plusDays(1), DAY));
+
+        ResponseStatusException percentile = assertThrows(ResponseStatusException.class, () -> controller
+                .distribution("communication", null, null, DAY, DAY, new int[]{50, 101}));
+        assertEquals(HttpStatus.BAD_REQUEST, percentile.getStatusCode());
+        assertThrows(ResponseStatusException.class, () -> controller
+                .distribution("communication", null, null, DAY, DAY, new int[]{-1}));
+    }
+
+    private static class MutableClock extends Clock {
+
+        private LocalDate day = DAY;
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return day.atStartOfDay(ZoneOffset.UTC).toInstant();
+        }
+    }
+}
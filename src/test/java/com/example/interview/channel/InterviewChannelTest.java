@@ -0,0 +1,96 @@
+package com.example.interview.channel;
+
+import com.example.interview.admission.AdmissionControl;
+import com.example.interview.cluster.SessionRouter;
+import com.example.interview.ledger.TokenLedger;
+import com.example.interview.model.InterviewFeedback;
+import com.example.interview.security.JwtService;
+import com.example.interview.service.InterviewService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class InterviewChannelTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void runsAWholeInterviewOverOneConnection() throws Exception {
+        InterviewService service = mock(InterviewService.class);
+        when(service.startInterview(any(), eq("alice"))).thenReturn(new InterviewService.StartInterviewResponse("s1", "First?"));
+        when(service.submitAnswer(eq("s1"), argThat(a -> "0".equals(a.getQuestionId()) && "My answer".equals(a.getText()))))
+                .thenReturn(new InterviewService.NextQuestionResponse("Second?", "1", false));
+        InterviewFeedback feedback = new InterviewFeedback();
+        feedback.setOverallSummary("Good");
+        feedback.setScores(Map.of("communication", 8));
+        feedback.setStrengths(List.of());
+        feedback.setAreasToImprove(List.of());
+        feedback.setSampleImprovedAnswers(List.of());
+        when(service.finishInterview("s1")).thenReturn(feedback);
+
+        InterviewChannel channel = newChannel(service, admission(100));
+        InterviewChannel.Connection connection = new InterviewChannel.Connection("alice");
+
+        JsonNode started = send(channel, connection,
+                "{\"type\":\"start\",\"role\":\"Java Backend Developer\",\"experienceLevel\":\"Junior\",\"interviewType\":\"TECHNICAL\"}");
+        assertEquals("started", started.get("type").asText());
+        assertEquals("s1", started.get("sessionId").asText());
+        assertEquals("First?", started.get("question").asText());
+
+        JsonNode question = send(channel, connection, "{\"type\":\"answer\",\"questionId\":\"0\",\"text\":\"My answer\"}");
+        assertEquals("question", question.get("type").asText());
+        assertEquals("1", question.get("questionId").asText());
+        assertEquals("Second?", question.get("question").asText());
+
+        JsonNode finished = send(channel, connection, "{\"type\":\"finish\"}");
+        assertEquals("feedback", finished.get("type").asText());
+        assertEquals(8, finished.get("feedback").get("scores").get("communication").asInt());
+        assertNull(connection.getSessionId());
+        verify(service).startInterview(argThat(c -> "Java Backend Developer".equals(c.getRole())), eq("alice"));
+    }
+
+    @Test
+    void rejectsFramesWithoutABoundInterviewOrOverTheRateLimit() throws Exception {
+        InterviewChannel channel = newChannel(mock(InterviewService.class), admission(2));
+        InterviewChannel.Connection connection = new InterviewChannel.Connection("bob");
+
+        assertEquals("pong", send(channel, connection, "{\"type\":\"ping\"}").get("type").asText());
+        assertEquals("error", send(channel, connection, "not json").get("type").asText());
+        JsonNode unbound = send(channel, connection, "{\"type\":\"answer\",\"text\":\"hi\"}");
+        assertTrue(unbound.get("message").asText().contains("start or join"));
+
+        assertEquals("joined", send(channel, connection, "{\"type\":\"join\",\"sessionId\":\"s9\"}").get("type").asText());
+        JsonNode limited = send(channel, connection, "{\"type\":\"finish\"}");
+        assertEquals("error", limited.get("type").asText());
+        assertTrue(limited.get("retryAfter").asLong() > 0);
+    }
+
+    private JsonNode send(InterviewChannel channel, InterviewChannel.Connection connection, String frame) throws Exception {
+        return objectMapper.readTree(channel.handle(connection, frame));
+    }
+
+    private static InterviewChannel newChannel(InterviewService service, AdmissionControl admission) {
+        return new InterviewChannel(service, admission, mock(JwtService.class),
+                new SessionRouter(false, "local", "", 1024, 128, true), mock(TokenLedger.class), true, Duration.ofMinutes(10), 65536);
+    }
+
+    private static AdmissionControl admission(double userBurst) {
+        return new AdmissionControl(new SimpleMeterRegistry(), true, 1000, 1000, 0.001, userBurst, 100,
+                3, Duration.ofHours(2), 4, 16, Duration.ofSeconds(1), 1, "");
+    }
+}
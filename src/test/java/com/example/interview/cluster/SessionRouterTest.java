@@ -0,0 +1,54 @@
+package com.example.interview.cluster;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SessionRouterTest {
+
+    private static final String NODES = "a=http://a:8080,b=http://b:8080,c=http://c:8080";
+
+    @Test
+    void nodesAgreeOnOwnershipAndMintLocalIds() {
+        SessionRouter a = new SessionRouter(true, "a", NODES, 1024, 128, true);
+        SessionRouter b = new SessionRouter(true, "b", NODES, 1024, 128, true);
+
+        for (int i = 0; i < 200; i++) {
+            String id = a.newSessionId();
+            assertNull(a.ownerOf(id), id);
+            assertEquals("a", b.ownerOf(id).id());
+        }
+        assertNull(b.ownerOf("2f1c6a52-0b8e-4d8e-9b43-0d7f3c3a9a11"), "ids without a shard stay local");
+        assertNull(new SessionRouter(false, "local", "", 1024, 128, true).ownerOf("0001.x"));
+    }
+
+    @Test
+    void addingANodeOnlyMovesShardsToIt() {
+        ShardRing before = new ShardRing(nodes("a", "b", "c"), 1024, 128);
+        ShardRing after = new ShardRing(nodes("a", "b", "c", "d"), 1024, 128);
+
+        int moved = 0;
+        for (int shard = 0; shard < 1024; shard++) {
+            String owner = after.ownerOf(shard).id();
+            if (!owner.equals(before.ownerOf(shard).id())) {
+                assertEquals("d", owner);
+                moved++;
+            }
+        }
+        // Roughly a quarter of the shards should move to the new node, and nothing else.
+        assertTrue(moved > 150 && moved < 370, "moved " + moved);
+        for (String node : List.of("a", "b", "c")) {
+            assertFalse(before.shardsOwnedBy(node).isEmpty(), node + " owns no shards");
+        }
+    }
+
+    private static List<ShardRing.Node> nodes(String... ids) {
+        return Arrays.stream(ids).map(id -> new ShardRing.Node(id, "http://" + id)).toList();
+    }
+}
@@ -0,0 +1,130 @@
+package com.example.interview.cluster;
+
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.apache.catalina.Context;
+import org.apache.catalina.startup.Tomcat;
+import org.apache.tomcat.util.descriptor.web.FilterDef;
+import org.apache.tomcat.util.descriptor.web.FilterMap;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Two embedded nodes, each running the routing filter in front of a servlet that reports which node
+ * served the request.
+ */
+class SessionRoutingFilterTest {
+
+    @TempDir
+    Path baseDir;
+
+    private final List<Tomcat> nodes = new ArrayList<>();
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @AfterEach
+    void stopNodes() throws Exception {
+        for (Tomcat tomcat : nodes) {
+            tomcat.stop();
+            tomcat.destroy();
+        }
+    }
+
+    @Test
+    void forwardsRequestsToTheSessionOwner() throws Exception {
+        int portA = freePort();
+        int portB = freePort();
+        String members = "a=http://127.0.0.1:" + portA + ",b=http://127.0.0.1:" + portB;
+        SessionRouter routerA = new SessionRouter(true, "a", members, 64, 32, true);
+        start("a", portA, routerA);
+        start("b", portB, new SessionRouter(true, "b", members, 64, 32, true));
+
+        String sessionOnA = routerA.newSessionId();
+        HttpResponse<String> viaB = client.send(HttpRequest.newBuilder(
+                        URI.create("http://127.0.0.1:" + portB + "/api/interview/" + sessionOnA + "/answer?x=1"))
+                .header("Authorization", "Bearer t")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"text\":\"hello\"}"))
+                .build(), HttpResponse.BodyHandlers.ofString());
+
+        assertEquals(200, viaB.statusCode());
+        assertEquals("a POST /api/interview/" + sessionOnA + "/answer?x=1 {\"text\":\"hello\"}", viaB.body());
+        assertEquals("a", viaB.headers().firstValue(SessionRoutingFilter.NODE_HEADER).orElse(null));
+
+        HttpResponse<String> legacy = client.send(HttpRequest.newBuilder(
+                        URI.create("http://127.0.0.1:" + portB + "/api/interview/2f1c6a52-0b8e-4d8e-9b43-0d7f3c3a9a11/feedback"))
+                .header("Authorization", "Bearer t")
+                .build(), HttpResponse.BodyHandlers.ofString());
+        assertEquals("b GET /api/interview/2f1c6a52-0b8e-4d8e-9b43-0d7f3c3a9a11/feedback ", legacy.body());
+    }
+
+    @Test
+    void redirectsWhenForwardingIsOff() throws Exception {
+        int portA = freePort();
+        int portB = freePort();
+        String members = "a=http://127.0.0.1:" + portA + ",b=http://127.0.0.1:" + portB;
+        SessionRouter routerA = new SessionRouter(true, "a", members, 64, 32, false);
+        start("b", portB, new SessionRouter(true, "b", members, 64, 32, false));
+
+        String sessionOnA = routerA.newSessionId();
+        HttpResponse<String> response = client.send(HttpRequest.newBuilder(
+                        URI.create("http://127.0.0.1:" + portB + "/api/interview/" + sessionOnA + "/feedback"))
+                .header("Authorization", "Bearer t")
+                .build(), HttpResponse.BodyHandlers.ofString());
+
+        assertEquals(307, response.statusCode());
+        assertEquals("http://127.0.0.1:" + portA + "/api/interview/" + sessionOnA + "/feedback",
+                response.headers().firstValue("Location").orElse(null));
+    }
+
+    private void start(String nodeId, int port, SessionRouter router) throws Exception {
+        Tomcat tomcat = new Tomcat();
+        tomcat.setBaseDir(baseDir.resolve(nodeId).toString());
+        tomcat.setPort(port);
+        Context context = tomcat.addContext("", null);
+
+        FilterDef filter = new FilterDef();
+        filter.setFilterName("routing");
+        filter.setFilter(new SessionRoutingFilter(router, Duration.ofSeconds(2), Duration.ofSeconds(10)));
+        context.addFilterDef(filter);
+        FilterMap mapping = new FilterMap();
+        mapping.setFilterName("routing");
+        mapping.addURLPattern("/*");
+        context.addFilterMap(mapping);
+
+        Tomcat.addServlet(context, "echo", new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest request, HttpServletResponse response) throws IOException {
+                String query = request.getQueryString() != null ? "?" + request.getQueryString() : "";
+                String body = new String(request.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+                response.getWriter().write(nodeId + " " + request.getMethod() + " " + request.getRequestURI()
+                        + query + " " + body);
+            }
+        });
+        context.addServletMappingDecoded("/*", "echo");
+
+        tomcat.getConnector();
+        tomcat.start();
+        nodes.add(tomcat);
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
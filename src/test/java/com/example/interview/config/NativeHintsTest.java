@@ -0,0 +1,31 @@
+package com.example.interview.config;
+
+import com.example.interview.auth.AuthResponse;
+import com.example.interview.llm.dto.ChatMessage;
+import com.example.interview.model.InterviewFeedback;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.aot.hint.annotation.ReflectiveRuntimeHintsRegistrar;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.aot.hint.predicate.RuntimeHintsPredicates.reflection;
+import static org.springframework.aot.hint.predicate.RuntimeHintsPredicates.resource;
+
+class NativeHintsTest {
+
+    @Test
+    void registersBindingAndLibraryHints() {
+        RuntimeHints hints = new RuntimeHints();
+        new NativeHints.LibraryHints().registerHints(hints, getClass().getClassLoader());
+        new ReflectiveRuntimeHintsRegistrar().registerRuntimeHints(hints, NativeHints.class);
+
+        assertTrue(reflection().onType(ChatMessage.class).test(hints));
+        assertTrue(reflection().onType(InterviewFeedback.class).test(hints));
+        assertTrue(reflection().onType(AuthResponse.class).test(hints));
+        assertTrue(reflection().onType(TypeReference.of("io.jsonwebtoken.impl.DefaultJwtBuilder")).test(hints));
+        assertTrue(reflection().onType(TypeReference.of("org.mariadb.jdbc.Configuration$Builder")).test(hints));
+        assertTrue(resource().forResource("driver.properties").test(hints));
+        assertTrue(resource().forResource("META-INF/services/io.jsonwebtoken.io.Serializer").test(hints));
+    }
+}
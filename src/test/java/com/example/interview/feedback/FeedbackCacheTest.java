@@ -0,0 +1,49 @@
+package com.example.interview.feedback;
+
+import com.example.interview.llm.dto.ChatMessage;
+import com.example.interview.model.InterviewFeedback;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class FeedbackCacheTest {
+
+    @Test
+    void servesRepeatsFromMemoryAndReloadsFromTheDatabase() {
+        StoredFeedbackRepository repository = mock(StoredFeedbackRepository.class);
+        FeedbackCache cache = new FeedbackCache(repository, 10);
+        String key = FeedbackCache.key(List.of(new ChatMessage("system", "coach"), new ChatMessage("user", "Q1: A1")));
+
+        InterviewFeedback feedback = new InterviewFeedback();
+        feedback.setOverallSummary("Solid answers.");
+        feedback.setScores(Map.of("communication", 8));
+        cache.put(key, "session-1", "v1", feedback);
+
+        assertSame(feedback, cache.find(key).orElseThrow());
+        verify(repository, never()).findById(any());
+
+        ArgumentCaptor<StoredFeedback> saved = ArgumentCaptor.forClass(StoredFeedback.class);
+        verify(repository).save(saved.capture());
+        when(repository.findFirstBySessionIdOrderByCreatedAtDesc("session-1")).thenReturn(Optional.of(saved.getValue()));
+
+        // A fresh node only has the database row.
+        FeedbackCache restarted = new FeedbackCache(repository, 10);
+        InterviewFeedback reloaded = restarted.findBySession("session-1").orElseThrow();
+        assertEquals("Solid answers.", reloaded.getOverallSummary());
+        assertEquals(8, reloaded.getScores().get("communication"));
+    }
+
+    @Test
+    void keyChangesWithThePromptText() {
+        String v1 = FeedbackCache.key(List.of(new ChatMessage("user", "Evaluate v1\nQ1: A1")));
+        String v2 = FeedbackCache.key(List.of(new ChatMessage("user", "Evaluate v2\nQ1: A1")));
+        assertNotEquals(v1, v2);
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.interview.feedback;
+
+import com.example.interview.cluster.SessionRouter;
+import com.example.interview.model.InterviewFeedback;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Persists feedback against the real schema in an embedded database.
+ */
+@DataJpaTest(properties = "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect")
+class StoredFeedbackRepositoryTest {
+
+    @Autowired
+    StoredFeedbackRepository repository;
+
+    @Test
+    void storesFeedbackUnderAShardedSessionId() {
+        SessionRouter router = new SessionRouter(true, "a", "a=http://a:8080,b=http://b:8080", 1024, 128, true);
+        String sessionId = router.newSessionId();
+        assertTrue(sessionId.length() > 36, sessionId);
+
+        InterviewFeedback feedback = new InterviewFeedback();
+        feedback.setOverallSummary("Solid answers.");
+        FeedbackCache cache = new FeedbackCache(repository, 10);
+        cache.put(FeedbackCache.key(List.of()), sessionId, "v1", feedback);
+        repository.flush();
+
+        assertEquals(sessionId, repository.findFirstBySessionIdOrderByCreatedAtDesc(sessionId).orElseThrow()
+                .getSessionId());
+        assertEquals("Solid answers.", new FeedbackCache(repository, 10).findBySession(sessionId).orElseThrow()
+                .getOverallSummary());
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.interview.idempotency;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IdempotencyCacheTest {
+
+    @Test
+    void concurrentDuplicatesShareOneComputation() throws Exception {
+        IdempotencyCache cache = new IdempotencyCache(100, Duration.ofMinutes(1));
+        AtomicInteger runs = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+
+        ExecutorService pool = Executors.newFixedThreadPool(6);
+        List<Future<String>> results = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            results.add(pool.submit(() -> cache.execute("answer|s1", "k1", "a", () -> {
+                runs.incrementAndGet();
+                await(release);
+                return "next question";
+            })));
+        }
+        Thread.sleep(50);
+        release.countDown();
+        for (Future<String> result : results) {
+            assertEquals("next question", result.get(5, TimeUnit.SECONDS));
+        }
+        pool.shutdown();
+
+        assertEquals(1, runs.get());
+        assertEquals("next question", cache.execute("answer|s1", "k1", "a", () -> "recomputed"));
+        assertEquals("recomputed", cache.execute("answer|s2", "k1", "a", () -> "recomputed"));
+    }
+
+    @Test
+    void failuresAreNotCachedAndCapacityIsBounded() {
+        IdempotencyCache cache = new IdempotencyCache(2, Duration.ofMinutes(1));
+        assertThrows(IllegalStateException.class,
+                () -> cache.execute("finish|s1", "k", null, () -> { throw new IllegalStateException("down"); }));
+        assertEquals("ok", cache.execute("finish|s1", "k", null, () -> "ok"));
+
+        cache.execute("finish|s2", "k", null, () -> "two");
+        cache.execute("finish|s3", "k", null, () -> "three");
+        assertEquals(2, cache.size());
+        assertEquals("again", cache.execute("finish|s1", "k", null, () -> "again"));
+    }
+
+    @Test
+    void reusedKeyWithADifferentBodyIsRejected() {
+        IdempotencyCache cache = new IdempotencyCache(100, Duration.ofMinutes(1));
+        assertEquals("next question", cache.execute("answer|s1", "k1", "q1\nMy answer", () -> "next question"));
+        assertEquals("next question", cache.execute("answer|s1", "k1", "q1\nMy answer", () -> "recomputed"));
+
+        ResponseStatusException reused = assertThrows(ResponseStatusException.class,
+                () -> cache.execute("answer|s1", "k1", "q1\nA different answer", () -> "recomputed"));
+        assertEquals(HttpStatus.UNPROCESSABLE_CONTENT, reused.getStatusCode());
+    }
+
+    @Test
+    void runningEntriesAreNeverEvicted() throws Exception {
+        IdempotencyCache cache = new IdempotencyCache(1, Duration.ofMinutes(1));
+        AtomicInteger runs = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        Future<String> first = pool.submit(() -> cache.execute("answer|s1", "k1", "a", () -> {
+            runs.incrementAndGet();
+            started.countDown();
+            await(release);
+            return "next question";
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        // Over capacity, but the running entry stays; the finished one is evicted by the next insert.
+        assertEquals("two", cache.execute("answer|s2", "k2", "a", () -> "two"));
+        assertEquals(2, cache.size());
+        Future<String> duplicate = pool.submit(() -> cache.execute("answer|s1", "k1", "a", () -> {
+            runs.incrementAndGet();
+            return "ran twice";
+        }));
+
+        release.countDown();
+        assertEquals("next question", first.get(5, TimeUnit.SECONDS));
+        assertEquals("next question", duplicate.get(5, TimeUnit.SECONDS));
+        assertEquals(1, runs.get());
+        pool.shutdown();
+
+        cache.execute("answer|s3", "k3", "a", () -> "three");
+        assertEquals(1, cache.size());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
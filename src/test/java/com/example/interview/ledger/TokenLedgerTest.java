@@ -0,0 +1,88 @@
+package com.example.interview.ledger;
+
+import com.example.interview.llm.LlmUsage;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TokenLedgerTest {
+
+    private final TokenUsageRepository repository = mock(TokenUsageRepository.class);
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void flushWritesOneRowPerUserSessionAndModelWithCost() {
+        TokenLedger ledger = newLedger(0);
+        ledger.bindSession("s1", "alice");
+        ledger.record("s1", "GEMINI", "gemini-2.0-flash", new LlmUsage(1_000, 200, 400), 2_000_000);
+        ledger.record("s1", "GEMINI", "gemini-2.0-flash", new LlmUsage(1_000, 100, 0), 3_000_000);
+        ledger.record(null, "GEMINI", "gemini-2.0-flash", new LlmUsage(10, 1, 0), 1_000_000);
+
+        ledger.flush();
+
+        ArgumentCaptor<Iterable<TokenUsage>> batch = ArgumentCaptor.forClass(Iterable.class);
+        verify(repository).saveAll(batch.capture());
+        List<TokenUsage> rows = new ArrayList<>();
+        batch.getValue().forEach(rows::add);
+        assertEquals(2, rows.size());
+        TokenUsage alice = rows.stream().filter(r -> "alice".equals(r.getUserId())).findFirst().orElseThrow();
+        assertEquals("s1", alice.getSessionId());
+        assertEquals("gemini", alice.getProvider());
+        assertEquals(2, alice.getCalls());
+        assertEquals(2_000, alice.getPromptTokens());
+        assertEquals(400, alice.getCachedTokens());
+        assertEquals(300, alice.getCompletionTokens());
+        assertEquals(5, alice.getLatencyMillis());
+        // 1600 uncached x 0.10 + 400 cached x 0.025 + 300 completion x 0.40 micro-dollars
+        assertEquals(160 + 10 + 120, alice.getCostMicros());
+        assertTrue(rows.stream().anyMatch(r -> TokenLedger.UNATTRIBUTED.equals(r.getUserId())));
+
+        ledger.flush();
+        verify(repository, times(1)).saveAll(anyIterable());
+    }
+
+    @Test
+    void failedFlushKeepsAmountsForTheNextOne() {
+        TokenLedger ledger = newLedger(0);
+        ledger.bindSession("s1", "alice");
+        ledger.record("s1", "OPENAI", "gpt", new LlmUsage(100, 10, 0), 1_000_000);
+        when(repository.saveAll(anyIterable())).thenThrow(new IllegalStateException("db down"));
+        ledger.flush();
+
+        List<UsageTotals> pending = ledger.totalsByModelForSession("s1", "alice");
+        assertEquals(1, pending.size());
+        assertEquals(110, pending.get(0).getTotalTokens());
+    }
+
+    @Test
+    void budgetCountsStoredAndNewTokens() {
+        when(repository.tokensSince(eq("alice"), any(Instant.class))).thenReturn(900L);
+        TokenLedger ledger = newLedger(1_000);
+        ledger.bindSession("s1", "alice");
+
+        assertFalse(ledger.isOverBudget("alice"));
+        ledger.record("s1", "GEMINI", "gemini-2.0-flash", new LlmUsage(80, 20, 0), 1_000_000);
+        assertTrue(ledger.isOverBudget("alice"));
+        assertFalse(ledger.isOverBudget("bob"));
+    }
+
+    private TokenLedger newLedger(long budgetTokens) {
+        return new TokenLedger(repository, "gemini-2.0-flash=0.10:0.40:0.025", budgetTokens,
+                Duration.ofDays(1), Duration.ofHours(1));
+    }
+}
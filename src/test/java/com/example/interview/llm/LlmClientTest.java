@@ -0,0 +1,188 @@
+package com.example.interview.llm;
+
+import com.example.interview.ledger.TokenLedger;
+import com.example.interview.llm.dto.ChatMessage;
+import com.example.interview.replay.InterviewRecorder;
+import com.example.interview.replay.LlmTape;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+class LlmClientTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final TokenLedger ledger = mock(TokenLedger.class);
+    private final CountDownLatch entered = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final List<HttpServer> servers = new ArrayList<>();
+    private LocalModel localModel;
+
+    @TempDir
+    Path dir;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        if (localModel != null) {
+            localModel.destroy();
+        }
+        servers.forEach(server -> server.stop(0));
+    }
+
+    @Test
+    void busyLocalModelFallsThroughToTheRemoteProvider() throws Exception {
+        localModel = startLocalModel(exchange -> {
+            entered.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            respond(exchange, 200, completion("From the local model."));
+        });
+        LlmClient client = client(replayOff(), localModel, remoteUrl());
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        Future<String> holder = executor.submit(() -> localModel.chat(prompt(), null));
+        assertTrue(entered.await(5, TimeUnit.SECONDS));
+
+        assertEquals("From the remote provider.", client.chat(prompt(), preferLocal()));
+        verify(ledger).record(eq("s1"), eq("OPENAI"), eq("gpt-4o-mini"), any(), anyLong());
+
+        release.countDown();
+        assertEquals("From the local model.", holder.get(5, TimeUnit.SECONDS));
+        executor.shutdown();
+    }
+
+    @Test
+    void failingLocalModelFallsThroughToTheRemoteProvider() throws Exception {
+        localModel = startLocalModel(exchange -> respond(exchange, 500, "{\"error\":\"out of memory\"}"));
+        LlmClient client = client(replayOff(), localModel, remoteUrl());
+
+        assertEquals("From the remote provider.", client.chat(prompt(), preferLocal()));
+        verify(ledger).record(eq("s1"), eq("OPENAI"), eq("gpt-4o-mini"), any(), anyLong());
+    }
+
+    @Test
+    void replayedCallsAreNotChargedToTheLedger() throws Exception {
+        List<ChatMessage> prompt = List.of(new ChatMessage("user", "Next question?"));
+        InterviewRecorder recording = new InterviewRecorder(registry, "record", dir.toString(), 100, 100);
+        new LlmTape(recording, registry, 0).record(prompt, ChatOptions.forSession("s1", 1), "GEMINI",
+                "gemini-2.0-flash", new LlmUsage(100, 20, 0), 5_000_000, "What is a hash map?");
+        recording.destroy();
+
+        InterviewRecorder replaying = new InterviewRecorder(registry, "replay", dir.toString(), 100, 100);
+        LlmClient client = client(new LlmTape(replaying, registry, 0), disabledLocalModel(), "http://127.0.0.1:9");
+
+        assertEquals("What is a hash map?", client.chat(prompt, ChatOptions.forSession("s1", 1)));
+        verifyNoInteractions(ledger);
+        assertEquals(20.0, registry.counter("llm.tokens.output", "provider", "GEMINI").count());
+    }
+
+    private LocalModel startLocalModel(HttpHandler completions) throws Exception {
+        HttpServer server = server();
+        server.createContext("/health", exchange -> respond(exchange, 200, "{\"status\":\"ok\"}"));
+        server.createContext("/v1/chat/completions", exchange -> {
+            exchange.getRequestBody().readAllBytes();
+            completions.handle(exchange);
+        });
+        LocalModel model = new LocalModel(WebClient.builder(), new LlmMetrics(registry), registry,
+                true, "", "", "test", url(server), 0, 0, 2048, 1, 256, 64, Duration.ofSeconds(5),
+                Duration.ofMillis(100), "/health");
+        for (int i = 0; i < 50 && !model.isAvailable(); i++) {
+            Thread.sleep(50);
+        }
+        assertTrue(model.isAvailable());
+        return model;
+    }
+
+    private String remoteUrl() throws IOException {
+        HttpServer server = server();
+        server.createContext("/v1/chat/completions", exchange -> {
+            exchange.getRequestBody().readAllBytes();
+            respond(exchange, 200, completion("From the remote provider."));
+        });
+        return url(server);
+    }
+
+    private HttpServer server() throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.start();
+        servers.add(server);
+        return server;
+    }
+
+    private LlmTape replayOff() {
+        return new LlmTape(new InterviewRecorder(registry, "off", dir.toString(), 100, 100), registry, 0);
+    }
+
+    private LlmClient client(LlmTape tape, LocalModel localModel, String baseUrl) {
+        return new LlmClient(WebClient.builder(), new PromptCacheManager(Duration.ofMinutes(10)),
+                new LlmMetrics(registry), ledger, tape, localModel, ObservationRegistry.NOOP,
+                baseUrl, "test-key", "OPENAI", "gpt-4o-mini", false, 1024, Duration.ofSeconds(5),
+                3, Duration.ofSeconds(30));
+    }
+
+    private static ChatOptions preferLocal() {
+        ChatOptions options = ChatOptions.forSession("s1", 0);
+        options.setPreferLocal(true);
+        return options;
+    }
+
+    private static List<ChatMessage> prompt() {
+        return List.of(new ChatMessage("user", "Next question?"));
+    }
+
+    private static String url(HttpServer server) {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    private static String completion(String content) {
+        return "{\"choices\":[{\"message\":{\"content\":\"" + content + "\"}}],"
+                + "\"usage\":{\"prompt_tokens\":12,\"completion_tokens\":6}}";
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private LocalModel disabledLocalModel() {
+        return new LocalModel(WebClient.builder(), new LlmMetrics(registry), registry,
+                false, "", "", "local", "", 0, 0, 2048, 1, 256, 64, Duration.ofSeconds(5),
+                Duration.ofMillis(100), "/health");
+    }
+}
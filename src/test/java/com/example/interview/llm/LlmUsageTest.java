@@ -0,0 +1,39 @@
+package com.example.interview.llm;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class LlmUsageTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void parsesGeminiUsageMetadata() throws Exception {
+        LlmUsage usage = LlmUsage.fromGemini(objectMapper.readTree("""
+                {"candidates": [], "usageMetadata": {"promptTokenCount": 1800, "candidatesTokenCount": 240,
+                 "cachedContentTokenCount": 1500, "totalTokenCount": 2040}}"""));
+
+        assertEquals(new LlmUsage(1800, 240, 1500), usage);
+        assertEquals(300, usage.uncachedPromptTokens());
+    }
+
+    @Test
+    void parsesOpenAiUsage() throws Exception {
+        LlmUsage usage = LlmUsage.fromOpenAi(objectMapper.readTree("""
+                {"choices": [], "usage": {"prompt_tokens": 2006, "completion_tokens": 300, "total_tokens": 2306,
+                 "prompt_tokens_details": {"cached_tokens": 1920}}}"""));
+
+        assertEquals(new LlmUsage(2006, 300, 1920), usage);
+        assertEquals(86, usage.uncachedPromptTokens());
+    }
+
+    @Test
+    void missingFieldsCountAsZero() throws Exception {
+        assertEquals(LlmUsage.EMPTY, LlmUsage.fromGemini(objectMapper.readTree("{\"candidates\": []}")));
+        assertEquals(new LlmUsage(12, 3, 0), LlmUsage.fromOpenAi(objectMapper.readTree(
+                "{\"usage\": {\"prompt_tokens\": 12, \"completion_tokens\": 3}}")));
+        assertEquals(0, new LlmUsage(5, 1, 9).uncachedPromptTokens());
+    }
+}
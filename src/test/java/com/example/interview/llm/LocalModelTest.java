@@ -0,0 +1,104 @@
+package com.example.interview.llm;
+
+import com.example.interview.llm.dto.ChatMessage;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LocalModelTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final CountDownLatch entered = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private HttpServer server;
+    private LocalModel localModel;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        if (localModel != null) {
+            localModel.destroy();
+        }
+        if (server != null) {
+            server.stop(0);
+        }
+    }
+
+    @Test
+    void answersFromLocalServerAndRecordsThroughput() throws Exception {
+        localModel = start(false, 2);
+        String reply = localModel.chat(List.of(new ChatMessage("user", "Next question?")), null);
+
+        assertEquals("How would you test it?", reply);
+        assertEquals(1, registry.find("llm.tokens.per-second").tag("provider", "local").summary().count());
+    }
+
+    @Test
+    void rejectsRequestsBeyondTheSlotsInsteadOfQueueing() throws Exception {
+        localModel = start(true, 1);
+        var executor = Executors.newSingleThreadExecutor();
+        Future<String> first = executor.submit(() -> localModel.chat(List.of(new ChatMessage("user", "one")), null));
+        assertTrue(entered.await(5, TimeUnit.SECONDS));
+
+        IllegalStateException busy = assertThrows(IllegalStateException.class,
+                () -> localModel.chat(List.of(new ChatMessage("user", "two")), null));
+        assertTrue(busy.getMessage().contains("busy"));
+
+        release.countDown();
+        assertEquals("How would you test it?", first.get(5, TimeUnit.SECONDS));
+        executor.shutdown();
+    }
+
+    private LocalModel start(boolean slow, int parallel) throws Exception {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/health", exchange -> respond(exchange, "{\"status\":\"ok\"}"));
+        server.createContext("/v1/chat/completions", exchange -> {
+            exchange.getRequestBody().readAllBytes();
+            if (slow) {
+                entered.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            respond(exchange, "{\"choices\":[{\"message\":{\"content\":\"How would you test it?\"}}],"
+                    + "\"usage\":{\"prompt_tokens\":12,\"completion_tokens\":6}}");
+        });
+        server.start();
+
+        LocalModel model = new LocalModel(WebClient.builder(), new LlmMetrics(registry), registry,
+                true, "", "", "test", "http://127.0.0.1:" + server.getAddress().getPort(), 0, 0, 2048,
+                parallel, 256, 64, Duration.ofSeconds(5), Duration.ofMillis(100), "/health");
+        for (int i = 0; i < 50 && !model.isAvailable(); i++) {
+            Thread.sleep(50);
+        }
+        assertTrue(model.isAvailable());
+        return model;
+    }
+
+    private static void respond(com.sun.net.httpserver.HttpExchange exchange, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
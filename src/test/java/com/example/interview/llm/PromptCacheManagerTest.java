@@ -0,0 +1,92 @@
+package com.example.interview.llm;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PromptCacheManagerTest {
+
+    @Test
+    void concurrentCallsShareOneCreation() throws Exception {
+        PromptCacheManager manager = new PromptCacheManager(Duration.ofMinutes(10));
+        AtomicInteger creations = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<PromptCacheManager.Lookup>> lookups = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                lookups.add(pool.submit(() -> manager.findOrCreate("s1", "prefix", () -> {
+                    creations.incrementAndGet();
+                    // Slow enough for the other calls to arrive while it is in flight.
+                    try {
+                        Thread.sleep(200);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return "cachedContents/1";
+                }, replaced -> { })));
+            }
+            int created = 0;
+            for (Future<PromptCacheManager.Lookup> lookup : lookups) {
+                PromptCacheManager.Lookup result = lookup.get(5, TimeUnit.SECONDS);
+                assertEquals("cachedContents/1", result.handle().name());
+                created += result.created() ? 1 : 0;
+            }
+            assertEquals(1, creations.get());
+            assertEquals(1, created);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void handlesCloseToExpiryAreNotReused() {
+        // The handle is dropped 30 s before the provider's TTL, so a 10 s TTL is never reused.
+        PromptCacheManager manager = new PromptCacheManager(Duration.ofSeconds(10));
+        AtomicInteger creations = new AtomicInteger();
+
+        manager.findOrCreate("s1", "prefix", () -> "cachedContents/" + creations.incrementAndGet(), replaced -> { });
+        PromptCacheManager.Lookup again = manager.findOrCreate("s1", "prefix",
+                () -> "cachedContents/" + creations.incrementAndGet(), replaced -> { });
+
+        assertTrue(again.created());
+        assertEquals("cachedContents/2", again.handle().name());
+    }
+
+    @Test
+    void releaseHandsBackTheHandleOnce() {
+        PromptCacheManager manager = new PromptCacheManager(Duration.ofMinutes(10));
+        manager.findOrCreate("s1", "prefix", () -> "cachedContents/1", replaced -> { });
+
+        assertEquals("cachedContents/1", manager.release("s1").name());
+        assertNull(manager.release("s1"));
+        assertNull(manager.find("s1", "prefix"));
+        assertNull(manager.findOrCreate("s2", "prefix", () -> null, replaced -> { }));
+    }
+
+    @Test
+    void aNewPrefixReplacesAndDiscardsTheOldHandle() {
+        PromptCacheManager manager = new PromptCacheManager(Duration.ofMinutes(10));
+        List<String> discarded = new ArrayList<>();
+        manager.findOrCreate("s1", "turn-1", () -> "cachedContents/1", replaced -> discarded.add(replaced.name()));
+
+        PromptCacheManager.Lookup lookup = manager.findOrCreate("s1", "turn-2", () -> "cachedContents/2",
+                replaced -> discarded.add(replaced.name()));
+
+        assertTrue(lookup.created());
+        assertEquals(List.of("cachedContents/1"), discarded);
+        assertNull(manager.find("s1", "turn-1"));
+        assertFalse(manager.findOrCreate("s1", "turn-2", () -> "cachedContents/3", replaced -> { }).created());
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.interview.llm;
+
+import com.example.interview.model.InterviewFeedback;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StructuredOutputTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void repairsFencedAndTruncatedFeedback() throws Exception {
+        String full = "{\"overallSummary\":\"Good \\\"clear\\\" answers\",\"scores\":{\"communication\":8,\"structure\":7},"
+                + "\"strengths\":[\"Concise\",\"Examples\"],\"areasToImprove\":[\"Depth\"]}";
+
+        assertEquals(objectMapper.readTree(full),
+                parse("Here you go:\n```json\n" + full + "\n```\nLet me know!"));
+
+        // Cut at every position: the repaired text must always parse, keeping what was complete.
+        for (int cut = 1; cut < full.length(); cut++) {
+            String truncated = full.substring(0, cut);
+            JsonNode node = parse(truncated);
+            assertTrue(node.isObject(), truncated);
+        }
+
+        JsonNode cutInList = parse(full.substring(0, full.indexOf("Examples") + 4));
+        assertEquals("Good \"clear\" answers", cutInList.get("overallSummary").asText());
+        assertEquals(7, cutInList.get("scores").get("structure").asInt());
+        assertEquals("Exam", cutInList.get("strengths").get(1).asText());
+
+        assertEquals(objectMapper.readTree("{\"a\":1}"), parse("{\"a\":1, \"b\": tr"));
+        assertEquals(objectMapper.readTree("{\"a\":[1,2]}"), parse("{\"a\":[1,2,"));
+        assertEquals(objectMapper.readTree("{}"), parse("Sorry, I cannot help with that."));
+    }
+
+    @Test
+    void generatesStrictSchemaFromTheFeedbackClass() {
+        ResponseSchema schema = ResponseSchema.forClass(InterviewFeedback.class,
+                Map.of("scores", List.of("communication", "confidence")), Set.of("pending"));
+
+        Map<String, Object> json = schema.toJsonSchema();
+        assertEquals(List.of("overallSummary", "scores", "strengths", "areasToImprove", "sampleImprovedAnswers"),
+                json.get("required"));
+        assertEquals(false, json.get("additionalProperties"));
+        Map<?, ?> properties = (Map<?, ?>) json.get("properties");
+        Map<?, ?> scores = (Map<?, ?>) properties.get("scores");
+        assertEquals(Map.of("type", "integer"), ((Map<?, ?>) scores.get("properties")).get("confidence"));
+        Map<?, ?> samples = (Map<?, ?>) properties.get("sampleImprovedAnswers");
+        assertEquals("array", samples.get("type"));
+        assertEquals(List.of("question", "improvedAnswer"), ((Map<?, ?>) samples.get("items")).get("required"));
+
+        Map<String, Object> gemini = schema.toGeminiSchema();
+        assertEquals("OBJECT", gemini.get("type"));
+        assertFalse(gemini.containsKey("additionalProperties"));
+        assertEquals(json.get("required"), gemini.get("propertyOrdering"));
+    }
+
+    private JsonNode parse(String text) throws Exception {
+        return objectMapper.readTree(JsonRepair.repair(text));
+    }
+}
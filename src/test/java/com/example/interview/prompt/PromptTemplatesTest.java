@@ -0,0 +1,116 @@
+package com.example.interview.prompt;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.io.TempDir;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PromptTemplatesTest {
+
+    private static final Logger log = LoggerFactory.getLogger(PromptTemplatesTest.class);
+
+    private static final String FOLLOW_UP_FORMAT = """
+            You are continuing the mock interview.
+            %sThe last question was: "%s"
+            The candidate answered: "%s"
+
+            Based on this answer and the earlier turns, ask ONE good follow-up interview question.
+            Do not repeat a question or topic that was already covered.
+            It can be a deeper technical probe, a behavioral follow-up, or a clarification.
+            Keep it short (1–2 sentences).
+            """;
+
+    private static final String HISTORY = "Recent turns:\nQ1: What is Java?\nA1: A language.\n\n";
+
+    // Consumes benchmark results so the JIT cannot drop the work.
+    private long sink;
+
+    @Test
+    void rendersSameTextAsStringFormat() {
+        PromptTemplates templates = new PromptTemplates("classpath:prompts/", 0);
+        Map<String, String> values = values();
+
+        String expected = String.format(FOLLOW_UP_FORMAT, HISTORY,
+                "What is a HashMap?", "It stores key/value pairs with 100% O(1) lookups.").stripTrailing();
+
+        assertEquals(expected, templates.render("follow-up-question", "Java Backend Developer", values));
+    }
+
+    @Test
+    void prefersRoleVariantAndReloadsChanges(@TempDir Path dir) throws Exception {
+        Files.writeString(dir.resolve("greeting.txt"), "Hello {{role}}");
+        Files.createDirectories(dir.resolve("roles/sales-executive"));
+        Path variant = dir.resolve("roles/sales-executive/greeting.txt");
+        Files.writeString(variant, "Welcome, {{ role }}!");
+
+        PromptTemplates templates = new PromptTemplates("file:" + dir + "/", 1);
+        Map<String, String> values = Map.of("role", "Sales Executive");
+
+        assertEquals("Hello Sales Executive", templates.render("greeting", "Retail Associate", values));
+        assertEquals("Welcome, Sales Executive!", templates.render("greeting", "Sales Executive", values));
+
+        Files.writeString(variant, "Hi again, {{role}}.");
+        Files.setLastModifiedTime(variant, FileTime.fromMillis(System.currentTimeMillis() + 5_000));
+        Thread.sleep(5);
+
+        assertEquals("Hi again, Sales Executive.", templates.render("greeting", "Sales Executive", values));
+    }
+
+    /**
+     * Compares rendering with the String.format path the templates replaced, best of several timed rounds
+     * after a warm-up. Only runs on request: {@code mvn test -Dtest=PromptTemplatesTest -Dprompt.benchmark=true}.
+     */
+    @Test
+    @EnabledIfSystemProperty(named = "prompt.benchmark", matches = "true")
+    void renderingIsNotSlowerThanStringFormat() {
+        PromptTemplate template = new PromptTemplates("classpath:prompts/", 0).get("follow-up-question");
+        Map<String, String> values = values();
+        Runnable format = () -> sink += String.format(FOLLOW_UP_FORMAT, HISTORY,
+                "What is a HashMap?", "It stores key/value pairs with 100% O(1) lookups.").length();
+        Runnable render = () -> sink += template.render(values).length();
+
+        for (int i = 0; i < 5; i++) {
+            nanosPerOp(format);
+            nanosPerOp(render);
+        }
+        long formatNs = Long.MAX_VALUE;
+        long templateNs = Long.MAX_VALUE;
+        for (int i = 0; i < 10; i++) {
+            formatNs = Math.min(formatNs, nanosPerOp(format));
+            templateNs = Math.min(templateNs, nanosPerOp(render));
+        }
+
+        log.info("String.format: {} ns/op, PromptTemplate: {} ns/op ({})", formatNs, templateNs, sink);
+        assertTrue(templateNs <= formatNs, "PromptTemplate " + templateNs + " ns/op vs String.format " + formatNs);
+    }
+
+    private static long nanosPerOp(Runnable operation) {
+        int iterations = 50_000;
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            operation.run();
+        }
+        return (System.nanoTime() - start) / iterations;
+    }
+
+    private static Map<String, String> values() {
+        Map<String, String> values = new HashMap<>();
+        values.put("role", "Java Backend Developer");
+        values.put("experienceLevel", "Fresher");
+        values.put("interviewType", "Technical");
+        values.put("lastQuestion", "What is a HashMap?");
+        values.put("answer", "It stores key/value pairs with 100% O(1) lookups.");
+        values.put("history", HISTORY);
+        return values;
+    }
+}
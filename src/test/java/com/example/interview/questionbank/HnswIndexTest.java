@@ -0,0 +1,150 @@
+package com.example.interview.questionbank;
+
+import com.example.interview.model.Question;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HnswIndexTest {
+
+    private static final int DIMENSIONS = 64;
+
+    @Test
+    void searchFindsExactMatch() {
+        HnswIndex index = new HnswIndex(DIMENSIONS);
+        Random random = new Random(7);
+        List<float[]> vectors = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            float[] v = randomUnitVector(random);
+            vectors.add(v);
+            index.add(v);
+        }
+
+        for (int i = 0; i < 100; i++) {
+            List<HnswIndex.Match> matches = index.search(vectors.get(i), 1, 32);
+            assertEquals(i, matches.get(0).node());
+        }
+    }
+
+    @Test
+    void recallAgainstBruteForce() {
+        HnswIndex index = new HnswIndex(DIMENSIONS);
+        Random random = new Random(42);
+        List<float[]> vectors = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            float[] v = randomUnitVector(random);
+            vectors.add(v);
+            index.add(v);
+        }
+
+        int k = 10;
+        int hits = 0;
+        int queries = 50;
+        for (int q = 0; q < queries; q++) {
+            float[] query = randomUnitVector(random);
+
+            Set<Integer> expected = bruteForce(vectors, query, k);
+            for (HnswIndex.Match match : index.search(query, k, 128)) {
+                if (expected.contains(match.node())) {
+                    hits++;
+                }
+            }
+        }
+
+        double recall = (double) hits / (queries * k);
+        assertTrue(recall >= 0.9, "recall@10 was " + recall);
+    }
+
+    @Test
+    void hashingEmbeddingsFlagRewordedQuestions() {
+        HashingEmbeddingProvider provider = new HashingEmbeddingProvider(128);
+        QuestionBank bank = new QuestionBank(provider, 0.85, 128, 200);
+
+        assertTrue(bank.isRepeat(
+                "Can you tell me about a time you handled a difficult customer?",
+                List.of("Tell me about a time you handled a difficult customer.")));
+        assertFalse(bank.isRepeat(
+                "How does garbage collection work in the JVM?",
+                List.of("Tell me about a time you handled a difficult customer.")));
+    }
+
+    @Test
+    void vectorChunksStartSmallAndDouble() {
+        assertEquals(64, HnswIndex.chunkCapacity(0));
+        assertEquals(64, HnswIndex.chunkCapacity(1));
+        assertEquals(128, HnswIndex.chunkCapacity(2));
+        assertEquals(1 << 14, HnswIndex.chunkCapacity(20));
+
+        // Nodes fill every chunk in order, without gaps or overlaps.
+        int chunk = 0;
+        int offset = -1;
+        for (int node = 0; node < 50_000; node++) {
+            if (HnswIndex.chunkOf(node) != chunk) {
+                assertEquals(HnswIndex.chunkCapacity(chunk) - 1, offset, "chunk " + chunk + " not full");
+                assertEquals(chunk + 1, HnswIndex.chunkOf(node));
+                chunk++;
+                offset = -1;
+            }
+            assertEquals(offset + 1, HnswIndex.offsetOf(node), "node " + node);
+            offset++;
+        }
+    }
+
+    @Test
+    void shelvesAreNormalisedAndCapped() {
+        QuestionBank bank = new QuestionBank(new HashingEmbeddingProvider(128), 0.85, 128, 2);
+
+        assertTrue(bank.addIfNovel("Java Backend Developer", "TECHNICAL", question("What is a HashMap?")));
+        assertTrue(bank.addIfNovel("  java backend-developer.", "technical", question("How does GC work?")));
+        assertEquals(1, bank.shelfCount());
+        assertEquals(2, bank.size("JAVA BACKEND DEVELOPER", "Technical"));
+        assertEquals("c++ developer", QuestionBank.normalize(" C++ Developer!"));
+
+        assertTrue(bank.addIfNovel("QA Engineer", "HR", question("Tell me about yourself.")));
+        assertFalse(bank.addIfNovel("Data Scientist", "HR", question("Tell me about yourself.")));
+        assertEquals(2, bank.shelfCount());
+        assertEquals(0, bank.size("Data Scientist", "HR"));
+    }
+
+    private static Question question(String text) {
+        Question question = new Question();
+        question.setText(text);
+        return question;
+    }
+
+    private static Set<Integer> bruteForce(List<float[]> vectors, float[] query, int k) {
+        PriorityQueue<float[]> best = new PriorityQueue<>(Comparator.comparingDouble(e -> e[1]));
+        for (int i = 0; i < vectors.size(); i++) {
+            float score = 0;
+            float[] v = vectors.get(i);
+            for (int d = 0; d < DIMENSIONS; d++) {
+                score += v[d] * query[d];
+            }
+            best.add(new float[]{i, score});
+            if (best.size() > k) {
+                best.poll();
+            }
+        }
+        Set<Integer> ids = new HashSet<>();
+        for (float[] entry : best) {
+            ids.add((int) entry[0]);
+        }
+        return ids;
+    }
+
+    private static float[] randomUnitVector(Random random) {
+        float[] v = new float[DIMENSIONS];
+        double norm = 0;
+        for (int i = 0; i < DIMENSIONS; i++) {
+            v[i] = (float) random.nextGaussian();
+            norm += v[i] * v[i];
+        }
+        float scale = (float) (1.0 / Math.sqrt(norm));
+        for (int i = 0; i < DIMENSIONS; i++) {
+            v[i] *= scale;
+        }
+        return v;
+    }
+}
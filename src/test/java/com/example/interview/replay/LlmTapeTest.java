@@ -0,0 +1,105 @@
+package com.example.interview.replay;
+
+import com.example.interview.llm.ChatOptions;
+import com.example.interview.llm.LlmUsage;
+import com.example.interview.llm.ResponseSchema;
+import com.example.interview.llm.dto.ChatMessage;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LlmTapeTest {
+
+    private static final ResponseSchema SCHEMA = ResponseSchema.forClass(Verdict.class, Map.of(), Set.of());
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void recordedCallsAreReplayedByPromptThenBySchema() throws Exception {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        InterviewRecorder recording = new InterviewRecorder(registry, "record", dir.toString(), 2, 100);
+        LlmTape tape = new LlmTape(recording, registry, 0);
+        ChatOptions feedback = ChatOptions.forSession("s1", 1);
+        feedback.setResponseSchema(SCHEMA);
+        tape.record(prompt("Tell me about yourself"), ChatOptions.forSession("s1", 1), "GEMINI", "gemini-2.0-flash",
+                new LlmUsage(100, 20, 0), 5_000_000, "What is a hash map?");
+        tape.record(prompt("Score this interview"), feedback, "GEMINI", "gemini-2.0-flash",
+                new LlmUsage(300, 50, 0), 9_000_000, "{\"verdict\":\"hire\"}");
+        tape.recordFailure(prompt("Score another one"), feedback, "GEMINI", "gemini-2.0-flash", 1_000_000);
+        recording.destroy();
+
+        InterviewRecorder replaying = new InterviewRecorder(registry, "replay", dir.toString(), 2, 100);
+        assertEquals(3, replaying.read().llmCalls().size());
+        assertEquals(2, RecordingFile.list(dir).size());
+        tape = new LlmTape(replaying, registry, 0);
+
+        RecordedLlmCall exact = tape.replay(prompt("Tell me about yourself"), null);
+        assertEquals("What is a hash map?", exact.reply());
+        assertEquals(5, exact.latencyMillis());
+        assertEquals(new LlmUsage(100, 20, 0), exact.usage());
+
+        // The feedback prompt changed: recorded replies for the schema are served in turn.
+        RecordedLlmCall first = tape.replay(prompt("Score this interview, v2"), SCHEMA);
+        RecordedLlmCall second = tape.replay(prompt("Score this interview, v2"), SCHEMA);
+        assertEquals("{\"verdict\":\"hire\"}", first.reply());
+        assertTrue(second.failed());
+        assertNull(second.reply());
+
+        assertNull(tape.replay(prompt("Anything else"), ResponseSchema.forClass(Other.class, Map.of(), Set.of())));
+        assertEquals(1.0, registry.counter("replay.llm.calls", "match", "exact").count());
+        assertEquals(2.0, registry.counter("replay.llm.calls", "match", "schema").count());
+        assertEquals(1.0, registry.counter("replay.llm.calls", "match", "miss").count());
+    }
+
+    @Test
+    void requestKinds() {
+        assertEquals("start", ReplayRunner.kind(request("POST", "/api/interview/start")));
+        assertEquals("answer", ReplayRunner.kind(request("POST", "/api/interview/abc/answer")));
+        assertEquals("finish", ReplayRunner.kind(request("POST", "/api/interview/abc/finish")));
+        assertEquals("feedback", ReplayRunner.kind(request("GET", "/api/interview/abc/feedback")));
+        assertNull(ReplayRunner.kind(request("POST", "/api/interview/abc/voice/u1/complete")));
+        assertNull(ReplayRunner.kind(request("GET", "/api/interview/")));
+    }
+
+    private static List<ChatMessage> prompt(String text) {
+        return List.of(new ChatMessage("system", "You are an interviewer."), new ChatMessage("user", text));
+    }
+
+    private static RecordedRequest request(String method, String path) {
+        return new RecordedRequest(0, "abc", "alice", method, path, 200, 1, "", "");
+    }
+
+    public static class Verdict {
+        private String verdict;
+
+        public String getVerdict() {
+            return verdict;
+        }
+
+        public void setVerdict(String verdict) {
+            this.verdict = verdict;
+        }
+    }
+
+    public static class Other {
+        private String note;
+
+        public String getNote() {
+            return note;
+        }
+
+        public void setNote(String note) {
+            this.note = note;
+        }
+    }
+}
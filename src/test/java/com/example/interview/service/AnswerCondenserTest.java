@@ -0,0 +1,70 @@
+package com.example.interview.service;
+
+import com.example.interview.llm.TokenEstimator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AnswerCondenserTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final AnswerCondenser condenser = new AnswerCondenser(registry, true, 120, 100_000);
+
+    @Test
+    void normalizesWhitespaceAndCodeAndDropsRepeats() {
+        String answer = "I would   use a\tHashMap here.  \r\n\r\n\r\n"
+                + "```\n"
+                + "        Map<String, Integer> counts = new HashMap<>();\n"
+                + "\n"
+                + "        for (String w : words) {\n"
+                + "            counts.merge(w, 1, Integer::sum);\n"
+                + "        }\n"
+                + "```\n"
+                + "ERROR timeout\nERROR timeout\nERROR timeout\n\n"
+                + "I would use a HashMap here.\n";
+
+        String condensed = condenser.condense(answer, "How would you count words?");
+
+        assertEquals("I would use a HashMap here.\n\n"
+                + "```\n"
+                + "Map<String, Integer> counts = new HashMap<>();\n"
+                + "for (String w : words) {\n"
+                + "    counts.merge(w, 1, Integer::sum);\n"
+                + "}\n"
+                + "```\n\n"
+                + "ERROR timeout\n"
+                + "(previous line repeated 2 more times)", condensed);
+        double saved = registry.summary("answer.condenser.saved.bytes").totalAmount();
+        assertEquals(answer.length() - condensed.length(), saved);
+    }
+
+    @Test
+    void summarizesLongAnswersToTheCapKeepingOnTopicSentences() {
+        StringBuilder answer = new StringBuilder("Indexes speed up lookups on the orders table. ");
+        for (int i = 0; i < 40; i++) {
+            answer.append("Anecdote number ").append(i).append(" was about my weekend hiking trip. ");
+        }
+        answer.append("A composite index on customer and date fixes the slow orders query.");
+
+        String condensed = condenser.condense(answer.toString(),
+                "How would you fix a slow orders query with an index?");
+
+        assertTrue(TokenEstimator.estimate(condensed) <= 120 + 12, condensed);
+        assertTrue(condensed.contains("composite index on customer and date"), condensed);
+        assertTrue(condensed.startsWith("Indexes speed up lookups"), condensed);
+        assertTrue(condensed.endsWith("tokens.]"), condensed);
+        assertEquals(1.0, registry.counter("answer.condenser.summarized").count());
+    }
+
+    @Test
+    void shortAnswersPassThroughAndDisabledIsANoOp() {
+        assertEquals("Use a queue.", condenser.condense("Use a queue.", null));
+        AnswerCondenser disabled = new AnswerCondenser(registry, false, 10, 100_000);
+        String raw = "  lots   of   space  ";
+        assertEquals(raw, disabled.condense(raw, null));
+        assertFalse(registry.counter("answer.condenser.summarized").count() > 0);
+    }
+}
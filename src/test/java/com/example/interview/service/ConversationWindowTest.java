@@ -0,0 +1,86 @@
+package com.example.interview.service;
+
+import com.example.interview.llm.TokenEstimator;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ConversationWindowTest {
+
+    private final List<String> questions = new ArrayList<>();
+    private final List<String> answers = new ArrayList<>();
+    private final ConversationWindow.Transcript transcript = new ConversationWindow.Transcript() {
+        @Override
+        public String question(int index) {
+            return questions.get(index);
+        }
+
+        @Override
+        public String answer(int index) {
+            return answers.get(index);
+        }
+    };
+
+    @Test
+    void keepsRecentTurnsVerbatimAndFoldsOlderOnesIntoDigests() {
+        ConversationWindow window = new ConversationWindow(120, 1000);
+        for (int i = 0; i < 4; i++) {
+            add(window, "Question " + i + " about caching?", "Answer " + i + " " + "word ".repeat(30));
+            assertTrue(window.estimatedTokens() <= 1120, "tokens: " + window.estimatedTokens());
+        }
+
+        String rendered = window.render(transcript);
+        assertTrue(rendered.startsWith("Summary of earlier turns:\n- Q1: Question 0 about caching? | A: Answer 0"),
+                rendered);
+        assertTrue(rendered.contains("\n\nRecent turns:\nQ3: Question 2 about caching?\nA3: Answer 2"), rendered);
+        assertTrue(rendered.endsWith("Q4: Question 3 about caching?\nA4: Answer 3 " + "word ".repeat(30) + "\n\n"),
+                rendered);
+        assertFalse(rendered.contains("omitted"), rendered);
+        // Digests keep only the first words of the answer.
+        assertTrue(rendered.contains("word…\n"), rendered);
+    }
+
+    @Test
+    void dropsTheOldestDigestsOnceTheSummaryBudgetIsExceeded() {
+        ConversationWindow window = new ConversationWindow(60, 40);
+        for (int i = 0; i < 10; i++) {
+            add(window, "Question " + i + "?", "Answer " + i + " " + "word ".repeat(20));
+            assertTrue(window.estimatedTokens() <= 100, "tokens: " + window.estimatedTokens());
+        }
+
+        String rendered = window.render(transcript);
+        assertTrue(rendered.contains("earlier turns omitted)"), rendered);
+        assertFalse(rendered.contains("- Q1:"), rendered);
+        assertTrue(rendered.contains("Q10: Question 9?"), rendered);
+    }
+
+    @Test
+    void cutsANewestTurnThatAloneExceedsTheBudget() {
+        ConversationWindow window = new ConversationWindow(50, 100);
+        add(window, "Short question?", "Short answer.");
+        add(window, "Tell me everything?", "sentence " + "and another clause, ".repeat(200));
+
+        assertTrue(window.estimatedTokens() <= 50 + 100, "tokens: " + window.estimatedTokens());
+        String rendered = window.render(transcript);
+        String recent = rendered.substring(rendered.indexOf("Recent turns:\n") + "Recent turns:\n".length());
+        assertTrue(recent.startsWith("Q2: Tell me everything?\nA2: sentence and another clause"), recent);
+        assertTrue(recent.endsWith("…\n\n"), recent);
+        assertTrue(TokenEstimator.estimate(recent) <= 50, "recent tokens: " + TokenEstimator.estimate(recent));
+        assertTrue(rendered.contains("- Q1: Short question?"), rendered);
+
+        // Once a later turn arrives, the cut turn is digested like any other.
+        add(window, "Next?", "Fine.");
+        assertEquals(3, window.render(transcript).split("- Q").length);
+    }
+
+    private void add(ConversationWindow window, String question, String answer) {
+        questions.add(question);
+        answers.add(answer);
+        window.addTurn(transcript, questions.size() - 1);
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.interview.service;
+
+import com.example.interview.llm.LlmUnavailableException;
+import com.example.interview.model.InterviewFeedback;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class DeferredFeedbackJobsTest {
+
+    @Test
+    void retriesUntilTheJobSucceeds() throws Exception {
+        DeferredFeedbackJobs jobs = jobs(5, Duration.ofHours(1));
+        InterviewFeedback generated = feedback("Generated");
+        AtomicInteger attempts = new AtomicInteger();
+        AtomicInteger done = new AtomicInteger();
+        jobs.submit("s1", () -> {
+            if (attempts.incrementAndGet() < 3) {
+                throw new LlmUnavailableException("down", null);
+            }
+            return generated;
+        }, feedback("Unavailable"), done::incrementAndGet);
+
+        assertSame(generated, await(jobs, "s1"));
+        assertEquals(3, attempts.get());
+        assertEquals(1, done.get());
+        assertFalse(jobs.isPending("s1"));
+        jobs.destroy();
+    }
+
+    @Test
+    void servesTheFallbackOnceAttemptsRunOutOnAnyFailure() throws Exception {
+        DeferredFeedbackJobs jobs = jobs(2, Duration.ofHours(1));
+        InterviewFeedback unavailable = feedback("Unavailable");
+        AtomicInteger attempts = new AtomicInteger();
+        jobs.submit("s1", () -> {
+            attempts.incrementAndGet();
+            throw new IllegalStateException("unparseable reply");
+        }, unavailable, () -> { });
+
+        assertSame(unavailable, await(jobs, "s1"));
+        assertEquals(2, attempts.get());
+        assertFalse(jobs.isPending("s1"));
+        jobs.destroy();
+    }
+
+    @Test
+    void resultsExpire() throws Exception {
+        DeferredFeedbackJobs jobs = jobs(1, Duration.ofMillis(50));
+        jobs.submit("s1", () -> feedback("Generated"), feedback("Unavailable"), () -> { });
+        await(jobs, "s1");
+
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (jobs.result("s1") != null && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertNull(jobs.result("s1"));
+        assertFalse(jobs.isPending("s1"));
+        jobs.destroy();
+    }
+
+    private static DeferredFeedbackJobs jobs(int maxAttempts, Duration resultTtl) {
+        return new DeferredFeedbackJobs(ObservationRegistry.NOOP, Duration.ofMillis(1), Duration.ofMillis(4),
+                maxAttempts, resultTtl);
+    }
+
+    private static InterviewFeedback await(DeferredFeedbackJobs jobs, String sessionId) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (jobs.isPending(sessionId) && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        InterviewFeedback result = jobs.result(sessionId);
+        assertNotNull(result, "no result for " + sessionId);
+        return result;
+    }
+
+    private static InterviewFeedback feedback(String summary) {
+        InterviewFeedback feedback = new InterviewFeedback();
+        feedback.setOverallSummary(summary);
+        return feedback;
+    }
+}
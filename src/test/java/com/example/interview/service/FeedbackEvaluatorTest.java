@@ -0,0 +1,144 @@
+package com.example.interview.service;
+
+import com.example.interview.llm.ChatOptions;
+import com.example.interview.llm.LlmClient;
+import com.example.interview.llm.LlmUnavailableException;
+import com.example.interview.llm.dto.ChatMessage;
+import com.example.interview.prompt.PromptTemplates;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class FeedbackEvaluatorTest {
+
+    private static final ChatMessage SYSTEM = new ChatMessage("system", "coach");
+    private static final Map<String, String> VALUES = Map.of(
+            "role", "Java Backend Developer", "experienceLevel", "Junior", "interviewType", "TECHNICAL");
+
+    @Test
+    void runsSubEvaluationsConcurrentlyAndMergesThem() {
+        // Every score call blocks until all four are in flight, so this only finishes if they run in parallel.
+        CountDownLatch scoresStarted = new CountDownLatch(4);
+        LlmClient llm = mock(LlmClient.class);
+        when(llm.chat(anyList(), any())).thenAnswer(invocation -> {
+            String prompt = prompt(invocation.getArgument(0));
+            ChatOptions options = invocation.getArgument(1);
+            assertEquals("s1", options.getSessionId());
+            assertTrue(options.isSharedPrefix());
+            if (prompt.contains("Score only")) {
+                scoresStarted.countDown();
+                assertTrue(scoresStarted.await(5, TimeUnit.SECONDS));
+                return "{\"score\": 7}";
+            }
+            if (prompt.contains("Rewrite")) {
+                return "{\"improvedAnswer\": \"Better answer to " + (prompt.contains("question 1") ? "1" : "2") + "\"}";
+            }
+            return "```json\n{\"overallSummary\": \"Solid\", \"strengths\": [\"clear\"], \"areasToImprove\": [\"depth\"]}\n```";
+        });
+
+        FeedbackEvaluator.Evaluation evaluation = newEvaluator(llm).evaluate("s1", SYSTEM, VALUES,
+                List.of("Q one", "Q two", "Q three"), List.of("A one", "A two"));
+
+        assertTrue(evaluation.complete());
+        assertEquals("Solid", evaluation.feedback().getOverallSummary());
+        assertEquals(List.of("clear"), evaluation.feedback().getStrengths());
+        assertEquals(List.of("communication", "technicalDepth", "structure", "confidence"),
+                List.copyOf(evaluation.feedback().getScores().keySet()));
+        assertEquals(2, evaluation.feedback().getSampleImprovedAnswers().size());
+        assertEquals("Q two", evaluation.feedback().getSampleImprovedAnswers().get(1).getQuestion());
+        assertEquals("Better answer to 2", evaluation.feedback().getSampleImprovedAnswers().get(1).getImprovedAnswer());
+    }
+
+    @Test
+    void failedSubEvaluationIsLeftOutAndMarksTheResultIncomplete() {
+        LlmClient llm = mock(LlmClient.class);
+        when(llm.chat(anyList(), any())).thenAnswer(invocation -> {
+            String prompt = prompt(invocation.getArgument(0));
+            if (prompt.contains("confidence")) {
+                throw new LlmUnavailableException("timeout", null);
+            }
+            if (prompt.contains("Score only")) {
+                return "{\"score\": 12}";
+            }
+            if (prompt.contains("Rewrite")) {
+                return "{\"improvedAnswer\": \"Better\"}";
+            }
+            return "{\"overallSummary\": \"Fine\", \"strengths\": [], \"areasToImprove\": []}";
+        });
+
+        FeedbackEvaluator.Evaluation evaluation = newEvaluator(llm).evaluate("s1", SYSTEM, VALUES,
+                List.of("Q one"), List.of("A one"));
+
+        assertFalse(evaluation.complete());
+        assertEquals(3, evaluation.feedback().getScores().size());
+        assertFalse(evaluation.feedback().getScores().containsKey("confidence"));
+        assertEquals(10, evaluation.feedback().getScores().get("communication"));
+        assertEquals(1, evaluation.feedback().getSampleImprovedAnswers().size());
+    }
+
+    @Test
+    void failedOverviewFailsTheEvaluation() {
+        LlmClient llm = mock(LlmClient.class);
+        when(llm.chat(anyList(), any())).thenAnswer(invocation -> {
+            if (prompt(invocation.getArgument(0)).contains("overall summary")) {
+                throw new LlmUnavailableException("circuit open", null);
+            }
+            return "{\"score\": 5}";
+        });
+
+        assertThrows(LlmUnavailableException.class, () -> newEvaluator(llm).evaluate("s1", SYSTEM, VALUES,
+                List.of("Q one"), List.of("A one")));
+    }
+
+    @Test
+    void failedOverviewCancelsSubEvaluationsThatHaveNotStarted() throws Exception {
+        CountDownLatch overviewFailed = new CountDownLatch(1);
+        AtomicInteger subCalls = new AtomicInteger();
+        LlmClient llm = mock(LlmClient.class);
+        when(llm.chat(anyList(), any())).thenAnswer(invocation -> {
+            if (prompt(invocation.getArgument(0)).contains("overall summary")) {
+                throw new LlmUnavailableException("circuit open", null);
+            }
+            subCalls.incrementAndGet();
+            assertTrue(overviewFailed.await(5, TimeUnit.SECONDS));
+            return "{\"score\": 5}";
+        });
+        FeedbackEvaluator evaluator = newEvaluator(llm, 1);
+
+        assertThrows(LlmUnavailableException.class, () -> evaluator.evaluate("s1", SYSTEM, VALUES,
+                List.of("Q one", "Q two"), List.of("A one", "A two")));
+        overviewFailed.countDown();
+
+        // At most the sub-call already running on the single worker went out.
+        Thread.sleep(200);
+        assertTrue(subCalls.get() <= 1, subCalls.get() + " sub-calls");
+        evaluator.destroy();
+    }
+
+    private static FeedbackEvaluator newEvaluator(LlmClient llm) {
+        return newEvaluator(llm, 8);
+    }
+
+    private static FeedbackEvaluator newEvaluator(LlmClient llm, int parallelism) {
+        return new FeedbackEvaluator(llm, new PromptTemplates("classpath:prompts/", 0), ObservationRegistry.NOOP, true,
+                parallelism, 5);
+    }
+
+    private static String prompt(List<ChatMessage> messages) {
+        return messages.get(messages.size() - 1).getContent();
+    }
+}
@@ -0,0 +1,207 @@
+package com.example.interview.service;
+
+import com.example.interview.analytics.FeedbackAnalyticsService;
+import com.example.interview.cluster.SessionRouter;
+import com.example.interview.feedback.FeedbackCache;
+import com.example.interview.feedback.StoredFeedbackRepository;
+import com.example.interview.ledger.TokenLedger;
+import com.example.interview.llm.LlmClient;
+import com.example.interview.llm.LlmUnavailableException;
+import com.example.interview.llm.dto.ChatMessage;
+import com.example.interview.model.Answer;
+import com.example.interview.model.InterviewConfig;
+import com.example.interview.model.InterviewFeedback;
+import com.example.interview.prompt.PromptTemplates;
+import com.example.interview.questionbank.FallbackQuestions;
+import com.example.interview.questionbank.HashingEmbeddingProvider;
+import com.example.interview.questionbank.QuestionBank;
+import com.example.interview.transcript.TranscriptLog;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class InterviewServiceConcurrencyTest {
+
+    @Test
+    void duplicateAnswersForTheSameQuestionRunOneTurn() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        LlmClient llm = mock(LlmClient.class);
+        when(llm.chat(anyList(), any())).thenAnswer(invocation -> {
+            int call = calls.incrementAndGet();
+            if (call > 1) {
+                release.await(5, TimeUnit.SECONDS);
+            }
+            return "Distinct question number " + call + " about topic " + call * 7919;
+        });
+
+        InterviewService service = newService(llm);
+        InterviewService.StartInterviewResponse started = service.startInterview(config(), "alice");
+
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        List<Future<InterviewService.NextQuestionResponse>> responses = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            Answer answer = new Answer();
+            answer.setQuestionId(started.getQuestionId());
+            answer.setText("My answer");
+            responses.add(pool.submit(() -> service.submitAnswer(started.getSessionId(), answer)));
+        }
+        Thread.sleep(100);
+        release.countDown();
+
+        String next = responses.get(0).get(5, TimeUnit.SECONDS).getNextQuestion();
+        for (Future<InterviewService.NextQuestionResponse> response : responses) {
+            assertEquals(next, response.get(5, TimeUnit.SECONDS).getNextQuestion());
+            assertEquals("1", response.get().getQuestionId());
+        }
+        pool.shutdown();
+
+        // Opening question plus exactly one follow-up.
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void failedTurnIsRolledBackAndCanBeRetried() {
+        AtomicInteger calls = new AtomicInteger();
+        LlmClient llm = mock(LlmClient.class);
+        when(llm.chat(anyList(), any())).thenAnswer(invocation -> {
+            if (calls.incrementAndGet() == 2) {
+                throw new IllegalStateException("unexpected reply");
+            }
+            return "Distinct question number " + calls.get() + " about topic " + calls.get() * 7919;
+        });
+        InterviewService service = newService(llm);
+        InterviewService.StartInterviewResponse started = service.startInterview(config(), "alice");
+
+        Answer answer = new Answer();
+        answer.setQuestionId(started.getQuestionId());
+        answer.setText("My answer");
+        assertThrows(IllegalStateException.class, () -> service.submitAnswer(started.getSessionId(), answer));
+
+        InterviewService.NextQuestionResponse next = service.submitAnswer(started.getSessionId(), answer);
+        assertEquals("1", next.getQuestionId());
+        assertEquals("Distinct question number 3 about topic " + 3 * 7919, next.getNextQuestion());
+
+        Answer second = new Answer();
+        second.setQuestionId(next.getQuestionId());
+        second.setText("My second answer");
+        assertEquals("2", service.submitAnswer(started.getSessionId(), second).getQuestionId());
+    }
+
+    @Test
+    void keepsTheAnswerAsGivenAndCondensesItInPrompts(@TempDir Path dir) {
+        List<String> prompts = new CopyOnWriteArrayList<>();
+        LlmClient llm = mock(LlmClient.class);
+        when(llm.chat(anyList(), any())).thenAnswer(invocation -> {
+            List<ChatMessage> messages = invocation.getArgument(0);
+            prompts.add(messages.get(messages.size() - 1).getContent());
+            return "Distinct question number " + prompts.size() + " about topic " + prompts.size() * 7919;
+        });
+        TranscriptLog transcriptLog = new TranscriptLog(true, dir.toString(), 1 << 20, 10, 0.5, Duration.ofHours(24));
+        InterviewService service = newService(llm, transcriptLog);
+        InterviewService.StartInterviewResponse started = service.startInterview(config(), "alice");
+
+        Answer answer = new Answer();
+        answer.setQuestionId(started.getQuestionId());
+        answer.setText("I would   add an index.\n\n\nI would   add an index.");
+        service.submitAnswer(started.getSessionId(), answer);
+
+        assertEquals(answer.getText(), transcriptLog.answer(started.getSessionId(), 0));
+        assertTrue(prompts.get(1).contains("I would add an index."), prompts.get(1));
+        assertFalse(prompts.get(1).contains("I would   add"), prompts.get(1));
+        transcriptLog.destroy();
+    }
+
+    @Test
+    void restoredSessionsKeepTheirOwnerUntilTheyFinish(@TempDir Path dir) {
+        LlmClient llm = mock(LlmClient.class);
+        when(llm.chat(anyList(), any())).thenReturn("Tell me about yourself.");
+        TranscriptLog transcriptLog = new TranscriptLog(true, dir.toString(), 1 << 20, 10, 0.5, Duration.ofHours(24));
+        String sessionId = newService(llm, transcriptLog, mock(TokenLedger.class))
+                .startInterview(config(), "alice").getSessionId();
+        transcriptLog.destroy();
+
+        TokenLedger ledger = mock(TokenLedger.class);
+        transcriptLog = new TranscriptLog(true, dir.toString(), 1 << 20, 10, 0.5, Duration.ofHours(24));
+        InterviewService restarted = newService(llm, transcriptLog, ledger);
+        verify(ledger).bindSession(sessionId, "alice");
+
+        restarted.finishInterview(sessionId);
+        verify(ledger).releaseSession(sessionId);
+        transcriptLog.destroy();
+    }
+
+    @Test
+    void servesFallbackQuestionsAndDefersFeedbackWhileLlmIsDown() {
+        LlmClient llm = mock(LlmClient.class);
+        when(llm.chat(anyList(), any())).thenThrow(new LlmUnavailableException("down", null));
+        InterviewService service = newService(llm);
+
+        InterviewService.StartInterviewResponse started = service.startInterview(config(), "alice");
+        assertTrue(started.isDegraded());
+
+        Answer answer = new Answer();
+        answer.setQuestionId(started.getQuestionId());
+        answer.setText("My answer");
+        InterviewService.NextQuestionResponse next = service.submitAnswer(started.getSessionId(), answer);
+        assertTrue(next.isDegraded());
+        assertNotEquals(started.getFirstQuestion(), next.getNextQuestion());
+
+        InterviewFeedback feedback = service.finishInterview(started.getSessionId());
+        assertTrue(feedback.isPending());
+        assertTrue(service.getFeedback(started.getSessionId()).isPending());
+    }
+
+    private static InterviewService newService(LlmClient llm) {
+        return newService(llm, new TranscriptLog(false, "unused", 0, 0, 0, Duration.ZERO));
+    }
+
+    private static InterviewService newService(LlmClient llm, TranscriptLog transcriptLog) {
+        return newService(llm, transcriptLog, mock(TokenLedger.class));
+    }
+
+    private static InterviewService newService(LlmClient llm, TranscriptLog transcriptLog, TokenLedger ledger) {
+        PromptTemplates prompts = new PromptTemplates("classpath:prompts/", 0);
+        return new InterviewService(llm, new FeedbackAnalyticsService(),
+                new QuestionBank(new HashingEmbeddingProvider(128), 0.85, 128, 200),
+                prompts,
+                transcriptLog,
+                new FallbackQuestions("classpath:fallback-questions/"),
+                new DeferredFeedbackJobs(ObservationRegistry.NOOP, Duration.ofHours(1), Duration.ofHours(1), 1,
+                        Duration.ofHours(1)),
+                new FeedbackCache(mock(StoredFeedbackRepository.class), 100),
+                new FeedbackEvaluator(llm, prompts, ObservationRegistry.NOOP, true, 4, 5),
+                new SessionRouter(false, "local", "", 1024, 128, true),
+                ledger,
+                new AnswerCondenser(new SimpleMeterRegistry(), true, 600, 100_000),
+                ObservationRegistry.NOOP,
+                false, 1200, 300);
+    }
+
+    private static InterviewConfig config() {
+        InterviewConfig config = new InterviewConfig();
+        config.setRole("Java Backend Developer");
+        config.setExperienceLevel("Junior");
+        config.setInterviewType("TECHNICAL");
+        return config;
+    }
+}
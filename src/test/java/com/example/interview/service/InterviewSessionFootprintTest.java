@@ -0,0 +1,124 @@
+package com.example.interview.service;
+
+import org.junit.jupiter.api.Test;
+import org.openjdk.jol.info.ClassLayout;
+import org.openjdk.jol.info.GraphLayout;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class InterviewSessionFootprintTest {
+
+    private static final int SESSIONS = 1_000;
+    private static final int TURNS = 8;
+    // Measured at about 5.9 KB with compressed oops, against about 7.8 KB for the String lists.
+    private static final long MAX_SESSION_BYTES = 6_400;
+
+    private static final String QUESTION =
+            "Can you walk me through how you would design a rate limiter for a public REST API - what trade-offs matter? ";
+    private static final String ANSWER =
+            "I would start with a token bucket per API key stored in Redis, refilled at a fixed rate. "
+                    + "Each request atomically decrements the bucket with a Lua script, and when it is empty "
+                    + "we return 429 with a Retry-After header. For bursty clients the bucket size controls "
+                    + "how much burst we tolerate, and for fairness across tenants we can layer a global limit "
+                    + "on top. I would also add local in-memory counters as a first line so that most rejects "
+                    + "never hit Redis, and measure p99 latency of the limiter itself. ";
+    // Answers typed on phones or pasted from documents often carry a curly apostrophe, which is outside
+    // Latin-1 and makes the JDK store the whole String as UTF-16.
+    private static final String TYPED_ANSWER = ANSWER.replace("I would", "I’d");
+
+    /**
+     * Half the answers are plain ASCII, which compact strings already store at one byte per char; the
+     * other half carry one non-Latin-1 character. Compact sessions are measured with their conversation
+     * window, so the window's own memory counts against the saving.
+     */
+    @Test
+    void compactSessionsUseAtLeastAFifthLessHeapThanStringLists() throws IllegalAccessException {
+        Object[] legacy = new Object[SESSIONS];
+        InterviewSession[] compact = new InterviewSession[SESSIONS];
+        for (int s = 0; s < SESSIONS; s++) {
+            // Fresh strings per session, as produced by JSON deserialisation of each request.
+            String role = new String("Java Backend Developer");
+            String level = new String("Mid-level");
+            String type = new String("Technical");
+
+            LegacySession old = new LegacySession();
+            old.id = "session-" + s;
+            old.role = role;
+            old.experienceLevel = level;
+            old.interviewType = type;
+
+            InterviewSession session = new InterviewSession();
+            session.setId("session-" + s);
+            session.setProfile(SessionProfile.of(role, level, type));
+            session.setConversation(new ConversationWindow(1200, 300));
+
+            for (int t = 0; t < TURNS; t++) {
+                String question = QUESTION + t;
+                String answer = (t % 2 == 0 ? ANSWER : TYPED_ANSWER) + t;
+                old.questions.add(question);
+                old.answers.add(answer);
+                session.addQuestion(question);
+                session.addAnswer(answer);
+                session.getConversation().addTurn(session, t);
+            }
+            legacy[s] = old;
+            compact[s] = session;
+        }
+
+        long legacyBytes = GraphLayout.parseInstance(legacy).totalSize();
+        long compactBytes = footprint(compact);
+        String perSession = "compact " + compactBytes / SESSIONS + " bytes vs legacy " + legacyBytes / SESSIONS
+                + " bytes per session";
+        assertTrue(compactBytes * 5 <= legacyBytes * 4, perSession);
+        assertTrue(compactBytes / SESSIONS <= MAX_SESSION_BYTES, perSession);
+
+        InterviewSession first = compact[0];
+        assertEquals(QUESTION + 3, first.getQuestions().get(3));
+        assertEquals(TYPED_ANSWER + 7, first.getAnswers().get(7));
+    }
+
+    /**
+     * JOL cannot take field offsets of records, so sessions are walked field by field instead of
+     * through their TurnState, which is counted as its AtomicReference (the initial state is shared).
+     */
+    private static long footprint(InterviewSession[] sessions) throws IllegalAccessException {
+        List<Object> fields = new ArrayList<>();
+        for (InterviewSession session : sessions) {
+            for (Field field : InterviewSession.class.getDeclaredFields()) {
+                if (Modifier.isStatic(field.getModifiers()) || field.getType().isPrimitive()
+                        || field.getType() == AtomicReference.class) {
+                    continue;
+                }
+                field.setAccessible(true);
+                Object value = field.get(session);
+                if (value != null) {
+                    fields.add(value);
+                }
+            }
+        }
+        long shallow = ClassLayout.parseClass(InterviewSession.class).instanceSize()
+                + ClassLayout.parseClass(AtomicReference.class).instanceSize();
+        return GraphLayout.parseInstance(fields.toArray()).totalSize() + shallow * sessions.length;
+    }
+
+    /**
+     * Layout of InterviewSession before the compact representation: String lists and per-session
+     * config strings.
+     */
+    private static class LegacySession {
+        String id;
+        String role;
+        String experienceLevel;
+        String interviewType;
+        List<String> questions = new ArrayList<>();
+        List<String> answers = new ArrayList<>();
+        boolean finished;
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.interview.tracing;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationHandler;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class JdbcObservationPostProcessorTest {
+
+    private final List<Observation.Context> stopped = new CopyOnWriteArrayList<>();
+    private final ObservationRegistry registry = ObservationRegistry.create();
+
+    JdbcObservationPostProcessorTest() {
+        registry.observationConfig().observationHandler(new ObservationHandler<>() {
+            @Override
+            public void onStop(Observation.Context context) {
+                stopped.add(context);
+            }
+
+            @Override
+            public boolean supportsContext(Observation.Context context) {
+                return true;
+            }
+        });
+    }
+
+    @Test
+    void queryIsObservedAsChildOfCurrentObservation() throws Exception {
+        DataSource dataSource = observed(mockDataSource());
+
+        Observation request = Observation.start("request", registry);
+        try (Observation.Scope scope = request.openScope();
+             Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("select * from user_account where email = ?")) {
+            statement.executeQuery();
+        } finally {
+            request.stop();
+        }
+
+        Observation.Context query = stopped.get(0);
+        assertEquals("interview.jdbc", query.getName());
+        assertEquals("select", query.getLowCardinalityKeyValue("db.operation").getValue());
+        assertEquals("select * from user_account where email = ?",
+                query.getHighCardinalityKeyValue("db.statement").getValue());
+        assertSame(request, query.getParentObservation());
+    }
+
+    @Test
+    void queryOnPoolThreadStaysUnderSubmittingObservation() throws Exception {
+        DataSource dataSource = observed(mockDataSource());
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+
+        Observation stage = Observation.start("interview.feedback", registry);
+        try (Observation.Scope scope = stage.openScope()) {
+            CompletableFuture.runAsync(() -> {
+                try (Connection connection = dataSource.getConnection()) {
+                    connection.prepareStatement("insert into stored_feedback values (?)").executeUpdate();
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            }, ObservationPropagation.wrap(registry, pool)).join();
+        } finally {
+            stage.stop();
+            pool.shutdown();
+        }
+
+        Observation.Context insert = stopped.get(0);
+        assertEquals("insert", insert.getLowCardinalityKeyValue("db.operation").getValue());
+        assertSame(stage, insert.getParentObservation());
+    }
+
+    private DataSource observed(DataSource dataSource) {
+        StaticListableBeanFactory beans = new StaticListableBeanFactory();
+        beans.addBean("observationRegistry", registry);
+        JdbcObservationPostProcessor processor =
+                new JdbcObservationPostProcessor(beans.getBeanProvider(ObservationRegistry.class), true);
+        return (DataSource) processor.postProcessAfterInitialization(dataSource, "dataSource");
+    }
+
+    private static DataSource mockDataSource() throws Exception {
+        PreparedStatement statement = mock(PreparedStatement.class);
+        when(statement.executeQuery()).thenReturn(mock(ResultSet.class));
+        Connection connection = mock(Connection.class);
+        when(connection.prepareStatement(anyString())).thenReturn(statement);
+        DataSource dataSource = mock(DataSource.class);
+        when(dataSource.getConnection()).thenReturn(connection);
+        return dataSource;
+    }
+}
@@ -0,0 +1,160 @@
+package com.example.interview.transcript;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TranscriptLogTest {
+
+    private static final int SEGMENT_SIZE = 4096;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void recoversUnfinishedSessionsAfterRestart() {
+        TranscriptLog log = open();
+        log.start("a", "Java Developer", "Junior", "Technical", "alice");
+        log.appendQuestion("a", "What is a HashMap?");
+        log.appendAnswer("a", "A hash table — ключ/значение.");
+        log.appendQuestion("a", "How does resizing work?");
+        log.appendAnswer("a", "A failed turn's answer.");
+        log.retractAnswer("a");
+        log.start("b", "QA", "Senior", "HR", "alice");
+        log.appendQuestion("b", "Tell me about yourself.");
+        log.finish("b");
+        log.destroy();
+
+        TranscriptLog reopened = open();
+        List<TranscriptLog.RecoveredSession> recovered = reopened.recoveredSessions();
+        assertEquals(1, recovered.size());
+        assertEquals("a", recovered.get(0).id());
+        assertEquals("Java Developer", recovered.get(0).role());
+        assertEquals("alice", recovered.get(0).owner());
+        assertEquals(2, reopened.questionCount("a"));
+        assertEquals(1, reopened.answerCount("a"));
+        assertEquals("A hash table — ключ/значение.", reopened.answer("a", 0));
+        assertEquals("How does resizing work?", reopened.question("a", 1));
+
+        reopened.appendAnswer("a", "It doubles the table.");
+        assertEquals("It doubles the table.", reopened.answer("a", 1));
+        reopened.destroy();
+    }
+
+    @Test
+    void reclaimsSegmentsOnceTheirSessionsFinish() throws IOException {
+        TranscriptLog log = open();
+        String text = "x".repeat(400);
+        log.start("long", "Java Developer", "Junior", "Technical", "bob");
+        log.start("short", "Java Developer", "Junior", "Technical", "alice");
+        for (int i = 0; i < 20; i++) {
+            log.appendQuestion("short", text);
+        }
+        log.appendQuestion("long", "Still here?");
+        log.finish("short");
+
+        // Only "long" is live; its few bytes were relocated and the sparse segments deleted.
+        assertTrue(segmentCount() <= 2, "segments left: " + segmentCount());
+        assertEquals("Still here?", log.question("long", 0));
+        log.destroy();
+
+        TranscriptLog reopened = open();
+        assertEquals(1, reopened.recoveredSessions().size());
+        assertEquals("bob", reopened.recoveredSessions().get(0).owner());
+        assertEquals("Still here?", reopened.question("long", 0));
+        reopened.destroy();
+    }
+
+    @Test
+    void keepsAFinishRecordWhileAnOlderSegmentStillHoldsTheSession() throws IOException {
+        TranscriptLog log = open();
+        log.start("long", "Java Developer", "Junior", "Technical", "alice");
+        log.appendQuestion("long", "x".repeat(2500));
+        log.start("done", "Java Developer", "Junior", "Technical", "bob");
+        log.appendQuestion("done", "What is a HashMap?");
+        // Rolls into a second segment; the first stays mostly live because of "long".
+        log.start("filler", "QA", "Senior", "HR", "carol");
+        log.appendQuestion("filler", "y".repeat(1500));
+        log.finish("done");
+        log.finish("filler");
+        // Seals the second segment, which now holds no live session, only the FINISH of "done".
+        log.start("next", "QA", "Senior", "HR", "carol");
+        log.appendQuestion("next", "z".repeat(3000));
+        log.destroy();
+
+        TranscriptLog reopened = open();
+        assertEquals(List.of("long", "next"),
+                reopened.recoveredSessions().stream().map(TranscriptLog.RecoveredSession::id).sorted().toList());
+        assertEquals(0, reopened.questionCount("done"));
+
+        // Once the first segment goes, the FINISH record is no longer needed either.
+        reopened.finish("long");
+        assertEquals(1, segmentCount());
+        reopened.destroy();
+    }
+
+    @Test
+    void finishesAbandonedSessionsInsteadOfRecoveringThem() throws IOException {
+        TranscriptLog log = open();
+        log.start("stale", "Java Developer", "Junior", "Technical", "alice");
+        log.appendQuestion("stale", "What is a HashMap?");
+        log.destroy();
+        try (Stream<Path> files = Files.list(dir)) {
+            for (Path file : files.toList()) {
+                Files.setLastModifiedTime(file, FileTime.from(Instant.now().minus(Duration.ofDays(2))));
+            }
+        }
+
+        TranscriptLog reopened = open();
+        assertEquals(List.of(), reopened.recoveredSessions());
+        assertEquals(0, reopened.questionCount("stale"));
+        reopened.destroy();
+
+        TranscriptLog again = open();
+        assertEquals(List.of(), again.recoveredSessions());
+        assertEquals(1, segmentCount());
+        again.destroy();
+    }
+
+    @Test
+    void restartsAppendToTheLastSegment() throws IOException {
+        TranscriptLog log = open();
+        log.start("a", "Java Developer", "Junior", "Technical", "alice");
+        log.appendQuestion("a", "What is a HashMap?");
+        log.destroy();
+
+        for (int restart = 0; restart < 3; restart++) {
+            TranscriptLog reopened = open();
+            reopened.appendAnswer("a", "Answer " + restart);
+            reopened.appendQuestion("a", "Question " + restart);
+            reopened.destroy();
+        }
+
+        TranscriptLog reopened = open();
+        assertEquals(1, segmentCount());
+        assertEquals(4, reopened.questionCount("a"));
+        assertEquals("Answer 2", reopened.answer("a", 2));
+        reopened.destroy();
+    }
+
+    private TranscriptLog open() {
+        return new TranscriptLog(true, dir.toString(), SEGMENT_SIZE, 10, 0.5, Duration.ofHours(24));
+    }
+
+    private long segmentCount() throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.count();
+        }
+    }
+}
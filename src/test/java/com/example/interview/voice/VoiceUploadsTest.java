@@ -0,0 +1,106 @@
+package com.example.interview.voice;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+import java.io.ByteArrayInputStream;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class VoiceUploadsTest {
+
+    @Test
+    void transcribesChunksIncrementallyThroughSmallBuffers() throws Exception {
+        // 4-byte buffers force every chunk through several refills and split the multi-byte characters.
+        VoiceUploads uploads = new VoiceUploads(new StubTranscriptionEngine(), 2, 4, 1024, 10,
+                Duration.ofMinutes(5), Duration.ofSeconds(1));
+        String id = uploads.begin("s1", "3", "text/plain; charset=utf-8");
+
+        byte[] speech = "I would profile first – then optimise.".getBytes(StandardCharsets.UTF_8);
+        int split = 21;
+        VoiceUploads.Progress first = uploads.append("s1", id, 0, new ByteArrayInputStream(Arrays.copyOf(speech, split)));
+        assertEquals("I would profile first", first.partialTranscript());
+
+        VoiceUploads.Progress retried = uploads.append("s1", id, 0, new ByteArrayInputStream(new byte[]{'x'}));
+        assertEquals(split, retried.receivedBytes());
+
+        uploads.append("s1", id, 1, new ByteArrayInputStream(Arrays.copyOfRange(speech, split, speech.length)));
+        VoiceUploads.Transcript transcript = uploads.complete("s1", id);
+
+        assertEquals("3", transcript.questionId());
+        assertEquals("I would profile first – then optimise.", transcript.text());
+        assertEquals(2, uploads.availableBuffers());
+    }
+
+    @Test
+    void rejectsOutOfOrderOversizedAndForeignUploads() throws Exception {
+        VoiceUploads uploads = new VoiceUploads(new StubTranscriptionEngine(), 1, 16, 32, 10,
+                Duration.ofMinutes(5), Duration.ofSeconds(1));
+        String id = uploads.begin("s1", "0", "text/plain");
+
+        assertEquals(HttpStatus.CONFLICT, assertThrows(VoiceUploadException.class,
+                () -> uploads.append("s1", id, 1, new ByteArrayInputStream(new byte[8]))).getStatus());
+        assertEquals(HttpStatus.NOT_FOUND, assertThrows(VoiceUploadException.class,
+                () -> uploads.append("other", id, 0, new ByteArrayInputStream(new byte[8]))).getStatus());
+
+        uploads.append("s1", id, 0, new ByteArrayInputStream(new byte[20]));
+        assertEquals(HttpStatus.CONTENT_TOO_LARGE, assertThrows(VoiceUploadException.class,
+                () -> uploads.append("s1", id, 1, new ByteArrayInputStream(new byte[20]))).getStatus());
+        assertEquals(1, uploads.availableBuffers());
+        assertThrows(VoiceUploadException.class, () -> uploads.complete("s1", id));
+    }
+
+    @Test
+    void stubRefusesAudioItCannotTranscribe() {
+        VoiceUploads uploads = new VoiceUploads(new StubTranscriptionEngine(), 1, 1024, 1 << 20, 10,
+                Duration.ofMinutes(5), Duration.ofSeconds(1));
+        assertEquals(HttpStatus.UNSUPPORTED_MEDIA_TYPE, assertThrows(VoiceUploadException.class,
+                () -> uploads.begin("s1", "0", "audio/webm")).getStatus());
+    }
+
+    @Test
+    void slowChunksHoldNeitherABufferNorTheUpload() throws Exception {
+        VoiceUploads uploads = new VoiceUploads(new StubTranscriptionEngine(), 1, 64, 1024, 10,
+                Duration.ofMinutes(5), Duration.ofMillis(100));
+        String slow = uploads.begin("s1", "0", "text/plain");
+        String other = uploads.begin("s2", "0", "text/plain");
+        PipedOutputStream client = new PipedOutputStream();
+        PipedInputStream body = new PipedInputStream(client);
+        client.write("I would".getBytes(StandardCharsets.UTF_8));
+        client.flush();
+
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        try {
+            Future<VoiceUploads.Progress> pending = pool.submit(() -> uploads.append("s1", slow, 0, body));
+            // Wait until what the client sent so far has been fed and the chunk is waiting for more.
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while ((body.available() > 0 || uploads.availableBuffers() == 0) && System.nanoTime() < deadline) {
+                Thread.sleep(5);
+            }
+
+            assertEquals("Hello", uploads.append("s2", other, 0,
+                    new ByteArrayInputStream("Hello".getBytes(StandardCharsets.UTF_8))).partialTranscript());
+            assertEquals(HttpStatus.CONFLICT, assertThrows(VoiceUploadException.class,
+                    () -> uploads.append("s1", slow, 0, new ByteArrayInputStream(new byte[1]))).getStatus());
+            assertEquals(HttpStatus.CONFLICT, assertThrows(VoiceUploadException.class,
+                    () -> uploads.complete("s1", slow)).getStatus());
+
+            client.write(" profile first.".getBytes(StandardCharsets.UTF_8));
+            client.close();
+            assertEquals("I would profile first.", pending.get(5, TimeUnit.SECONDS).partialTranscript());
+            assertEquals("I would profile first.", uploads.complete("s1", slow).text());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
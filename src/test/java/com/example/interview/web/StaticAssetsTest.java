@@ -0,0 +1,70 @@
+package com.example.interview.web;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StaticAssetsTest {
+
+    @Test
+    void pageLinksFingerprintedCompressedAssets() throws Exception {
+        StaticAssets assets = new StaticAssets("classpath:web/", true);
+        String page = new String(assets.page().body(), StandardCharsets.UTF_8);
+
+        Matcher css = Pattern.compile("href=\"/assets/(app\\.[0-9a-f]{12}\\.css)\"").matcher(page);
+        Matcher js = Pattern.compile("src=\"/assets/(app\\.[0-9a-f]{12}\\.js)\"").matcher(page);
+        assertTrue(css.find());
+        assertTrue(js.find());
+        assertFalse(page.contains("/css/app.css"));
+
+        StaticAssets.Asset script = assets.find(js.group(1));
+        assertNotNull(script);
+        assertTrue(script.gzipped().length < script.body().length);
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(script.gzipped()))) {
+            assertArrayEquals(script.body(), in.readAllBytes());
+        }
+        assertNull(assets.find("app.css"));
+    }
+
+    @Test
+    void revalidationWithCurrentEtagIsNotModified() {
+        StaticAssets.Asset asset = new StaticAssets("classpath:web/", true).page();
+        CacheControl cache = CacheControl.noCache();
+
+        ResponseEntity<byte[]> first = StaticAssetController.serve(asset, cache, "gzip, br", null);
+        assertEquals(HttpStatus.OK, first.getStatusCode());
+        assertEquals("gzip", first.getHeaders().getFirst("Content-Encoding"));
+
+        ResponseEntity<byte[]> again = StaticAssetController.serve(asset, cache, "gzip, br", first.getHeaders().getETag());
+        assertEquals(HttpStatus.NOT_MODIFIED, again.getStatusCode());
+        assertNull(again.getBody());
+
+        // A cached identity copy does not validate the gzip representation.
+        ResponseEntity<byte[]> plain = StaticAssetController.serve(asset, cache, null, null);
+        assertEquals(HttpStatus.OK, StaticAssetController.serve(asset, cache, "gzip",
+                plain.getHeaders().getETag()).getStatusCode());
+    }
+
+    @Test
+    void minifierKeepsStringsAndTemplateLiterals() {
+        assertEquals("a>b{color: red;content: \"a  /* b */\";}",
+                AssetMinifier.css("/* note */\na > b {\n    color: red;\n    content: \"a  /* b */\";\n}\n"));
+
+        String js = "// comment\nfunction f() {\n    const s = `\n        <div>\n    `;\n\n    return s; // tail\n}\n";
+        assertEquals("function f() {\nconst s = `\n        <div>\n    `;\nreturn s; // tail\n}\n", AssetMinifier.js(js));
+    }
+}